@@ -39,6 +39,10 @@ public class Board {
     @OneToOne
     private Sprint sprint;
 
+    @Version
+    @javax.persistence.Column(nullable = false)
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
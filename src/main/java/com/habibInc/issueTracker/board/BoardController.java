@@ -3,11 +3,12 @@ package com.habibInc.issueTracker.board;
 import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
 import com.habibInc.issueTracker.user.User;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @Slf4j
 @RestController
@@ -15,12 +16,10 @@ import org.springframework.web.bind.annotation.*;
 public class BoardController {
 
     private final BoardService boardService;
-    private final ModelMapper modelMapper;
 
     @Autowired
-    public BoardController(BoardService boardService, ModelMapper modelMapper){
+    public BoardController(BoardService boardService){
         this.boardService = boardService;
-        this.modelMapper = modelMapper;
     }
 
     @PostMapping(value = {"", "/"}, params = "sprint")
@@ -30,8 +29,8 @@ public class BoardController {
                              @AuthenticationPrincipal User authenticatedUser){
         Board createdBoard = boardService.createBoard(sprintId, board, authenticatedUser);
 
-        // map board DTO
-        final BoardDto createdBoardDto = modelMapper.map(createdBoard, BoardDto.class);
+        // build the board DTO from its columns and issues projections
+        final BoardDto createdBoardDto = boardService.getBoardDto(createdBoard);
 
         log.info("Created board: {}", createdBoardDto);
 
@@ -39,14 +38,40 @@ public class BoardController {
     }
 
     @GetMapping("/{boardId}")
-    @ResponseStatus(HttpStatus.OK)
-    public Board getBoard(@PathVariable("boardId") String id) {
+    public ResponseEntity<Board> getBoard(@PathVariable("boardId") String id, WebRequest request) {
         try{
             Long boardId = Long.parseLong(id);
+
+            // answer not modified while neither the board nor its project have changed, without loading the board
+            final String eTag = boardService.getBoardETag(boardId);
+            if (request.checkNotModified(eTag))
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+
             final Board boardById = boardService.getBoardById(boardId);
 
             log.info("Fetched board by id: {boardId: {}}", id);
-            return boardById;
+            return ResponseEntity.ok().eTag(eTag).body(boardById);
+        }catch(NumberFormatException ex){
+            throw new InvalidIdException("Invalid board id");
+        }
+    }
+
+    @GetMapping("/{boardId}/snapshot")
+    public ResponseEntity<BoardSnapshotDto> getBoardSnapshot(@PathVariable("boardId") String id,
+                                                             @RequestParam(defaultValue = "50") int perColumn,
+                                                             WebRequest request) {
+        try{
+            Long boardId = Long.parseLong(id);
+
+            // answer not modified while neither the board nor its project have changed, as for the board itself
+            final String eTag = boardService.getBoardSnapshotETag(boardId, perColumn);
+            if (request.checkNotModified(eTag))
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+
+            final BoardSnapshotDto snapshot = boardService.getBoardSnapshot(boardId, perColumn);
+
+            log.info("Fetched board snapshot: {}", snapshot);
+            return ResponseEntity.ok().eTag(eTag).body(snapshot);
         }catch(NumberFormatException ex){
             throw new InvalidIdException("Invalid board id");
         }
@@ -0,0 +1,18 @@
+package com.habibInc.issueTracker.board;
+
+import com.habibInc.issueTracker.column.ColumnMapper;
+
+public class BoardMapper {
+
+    public static BoardDto toDto(Board board) {
+        if (board == null)
+            return null;
+
+        return new BoardDto(
+                board.getId(),
+                board.getName(),
+                ColumnMapper.toDtos(board.getColumns()),
+                board.getOwner() != null ? board.getOwner().getId() : null
+        );
+    }
+}
@@ -1,7 +1,30 @@
 package com.habibInc.issueTracker.board;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface BoardRepository extends CrudRepository<Board, Long> {}
+public interface BoardRepository extends CrudRepository<Board, Long> {
+
+    // the board id along with the id of its project, through its sprint
+    interface BoardKeys {
+        Long getId();
+        Long getProjectId();
+    }
+
+    interface BoardView {
+        Long getId();
+        String getName();
+        Long getOwnerId();
+    }
+
+    @Query("SELECT b.id AS id, b.name AS name, o.id AS ownerId FROM Board b LEFT JOIN b.owner o WHERE b.id = :boardId")
+    Optional<BoardView> findViewById(@Param("boardId") Long boardId);
+
+    @Query("SELECT b.id AS id, p.id AS projectId FROM Board b LEFT JOIN b.sprint s LEFT JOIN s.project p WHERE b.id = :boardId")
+    Optional<BoardKeys> findKeysById(@Param("boardId") Long boardId);
+}
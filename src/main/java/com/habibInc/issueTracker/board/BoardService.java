@@ -1,19 +1,34 @@
 package com.habibInc.issueTracker.board;
 
+import com.habibInc.issueTracker.change.ChangeTracker;
 import com.habibInc.issueTracker.column.Column;
+import com.habibInc.issueTracker.column.ColumnCounter;
+import com.habibInc.issueTracker.column.ColumnCursor;
+import com.habibInc.issueTracker.column.ColumnDto;
 import com.habibInc.issueTracker.column.ColumnRepository;
 import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.flow.ColumnTransitionLog;
 import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueCache;
+import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueDtoAssembler;
 import com.habibInc.issueTracker.issue.IssueRepository;
 import com.habibInc.issueTracker.sprint.Sprint;
 import com.habibInc.issueTracker.sprint.SprintService;
+import com.habibInc.issueTracker.stats.IssueCounter;
 import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,18 +38,31 @@ public class BoardService {
     private final ColumnRepository columnRepository;
     private final IssueRepository issueRepository;
     private final SprintService sprintService;
+    private final IssueCache issueCache;
+    private final IssueDtoAssembler issueDtoAssembler;
+    private final ChangeTracker changeTracker;
+    private final IssueCounter issueCounter;
+    private final ColumnCounter columnCounter;
+    private final ColumnTransitionLog transitionLog;
 
     @Autowired
-    public BoardService(BoardRepository boardRepository, ColumnRepository columnRepository, IssueRepository issueRepository, SprintService sprintService) {
+    public BoardService(BoardRepository boardRepository, ColumnRepository columnRepository, IssueRepository issueRepository, SprintService sprintService, IssueCache issueCache, IssueDtoAssembler issueDtoAssembler, ChangeTracker changeTracker, IssueCounter issueCounter, ColumnCounter columnCounter, ColumnTransitionLog transitionLog) {
         this.boardRepository = boardRepository;
         this.columnRepository = columnRepository;
         this.issueRepository = issueRepository;
         this.sprintService = sprintService;
+        this.issueCache = issueCache;
+        this.issueDtoAssembler = issueDtoAssembler;
+        this.changeTracker = changeTracker;
+        this.issueCounter = issueCounter;
+        this.columnCounter = columnCounter;
+        this.transitionLog = transitionLog;
     }
 
+    @Transactional
     public Board createBoard(Long sprintId, Board board, User authenticatedUser){
-        // fetch the sprint (throws sprint not found error)
-        Sprint sprint = sprintService.getSprintById(sprintId);
+        // fetch the sprint along with its backlog, laid out in the to do column (throws sprint not found error)
+        Sprint sprint = sprintService.getSprintWithBacklogById(sprintId);
 
         // set board owner and sprint
         board.setSprint(sprint);
@@ -65,13 +93,27 @@ public class BoardService {
         setToDoColumnIssues(toDoColumn, sprint.getBacklog());
     }
 
+    @Transactional
     public void setToDoColumnIssues(Column column, List<Issue> issues) {
         // extract the id of each sprint backlog issue
         List<Long> issueIds =
                 issues.stream().map((issue) -> issue.getId()).collect(Collectors.toList());
 
+        // the column each issue is moved from, none for the issues that were not on a board yet
+        Map<Long, Long> fromColumnIds = new LinkedHashMap<>();
+        issues.forEach((issue) -> fromColumnIds.put(issue.getId(), issue.getColumn() != null ? issue.getColumn().getId() : null));
+
+        // the sprint backlog is laid out whole, whatever the limit of the column
+        columnCounter.movedRegardlessOfLimit(new ArrayList<>(fromColumnIds.values()), column.getId());
+
         // update the column
+        issueCounter.columnChanged(issueIds, column.getId());
         issueRepository.updateIssuesColumn(column.getId(), issueIds);
+        transitionLog.moved(fromColumnIds, column.getId());
+        issueCache.invalidateAll(issueIds);
+
+        if (column.getBoard() != null)
+            changeTracker.boardChanged(column.getBoard().getId());
     }
 
     public void createBoardColumns(Board board) {
@@ -86,6 +128,96 @@ public class BoardService {
                 .orElseThrow(() -> new ResourceNotFoundException("Board not found"));
     }
 
+    public String getBoardETag(Long boardId) {
+        return ChangeTracker.eTag(getBoardChangeCounts(boardId));
+    }
+
+    public String getBoardSnapshotETag(Long boardId, int perColumn) {
+        // a snapshot also depends on the number of issues it holds per column
+        return ChangeTracker.eTag(getBoardChangeCounts(boardId), "snapshot", CursorPage.limit(perColumn));
+    }
+
+    private String getBoardChangeCounts(Long boardId) {
+        // the board columns change with the board counter, the issues they hold with the project counter
+        BoardRepository.BoardKeys board = boardRepository.findKeysById(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found"));
+
+        return boardId + "-" + changeTracker.getBoardChangeCount(boardId) + "-" +
+                board.getProjectId() + "-" + changeTracker.getProjectChangeCount(board.getProjectId());
+    }
+
+    public BoardDto getBoardDto(Board board) {
+        List<ColumnRepository.ColumnView> columns = columnRepository.findViewsByBoardIdOrderByIdAsc(board.getId());
+
+        // fetch the issues of all the board columns at once
+        List<Long> columnIds = columns.stream().map(ColumnRepository.ColumnView::getId).collect(Collectors.toList());
+
+        List<IssueRepository.IssueView> issues = columnIds.isEmpty() ?
+                new ArrayList<>() : issueRepository.findViewsByColumnIdIn(columnIds);
+        List<IssueDto> issueDtos = issueDtoAssembler.toDtos(issues);
+
+        Map<Long, List<IssueDto>> columnsIssues = new HashMap<>();
+        for (int i = 0; i < issues.size(); i++)
+            columnsIssues.computeIfAbsent(issues.get(i).getColumnId(), (id) -> new ArrayList<>()).add(issueDtos.get(i));
+
+        List<ColumnDto> columnDtos = columns.stream()
+                .map((column) -> new ColumnDto(
+                        column.getId(),
+                        column.getTitle(),
+                        columnsIssues.getOrDefault(column.getId(), new ArrayList<>())
+                ))
+                .collect(Collectors.toList());
+
+        return new BoardDto(board.getId(), board.getName(), columnDtos,
+                board.getOwner() != null ? board.getOwner().getId() : null);
+    }
+
+    public BoardSnapshotDto getBoardSnapshot(Long boardId, int perColumn) {
+        BoardRepository.BoardView board = boardRepository.findViewById(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found"));
+
+        List<ColumnRepository.ColumnView> columns = columnRepository.findViewsByBoardIdOrderByIdAsc(boardId);
+        List<Long> columnIds = columns.stream().map(ColumnRepository.ColumnView::getId).collect(Collectors.toList());
+
+        // the first issues of every column at once, each window counting the issues of its column
+        int windowSize = CursorPage.limit(perColumn);
+        List<IssueRepository.ColumnWindowView> windows = columnIds.isEmpty() ?
+                new ArrayList<>() : issueRepository.findColumnWindows(columnIds, windowSize);
+
+        Map<Long, Long> totals = new HashMap<>();
+        windows.forEach((window) -> totals.put(window.getColumnId(), window.getTotal()));
+
+        List<Long> issueIds = windows.stream().map(IssueRepository.ColumnWindowView::getId).collect(Collectors.toList());
+        List<IssueRepository.IssueView> issues = issueIds.isEmpty() ?
+                new ArrayList<>() : new ArrayList<>(issueRepository.findViewsByIdIn(issueIds));
+
+        // list the issues in their board order, column by column
+        issues.sort(Comparator.comparing(IssueRepository.IssueView::getColumnId)
+                .thenComparingInt(IssueRepository.IssueView::getPosition)
+                .thenComparing(IssueRepository.IssueView::getId));
+
+        Map<Long, List<IssueRepository.IssueView>> columnsIssues = issues.stream()
+                .collect(Collectors.groupingBy(IssueRepository.IssueView::getColumnId));
+
+        List<ColumnSnapshotDto> columnDtos = columns.stream()
+                .map((column) -> {
+                    List<IssueRepository.IssueView> window = columnsIssues.getOrDefault(column.getId(), new ArrayList<>());
+                    long total = totals.getOrDefault(column.getId(), 0L);
+
+                    // the issues left out of the window are paged from the last one the window holds
+                    String nextCursor = total > window.size() && !window.isEmpty() ?
+                            ColumnCursor.of(window.get(window.size() - 1)) : null;
+
+                    return new ColumnSnapshotDto(column.getId(), column.getTitle(), column.getWipLimit(), total,
+                            window.stream().map(IssueRepository.IssueView::getId).collect(Collectors.toList()),
+                            nextCursor);
+                })
+                .collect(Collectors.toList());
+
+        return new BoardSnapshotDto(board.getId(), board.getName(), board.getOwnerId(),
+                columnDtos, issueDtoAssembler.toDtos(issues));
+    }
+
     public void deleteBoardById(Long boardId, User authenticatedUser) {
         // find board by id (throws board not found exception)
         Board board = this.getBoardById(boardId);
@@ -96,5 +228,6 @@ public class BoardService {
         }
 
         boardRepository.deleteById(boardId);
+        changeTracker.boardChanged(boardId);
     }
 }
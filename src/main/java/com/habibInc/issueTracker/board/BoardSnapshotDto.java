@@ -0,0 +1,39 @@
+package com.habibInc.issueTracker.board;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.habibInc.issueTracker.issue.IssueDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// the board with the first issues of each column, listed once and referenced by id from their columns
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class BoardSnapshotDto {
+
+    private Long id;
+    private String name;
+
+    @JsonProperty("owner")
+    private Long ownerId;
+
+    private List<ColumnSnapshotDto> columns;
+    private List<IssueDto> issues;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "id: " + id +
+                ", name: '" + name + '\'' +
+                ", owner: " + ownerId +
+                ", columns: " + columns +
+                ", issues: " + (issues != null ? issues.size() : 0) +
+                '}';
+    }
+}
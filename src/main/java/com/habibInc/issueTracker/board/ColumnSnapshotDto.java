@@ -0,0 +1,39 @@
+package com.habibInc.issueTracker.board;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class ColumnSnapshotDto {
+
+    private Long id;
+    private String title;
+    private Integer wipLimit;
+
+    // the number of issues of the column, of which the first ones are given by id in their board order
+    private long total;
+    private List<Long> issueIds;
+
+    // hands the following issues off to the column issues endpoint, null when the column is complete
+    private String nextCursor;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "id: " + id +
+                ", title: '" + title + '\'' +
+                ", wipLimit: " + wipLimit +
+                ", total: " + total +
+                ", issueIds: " + issueIds +
+                ", nextCursor: '" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package com.habibInc.issueTracker.change;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Table(name = "change_counter")
+public class ChangeCounter {
+
+    // the changed resource, such as "project:1" or "board:2"
+    @Id
+    @Column(name = "resource", length = 64)
+    private String resource;
+
+    @Column(name = "change_count", nullable = false)
+    private long changeCount;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "resource: '" + resource + '\'' +
+                ", changeCount: " + changeCount +
+                '}';
+    }
+}
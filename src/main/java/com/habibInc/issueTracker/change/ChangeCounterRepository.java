@@ -0,0 +1,20 @@
+package com.habibInc.issueTracker.change;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ChangeCounterRepository extends CrudRepository<ChangeCounter, String> {
+
+    @Modifying
+    @Query("UPDATE ChangeCounter c SET c.changeCount = c.changeCount + 1 WHERE c.resource = :resource")
+    int increment(@Param("resource") String resource);
+
+    @Query("SELECT c.changeCount FROM ChangeCounter c WHERE c.resource = :resource")
+    Optional<Long> findChangeCount(@Param("resource") String resource);
+}
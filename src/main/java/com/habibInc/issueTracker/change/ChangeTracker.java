@@ -0,0 +1,129 @@
+package com.habibInc.issueTracker.change;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// counts the changes made to the projects and the boards, so that their ETags are computed without loading them
+@Slf4j
+@Component
+public class ChangeTracker {
+    public final static String PROJECT = "project:";
+    public final static String BOARD = "board:";
+
+    private final ChangeCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // the resources whose committed changes could not be counted yet, a single increment covers all of them
+    private final Set<String> uncountedResources = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ChangeTracker(ChangeCounterRepository counterRepository, PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+
+        // count in a short transaction of its own, once the changes are committed
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public static String eTag(Object... parts) {
+        return Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    public void projectChanged(Long projectId) {
+        if (projectId != null)
+            changed(PROJECT + projectId);
+    }
+
+    public void boardChanged(Long boardId) {
+        if (boardId != null)
+            changed(BOARD + boardId);
+    }
+
+    public long getProjectChangeCount(Long projectId) {
+        return getChangeCount(PROJECT + projectId);
+    }
+
+    public long getBoardChangeCount(Long boardId) {
+        return getChangeCount(BOARD + boardId);
+    }
+
+    private long getChangeCount(String resource) {
+        return counterRepository.findChangeCount(resource).orElse(0L);
+    }
+
+    private void changed(String resource) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(resource);
+            return;
+        }
+
+        // the counters are incremented after the commit, so an ETag never stands for changes that are not visible yet,
+        // and once per transaction whatever the number of changes
+        @SuppressWarnings("unchecked")
+        Set<String> pendingResources = (Set<String>) TransactionSynchronizationManager.getResource(this);
+
+        if (pendingResources == null) {
+            final Set<String> resources = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, resources);
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    resources.forEach(ChangeTracker.this::increment);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeTracker.this);
+                }
+            });
+
+            pendingResources = resources;
+        }
+
+        pendingResources.add(resource);
+    }
+
+    @Scheduled(fixedDelayString = "${change.tracker.retry.delay:1000}")
+    public void retryUncounted() {
+        for (String resource : uncountedResources) {
+            // removed first, a change failing to be counted meanwhile is added back and counted by the next retry
+            uncountedResources.remove(resource);
+            increment(resource);
+        }
+    }
+
+    public int getUncountedCount() {
+        return uncountedResources.size();
+    }
+
+    private void increment(String resource) {
+        try {
+            try {
+                transactionTemplate.execute((status) -> counterRepository.increment(resource) == 1 ?
+                        null : counterRepository.save(new ChangeCounter(resource, 1)));
+            } catch (DataIntegrityViolationException ex) {
+                // another request created the counter first
+                transactionTemplate.execute((status) -> counterRepository.increment(resource));
+            }
+        } catch (RuntimeException ex) {
+            // the change itself is already committed, the resource keeps its previous ETag until the retry counts it
+            log.error("Failed to count change, retrying: {resource: '{}'}", resource, ex);
+            uncountedResources.add(resource);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.habibInc.issueTracker.column;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.habibInc.issueTracker.board.Board;
 import com.habibInc.issueTracker.issue.Issue;
 import lombok.*;
@@ -28,17 +29,30 @@ public class Column {
 
     private String title;
 
+    // the most issues the column may hold, null for no limit
+    private Integer wipLimit;
+
+    // only written by the statements counting the moves and by the reconciliation, never by saving the entity
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @javax.persistence.Column(name = "issue_count", updatable = false)
+    private int issueCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     private Board board;
 
     @OneToMany(mappedBy = "column")
     List<Issue> issues = new ArrayList<>();
 
+    @Version
+    @javax.persistence.Column(nullable = false)
+    private Long version;
+
     @Override
     public String toString() {
         return "{" +
                 "id: " + id +
                 ", title: '" + title + '\'' +
+                ", wipLimit: " + wipLimit +
                 '}';
     }
 
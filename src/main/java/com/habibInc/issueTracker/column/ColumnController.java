@@ -4,7 +4,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
 import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueDto;
 import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import com.habibInc.issueTracker.utils.validation.IdValidator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -94,6 +96,27 @@ public class ColumnController {
         }
     }
 
+    @GetMapping(path = "/columns/{columnId}/issues", params = "cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPage<IssueDto> getNextIssues(@PathVariable String columnId,
+                                              @PathVariable String boardId,
+                                              @RequestParam String cursor,
+                                              @RequestParam(defaultValue = "10") int size){
+        try{
+            Long parsedColumnId = Long.parseLong(columnId);
+            Long parsedBoardId = Long.parseLong(boardId);
+
+            // the issues following the cursor handed over by the board snapshot or by the previous page
+            final CursorPage<IssueDto> issues = columnService.getIssuesAfter(parsedBoardId, parsedColumnId, cursor, size);
+            log.info("Fetched column issues: {boardId: {}, columnId: {}, count: {}, pageSize: {}}",
+                    boardId, columnId, issues.getContent().size(), size);
+
+            return issues;
+        }catch(NumberFormatException ex){
+            throw new InvalidIdException("Invalid id");
+        }
+    }
+
     @DeleteMapping(path = "/columns/{columnId}")
     @ResponseStatus(HttpStatus.OK)
     public void deleteColumnById(@PathVariable String boardId,
@@ -144,12 +167,40 @@ public class ColumnController {
         }
     }
 
+    @PutMapping("/columns/{columnId}/wipLimit")
+    @ResponseStatus(HttpStatus.OK)
+    public Column updateWipLimit(@RequestBody Map<String, Integer> request,
+                                 @PathVariable Long boardId,
+                                 @PathVariable Long columnId,
+                                 @AuthenticationPrincipal User authenticatedUser) {
+        // a null limit lifts the limit of the column
+        Integer wipLimit = request.get("wipLimit");
+
+        final Column column = columnService.updateWipLimit(boardId, columnId, wipLimit, authenticatedUser);
+        log.info("Updated column WIP limit: {columnId: {}, wipLimit: {}}", columnId, wipLimit);
+
+        return column;
+    }
+
+    @PatchMapping("/columns/{columnId}/issues")
+    @ResponseStatus(HttpStatus.OK)
+    public void moveIssues(@RequestBody IssuesMoveDto move,
+                           @PathVariable Long boardId,
+                           @PathVariable Long columnId,
+                           @AuthenticationPrincipal User authenticatedUser) {
+        // move the selected issues to the column in one go
+        columnService.moveIssues(boardId, columnId, move, authenticatedUser);
+
+        log.info("Moved issues to column: {boardId: {}, columnId: {}, move: {}}", boardId, columnId, move);
+    }
+
     @PatchMapping("/columns/{columnId}/issues/{issueId}")
     @ResponseStatus(HttpStatus.OK)
     public void updateIssueColumn(@RequestBody String request,
                                   @PathVariable Long boardId,
                                   @PathVariable Long columnId,
-                                  @PathVariable Long issueId) throws JsonProcessingException {
+                                  @PathVariable Long issueId,
+                                  @AuthenticationPrincipal User authenticatedUser) throws JsonProcessingException {
 
         // extract the request body
         Map<String, String> requestBody = new ObjectMapper().readValue(request, Map.class);
@@ -158,7 +209,7 @@ public class ColumnController {
         Long newColumnId = IdValidator.validate(requestBody.get("newColumnId"));
 
         // update the issue column
-        columnService.updateIssueColumn(boardId, columnId, issueId, newColumnId);
+        columnService.updateIssueColumn(boardId, columnId, issueId, newColumnId, authenticatedUser);
 
         log.info("Updated issue column: " +
                         "{boardId: {}, columnId: {}, issueId: {}, newColumnId: {}}",
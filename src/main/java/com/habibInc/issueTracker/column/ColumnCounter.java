@@ -0,0 +1,88 @@
+package com.habibInc.issueTracker.column;
+
+import com.habibInc.issueTracker.exceptionhandler.ConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// keeps the number of issues of each column on its row, so the statement counting a move also checks the WIP limit
+@Slf4j
+@Component
+public class ColumnCounter {
+
+    private final ColumnRepository columnRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ColumnCounter(ColumnRepository columnRepository, TransactionTemplate transactionTemplate) {
+        this.columnRepository = columnRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // to be called within the transaction moving the issues, which the conflict rolls back
+    public void moved(Collection<Long> fromColumnIds, Long toColumnId) {
+        apply(deltas(fromColumnIds, toColumnId), true);
+    }
+
+    // for the issues laid out by the application itself, such as a sprint backlog on a new board
+    public void movedRegardlessOfLimit(Collection<Long> fromColumnIds, Long toColumnId) {
+        apply(deltas(fromColumnIds, toColumnId), false);
+    }
+
+    public void removed(Long columnId) {
+        if (columnId != null)
+            columnRepository.addIssues(columnId, -1);
+    }
+
+    private Map<Long, Integer> deltas(Collection<Long> fromColumnIds, Long toColumnId) {
+        // rows are always written in the same order, so two moves never wait on each other's rows
+        Map<Long, Integer> deltas = new TreeMap<>();
+
+        for (Long fromColumnId : fromColumnIds) {
+            if (toColumnId.equals(fromColumnId))
+                continue;
+
+            if (fromColumnId != null)
+                deltas.merge(fromColumnId, -1, Integer::sum);
+
+            deltas.merge(toColumnId, 1, Integer::sum);
+        }
+
+        return deltas;
+    }
+
+    private void apply(Map<Long, Integer> deltas, boolean withinLimit) {
+        deltas.forEach((columnId, delta) -> {
+            if (delta > 0 && withinLimit) {
+                if (columnRepository.addIssuesWithinLimit(columnId, delta) == 0)
+                    throw new ConflictException("WIP limit reached");
+            } else if (delta != 0) {
+                columnRepository.addIssues(columnId, delta);
+            }
+        });
+    }
+
+    // seeds the counts of the columns created before they counted their issues, then repairs any drifted count
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${column.issue.count.reconcile.cron:0 50 3 * * *}")
+    public int reconcile() {
+        final int count = transactionTemplate.execute((status) -> {
+            List<Long> columnIds = columnRepository.findIdsWithWrongIssueCount();
+            return columnIds.isEmpty() ? 0 : columnRepository.recountIssues(columnIds);
+        });
+
+        if (count > 0)
+            log.warn("Repaired column issue counts: {count: {}}", count);
+
+        return count;
+    }
+}
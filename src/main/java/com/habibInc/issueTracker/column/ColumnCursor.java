@@ -0,0 +1,30 @@
+package com.habibInc.issueTracker.column;
+
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
+import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// the last seen issue of a column, whose issues are ordered by position then by id
+@Getter
+@AllArgsConstructor
+public class ColumnCursor {
+
+    private final int position;
+    private final Long id;
+
+    public static String of(IssueRepository.IssueView issue) {
+        return Cursor.encode(issue.getPosition(), issue.getId());
+    }
+
+    public static ColumnCursor parse(String cursor) {
+        String[] keys = Cursor.decode(cursor, 2);
+
+        try {
+            return new ColumnCursor(Integer.parseInt(keys[0]), Long.valueOf(keys[1]));
+        } catch (NumberFormatException ex) {
+            throw new InvalidIdException(Cursor.errorMessage);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.habibInc.issueTracker.column;
+
+import com.habibInc.issueTracker.issue.IssueMapper;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ColumnMapper {
+
+    public static ColumnDto toDto(Column column) {
+        if (column == null)
+            return null;
+
+        return new ColumnDto(column.getId(), column.getTitle(), IssueMapper.toDtos(column.getIssues()));
+    }
+
+    public static List<ColumnDto> toDtos(List<Column> columns) {
+        if (columns == null)
+            return null;
+
+        return columns.stream().map(ColumnMapper::toDto).collect(Collectors.toList());
+    }
+}
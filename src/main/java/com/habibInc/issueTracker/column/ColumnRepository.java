@@ -1,7 +1,47 @@
 package com.habibInc.issueTracker.column;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ColumnRepository extends PagingAndSortingRepository<Column, Long> {}
+public interface ColumnRepository extends PagingAndSortingRepository<Column, Long> {
+
+    interface ColumnView {
+        Long getId();
+        String getTitle();
+        Integer getWipLimit();
+    }
+
+    List<ColumnView> findViewsByBoardIdOrderByIdAsc(Long boardId);
+
+    @Query("SELECT c.board.id FROM Column c WHERE c.id = :id")
+    Optional<Long> findBoardIdById(@Param("id") Long columnId);
+
+    // counts the issues moved into a column only while they fit in its WIP limit, whichever node moves them
+    @Transactional
+    @Modifying
+    @Query("UPDATE Column c SET c.issueCount = c.issueCount + :count " +
+            "WHERE c.id = :id AND (c.wipLimit IS NULL OR c.issueCount + :count <= c.wipLimit)")
+    int addIssuesWithinLimit(@Param("id") Long columnId, @Param("count") int count);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Column c SET c.issueCount = c.issueCount + :count WHERE c.id = :id")
+    int addIssues(@Param("id") Long columnId, @Param("count") int count);
+
+    @Query("SELECT c.id FROM Column c WHERE c.issueCount <> (SELECT COUNT(i) FROM Issue i WHERE i.column.id = c.id)")
+    List<Long> findIdsWithWrongIssueCount();
+
+    // recounts in one statement, so no move made in between is lost
+    @Modifying
+    @Query("UPDATE Column c SET c.issueCount = (SELECT COUNT(i) FROM Issue i WHERE i.column.id = c.id) WHERE c.id IN :ids")
+    int recountIssues(@Param("ids") Collection<Long> columnIds);
+}
@@ -2,36 +2,72 @@ package com.habibInc.issueTracker.column;
 
 import com.habibInc.issueTracker.board.Board;
 import com.habibInc.issueTracker.board.BoardService;
+import com.habibInc.issueTracker.change.ChangeTracker;
+import com.habibInc.issueTracker.event.BoardEventBroker;
 import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.flow.ColumnTransitionLog;
+import com.habibInc.issueTracker.history.IssueHistory;
 import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueCache;
+import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueDtoAssembler;
 import com.habibInc.issueTracker.issue.IssueRepository;
 import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.stats.IssueCounter;
 import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class ColumnService {
+    public final static int MAX_MOVED_ISSUES = 100;
 
     private final ColumnRepository columnRepository;
     private final IssueRepository issueRepository;
     private final BoardService boardService;
     private final IssueService issueService;
+    private final IssueCache issueCache;
+    private final ChangeTracker changeTracker;
+    private final IssueCounter issueCounter;
+    private final IssueHistory issueHistory;
+    private final BoardEventBroker eventBroker;
+    private final IssueDtoAssembler issueDtoAssembler;
+    private final ColumnCounter columnCounter;
+    private final ColumnTransitionLog transitionLog;
 
     @Autowired
-    public ColumnService(ColumnRepository columnRepository, IssueRepository issueRepository, BoardService boardService, IssueService issueService) {
+    public ColumnService(ColumnRepository columnRepository, IssueRepository issueRepository, BoardService boardService, IssueService issueService, IssueCache issueCache, ChangeTracker changeTracker, IssueCounter issueCounter, IssueHistory issueHistory, BoardEventBroker eventBroker, IssueDtoAssembler issueDtoAssembler, ColumnCounter columnCounter, ColumnTransitionLog transitionLog) {
         this.columnRepository = columnRepository;
         this.issueRepository = issueRepository;
         this.boardService = boardService;
         this.issueService = issueService;
+        this.issueCache = issueCache;
+        this.changeTracker = changeTracker;
+        this.issueCounter = issueCounter;
+        this.issueHistory = issueHistory;
+        this.eventBroker = eventBroker;
+        this.issueDtoAssembler = issueDtoAssembler;
+        this.columnCounter = columnCounter;
+        this.transitionLog = transitionLog;
     }
 
     public Column createColumn(Long boardId, Column column) {
+        validateWipLimit(column.getWipLimit());
+
         // invoke board service to fetch the board by id (throws an exception)
         Board board = boardService.getBoardById(boardId);
 
@@ -39,17 +75,27 @@ public class ColumnService {
         column.setBoard(board);
 
         // save the column
-        return columnRepository.save(column);
+        Column createdColumn = columnRepository.save(column);
+        changeTracker.boardChanged(boardId);
+        eventBroker.columnCreated(boardId, createdColumn.getId(), createdColumn.getTitle());
+
+        return createdColumn;
     }
 
     public List<Column> createColumns(Long boardId, List<Column> columns) {
+        columns.forEach((column) -> validateWipLimit(column.getWipLimit()));
+
         // fetch the board by id (throws not found exception)
         Board board = boardService.getBoardById(boardId);
 
         // set the board for each column
         columns.stream().forEach((column) -> column.setBoard(board));
 
-        return (List<Column>) columnRepository.saveAll(columns);
+        List<Column> createdColumns = (List<Column>) columnRepository.saveAll(columns);
+        changeTracker.boardChanged(boardId);
+        createdColumns.forEach((column) -> eventBroker.columnCreated(boardId, column.getId(), column.getTitle()));
+
+        return createdColumns;
     }
 
     public Column getColumnById(Long boardId, Long columnId) {
@@ -68,11 +114,30 @@ public class ColumnService {
         // fetch the column by id (throws either column or board not found exception)
         Column column = getColumnById(boardId, columnId);
 
-        // when both the column and board exist, fetch the paginated list of issues
-        Pageable pageable = PageRequest.of(page, size);
+        // when both the column and board exist, fetch the paginated list of issues in their board order
+        Pageable pageable = PageRequest.of(page, size, Sort.by("position", "id"));
         return issueRepository.findByColumnId(column.getId(), pageable);
     }
 
+    public CursorPage<IssueDto> getIssuesAfter(Long boardId, Long columnId, String cursor, int size) {
+        // check that the column belongs to the board, without loading either of them
+        Long columnBoardId = columnRepository.findBoardIdById(columnId)
+                .orElseThrow(() -> new ResourceNotFoundException("Column not found"));
+
+        if (!columnBoardId.equals(boardId))
+            throw new ResourceNotFoundException("Board not found");
+
+        ColumnCursor last = ColumnCursor.parse(cursor);
+
+        // fetch one extra issue to find out whether there is a next page
+        int pageSize = CursorPage.limit(size);
+        List<IssueRepository.IssueView> issues = issueRepository.findViewsByColumnIdAfter(
+                columnId, last.getPosition(), last.getId(), PageRequest.of(0, pageSize + 1));
+
+        CursorPage<IssueRepository.IssueView> page = CursorPage.of(issues, pageSize, ColumnCursor::of);
+        return new CursorPage<>(issueDtoAssembler.toDtos(page.getContent()), page.getNextCursor());
+    }
+
     public void deleteColumnById(Long boardId, Long columnId, User authenticatedUser) {
         // fetch column by id (throws board / column not found error)
         Column column = getColumnById(boardId, columnId);
@@ -83,6 +148,8 @@ public class ColumnService {
 
         // delete column by id
         columnRepository.deleteById(column.getId());
+        changeTracker.boardChanged(boardId);
+        eventBroker.columnDeleted(boardId, column.getId());
     }
 
     public String updateTitle(Long boardId, Long columnId, String updatedTitle, User authenticatedUser) {
@@ -97,18 +164,117 @@ public class ColumnService {
         column.setTitle(updatedTitle);
 
         // save and return
-        return columnRepository.save(column).getTitle();
+        String title = columnRepository.save(column).getTitle();
+        changeTracker.boardChanged(boardId);
+        eventBroker.columnUpdated(boardId, column.getId(), title);
+
+        return title;
+    }
+
+    public Column updateWipLimit(Long boardId, Long columnId, Integer wipLimit, User authenticatedUser) {
+        validateWipLimit(wipLimit);
+
+        // fetch the column by id (handles column / board not found errors)
+        Column column = getColumnById(boardId, columnId);
+
+        // only the board owner should be able to limit the column
+        if(!column.getBoard().getOwner().equals(authenticatedUser))
+            throw new ForbiddenOperationException("Forbidden operation");
+
+        // a column already holding more issues than its new limit keeps them, it only accepts no more
+        column.setWipLimit(wipLimit);
+
+        Column updatedColumn = columnRepository.save(column);
+        changeTracker.boardChanged(boardId);
+        eventBroker.columnUpdated(boardId, column.getId(), updatedColumn.getTitle());
+
+        return updatedColumn;
     }
 
-    public void updateIssueColumn(Long boardId, Long columnId, Long issueId, Long newColumnId) {
+    private void validateWipLimit(Integer wipLimit) {
+        if (wipLimit != null && wipLimit < 1)
+            throw new InvalidIdException("Invalid WIP limit: " + wipLimit);
+    }
+
+    @Transactional
+    public void updateIssueColumn(Long boardId, Long columnId, Long issueId, Long newColumnId, User authenticatedUser) {
         // fetch the column (throws resource not found exception)
         Column column = getColumnById(boardId, newColumnId);
 
-        // fetch the issue by id (throws resource not found exception)
-        Issue issue = issueService.getIssueById(issueId);
+        // read the column the issue is in now, the cached snapshot may not have seen a move made on another node
+        // (throws resource not found exception)
+        Long fromColumnId = issueRepository.findBoardViewsByIdIn(List.of(issueId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Issue not found"))
+                .getColumnId();
+
+        // count the issue in the column first, which rejects the move when the column is full
+        columnCounter.moved(Collections.singletonList(fromColumnId), column.getId());
+
+        // update the issue column alone, then drop the stale snapshot
+        issueCounter.columnChanged(List.of(issueId), column.getId());
+        issueRepository.updateIssuesColumn(column.getId(), List.of(issueId));
+        transitionLog.moved(issueId, fromColumnId, column.getId());
+        issueCache.invalidate(issueId);
+        changeTracker.boardChanged(boardId);
+
+        issueHistory.recordChange(issueId, authenticatedUser, IssueHistory.COLUMN, fromColumnId, column.getId());
+        eventBroker.issueMoved(boardId, issueId, fromColumnId, column.getId());
+    }
+
+    @Transactional
+    public void moveIssues(Long boardId, Long columnId, IssuesMoveDto move, User authenticatedUser) {
+        List<Long> issueIds = move.getIssueIds() == null ? List.of() :
+                move.getIssueIds().stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+
+        if (issueIds.isEmpty())
+            throw new InvalidIdException("No issues to move");
+
+        if (issueIds.size() > MAX_MOVED_ISSUES)
+            throw new InvalidIdException("Too many issues to move at once: " + issueIds.size());
+
+        // check that the column belongs to the board, without loading either of them
+        Long columnBoardId = columnRepository.findBoardIdById(columnId)
+                .orElseThrow(() -> new ResourceNotFoundException("Column not found"));
+
+        if (!columnBoardId.equals(boardId))
+            throw new ResourceNotFoundException("Board not found");
+
+        // check that every issue is on the board, all of them at once
+        Map<Long, Long> fromColumnIds = new HashMap<>();
+        issueRepository.findBoardViewsByIdIn(issueIds).stream()
+                .filter((issue) -> boardId.equals(issue.getBoardId()))
+                .forEach((issue) -> fromColumnIds.put(issue.getId(), issue.getColumnId()));
+
+        if (fromColumnIds.size() != issueIds.size())
+            throw new ResourceNotFoundException("Issue not found");
+
+        // count the issues in the column first, which rejects the whole move when they do not all fit
+        columnCounter.moved(issueIds.stream().map(fromColumnIds::get).collect(Collectors.toList()), columnId);
+
+        // move the issues all together, then lay them out from the given position on
+        issueCounter.columnChanged(issueIds, columnId);
+        issueRepository.updateIssuesColumn(columnId, issueIds);
+        transitionLog.moved(fromColumnIds, columnId);
+
+        if (move.getPosition() != null) {
+            int position = move.getPosition();
 
-        // update the issue column and save
-        issue.setColumn(column);
-        issueRepository.save(issue);
+            issueRepository.shiftPositions(columnId, position, issueIds.size(), issueIds);
+            for (int i = 0; i < issueIds.size(); i++)
+                issueRepository.updatePosition(issueIds.get(i), position + i);
+        }
+
+        issueCache.invalidateAll(issueIds);
+        changeTracker.boardChanged(boardId);
+
+        for (Long issueId : issueIds) {
+            Long fromColumnId = fromColumnIds.get(issueId);
+
+            if (!columnId.equals(fromColumnId))
+                issueHistory.recordChange(issueId, authenticatedUser, IssueHistory.COLUMN, fromColumnId, columnId);
+
+            eventBroker.issueMoved(boardId, issueId, fromColumnId, columnId);
+        }
     }
 }
@@ -0,0 +1,30 @@
+package com.habibInc.issueTracker.column;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// the issues moved at once to a column, in the order they should be shown
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class IssuesMoveDto {
+
+    private List<Long> issueIds;
+
+    // the position of the first issue, the next ones following it, or null to keep their positions
+    private Integer position;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "issueIds: " + issueIds +
+                ", position: " + position +
+                '}';
+    }
+}
@@ -22,6 +22,9 @@ import java.util.Objects;
 
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 @JsonIgnoreProperties({"issue", "owner"})
+@Table(indexes = {
+        @Index(name = "idx_comment_issue_creation_time", columnList = "issue_id, creationTime, id")
+})
 public class Comment {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
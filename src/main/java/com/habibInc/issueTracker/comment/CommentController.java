@@ -4,8 +4,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
 import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -19,12 +20,10 @@ import java.util.Map;
 public class CommentController {
 
     private final CommentService commentService;
-    private final ModelMapper modelMapper;
 
     @Autowired
-    public CommentController(CommentService commentService, ModelMapper modelMapper) {
+    public CommentController(CommentService commentService) {
         this.commentService = commentService;
-        this.modelMapper = modelMapper;
     }
 
     @PostMapping({"", "/"})
@@ -38,7 +37,7 @@ public class CommentController {
             Comment createdComment = commentService.createComment(comment, issueId, owner);
 
             // map comment DTO
-            final CommentDto createdCommentDto = modelMapper.map(createdComment, CommentDto.class);
+            final CommentDto createdCommentDto = CommentMapper.toDto(createdComment);
             log.info("Created comment: {}", createdCommentDto);
             return createdCommentDto;
         }catch(NumberFormatException ex){
@@ -46,6 +45,22 @@ public class CommentController {
         }
     }
 
+    @GetMapping({"", "/"})
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPage<CommentDto> getComments(@PathVariable("issueId") String id,
+                                              @RequestParam(name = "cursor", required = false) String cursor,
+                                              @RequestParam(name = "size", defaultValue = "20") int size) {
+        // validate issue id
+        Long issueId = IdValidator.validate(id);
+
+        CursorPage<CommentDto> comments = commentService.getComments(issueId, cursor, size);
+
+        log.info("Fetched issue comments: {issueId: {}, cursor: {}, count: {}, nextCursor: {}}",
+                issueId, cursor, comments.getContent().size(), comments.getNextCursor());
+
+        return comments;
+    }
+
     @DeleteMapping("/{commentId}")
     @ResponseStatus(HttpStatus.OK)
     public void deleteComment(@PathVariable String commentId,
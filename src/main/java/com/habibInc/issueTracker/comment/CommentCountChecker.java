@@ -0,0 +1,71 @@
+package com.habibInc.issueTracker.comment;
+
+import com.habibInc.issueTracker.change.ChangeTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// keeps the comment counts of the issues equal to their comments
+@Slf4j
+@Component
+public class CommentCountChecker {
+
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeTracker changeTracker;
+    private final int batchSize;
+
+    @Autowired
+    public CommentCountChecker(CommentRepository commentRepository,
+                               TransactionTemplate transactionTemplate,
+                               ChangeTracker changeTracker,
+                               @Value("${issue.comment.count.batch.size:500}") int batchSize) {
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.changeTracker = changeTracker;
+        this.batchSize = batchSize;
+    }
+
+    // backfills the issues commented before they counted their comments, then catches any count gone astray
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${issue.comment.count.check.cron:0 45 3 * * *}")
+    public int checkAll() {
+        int count = 0;
+        Long lastId = 0L;
+
+        // batch after batch in id order, each one in its own transaction
+        while (true) {
+            final Long afterId = lastId;
+            List<Long> ids = transactionTemplate.execute((status) -> {
+                List<Long> issueIds =
+                        commentRepository.findIssueIdsWithWrongCommentCount(afterId, PageRequest.of(0, batchSize));
+
+                if (!issueIds.isEmpty()) {
+                    commentRepository.recountComments(issueIds);
+                    commentRepository.findProjectIdsByIssueIdIn(issueIds).forEach(changeTracker::projectChanged);
+                }
+
+                return issueIds;
+            });
+
+            if (ids == null || ids.isEmpty())
+                break;
+
+            count += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        if (count > 0)
+            log.warn("Fixed issue comment counts: {count: {}}", count);
+
+        return count;
+    }
+}
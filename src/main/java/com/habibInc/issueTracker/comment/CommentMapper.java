@@ -0,0 +1,30 @@
+package com.habibInc.issueTracker.comment;
+
+import com.habibInc.issueTracker.user.UserMapper;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CommentMapper {
+
+    public static CommentDto toDto(Comment comment) {
+        if (comment == null)
+            return null;
+
+        return new CommentDto(
+                comment.getId(),
+                comment.getContent(),
+                comment.getIssue() != null ? comment.getIssue().getId() : null,
+                UserMapper.toDto(comment.getOwner()),
+                comment.getCreationTime(),
+                comment.getUpdateTime()
+        );
+    }
+
+    public static List<CommentDto> toDtos(List<Comment> comments) {
+        if (comments == null)
+            return null;
+
+        return comments.stream().map(CommentMapper::toDto).collect(Collectors.toList());
+    }
+}
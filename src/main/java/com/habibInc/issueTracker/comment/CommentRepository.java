@@ -1,8 +1,59 @@
 package com.habibInc.issueTracker.comment;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends CrudRepository<Comment, Long> {
-}
\ No newline at end of file
+
+    interface CommentView {
+        Long getId();
+        String getContent();
+        Long getIssueId();
+        Long getOwnerId();
+        LocalDateTime getCreationTime();
+        LocalDateTime getUpdateTime();
+    }
+
+    String VIEW = "SELECT c.id AS id, c.content AS content, c.issue.id AS issueId, o.id AS ownerId, " +
+            "c.creationTime AS creationTime, c.updateTime AS updateTime FROM Comment c LEFT JOIN c.owner o ";
+
+    String ORDER = " ORDER BY c.creationTime, c.id";
+
+    // the first page of the comments of an issue, oldest first, those without a creation time (sorted first) included
+    @Query(VIEW + "WHERE c.issue.id = :issueId" + ORDER)
+    List<CommentView> findPageByIssueId(@Param("issueId") Long issueId, Pageable pageable);
+
+    // the comments following the last seen one, seeking on the (issue_id, creationTime, id) index
+    @Query(VIEW + "WHERE c.issue.id = :issueId AND (c.creationTime > :creationTime OR " +
+            "(c.creationTime = :creationTime AND c.id > :id))" + ORDER)
+    List<CommentView> findPageByIssueIdAfter(@Param("issueId") Long issueId,
+                                             @Param("creationTime") LocalDateTime creationTime,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    @Query(VIEW + "WHERE c.issue.id = :issueId AND (c.creationTime IS NOT NULL OR c.id > :id)" + ORDER)
+    List<CommentView> findPageByIssueIdAfterNull(@Param("issueId") Long issueId, @Param("id") Long id, Pageable pageable);
+
+    // the issues following the given one whose comment count differs from their comments
+    @Query("SELECT i.id FROM Issue i WHERE i.id > :id AND " +
+            "i.commentCount <> (SELECT COUNT(c) FROM Comment c WHERE c.issue.id = i.id) ORDER BY i.id")
+    List<Long> findIssueIdsWithWrongCommentCount(@Param("id") Long afterId, Pageable pageable);
+
+    // recounts in one statement, so no comment created in between is lost
+    @Modifying
+    @Query("UPDATE Issue i SET i.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.issue.id = i.id), " +
+            "i.version = i.version + 1 WHERE i.id IN :ids")
+    int recountComments(@Param("ids") Collection<Long> issueIds);
+
+    @Query("SELECT DISTINCT i.project.id FROM Issue i WHERE i.id IN :ids AND i.project IS NOT NULL")
+    List<Long> findProjectIdsByIssueIdIn(@Param("ids") Collection<Long> issueIds);
+}
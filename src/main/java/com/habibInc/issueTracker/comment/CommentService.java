@@ -1,39 +1,72 @@
 package com.habibInc.issueTracker.comment;
 
+import com.habibInc.issueTracker.change.ChangeTracker;
 import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
 import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueSnapshot;
 import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.search.SearchService;
 import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.user.UserDto;
+import com.habibInc.issueTracker.user.UserRepository;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CommentService {
 
     private final IssueService issueService;
     private final CommentRepository commentRepository;
+    private final SearchService searchService;
+    private final ChangeTracker changeTracker;
+    private final UserRepository userRepository;
 
     @Autowired
-    public CommentService(IssueService issueService, CommentRepository commentRepository) {
+    public CommentService(IssueService issueService, CommentRepository commentRepository, SearchService searchService, ChangeTracker changeTracker, UserRepository userRepository) {
         this.issueService = issueService;
         this.commentRepository = commentRepository;
+        this.searchService = searchService;
+        this.changeTracker = changeTracker;
+        this.userRepository = userRepository;
     }
 
+    @Transactional
     public Comment createComment(Comment comment, Long issueId, User owner) {
-        // delegate call to issueService to get the issue by id (throws exception)
-        Issue issue = issueService.getIssueById(issueId);
+        // delegate call to issueService to check that the issue exists (throws exception)
+        IssueSnapshot issue = issueService.getIssueSnapshot(issueId);
 
         // set the comment issue and owner
-        comment.setIssue(issue);
+        comment.setIssue(issueService.getIssueReference(issueId));
         comment.setOwner(owner);
 
         // set the comment creation date
         comment.setCreationTime(LocalDateTime.now());
 
-        return commentRepository.save(comment);
+        Comment createdComment = commentRepository.save(comment);
+
+        // make the comment content searchable along with its issue
+        searchService.indexComment(issue.getProjectId(), issueId, createdComment.getId(), createdComment.getContent());
+
+        // the issue counts its comments, in the same transaction as the comment itself
+        issueService.addIssueComments(issueId, 1);
+        changeTracker.projectChanged(issue.getProjectId());
+
+        return createdComment;
     }
 
     public Comment getCommentById(Long commentId) {
@@ -41,6 +74,59 @@ public class CommentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
     }
 
+    public CursorPage<CommentDto> getComments(Long issueId, String cursor, int size) {
+        // check that the issue exists (throws issue not found error)
+        issueService.getIssueSnapshot(issueId);
+
+        // fetch one extra comment to find out whether there is a next page
+        int pageSize = CursorPage.limit(size);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<CommentRepository.CommentView> comments;
+        if (cursor == null) {
+            comments = commentRepository.findPageByIssueId(issueId, pageable);
+        } else {
+            // the cursor holds the creation time of the last seen comment, empty when it has none, and its id
+            String[] keys = Cursor.decode(cursor, 2);
+            Long lastId = parse(keys[1], Long::valueOf);
+
+            comments = keys[0].isEmpty() ?
+                    commentRepository.findPageByIssueIdAfterNull(issueId, lastId, pageable) :
+                    commentRepository.findPageByIssueIdAfter(issueId, parse(keys[0], LocalDateTime::parse), lastId, pageable);
+        }
+
+        CursorPage<CommentRepository.CommentView> page = CursorPage.of(comments, pageSize, (comment) -> Cursor.encode(
+                comment.getCreationTime() != null ? comment.getCreationTime() : "", comment.getId()));
+
+        // the owners of the page, each one fetched once
+        Set<Long> ownerIds = page.getContent().stream()
+                .map(CommentRepository.CommentView::getOwnerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, UserDto> owners = ownerIds.isEmpty() ? Map.of() :
+                userRepository.findDtosByIdIn(ownerIds).stream()
+                        .collect(Collectors.toMap(UserDto::getId, Function.identity()));
+
+        return page.map((comment) -> new CommentDto(
+                comment.getId(),
+                comment.getContent(),
+                comment.getIssueId(),
+                owners.get(comment.getOwnerId()),
+                comment.getCreationTime(),
+                comment.getUpdateTime()
+        ));
+    }
+
+    private static <T> T parse(String key, Function<String, T> parser) {
+        try {
+            return parser.apply(key);
+        } catch (RuntimeException ex) {
+            throw new InvalidIdException(Cursor.errorMessage);
+        }
+    }
+
+    @Transactional
     public void deleteComment(Long issueId, Long commentId, User authenticatedUser) {
         // find the comment by id, otherwise a ResourceNotFoundException is already thrown
         Comment comment = getCommentById(commentId);
@@ -50,11 +136,16 @@ public class CommentService {
             throw new ForbiddenOperationException("Forbidden");
 
         // in case the issue id is incorrect, throw an issue not found error
-        if(comment.getIssue().getId() != issueId)
+        if(!Objects.equals(comment.getIssue().getId(), issueId))
             throw new ResourceNotFoundException("Issue not found");
 
         // delete the comment
         commentRepository.deleteById(commentId);
+
+        // remove the comment content from the search index
+        searchService.removeComment(getProjectId(comment.getIssue()), issueId, commentId);
+        issueService.addIssueComments(issueId, -1);
+        changeTracker.projectChanged(getProjectId(comment.getIssue()));
     }
 
     public Comment updateComment(Long commentId, Long issueId, String newContent,
@@ -67,11 +158,22 @@ public class CommentService {
             throw new ForbiddenOperationException("Forbidden");
 
         // check if the issue exists
-        if(comment.getIssue().getId() != issueId)
+        if(!Objects.equals(comment.getIssue().getId(), issueId))
             throw new ResourceNotFoundException("Issue not found");
 
         // update the content and save the comment
         comment.setContent(newContent);
-        return commentRepository.save(comment);
+        Comment updatedComment = commentRepository.save(comment);
+
+        // re-index the comment content
+        searchService.indexComment(getProjectId(comment.getIssue()), issueId, commentId, newContent);
+        issueService.incrementIssueVersion(issueId);
+        changeTracker.projectChanged(getProjectId(comment.getIssue()));
+
+        return updatedComment;
+    }
+
+    private Long getProjectId(Issue issue) {
+        return issue.getProject() != null ? issue.getProject().getId() : null;
     }
 }
@@ -0,0 +1,95 @@
+package com.habibInc.issueTracker.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// a change of a board pushed to its subscribers, small enough for the client to apply it without reloading the board
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoardEvent {
+
+    public enum Type {
+        ISSUE_MOVED, ISSUE_UPDATED, COLUMN_CREATED, COLUMN_UPDATED, COLUMN_DELETED,
+        // the events of a subscriber overflowed its buffer, the board has to be fetched again
+        RESYNC
+    }
+
+    private Type type;
+    private Long boardId;
+    private Long issueId;
+
+    // the column the issue was moved to, or the created, updated or deleted column
+    private Long columnId;
+    private Long fromColumnId;
+
+    private String title;
+
+    public static BoardEvent issueMoved(Long boardId, Long issueId, Long fromColumnId, Long toColumnId) {
+        return new BoardEvent(Type.ISSUE_MOVED, boardId, issueId, toColumnId, fromColumnId, null);
+    }
+
+    public static BoardEvent issueUpdated(Long boardId, Long issueId, Long columnId) {
+        return new BoardEvent(Type.ISSUE_UPDATED, boardId, issueId, columnId, null, null);
+    }
+
+    public static BoardEvent columnCreated(Long boardId, Long columnId, String title) {
+        return new BoardEvent(Type.COLUMN_CREATED, boardId, null, columnId, null, title);
+    }
+
+    public static BoardEvent columnUpdated(Long boardId, Long columnId, String title) {
+        return new BoardEvent(Type.COLUMN_UPDATED, boardId, null, columnId, null, title);
+    }
+
+    public static BoardEvent columnDeleted(Long boardId, Long columnId) {
+        return new BoardEvent(Type.COLUMN_DELETED, boardId, null, columnId, null, null);
+    }
+
+    public static BoardEvent resync(Long boardId) {
+        return new BoardEvent(Type.RESYNC, boardId, null, null, null, null);
+    }
+
+    // the events of a same key replace each other while they wait to be sent
+    @JsonIgnore
+    public String getKey() {
+        switch (type) {
+            case ISSUE_MOVED:
+            case ISSUE_UPDATED:
+                return type + ":" + issueId;
+            case RESYNC:
+                return type.toString();
+            default:
+                return "COLUMN:" + columnId;
+        }
+    }
+
+    // the event standing for this one followed by the later one of the same key
+    public BoardEvent coalesce(BoardEvent later) {
+        // successive moves are a single move from the first column to the last one
+        if (type == Type.ISSUE_MOVED && later.type == Type.ISSUE_MOVED)
+            return issueMoved(boardId, issueId, fromColumnId, later.columnId);
+
+        // a column renamed before its creation was sent is created with its latest title
+        if (type == Type.COLUMN_CREATED && later.type == Type.COLUMN_UPDATED)
+            return columnCreated(boardId, columnId, later.title);
+
+        return later;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "type: " + type +
+                ", boardId: " + boardId +
+                ", issueId: " + issueId +
+                ", columnId: " + columnId +
+                ", fromColumnId: " + fromColumnId +
+                ", title: '" + title + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,259 @@
+package com.habibInc.issueTracker.event;
+
+import com.habibInc.issueTracker.column.ColumnRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// fans the board changes out to the open event streams of the board, on this node only
+@Slf4j
+@Component
+public class BoardEventBroker {
+
+    private final ColumnRepository columnRepository;
+    private final long timeout;
+    private final int bufferSize;
+    private final long dispatchDelay;
+    private final long heartbeatDelay;
+    private final long sendTimeout;
+
+    private final ConcurrentMap<Long, Set<BoardSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong eventIds = new AtomicLong();
+
+    private ScheduledExecutorService dispatcher;
+
+    // the blocking sends run here, a client that stops reading holds one sender and never the dispatcher
+    private final ExecutorService senders;
+
+    @Autowired
+    public BoardEventBroker(ColumnRepository columnRepository,
+                            @Value("${board.events.timeout:1800000}") long timeout,
+                            @Value("${board.events.buffer.size:100}") int bufferSize,
+                            @Value("${board.events.dispatch.delay:250}") long dispatchDelay,
+                            @Value("${board.events.heartbeat.delay:15000}") long heartbeatDelay,
+                            @Value("${board.events.send.timeout:10000}") long sendTimeout,
+                            @Value("${board.events.senders:4}") int senderCount) {
+        this.columnRepository = columnRepository;
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.dispatchDelay = dispatchDelay;
+        this.heartbeatDelay = heartbeatDelay;
+        this.sendTimeout = sendTimeout;
+
+        this.senders = Executors.newFixedThreadPool(senderCount, (runnable) -> {
+            Thread thread = new Thread(runnable, "board-events-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // a thread of its own, so that a slow client never holds back the scheduled jobs
+    @PostConstruct
+    public void start() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "board-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        dispatcher.scheduleWithFixedDelay(this::dispatch, dispatchDelay, dispatchDelay, TimeUnit.MILLISECONDS);
+    }
+
+    // the stream is asynchronous, no request thread is held while it stays open
+    public SseEmitter subscribe(Long boardId) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        BoardSubscriber subscriber = new BoardSubscriber(boardId, emitter, bufferSize, System.currentTimeMillis());
+
+        add(subscriber);
+
+        // the client reconnects on its own once the stream times out
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError((ex) -> unsubscribe(subscriber));
+
+        // nothing reaches the client before the first send, this one tells it that the stream is open
+        try {
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException ex) {
+            unsubscribe(subscriber);
+            emitter.completeWithError(ex);
+        }
+
+        return emitter;
+    }
+
+    void add(BoardSubscriber subscriber) {
+        // added under the lock of the board entry, so that the last subscriber leaving can not drop the set in between
+        subscribers.compute(subscriber.getBoardId(), (boardId, boardSubscribers) -> {
+            if (boardSubscribers == null)
+                boardSubscribers = ConcurrentHashMap.newKeySet();
+
+            boardSubscribers.add(subscriber);
+            return boardSubscribers;
+        });
+    }
+
+    public int getSubscriberCount(Long boardId) {
+        Set<BoardSubscriber> boardSubscribers = subscribers.get(boardId);
+        return boardSubscribers != null ? boardSubscribers.size() : 0;
+    }
+
+    public void issueMoved(Long boardId, Long issueId, Long fromColumnId, Long toColumnId) {
+        publish(BoardEvent.issueMoved(boardId, issueId, fromColumnId, toColumnId));
+    }
+
+    public void issueUpdated(Long columnId, Long issueId) {
+        // an issue shows on the board of its column, looked up only when some board is being watched
+        if (columnId == null || subscribers.isEmpty())
+            return;
+
+        columnRepository.findBoardIdById(columnId)
+                .ifPresent((boardId) -> publish(BoardEvent.issueUpdated(boardId, issueId, columnId)));
+    }
+
+    public void columnCreated(Long boardId, Long columnId, String title) {
+        publish(BoardEvent.columnCreated(boardId, columnId, title));
+    }
+
+    public void columnUpdated(Long boardId, Long columnId, String title) {
+        publish(BoardEvent.columnUpdated(boardId, columnId, title));
+    }
+
+    public void columnDeleted(Long boardId, Long columnId) {
+        publish(BoardEvent.columnDeleted(boardId, columnId));
+    }
+
+    private void publish(BoardEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            offer(event);
+            return;
+        }
+
+        // published once committed, so that the subscribers never see a change that was rolled back
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                offer(event);
+            }
+        });
+    }
+
+    private void offer(BoardEvent event) {
+        Set<BoardSubscriber> boardSubscribers = subscribers.get(event.getBoardId());
+        if (boardSubscribers == null)
+            return;
+
+        // the events are only buffered here, the dispatcher sends them so that rapid changes are coalesced
+        for (BoardSubscriber subscriber : boardSubscribers)
+            subscriber.offer(event);
+    }
+
+    public void dispatch() {
+        long now = System.currentTimeMillis();
+
+        for (Set<BoardSubscriber> boardSubscribers : subscribers.values()) {
+            for (BoardSubscriber subscriber : boardSubscribers) {
+                // a client that stopped reading is dropped, it reloads the board once it reconnects
+                if (subscriber.isStalled(now, sendTimeout)) {
+                    log.debug("Dropped stalled board event stream: {boardId: {}}", subscriber.getBoardId());
+                    unsubscribe(subscriber);
+                    continue;
+                }
+
+                // the events keep being buffered while the previous send is in flight
+                if (!subscriber.startSend(now))
+                    continue;
+
+                try {
+                    senders.execute(() -> sendAndRelease(subscriber, now));
+                } catch (RejectedExecutionException ex) {
+                    // shutting down
+                    subscriber.endSend();
+                }
+            }
+        }
+    }
+
+    private void sendAndRelease(BoardSubscriber subscriber, long now) {
+        try {
+            send(subscriber, now);
+
+            // dropped while its send was blocked, the emitter is free to complete only now
+            if (!isSubscribed(subscriber))
+                subscriber.getEmitter().complete();
+        } catch (IOException | RuntimeException ex) {
+            // the client went away or its stream has already completed, it is dropped without stopping the others
+            log.debug("Closed board event stream: {boardId: {}}", subscriber.getBoardId(), ex);
+            unsubscribe(subscriber);
+            subscriber.getEmitter().completeWithError(ex);
+        } finally {
+            subscriber.endSend();
+        }
+    }
+
+    private void send(BoardSubscriber subscriber, long now) throws IOException {
+        List<BoardEvent> events = subscriber.drain();
+
+        // an idle stream is kept open by a comment, so that proxies do not close it
+        if (events.isEmpty()) {
+            if (now - subscriber.getLastSendTime() >= heartbeatDelay) {
+                subscriber.getEmitter().send(SseEmitter.event().comment("heartbeat"));
+                subscriber.sent(now);
+            }
+            return;
+        }
+
+        for (BoardEvent event : events) {
+            subscriber.getEmitter().send(SseEmitter.event()
+                    .id(String.valueOf(eventIds.incrementAndGet()))
+                    .name(event.getType().toString())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        subscriber.sent(now);
+    }
+
+    private boolean isSubscribed(BoardSubscriber subscriber) {
+        Set<BoardSubscriber> boardSubscribers = subscribers.get(subscriber.getBoardId());
+        return boardSubscribers != null && boardSubscribers.contains(subscriber);
+    }
+
+    private void unsubscribe(BoardSubscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.getBoardId(), (boardId, boardSubscribers) -> {
+            boardSubscribers.remove(subscriber);
+            return boardSubscribers.isEmpty() ? null : boardSubscribers;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dispatcher != null)
+            dispatcher.shutdownNow();
+
+        senders.shutdownNow();
+
+        // the clients reconnect to another node, or once this one is back
+        subscribers.values().forEach((boardSubscribers) ->
+                boardSubscribers.forEach((subscriber) -> subscriber.getEmitter().complete()));
+        subscribers.clear();
+    }
+}
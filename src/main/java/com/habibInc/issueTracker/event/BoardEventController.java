@@ -0,0 +1,43 @@
+package com.habibInc.issueTracker.event;
+
+import com.habibInc.issueTracker.board.BoardService;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@RestController
+@RequestMapping("/boards/{boardId}/events")
+public class BoardEventController {
+
+    private final BoardEventBroker eventBroker;
+    private final BoardService boardService;
+
+    @Autowired
+    public BoardEventController(BoardEventBroker eventBroker, BoardService boardService) {
+        this.eventBroker = eventBroker;
+        this.boardService = boardService;
+    }
+
+    // the changes made from now on, the client fetches the board once subscribed
+    @GetMapping(value = {"", "/"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable("boardId") String id) {
+        // validate board id
+        Long boardId = IdValidator.validate(id);
+
+        // check that the board exists (throws board not found error)
+        boardService.getBoardById(boardId);
+
+        SseEmitter emitter = eventBroker.subscribe(boardId);
+
+        log.info("Subscribed to board events: {boardId: {}, subscribers: {}}", boardId, eventBroker.getSubscriberCount(boardId));
+
+        return emitter;
+    }
+}
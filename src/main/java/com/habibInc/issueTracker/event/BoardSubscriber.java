@@ -0,0 +1,94 @@
+package com.habibInc.issueTracker.event;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// an open event stream of a board, with the events waiting to be sent to it
+public class BoardSubscriber {
+
+    private final Long boardId;
+    private final SseEmitter emitter;
+    private final int capacity;
+
+    // in publishing order, an event replacing a waiting one of the same key takes its place (guarded by this)
+    private Map<String, BoardEvent> buffer = new LinkedHashMap<>();
+
+    private volatile long lastSendTime;
+
+    // start time of the send in flight, 0 when there is none
+    private final AtomicLong sendStartTime = new AtomicLong();
+
+    public BoardSubscriber(Long boardId, SseEmitter emitter, int capacity, long now) {
+        this.boardId = boardId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.lastSendTime = now;
+    }
+
+    public Long getBoardId() {
+        return boardId;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public long getLastSendTime() {
+        return lastSendTime;
+    }
+
+    public void sent(long now) {
+        lastSendTime = now;
+    }
+
+    public boolean startSend(long now) {
+        return sendStartTime.compareAndSet(0, now);
+    }
+
+    public void endSend() {
+        sendStartTime.set(0);
+    }
+
+    public boolean isStalled(long now, long timeout) {
+        long startTime = sendStartTime.get();
+        return startTime != 0 && now - startTime >= timeout;
+    }
+
+    public synchronized void offer(BoardEvent event) {
+        BoardEvent waiting = buffer.get(event.getKey());
+        if (waiting != null) {
+            buffer.put(event.getKey(), waiting.coalesce(event));
+            return;
+        }
+
+        // a subscriber too slow to keep up is told to reload the board rather than being sent every change
+        if (buffer.size() >= capacity) {
+            BoardEvent resync = BoardEvent.resync(boardId);
+
+            buffer = new LinkedHashMap<>();
+            buffer.put(resync.getKey(), resync);
+            return;
+        }
+
+        buffer.put(event.getKey(), event);
+    }
+
+    public synchronized List<BoardEvent> drain() {
+        if (buffer.isEmpty())
+            return List.of();
+
+        List<BoardEvent> events = new ArrayList<>(buffer.values());
+        buffer = new LinkedHashMap<>();
+
+        return events;
+    }
+
+    public synchronized int getPendingCount() {
+        return buffer.size();
+    }
+}
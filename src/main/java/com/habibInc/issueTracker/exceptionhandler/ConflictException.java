@@ -0,0 +1,11 @@
+package com.habibInc.issueTracker.exceptionhandler;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
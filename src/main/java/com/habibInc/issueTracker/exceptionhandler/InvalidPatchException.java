@@ -0,0 +1,11 @@
+package com.habibInc.issueTracker.exceptionhandler;
+
+public class InvalidPatchException extends RuntimeException {
+    public InvalidPatchException(String message) {
+        super(message);
+    }
+
+    public InvalidPatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
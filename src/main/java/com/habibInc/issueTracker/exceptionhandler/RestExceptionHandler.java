@@ -3,6 +3,7 @@ package com.habibInc.issueTracker.exceptionhandler;
 import io.jsonwebtoken.MalformedJwtException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -30,6 +31,13 @@ public class RestExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidPatchException.class)
+    public ResponseEntity<ApiError> handleInvalidPatchException(HttpServletRequest request, InvalidPatchException ex) {
+        ApiError error = new ApiError(ex.getMessage(), HttpStatus.BAD_REQUEST, request.getRequestURI(), LocalDateTime.now());
+        log.error("{}", error);
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MalformedJwtException.class)
     public ResponseEntity<ApiError> handleMalformedJwtException(HttpServletRequest request, MalformedJwtException ex) {
         ApiError error = new ApiError(ex.getMessage(), HttpStatus.UNAUTHORIZED, request.getRequestURI(), LocalDateTime.now());
@@ -64,6 +72,27 @@ public class RestExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailedException(HttpServletRequest request, PreconditionFailedException ex) {
+        ApiError error = new ApiError(ex.getMessage(), HttpStatus.PRECONDITION_FAILED, request.getRequestURI(), LocalDateTime.now());
+        log.error("{}", error);
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiError> handleConflictException(HttpServletRequest request, ConflictException ex) {
+        ApiError error = new ApiError(ex.getMessage(), HttpStatus.CONFLICT, request.getRequestURI(), LocalDateTime.now());
+        log.error("{}", error);
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLockingFailureException(HttpServletRequest request, OptimisticLockingFailureException ex) {
+        ApiError error = new ApiError("Concurrent update", HttpStatus.CONFLICT, request.getRequestURI(), LocalDateTime.now());
+        log.error("{}", error);
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleAllOtherExceptions(HttpServletRequest request, Exception ex) {
         ApiError error = new ApiError("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR, request.getRequestURI(), LocalDateTime.now());
@@ -0,0 +1,49 @@
+package com.habibInc.issueTracker.flow;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+@Entity
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+// the issues that entered and left a board column on a given day
+@Table(name = "column_flow_count", indexes = {
+        @Index(name = "idx_column_flow_count_board", columnList = "board_id, flow_date")
+})
+public class ColumnFlowCount {
+
+    @EmbeddedId
+    private ColumnFlowKey key;
+
+    // the board of the column, so that the counts of a board are read without joining its columns
+    @Column(name = "board_id", nullable = false)
+    private Long boardId;
+
+    @Column(name = "arrived", nullable = false)
+    private long arrived;
+
+    @Column(name = "departed", nullable = false)
+    private long departed;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "key: " + key +
+                ", boardId: " + boardId +
+                ", arrived: " + arrived +
+                ", departed: " + departed +
+                '}';
+    }
+}
@@ -0,0 +1,58 @@
+package com.habibInc.issueTracker.flow;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ColumnFlowCountRepository extends CrudRepository<ColumnFlowCount, ColumnFlowKey> {
+
+    interface ColumnBoardView {
+        Long getId();
+        Long getBoardId();
+    }
+
+    interface ColumnTotalView {
+        Long getColumnId();
+        Long getBoardId();
+        long getTotal();
+    }
+
+    // adds to the counts of the day in place, creating its row on the first transition
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO column_flow_count (column_id, flow_date, board_id, arrived, departed) " +
+            "VALUES (:columnId, :flowDate, :boardId, :arrived, :departed) " +
+            "ON DUPLICATE KEY UPDATE arrived = arrived + :arrived, departed = departed + :departed", nativeQuery = true)
+    int add(@Param("columnId") Long columnId,
+            @Param("flowDate") LocalDate flowDate,
+            @Param("boardId") Long boardId,
+            @Param("arrived") long arrived,
+            @Param("departed") long departed);
+
+    @Query("SELECT c FROM ColumnFlowCount c WHERE c.boardId = :boardId " +
+            "AND c.key.flowDate BETWEEN :from AND :to ORDER BY c.key.flowDate")
+    List<ColumnFlowCount> findAllByBoardIdBetween(@Param("boardId") Long boardId,
+                                                  @Param("from") LocalDate from,
+                                                  @Param("to") LocalDate to);
+
+    // the issues held by the columns of a board at the start of the given day
+    @Query("SELECT c.key.columnId AS columnId, c.boardId AS boardId, SUM(c.arrived - c.departed) AS total " +
+            "FROM ColumnFlowCount c WHERE c.boardId = :boardId AND c.key.flowDate < :day GROUP BY c.key.columnId, c.boardId")
+    List<ColumnTotalView> sumByBoardIdBefore(@Param("boardId") Long boardId, @Param("day") LocalDate day);
+
+    @Query("SELECT c.id AS id, c.board.id AS boardId FROM Column c WHERE c.id IN :ids")
+    List<ColumnBoardView> findColumnBoardsByIdIn(@Param("ids") Collection<Long> columnIds);
+
+    // the issues the columns hold now, which the flow counts start from
+    @Query("SELECT c.id AS columnId, c.board.id AS boardId, COUNT(i) AS total " +
+            "FROM Issue i JOIN i.column c WHERE c.board IS NOT NULL GROUP BY c.id, c.board.id")
+    List<ColumnTotalView> countIssuesByColumn();
+}
@@ -0,0 +1,31 @@
+package com.habibInc.issueTracker.flow;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class ColumnFlowDto {
+
+    private Long id;
+    private String title;
+
+    // the issues held by the column at the end of each day of the range, the first day first
+    private List<Long> counts;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "id: " + id +
+                ", title: '" + title + '\'' +
+                ", counts: " + counts +
+                '}';
+    }
+}
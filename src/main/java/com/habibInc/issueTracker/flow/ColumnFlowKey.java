@@ -0,0 +1,58 @@
+package com.habibInc.issueTracker.flow;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Objects;
+
+@Embeddable
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class ColumnFlowKey implements Serializable, Comparable<ColumnFlowKey> {
+
+    private final static Comparator<ColumnFlowKey> ORDER = Comparator
+            .comparing(ColumnFlowKey::getColumnId)
+            .thenComparing(ColumnFlowKey::getFlowDate);
+
+    @Column(name = "column_id")
+    private Long columnId;
+
+    @Column(name = "flow_date")
+    private LocalDate flowDate;
+
+    @Override
+    public int compareTo(ColumnFlowKey other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ColumnFlowKey key = (ColumnFlowKey) o;
+        return Objects.equals(columnId, key.columnId) &&
+                Objects.equals(flowDate, key.flowDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(columnId, flowDate);
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "columnId: " + columnId +
+                ", flowDate: " + flowDate +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.habibInc.issueTracker.flow;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+// the last column transition added to the flow counts, a single row shared by every node
+@Table(name = "column_flow_progress")
+public class ColumnFlowProgress {
+    public final static String ID = "column_flow";
+
+    @Id
+    @Column(name = "id", length = 32)
+    private String id;
+
+    @Column(name = "last_transition_time", nullable = false)
+    private LocalDateTime lastTransitionTime;
+
+    @Column(name = "last_transition_id", nullable = false)
+    private Long lastTransitionId;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "id: '" + id + '\'' +
+                ", lastTransitionTime: " + lastTransitionTime +
+                ", lastTransitionId: " + lastTransitionId +
+                '}';
+    }
+}
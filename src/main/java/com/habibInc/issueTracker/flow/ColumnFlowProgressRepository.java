@@ -0,0 +1,19 @@
+package com.habibInc.issueTracker.flow;
+
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface ColumnFlowProgressRepository extends CrudRepository<ColumnFlowProgress, String> {
+
+    // locks the progress row, so that a single node aggregates a given transition
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ColumnFlowProgress p WHERE p.id = :id")
+    Optional<ColumnFlowProgress> findForUpdate(@Param("id") String id);
+}
@@ -0,0 +1,61 @@
+package com.habibInc.issueTracker.flow;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+// an issue entering, leaving or changing column, never updated once written
+@Table(name = "column_transition", indexes = {
+        @Index(name = "idx_column_transition_time", columnList = "transition_time, id")
+})
+public class ColumnTransition {
+
+    // ids are handed out from blocks of the sequence, so the transitions of a bulk move are inserted at once
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "column_transition_id")
+    @GenericGenerator(name = "column_transition_id", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "column_transition_sequence"),
+            @Parameter(name = "increment_size", value = "100"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
+    private Long id;
+
+    // plain ids rather than relations, a null column stands for an issue entering or leaving the boards
+    @Column(name = "issue_id", nullable = false)
+    private Long issueId;
+
+    @Column(name = "from_column_id")
+    private Long fromColumnId;
+
+    @Column(name = "to_column_id")
+    private Long toColumnId;
+
+    @Column(name = "transition_time", nullable = false)
+    private LocalDateTime transitionTime;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "id: " + id +
+                ", issueId: " + issueId +
+                ", fromColumnId: " + fromColumnId +
+                ", toColumnId: " + toColumnId +
+                ", transitionTime: " + transitionTime +
+                '}';
+    }
+}
@@ -0,0 +1,53 @@
+package com.habibInc.issueTracker.flow;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// appends the column transitions of the issues, within the transaction of the move that makes them
+@Component
+public class ColumnTransitionLog {
+
+    private final ColumnTransitionRepository transitionRepository;
+
+    @Autowired
+    public ColumnTransitionLog(ColumnTransitionRepository transitionRepository) {
+        this.transitionRepository = transitionRepository;
+    }
+
+    // the issues given by id with the column they are moved from
+    public void moved(Map<Long, Long> fromColumnIds, Long toColumnId) {
+        final LocalDateTime transitionTime = LocalDateTime.now();
+        List<ColumnTransition> transitions = new ArrayList<>();
+
+        fromColumnIds.forEach((issueId, fromColumnId) -> {
+            // a move within the same column only changes the order of its issues
+            if (!Objects.equals(fromColumnId, toColumnId))
+                transitions.add(new ColumnTransition(null, issueId, fromColumnId, toColumnId, transitionTime));
+        });
+
+        if (!transitions.isEmpty())
+            write(transitions);
+    }
+
+    public void moved(Long issueId, Long fromColumnId, Long toColumnId) {
+        moved(Collections.singletonMap(issueId, fromColumnId), toColumnId);
+    }
+
+    public void removed(Long issueId, Long columnId) {
+        if (columnId != null)
+            write(List.of(new ColumnTransition(null, issueId, columnId, null, LocalDateTime.now())));
+    }
+
+    private void write(List<ColumnTransition> transitions) {
+        // flushed right away, a bulk statement clearing the persistence context later in the move would drop them
+        transitionRepository.saveAll(transitions);
+        transitionRepository.flush();
+    }
+}
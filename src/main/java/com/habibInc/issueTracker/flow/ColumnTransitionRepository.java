@@ -0,0 +1,24 @@
+package com.habibInc.issueTracker.flow;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ColumnTransitionRepository extends JpaRepository<ColumnTransition, Long> {
+
+    // the transitions following the last aggregated one, in the order they were made, up to the given time
+    @Query("SELECT t FROM ColumnTransition t " +
+            "WHERE (t.transitionTime > :lastTime OR (t.transitionTime = :lastTime AND t.id > :lastId)) " +
+            "AND t.transitionTime < :until " +
+            "ORDER BY t.transitionTime, t.id")
+    List<ColumnTransition> findAllAfter(@Param("lastTime") LocalDateTime lastTime,
+                                        @Param("lastId") Long lastId,
+                                        @Param("until") LocalDateTime until,
+                                        Pageable pageable);
+}
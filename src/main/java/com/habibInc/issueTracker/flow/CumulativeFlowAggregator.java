@@ -0,0 +1,150 @@
+package com.habibInc.issueTracker.flow;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+// adds the column transitions to the daily flow counts of the board columns, a batch at a time
+@Slf4j
+@Component
+public class CumulativeFlowAggregator {
+
+    private final ColumnTransitionRepository transitionRepository;
+    private final ColumnFlowCountRepository countRepository;
+    private final ColumnFlowProgressRepository progressRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long settleSeconds;
+
+    @Autowired
+    public CumulativeFlowAggregator(ColumnTransitionRepository transitionRepository,
+                                    ColumnFlowCountRepository countRepository,
+                                    ColumnFlowProgressRepository progressRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${board.flow.aggregate.batch.size:1000}") int batchSize,
+                                    @Value("${board.flow.aggregate.settle.seconds:60}") long settleSeconds) {
+        this.transitionRepository = transitionRepository;
+        this.countRepository = countRepository;
+        this.progressRepository = progressRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.settleSeconds = settleSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${board.flow.aggregate.delay:60000}")
+    public void aggregate() {
+        int total = 0;
+        int count;
+
+        try {
+            do {
+                count = aggregateBatch();
+                total += count;
+            } while (count == batchSize);
+        } catch (RuntimeException ex) {
+            // the batch is rolled back along with its progress, and aggregated again by the next run
+            log.error("Failed to aggregate column transitions: {aggregated: {}}", total, ex);
+            return;
+        }
+
+        if (total > 0)
+            log.info("Aggregated column transitions: {count: {}}", total);
+    }
+
+    // returns the number of transitions added to the counts
+    public int aggregateBatch() {
+        return transactionTemplate.execute((status) -> {
+            // a transition made within the settle delay may still be committed after later ones
+            LocalDateTime until = LocalDateTime.now().minusSeconds(settleSeconds);
+
+            Optional<ColumnFlowProgress> found = progressRepository.findForUpdate(ColumnFlowProgress.ID);
+            if (found.isEmpty()) {
+                start();
+                return 0;
+            }
+
+            ColumnFlowProgress progress = found.get();
+            List<ColumnTransition> transitions = transitionRepository.findAllAfter(
+                    progress.getLastTransitionTime(), progress.getLastTransitionId(), until, PageRequest.of(0, batchSize));
+
+            if (transitions.isEmpty())
+                return 0;
+
+            add(transitions);
+
+            ColumnTransition last = transitions.get(transitions.size() - 1);
+            progress.setLastTransitionTime(last.getTransitionTime());
+            progress.setLastTransitionId(last.getId());
+
+            return transitions.size();
+        });
+    }
+
+    // the counts start from the issues the columns hold now, the transitions made from now on are added to them
+    private void start() {
+        LocalDateTime now = LocalDateTime.now();
+        progressRepository.save(new ColumnFlowProgress(ColumnFlowProgress.ID, now, 0L));
+
+        countRepository.countIssuesByColumn().forEach((column) ->
+                countRepository.add(column.getColumnId(), now.toLocalDate(), column.getBoardId(), column.getTotal(), 0));
+
+        log.info("Started the column flow counts: {from: {}}", now);
+    }
+
+    private void add(List<ColumnTransition> transitions) {
+        // the counts of the batch summed up by row and written in the same order, so each row is written once
+        Map<ColumnFlowKey, long[]> deltas = new TreeMap<>();
+        Set<Long> columnIds = new HashSet<>();
+
+        for (ColumnTransition transition : transitions) {
+            LocalDate day = transition.getTransitionTime().toLocalDate();
+
+            if (transition.getFromColumnId() != null) {
+                deltas.computeIfAbsent(new ColumnFlowKey(transition.getFromColumnId(), day), (key) -> new long[2])[1]++;
+                columnIds.add(transition.getFromColumnId());
+            }
+
+            if (transition.getToColumnId() != null) {
+                deltas.computeIfAbsent(new ColumnFlowKey(transition.getToColumnId(), day), (key) -> new long[2])[0]++;
+                columnIds.add(transition.getToColumnId());
+            }
+        }
+
+        if (deltas.isEmpty())
+            return;
+
+        Map<Long, Long> boardIds = new HashMap<>();
+        countRepository.findColumnBoardsByIdIn(columnIds).forEach((column) -> boardIds.put(column.getId(), column.getBoardId()));
+
+        int skipped = 0;
+        for (Map.Entry<ColumnFlowKey, long[]> delta : deltas.entrySet()) {
+            ColumnFlowKey key = delta.getKey();
+            Long boardId = boardIds.get(key.getColumnId());
+
+            // a column deleted since the transition no longer shows on any board
+            if (boardId == null) {
+                skipped++;
+                continue;
+            }
+
+            countRepository.add(key.getColumnId(), key.getFlowDate(), boardId, delta.getValue()[0], delta.getValue()[1]);
+        }
+
+        if (skipped > 0)
+            log.warn("Skipped the flow counts of deleted columns: {rows: {}}", skipped);
+    }
+}
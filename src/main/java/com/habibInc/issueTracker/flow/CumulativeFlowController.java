@@ -0,0 +1,35 @@
+package com.habibInc.issueTracker.flow;
+
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/boards/{boardId}/cfd")
+public class CumulativeFlowController {
+
+    private final CumulativeFlowService flowService;
+
+    @Autowired
+    public CumulativeFlowController(CumulativeFlowService flowService) {
+        this.flowService = flowService;
+    }
+
+    @GetMapping({"", "/"})
+    @ResponseStatus(HttpStatus.OK)
+    public CumulativeFlowDto getCumulativeFlow(@PathVariable("boardId") String id,
+                                               @RequestParam(name = "from", required = false) String from,
+                                               @RequestParam(name = "to", required = false) String to) {
+        // validate board id
+        Long boardId = IdValidator.validate(id);
+
+        CumulativeFlowDto flow = flowService.getCumulativeFlow(boardId, from, to);
+
+        log.info("Fetched board cumulative flow: {boardId: {}, from: {}, to: {}}", boardId, flow.getFrom(), flow.getTo());
+
+        return flow;
+    }
+}
@@ -0,0 +1,35 @@
+package com.habibInc.issueTracker.flow;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class CumulativeFlowDto {
+
+    private Long boardId;
+
+    // both days included
+    private LocalDate from;
+    private LocalDate to;
+
+    private List<ColumnFlowDto> columns;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "boardId: " + boardId +
+                ", from: " + from +
+                ", to: " + to +
+                ", columns: " + columns +
+                '}';
+    }
+}
@@ -0,0 +1,84 @@
+package com.habibInc.issueTracker.flow;
+
+import com.habibInc.issueTracker.board.BoardRepository;
+import com.habibInc.issueTracker.column.ColumnRepository;
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
+import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class CumulativeFlowService {
+    public final static int DEFAULT_DAYS = 30;
+    public final static int MAX_DAYS = 366;
+
+    private final ColumnFlowCountRepository countRepository;
+    private final BoardRepository boardRepository;
+    private final ColumnRepository columnRepository;
+
+    @Autowired
+    public CumulativeFlowService(ColumnFlowCountRepository countRepository,
+                                 BoardRepository boardRepository,
+                                 ColumnRepository columnRepository) {
+        this.countRepository = countRepository;
+        this.boardRepository = boardRepository;
+        this.columnRepository = columnRepository;
+    }
+
+    // the range defaults to the last days up to today, given days being ISO dates such as "2020-11-30"
+    public CumulativeFlowDto getCumulativeFlow(Long boardId, String from, String to) {
+        LocalDate toDay = to != null ? parse(to) : LocalDate.now();
+        LocalDate fromDay = from != null ? parse(from) : toDay.minusDays(DEFAULT_DAYS - 1);
+
+        long days = ChronoUnit.DAYS.between(fromDay, toDay) + 1;
+        if (days < 1 || days > MAX_DAYS)
+            throw new InvalidIdException("Invalid date range");
+
+        if (!boardRepository.existsById(boardId))
+            throw new ResourceNotFoundException("Board not found");
+
+        // the issues each column held before the range, then the daily counts within it, never the transitions
+        Map<Long, Long> totals = new HashMap<>();
+        countRepository.sumByBoardIdBefore(boardId, fromDay)
+                .forEach((column) -> totals.put(column.getColumnId(), column.getTotal()));
+
+        Map<Long, Map<LocalDate, Long>> deltas = new HashMap<>();
+        countRepository.findAllByBoardIdBetween(boardId, fromDay, toDay).forEach((count) ->
+                deltas.computeIfAbsent(count.getKey().getColumnId(), (id) -> new HashMap<>())
+                        .put(count.getKey().getFlowDate(), count.getArrived() - count.getDeparted()));
+
+        List<ColumnFlowDto> columns = columnRepository.findViewsByBoardIdOrderByIdAsc(boardId).stream()
+                .map((column) -> {
+                    Map<LocalDate, Long> columnDeltas = deltas.getOrDefault(column.getId(), Map.of());
+                    long total = totals.getOrDefault(column.getId(), 0L);
+
+                    List<Long> counts = new ArrayList<>();
+                    for (LocalDate day = fromDay; !day.isAfter(toDay); day = day.plusDays(1)) {
+                        total += columnDeltas.getOrDefault(day, 0L);
+                        counts.add(total);
+                    }
+
+                    return new ColumnFlowDto(column.getId(), column.getTitle(), counts);
+                })
+                .collect(Collectors.toList());
+
+        return new CumulativeFlowDto(boardId, fromDay, toDay, columns);
+    }
+
+    private static LocalDate parse(String day) {
+        try {
+            return LocalDate.parse(day);
+        } catch (DateTimeParseException ex) {
+            throw new InvalidIdException("Invalid date: " + day);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.habibInc.issueTracker.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+
+// one changed field of an issue, never updated once written
+@Table(name = "issue_change", indexes = {
+        @Index(name = "idx_issue_change_issue", columnList = "issue_id, change_time, id")
+})
+public class IssueChange {
+    public final static int MAX_VALUE_LENGTH = 1024;
+
+    // ids are handed out from blocks of the sequence, so a batch of changes is inserted without fetching each id
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_change_id")
+    @GenericGenerator(name = "issue_change_id", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "issue_change_sequence"),
+            @Parameter(name = "increment_size", value = "100"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
+    private Long id;
+
+    // plain ids rather than relations, so the history outlives the users and the sprints or columns it mentions
+    @Column(name = "issue_id", nullable = false)
+    private Long issueId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "field", length = 32, nullable = false)
+    private String field;
+
+    @Column(name = "old_value", length = MAX_VALUE_LENGTH)
+    private String oldValue;
+
+    @Column(name = "new_value", length = MAX_VALUE_LENGTH)
+    private String newValue;
+
+    @Column(name = "change_time", nullable = false)
+    private LocalDateTime changeTime;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "id: " + id +
+                ", issueId: " + issueId +
+                ", userId: " + userId +
+                ", field: '" + field + '\'' +
+                ", oldValue: '" + oldValue + '\'' +
+                ", newValue: '" + newValue + '\'' +
+                ", changeTime: " + changeTime +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package com.habibInc.issueTracker.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class IssueChangeDto {
+
+    private Long id;
+    private Long userId;
+
+    private String field;
+    private String oldValue;
+    private String newValue;
+
+    private LocalDateTime changeTime;
+
+    public static IssueChangeDto of(IssueChange change) {
+        return new IssueChangeDto(
+                change.getId(),
+                change.getUserId(),
+                change.getField(),
+                change.getOldValue(),
+                change.getNewValue(),
+                change.getChangeTime()
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "id: " + id +
+                ", userId: " + userId +
+                ", field: '" + field + '\'' +
+                ", oldValue: '" + oldValue + '\'' +
+                ", newValue: '" + newValue + '\'' +
+                ", changeTime: " + changeTime +
+                '}';
+    }
+}
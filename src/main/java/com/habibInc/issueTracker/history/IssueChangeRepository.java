@@ -0,0 +1,26 @@
+package com.habibInc.issueTracker.history;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IssueChangeRepository extends CrudRepository<IssueChange, Long> {
+
+    // the latest changes first; the ids come from blocks that each node reserves, so they only break the ties of the change time
+    @Query("SELECT c FROM IssueChange c WHERE c.issueId = :issueId ORDER BY c.changeTime DESC, c.id DESC")
+    List<IssueChange> findPageByIssueId(@Param("issueId") Long issueId, Pageable pageable);
+
+    // the changes preceding the last seen one, seeking on the (issue_id, change_time, id) index
+    @Query("SELECT c FROM IssueChange c WHERE c.issueId = :issueId AND (c.changeTime < :changeTime OR " +
+            "(c.changeTime = :changeTime AND c.id < :id)) ORDER BY c.changeTime DESC, c.id DESC")
+    List<IssueChange> findPageByIssueIdBefore(@Param("issueId") Long issueId,
+                                              @Param("changeTime") LocalDateTime changeTime,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+}
@@ -0,0 +1,146 @@
+package com.habibInc.issueTracker.history;
+
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+// records who changed which field of an issue, the records are written later by the history writer
+@Component
+public class IssueHistory {
+    public final static String SUMMARY = "summary";
+    public final static String DESCRIPTION = "description";
+    public final static String TYPE = "type";
+    public final static String STATUS = "status";
+    public final static String PRIORITY = "priority";
+    public final static String POINTS = "points";
+    public final static String ASSIGNEE = "assignee";
+    public final static String SPRINT = "sprint";
+    public final static String COLUMN = "column";
+
+    private final IssueChangeRepository changeRepository;
+    private final IssueHistoryWriter historyWriter;
+
+    @Autowired
+    public IssueHistory(IssueChangeRepository changeRepository, IssueHistoryWriter historyWriter) {
+        this.changeRepository = changeRepository;
+        this.historyWriter = historyWriter;
+    }
+
+    // the recorded fields of an issue, the relations by id
+    public static Map<String, String> fieldsOf(Issue issue) {
+        Map<String, String> fields = new LinkedHashMap<>();
+
+        fields.put(SUMMARY, valueOf(issue.getSummary()));
+        fields.put(DESCRIPTION, valueOf(issue.getDescription()));
+        fields.put(TYPE, valueOf(issue.getType()));
+        fields.put(STATUS, valueOf(issue.getStatus()));
+        fields.put(PRIORITY, valueOf(issue.getPriority()));
+        fields.put(POINTS, valueOf(issue.getPoints()));
+        fields.put(ASSIGNEE, valueOf(issue.getAssignee() != null ? issue.getAssignee().getId() : null));
+        fields.put(SPRINT, valueOf(issue.getSprint() != null ? issue.getSprint().getId() : null));
+        fields.put(COLUMN, valueOf(issue.getColumn() != null ? issue.getColumn().getId() : null));
+
+        return fields;
+    }
+
+    public void recordChanges(Long issueId, User user, Map<String, String> before, Map<String, String> after) {
+        final LocalDateTime changeTime = LocalDateTime.now();
+        List<IssueChange> changes = new ArrayList<>();
+
+        after.forEach((field, newValue) -> {
+            String oldValue = before.get(field);
+            if (!Objects.equals(oldValue, newValue))
+                changes.add(change(issueId, user, field, oldValue, newValue, changeTime));
+        });
+
+        record(changes);
+    }
+
+    public void recordChange(Long issueId, User user, String field, Object oldValue, Object newValue) {
+        String oldText = valueOf(oldValue);
+        String newText = valueOf(newValue);
+
+        if (!Objects.equals(oldText, newText))
+            record(List.of(change(issueId, user, field, oldText, newText, LocalDateTime.now())));
+    }
+
+    private void record(List<IssueChange> changes) {
+        if (changes.isEmpty())
+            return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            historyWriter.submit(changes);
+            return;
+        }
+
+        // handed to the writer once committed, a rolled back change leaves no history
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                historyWriter.submit(changes);
+            }
+        });
+    }
+
+    public CursorPage<IssueChangeDto> getHistory(Long issueId, String cursor, int size) {
+        // fetch one extra change to find out whether there is a next page
+        int pageSize = CursorPage.limit(size);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        // the first page starts with the latest change, the cursor holds the change time and the id of the last seen one
+        List<IssueChange> changes;
+        if (cursor == null) {
+            changes = changeRepository.findPageByIssueId(issueId, pageable);
+        } else {
+            String[] keys = Cursor.decode(cursor, 2);
+            changes = changeRepository.findPageByIssueIdBefore(
+                    issueId, parse(keys[0], LocalDateTime::parse), parse(keys[1], Long::valueOf), pageable);
+        }
+
+        return CursorPage.of(changes, pageSize, (change) -> Cursor.encode(change.getChangeTime(), change.getId()))
+                .map(IssueChangeDto::of);
+    }
+
+    private IssueChange change(Long issueId, User user, String field, String oldValue, String newValue, LocalDateTime changeTime) {
+        return IssueChange.builder()
+                .issueId(issueId)
+                .userId(user != null ? user.getId() : null)
+                .field(field)
+                .oldValue(oldValue)
+                .newValue(newValue)
+                .changeTime(changeTime)
+                .build();
+    }
+
+    private static <T> T parse(String key, Function<String, T> parser) {
+        try {
+            return parser.apply(key);
+        } catch (RuntimeException ex) {
+            throw new InvalidIdException(Cursor.errorMessage);
+        }
+    }
+
+    private static String valueOf(Object value) {
+        if (value == null)
+            return null;
+
+        String text = value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+        return text.length() > IssueChange.MAX_VALUE_LENGTH ? text.substring(0, IssueChange.MAX_VALUE_LENGTH) : text;
+    }
+}
@@ -0,0 +1,43 @@
+package com.habibInc.issueTracker.history;
+
+import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/issues/{issueId}/history")
+public class IssueHistoryController {
+
+    private final IssueHistory issueHistory;
+    private final IssueService issueService;
+
+    @Autowired
+    public IssueHistoryController(IssueHistory issueHistory, IssueService issueService) {
+        this.issueHistory = issueHistory;
+        this.issueService = issueService;
+    }
+
+    @GetMapping({"", "/"})
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPage<IssueChangeDto> getIssueHistory(@PathVariable("issueId") String id,
+                                                      @RequestParam(name = "cursor", required = false) String cursor,
+                                                      @RequestParam(name = "size", defaultValue = "20") int size) {
+        // validate issue id
+        Long issueId = IdValidator.validate(id);
+
+        // check that the issue exists (throws issue not found error)
+        issueService.getIssueSnapshot(issueId);
+
+        CursorPage<IssueChangeDto> history = issueHistory.getHistory(issueId, cursor, size);
+
+        log.info("Fetched issue history: {issueId: {}, cursor: {}, count: {}, nextCursor: {}}",
+                issueId, cursor, history.getContent().size(), history.getNextCursor());
+
+        return history;
+    }
+}
@@ -0,0 +1,138 @@
+package com.habibInc.issueTracker.history;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// writes the issue changes in batches, off the requests that made them
+@Slf4j
+@Component
+public class IssueHistoryWriter {
+    // changes inserted per transaction and per JDBC batch
+    public final static int BATCH_SIZE = 100;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<IssueChange> queue;
+    private final int capacity;
+
+    // the changes taken off the queue and not written yet, written again before any other (guarded by this)
+    private List<IssueChange> pending = new ArrayList<>();
+
+    // the changes given up on while the database could not be written
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    @Autowired
+    public IssueHistoryWriter(EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${issue.history.queue.capacity:10000}") int capacity) {
+        this.entityManager = entityManager;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+
+        // the producers flush from the afterCommit of their own transaction, the batches never join it
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void submit(Collection<IssueChange> changes) {
+        int dropped = 0;
+
+        for (IssueChange change : changes) {
+            if (queue.offer(change))
+                continue;
+
+            // a full queue is written by the producer itself, so the requests slow down rather than lose changes
+            if (!flush() || !queue.offer(change)) {
+                synchronized (this) {
+                    // the changes kept for a failing database hold no more than the queue and a batch do
+                    if (pending.size() < capacity + BATCH_SIZE)
+                        pending.add(change);
+                    else
+                        dropped++;
+                }
+            }
+        }
+
+        if (dropped > 0)
+            log.error("Issue changes dropped: {count: {}, total: {}}", dropped, droppedCount.addAndGet(dropped));
+    }
+
+    @Scheduled(fixedDelayString = "${issue.history.flush.delay:1000}")
+    public void flushQueue() {
+        flush();
+    }
+
+    // writes every queued change and tells whether all of them were written
+    public synchronized boolean flush() {
+        while (true) {
+            if (pending.isEmpty())
+                queue.drainTo(pending, BATCH_SIZE);
+
+            if (pending.isEmpty())
+                return true;
+
+            try {
+                write(pending);
+                pending = new ArrayList<>();
+            } catch (RuntimeException ex) {
+                // the batch is kept and written again by the next flush, a change may then be written twice
+                log.error("Failed to write issue changes: {count: {}}", pending.size(), ex);
+                return false;
+            }
+        }
+    }
+
+    private void write(List<IssueChange> changes) {
+        transactionTemplate.execute((status) -> {
+            Session session = entityManager.unwrap(Session.class);
+            Integer jdbcBatchSize = session.getJdbcBatchSize();
+            session.setJdbcBatchSize(BATCH_SIZE);
+
+            try {
+                for (IssueChange change : changes) {
+                    // the id handed out by a rolled back attempt is not reused
+                    change.setId(null);
+                    entityManager.persist(change);
+                }
+
+                entityManager.flush();
+                entityManager.clear();
+            } finally {
+                session.setJdbcBatchSize(jdbcBatchSize);
+            }
+
+            return null;
+        });
+    }
+
+    public synchronized int getPendingCount() {
+        return queue.size() + pending.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    // the queue only lives in memory, so it is written out before the application stops
+    @PreDestroy
+    public void shutdown() {
+        if (!flush())
+            log.error("Issue changes lost on shutdown: {count: {}}", getPendingCount());
+    }
+}
@@ -1,7 +1,9 @@
 package com.habibInc.issueTracker.issue;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import com.habibInc.issueTracker.column.Column;
 import com.habibInc.issueTracker.comment.Comment;
@@ -9,7 +11,12 @@ import com.habibInc.issueTracker.project.Project;
 import com.habibInc.issueTracker.sprint.Sprint;
 import com.habibInc.issueTracker.user.User;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
 import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -17,6 +24,8 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(IssueCacheListener.class)
+@DynamicUpdate
 
 @Getter
 @Setter
@@ -25,12 +34,25 @@ import java.util.Objects;
 @Builder
 
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
-@JsonIgnoreProperties(value = {"column", "reporter", "sprint", "project"})
-@Table(name = "issue")
+@JsonIgnoreProperties(value = {"column", "reporter", "sprint", "project", "comments"})
+@Table(name = "issue", indexes = {
+        @Index(name = "idx_issue_project_sprint_rank", columnList = "project_id, sprint_id, issue_rank"),
+        @Index(name = "idx_issue_project_rank", columnList = "project_id, issue_rank"),
+        @Index(name = "idx_issue_project_status_priority_type", columnList = "project_id, status, priority, type"),
+        @Index(name = "idx_issue_project_assignee_status", columnList = "project_id, assignee_id, status"),
+        @Index(name = "idx_issue_project_update_time", columnList = "project_id, updateTime"),
+        @Index(name = "idx_issue_column_position", columnList = "column_id, position, id")
+})
 public class Issue {
 
+    // ids are handed out from blocks of the issue sequence, so inserting many issues does not fetch each id on its own
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_id")
+    @GenericGenerator(name = "issue_id", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator", parameters = {
+            @Parameter(name = "sequence_name", value = "issue_sequence"),
+            @Parameter(name = "increment_size", value = "100"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long id;
 
     @NaturalId
@@ -48,9 +70,20 @@ public class Issue {
     @Enumerated(EnumType.STRING)
     private IssuePriority priority = IssuePriority.MEDIUM;
 
+    // never loaded to be counted, the comments are served by pages of their own
     @OneToMany(mappedBy = "issue", cascade = CascadeType.ALL)
+    @LazyCollection(LazyCollectionOption.EXTRA)
     private List<Comment> comments;
 
+    // only written by the comment statements and the comment count checker, neither by saving the entity nor by the clients
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @javax.persistence.Column(name = "comment_count", updatable = false)
+    private int commentCount;
+
+    // only written by the flush of the counted votes, neither by saving the entity nor by the clients,
+    // and served by the votes endpoint since the flush does not change the issue version
+    @JsonIgnore
+    @javax.persistence.Column(updatable = false)
     private int votes;
 
     @OneToOne
@@ -74,9 +107,18 @@ public class Issue {
 
     private int position;
 
+    // only written by the move and rebalance statements, never by saving the entity
+    @javax.persistence.Column(name = "issue_rank", length = 64, updatable = false)
+    private String rank;
+
     private LocalDateTime creationTime;
     private LocalDateTime updateTime;
 
+    // checked and incremented by every update, so that concurrent editors can not overwrite each other
+    @Version
+    @javax.persistence.Column(nullable = false)
+    private Long version;
+
     @Override
     public String toString() {
         return "{" +
@@ -0,0 +1,162 @@
+package com.habibInc.issueTracker.issue;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+@Component
+public class IssueCache {
+
+    private final int maximumSize;
+    private final long timeToLive;
+    private final LongSupplier clock;
+
+    // issue id -> snapshot, in least recently used order
+    private final LinkedHashMap<Long, Entry> entries;
+
+    // bumped by every invalidation, so that a snapshot loaded concurrently with a write is not cached
+    private long generation;
+
+    // sprint id -> bumped when the issues of the sprint are written at once, the snapshots of older generations are stale
+    private final Map<Long, Long> sprintGenerations = new HashMap<>();
+
+    private long hits, misses, evictions, expirations, invalidations;
+
+    @Autowired
+    public IssueCache(@Value("${issue.cache.size:10000}") int maximumSize,
+                      @Value("${issue.cache.ttl:300000}") long timeToLive) {
+        this(maximumSize, timeToLive, System::currentTimeMillis);
+    }
+
+    IssueCache(int maximumSize, long timeToLive, LongSupplier clock) {
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() <= IssueCache.this.maximumSize)
+                    return false;
+
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    public IssueSnapshot get(Long issueId, Function<Long, IssueSnapshot> loader) {
+        final long loadGeneration;
+
+        synchronized (this) {
+            Entry entry = entries.get(issueId);
+
+            if (entry != null && entry.expiresAt > clock.getAsLong() && entry.sprintGeneration == sprintGeneration(entry.snapshot)) {
+                hits++;
+                return entry.snapshot;
+            }
+
+            if (entry != null) {
+                entries.remove(issueId);
+
+                if (entry.expiresAt > clock.getAsLong())
+                    invalidations++;
+                else
+                    expirations++;
+            }
+
+            misses++;
+            loadGeneration = generation;
+        }
+
+        // load outside of the lock, the loader queries the database
+        IssueSnapshot snapshot = loader.apply(issueId);
+
+        synchronized (this) {
+            if (generation == loadGeneration)
+                entries.put(issueId, new Entry(snapshot, clock.getAsLong() + timeToLive, sprintGeneration(snapshot)));
+        }
+
+        return snapshot;
+    }
+
+    // the snapshots are dropped right away and once more after the commit, since a read made in between
+    // still loads (and caches) the committed row that the write is about to replace
+    public void invalidate(Long issueId) {
+        evict(issueId);
+        afterCommit(() -> evict(issueId));
+    }
+
+    public void invalidateAll(Collection<Long> issueIds) {
+        evictAll(issueIds);
+        afterCommit(() -> evictAll(issueIds));
+    }
+
+    // drops the snapshots of every issue of the sprint without listing them, each one on its next read
+    public void invalidateSprint(Long sprintId) {
+        evictSprint(sprintId);
+        afterCommit(() -> evictSprint(sprintId));
+    }
+
+    public synchronized IssueCacheStats getStats() {
+        return new IssueCacheStats(hits, misses, evictions, expirations, invalidations, entries.size());
+    }
+
+    private synchronized void evict(Long issueId) {
+        generation++;
+
+        if (entries.remove(issueId) != null)
+            invalidations++;
+    }
+
+    private synchronized void evictAll(Collection<Long> issueIds) {
+        generation++;
+
+        for (Long issueId : issueIds) {
+            if (entries.remove(issueId) != null)
+                invalidations++;
+        }
+    }
+
+    private synchronized void evictSprint(Long sprintId) {
+        generation++;
+        sprintGenerations.merge(sprintId, 1L, Long::sum);
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private long sprintGeneration(IssueSnapshot snapshot) {
+        return snapshot.getSprintId() != null ? sprintGenerations.getOrDefault(snapshot.getSprintId(), 0L) : 0L;
+    }
+
+    private static class Entry {
+        private final IssueSnapshot snapshot;
+        private final long expiresAt;
+        private final long sprintGeneration;
+
+        private Entry(IssueSnapshot snapshot, long expiresAt, long sprintGeneration) {
+            this.snapshot = snapshot;
+            this.expiresAt = expiresAt;
+            this.sprintGeneration = sprintGeneration;
+        }
+    }
+}
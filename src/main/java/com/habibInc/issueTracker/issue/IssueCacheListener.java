@@ -0,0 +1,21 @@
+package com.habibInc.issueTracker.issue;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+// catches the issue writes made outside of the services, such as cascades and repository deletes
+public class IssueCacheListener {
+
+    // missing when only the persistence layer is loaded
+    @Autowired(required = false)
+    private IssueCache issueCache;
+
+    @PostUpdate
+    @PostRemove
+    public void invalidate(Issue issue) {
+        if (issueCache != null && issue.getId() != null)
+            issueCache.invalidate(issue.getId());
+    }
+}
@@ -0,0 +1,39 @@
+package com.habibInc.issueTracker.issue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+
+public class IssueCacheStats {
+
+    private long hits;
+    private long misses;
+
+    // entries dropped to stay under the maximum size, and entries dropped once their time to live was over
+    private long evictions;
+    private long expirations;
+
+    private long invalidations;
+    private int size;
+
+    public double getHitRate() {
+        final long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "hits: " + hits +
+                ", misses: " + misses +
+                ", evictions: " + evictions +
+                ", expirations: " + expirations +
+                ", invalidations: " + invalidations +
+                ", size: " + size +
+                '}';
+    }
+}
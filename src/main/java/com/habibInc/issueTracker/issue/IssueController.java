@@ -6,15 +6,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
 import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import com.habibInc.issueTracker.utils.patch.MergePatch;
 import com.habibInc.issueTracker.utils.validation.IdValidator;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -23,13 +28,11 @@ import java.util.Map;
 public class IssueController {
 
     private final IssueService issueService;
-    private final ModelMapper modelMapper;
     private final ObjectMapper objectMapper;
 
     @Autowired
-    public IssueController(IssueService issueService, ModelMapper modelMapper, ObjectMapper objectMapper) {
+    public IssueController(IssueService issueService, ObjectMapper objectMapper) {
         this.issueService = issueService;
-        this.modelMapper = modelMapper;
         this.objectMapper = objectMapper;
     }
 
@@ -40,30 +43,65 @@ public class IssueController {
                              @RequestParam(name = "project") Long projectId) {
         // fetch and map the created issue
         Issue createdIssue = issueService.createIssue(issue, authenticatedUser, projectId);
-        final IssueDto createdIssueDto = modelMapper.map(createdIssue, IssueDto.class);
+        final IssueDto createdIssueDto = IssueMapper.toDto(createdIssue);
 
         log.info("Issue created: {}", createdIssueDto);
 
         return createdIssueDto;
     }
 
+    @PostMapping(value = "/bulk", params = "project")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<IssueDto> createIssues(@RequestBody List<Issue> issues,
+                                       @AuthenticationPrincipal User authenticatedUser,
+                                       @RequestParam(name = "project") Long projectId) {
+        // create the issues in batches and map them to issue DTOs
+        List<IssueDto> createdIssues = IssueMapper.toDtos(issueService.createIssues(issues, authenticatedUser, projectId));
+
+        log.info("Issues created in bulk: {projectId: {}, count: {}}", projectId, createdIssues.size());
+
+        return createdIssues;
+    }
+
+    @GetMapping("/cache/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public IssueCacheStats getIssueCacheStats() {
+        return issueService.getIssueCacheStats();
+    }
+
     @GetMapping("/{id}")
-    public Issue getIssue(@PathVariable String id){
+    public ResponseEntity<Issue> getIssue(@PathVariable String id, WebRequest request){
         try {
             Long issueId = Long.parseLong(id);
+
+            // answer not modified while the issue version has not changed, without loading the issue
+            final String eTag = issueService.getIssueETag(issueId);
+            if (request.checkNotModified(eTag))
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+
             final Issue issueById = issueService.getIssueById(issueId);
 
             log.info("Fetched issue by id: {issueId: {}}", id);
 
-            return issueById;
+            return ResponseEntity.ok().eTag(eTag).body(issueById);
         }catch(NumberFormatException ex){
             throw new InvalidIdException("Invalid issue id");
         }
     }
 
     @GetMapping({"", "/"})
-    public Iterable<Issue> getAllIssues(){
-        return issueService.getAllIssues();
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPage<IssueDto> getIssues(@RequestParam(name = "project", required = false) Long projectId,
+                                          @RequestParam(name = "cursor", required = false) String cursor,
+                                          @RequestParam(name = "size", defaultValue = "20") int size){
+        // fetch the page of issues that follows the cursor and map it to issue DTOs
+        CursorPage<IssueDto> issues = issueService.getIssues(projectId, cursor, size)
+                .map(IssueMapper::toDto);
+
+        log.info("Fetched page of issues: {projectId: {}, cursor: {}, count: {}, nextCursor: {}}",
+                projectId, cursor, issues.getContent().size(), issues.getNextCursor());
+
+        return issues;
     }
 
     @PutMapping("/{id}")
@@ -76,7 +114,7 @@ public class IssueController {
             Issue updatedIssue = issueService.updateIssue(issueId, issue, authenticatedUser);
 
             // set and return issue dto
-            final IssueDto updatedIssueDto = modelMapper.map(updatedIssue, IssueDto.class);
+            final IssueDto updatedIssueDto = IssueMapper.toDto(updatedIssue);
 
             log.info("Issue updated: {}", updatedIssueDto);
 
@@ -100,24 +138,65 @@ public class IssueController {
         }
     }
 
+    @PatchMapping(value = "/{id}", consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<IssueDto> patchIssue(@PathVariable String id,
+                                               @RequestBody JsonNode patch,
+                                               @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) List<String> ifMatch,
+                                               @AuthenticationPrincipal User authenticatedUser) {
+        // validate issue id
+        Long issueId = IdValidator.validate(id);
+
+        // apply the merge patch, provided the issue still matches the given ETag (throws precondition failed error)
+        Issue patchedIssue = issueService.patchIssue(issueId, patch, ifMatch, authenticatedUser);
+        final IssueDto patchedIssueDto = IssueMapper.toDto(patchedIssue);
+
+        log.info("Issue patched: {issueId: {}, fields: {}}", issueId, patch.size());
+
+        return ResponseEntity.ok().eTag(issueService.getIssueETag(patchedIssue)).body(patchedIssueDto);
+    }
+
     @PatchMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
     public IssueDto updateIssueAssignee(@PathVariable("id") Long issueId,
-                                        @RequestBody ObjectNode request) throws JsonProcessingException {
+                                        @RequestBody ObjectNode request,
+                                        @AuthenticationPrincipal User authenticatedUser) throws JsonProcessingException {
         // extract the new assignee id from the request body
         Long assigneeId = IdValidator.validate(request.get("assignee").toString());
 
         // invoke service, update assignee
-        Issue issue = issueService.updateIssueAssignee(issueId, assigneeId);
+        Issue issue = issueService.updateIssueAssignee(issueId, assigneeId, authenticatedUser);
 
         // convert to IssueDto
-        IssueDto updatedIssue = modelMapper.map(issue, IssueDto.class);
+        IssueDto updatedIssue = IssueMapper.toDto(issue);
 
         log.info("Issue assignee updated: {newAssignee: {}, updatedIssue: {}}", assigneeId, updatedIssue);
 
         return updatedIssue;
     }
 
+    @PatchMapping("/{id}/rank")
+    @ResponseStatus(HttpStatus.OK)
+    public IssueDto moveIssue(@PathVariable String id, @RequestBody JsonNode request) {
+        // validate the moved issue id
+        Long issueId = IdValidator.validate(id);
+
+        // move the issue right before or right after the target issue
+        Issue issue;
+        if (request.hasNonNull("before")) {
+            issue = issueService.moveIssueBefore(issueId, IdValidator.validate(request.get("before").asText()));
+        } else if (request.hasNonNull("after")) {
+            issue = issueService.moveIssueAfter(issueId, IdValidator.validate(request.get("after").asText()));
+        } else {
+            throw new InvalidIdException("Invalid target issue id");
+        }
+
+        final IssueDto movedIssue = IssueMapper.toDto(issue);
+
+        log.info("Issue moved: {issueId: {}, rank: {}}", issueId, movedIssue.getRank());
+
+        return movedIssue;
+    }
+
     @PatchMapping(params = "project")
     @ResponseStatus(HttpStatus.OK)
     public void swapIssuesPositions(@RequestParam("project") String id, @RequestBody JsonNode request) {
@@ -1,6 +1,5 @@
 package com.habibInc.issueTracker.issue;
 
-import com.habibInc.issueTracker.comment.CommentDto;
 import com.habibInc.issueTracker.user.UserDto;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -8,7 +7,6 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Objects;
 
 @AllArgsConstructor
@@ -19,6 +17,7 @@ import java.util.Objects;
 public class IssueDto {
 
     private Long id;
+    private String issueKey;
 
     private String description;
     private String summary;
@@ -28,8 +27,11 @@ public class IssueDto {
     private IssuePriority priority;
 
     private int position;
+    private String rank;
     private int points;
-    private List<CommentDto> comments;
+
+    // the comments themselves are fetched by pages of their own
+    private long commentCount;
 
     private UserDto assignee;
     private UserDto reporter;
@@ -41,13 +43,15 @@ public class IssueDto {
     public String toString() {
         return "{" +
                 "id: " + id +
+                ", issueKey: '" + issueKey + '\'' +
                 ", description: '" + description + '\'' +
                 ", summary: '" + summary + '\'' +
                 ", type: " + type +
                 ", status: " + status +
                 ", priority: " + priority +
+                ", rank: '" + rank + '\'' +
                 ", points: " + points +
-                ", comments: " + comments +
+                ", commentCount: " + commentCount +
                 ", assignee: " + assignee +
                 ", reporter: " + reporter +
                 ", creationTime: " + creationTime +
@@ -0,0 +1,59 @@
+package com.habibInc.issueTracker.issue;
+
+import com.habibInc.issueTracker.user.UserDto;
+import com.habibInc.issueTracker.user.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// builds issue DTOs from the issue projections, which carry their comment counts, with one query for all the users
+@Component
+public class IssueDtoAssembler {
+
+    private final UserRepository userRepository;
+
+    @Autowired
+    public IssueDtoAssembler(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public List<IssueDto> toDtos(List<IssueRepository.IssueView> issues) {
+        if (issues.isEmpty())
+            return new ArrayList<>();
+
+        // fetch every user referenced by the issues at once, each one once
+        Set<Long> userIds = new HashSet<>();
+        issues.forEach((issue) -> {
+            userIds.add(issue.getAssigneeId());
+            userIds.add(issue.getReporterId());
+        });
+        userIds.remove(null);
+
+        Map<Long, UserDto> users = userIds.isEmpty() ? new HashMap<>() :
+                userRepository.findDtosByIdIn(userIds).stream()
+                        .collect(Collectors.toMap(UserDto::getId, Function.identity()));
+
+        return issues.stream()
+                .map((issue) -> new IssueDto(
+                        issue.getId(),
+                        issue.getIssueKey(),
+                        issue.getDescription(),
+                        issue.getSummary(),
+                        issue.getType(),
+                        issue.getStatus(),
+                        issue.getPriority(),
+                        issue.getPosition(),
+                        issue.getRank(),
+                        issue.getPoints(),
+                        issue.getCommentCount(),
+                        users.get(issue.getAssigneeId()),
+                        users.get(issue.getReporterId()),
+                        issue.getCreationTime(),
+                        issue.getUpdateTime()
+                ))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,87 @@
+package com.habibInc.issueTracker.issue;
+
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
+import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+// the criteria the issues of a project are filtered on, null ones match any issue
+@Getter
+@Builder
+@AllArgsConstructor
+
+public class IssueFilter {
+    public final static String ME = "me";
+    public final static String NONE = "none";
+
+    private final Set<IssueStatus> statuses;
+    private final Set<IssuePriority> priorities;
+    private final Set<IssueType> types;
+
+    private final Long assigneeId;
+    private final boolean unassigned;
+
+    private final Long sprintId;
+    private final boolean inBacklog;
+
+    public static IssueFilter of(String status, String priority, String type, String assignee, String sprint,
+                                 User authenticatedUser) {
+        IssueFilterBuilder filter = IssueFilter.builder()
+                .statuses(parseEnums(IssueStatus.class, "status", status))
+                .priorities(parseEnums(IssuePriority.class, "priority", priority))
+                .types(parseEnums(IssueType.class, "type", type));
+
+        // the assignee is either a user id, "me" for the authenticated user or "none" for the unassigned issues
+        if (ME.equalsIgnoreCase(assignee) && authenticatedUser != null)
+            filter.assigneeId(authenticatedUser.getId());
+        else if (NONE.equalsIgnoreCase(assignee))
+            filter.unassigned(true);
+        else if (assignee != null)
+            filter.assigneeId(IdValidator.validate(assignee));
+
+        // the sprint is either a sprint id or "none" for the product backlog
+        if (NONE.equalsIgnoreCase(sprint))
+            filter.inBacklog(true);
+        else if (sprint != null)
+            filter.sprintId(IdValidator.validate(sprint));
+
+        return filter.build();
+    }
+
+    private static <E extends Enum<E>> Set<E> parseEnums(Class<E> type, String name, String values) {
+        if (values == null || values.isBlank())
+            return null;
+
+        // comma separated constants, given either by name or as they are serialized ("IN_PROGRESS" or "In Progress")
+        Set<E> constants = EnumSet.noneOf(type);
+        for (String value : values.split(",")) {
+            String constant = value.trim().replace(' ', '_');
+
+            constants.add(Arrays.stream(type.getEnumConstants())
+                    .filter((e) -> e.name().equalsIgnoreCase(constant))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidIdException("Invalid " + name + ": " + value.trim())));
+        }
+
+        return constants;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "statuses: " + statuses +
+                ", priorities: " + priorities +
+                ", types: " + types +
+                ", assigneeId: " + assigneeId +
+                ", unassigned: " + unassigned +
+                ", sprintId: " + sprintId +
+                ", inBacklog: " + inBacklog +
+                '}';
+    }
+}
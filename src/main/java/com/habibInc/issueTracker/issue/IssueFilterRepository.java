@@ -0,0 +1,12 @@
+package com.habibInc.issueTracker.issue;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface IssueFilterRepository {
+
+    // the ids alone, ordered and limited in the query so that no count is run and no issue is loaded
+    List<Long> findIds(Specification<Issue> specification, Sort sort, int limit);
+}
@@ -0,0 +1,42 @@
+package com.habibInc.issueTracker.issue;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+public class IssueFilterRepositoryImpl implements IssueFilterRepository {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    public IssueFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Issue> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Issue> issue = query.from(Issue.class);
+
+        query.select(issue.get("id"));
+
+        Predicate predicate = specification != null ? specification.toPredicate(issue, query, cb) : null;
+        if (predicate != null)
+            query.where(predicate);
+
+        query.orderBy(QueryUtils.toOrders(sort, issue, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
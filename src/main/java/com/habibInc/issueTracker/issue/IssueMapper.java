@@ -0,0 +1,39 @@
+package com.habibInc.issueTracker.issue;
+
+import com.habibInc.issueTracker.user.UserMapper;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class IssueMapper {
+
+    public static IssueDto toDto(Issue issue) {
+        if (issue == null)
+            return null;
+
+        return new IssueDto(
+                issue.getId(),
+                issue.getIssueKey(),
+                issue.getDescription(),
+                issue.getSummary(),
+                issue.getType(),
+                issue.getStatus(),
+                issue.getPriority(),
+                issue.getPosition(),
+                issue.getRank(),
+                issue.getPoints(),
+                issue.getCommentCount(),
+                UserMapper.toDto(issue.getAssignee()),
+                UserMapper.toDto(issue.getReporter()),
+                issue.getCreationTime(),
+                issue.getUpdateTime()
+        );
+    }
+
+    public static List<IssueDto> toDtos(List<Issue> issues) {
+        if (issues == null)
+            return null;
+
+        return issues.stream().map(IssueMapper::toDto).collect(Collectors.toList());
+    }
+}
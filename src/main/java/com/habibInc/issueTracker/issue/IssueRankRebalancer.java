@@ -0,0 +1,90 @@
+package com.habibInc.issueTracker.issue;
+
+import com.habibInc.issueTracker.change.ChangeTracker;
+import com.habibInc.issueTracker.project.ProjectSequence;
+import com.habibInc.issueTracker.project.ProjectSequenceAllocator;
+import com.habibInc.issueTracker.project.ProjectSequenceRepository;
+import com.habibInc.issueTracker.utils.rank.Rank;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class IssueRankRebalancer {
+
+    private final IssueRepository issueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeTracker changeTracker;
+    private final ProjectSequenceRepository sequenceRepository;
+    private final ProjectSequenceAllocator sequenceAllocator;
+
+    // projects in which a move produced a rank longer than the maximum length
+    private final Set<Long> pendingProjects = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public IssueRankRebalancer(IssueRepository issueRepository, TransactionTemplate transactionTemplate, ChangeTracker changeTracker, ProjectSequenceRepository sequenceRepository, ProjectSequenceAllocator sequenceAllocator) {
+        this.issueRepository = issueRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.changeTracker = changeTracker;
+        this.sequenceRepository = sequenceRepository;
+        this.sequenceAllocator = sequenceAllocator;
+    }
+
+    public void schedule(Long projectId) {
+        pendingProjects.add(projectId);
+    }
+
+    @Scheduled(fixedDelayString = "${issue.rank.rebalance.delay:60000}")
+    public void rebalancePendingProjects() {
+        for (Long projectId : new ArrayList<>(pendingProjects)) {
+            pendingProjects.remove(projectId);
+            rebalance(projectId);
+        }
+    }
+
+    // catches the issues created without a rank and the ranks grown by moves made on another node
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${issue.rank.rebalance.cron:0 30 3 * * *}")
+    public void rebalanceAll() {
+        issueRepository.findProjectIdsToRebalance(Rank.MAX_LENGTH).forEach(this::rebalance);
+    }
+
+    public int rebalance(Long projectId) {
+        // rewrite the whole project order at once, so the sprints and the backlog keep their relative order
+        final int count = transactionTemplate.execute((status) -> {
+            // no issue is appended while the ranks are rewritten
+            Optional<ProjectSequence> sequence = sequenceRepository.findForUpdate(projectId);
+
+            List<Long> ids = issueRepository.findIdsByProjectIdOrderByRank(projectId);
+            List<String> ranks = Rank.spread(ids.size());
+
+            for (int i = 0; i < ids.size(); i++)
+                issueRepository.updateRank(ids.get(i), ranks.get(i));
+
+            // the next issues are appended right after the last spread rank
+            sequence.ifPresent((row) -> row.setRankTail(ranks.isEmpty() ? null : ranks.get(ranks.size() - 1)));
+
+            changeTracker.projectChanged(projectId);
+
+            return ids.size();
+        });
+
+        // the ranks this node reserved before the rewrite would be appended amid the spread ones
+        sequenceAllocator.discardRanks(projectId);
+
+        log.info("Rebalanced issue ranks: {projectId: {}, count: {}}", projectId, count);
+
+        return count;
+    }
+}
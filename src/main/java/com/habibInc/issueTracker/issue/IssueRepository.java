@@ -3,26 +3,148 @@ package com.habibInc.issueTracker.issue;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.*;
 
 @Repository
-public interface IssueRepository extends PagingAndSortingRepository<Issue, Long> {
+public interface IssueRepository extends PagingAndSortingRepository<Issue, Long>, IssueFilterRepository {
+    int STREAM_FETCH_SIZE = 500;
+
+    interface RankView {
+        String getRank();
+    }
+
+    // the issue columns the DTOs need, with the foreign keys of the sprint, column and users instead of the entities
+    interface IssueView {
+        Long getId();
+        String getIssueKey();
+        String getDescription();
+        String getSummary();
+        IssueType getType();
+        IssueStatus getStatus();
+        IssuePriority getPriority();
+        int getPosition();
+        String getRank();
+        int getPoints();
+        int getCommentCount();
+        Long getSprintId();
+        Long getColumnId();
+        Long getAssigneeId();
+        Long getReporterId();
+        LocalDateTime getCreationTime();
+        LocalDateTime getUpdateTime();
+    }
+
+    String ISSUE_VIEW_SELECT = "SELECT i.id AS id, i.IssueKey AS issueKey, i.description AS description, " +
+            "i.summary AS summary, i.type AS type, i.status AS status, i.priority AS priority, " +
+            "i.position AS position, i.rank AS rank, i.points AS points, i.commentCount AS commentCount, " +
+            "s.id AS sprintId, c.id AS columnId, a.id AS assigneeId, r.id AS reporterId, " +
+            "i.creationTime AS creationTime, i.updateTime AS updateTime " +
+            "FROM Issue i LEFT JOIN i.sprint s LEFT JOIN i.column c LEFT JOIN i.assignee a LEFT JOIN i.reporter r ";
+
+    @Query(ISSUE_VIEW_SELECT + "WHERE i.project.id = :projectId AND i.sprint IS NULL ORDER BY i.rank ASC, i.id ASC")
+    List<IssueView> findBacklogViewsByProjectId(@Param("projectId") Long projectId);
+
+    @Query(ISSUE_VIEW_SELECT + "WHERE i.id IN :ids")
+    List<IssueView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(ISSUE_VIEW_SELECT + "WHERE c.id IN :columnIds ORDER BY i.id")
+    List<IssueView> findViewsByColumnIdIn(@Param("columnIds") Collection<Long> columnIds);
+
+    // the issues of a column following the last seen one, seeking on the (column_id, position, id) index
+    @Query(ISSUE_VIEW_SELECT + "WHERE c.id = :columnId AND " +
+            "(i.position > :position OR (i.position = :position AND i.id > :id)) ORDER BY i.position, i.id")
+    List<IssueView> findViewsByColumnIdAfter(@Param("columnId") Long columnId,
+                                             @Param("position") int position,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    // the first issues of each column by position, along with the number of issues of their column, in one pass
+    interface ColumnWindowView {
+        Long getId();
+        Long getColumnId();
+        long getTotal();
+    }
+
+    @Query(value = "SELECT w.id AS id, w.column_id AS columnId, w.total AS total FROM (" +
+            "SELECT i.id, i.`column_id`, " +
+            "ROW_NUMBER() OVER (PARTITION BY i.`column_id` ORDER BY i.position, i.id) AS row_index, " +
+            "COUNT(*) OVER (PARTITION BY i.`column_id`) AS total " +
+            "FROM issue i WHERE i.`column_id` IN :columnIds) w WHERE w.row_index <= :size", nativeQuery = true)
+    List<ColumnWindowView> findColumnWindows(@Param("columnIds") Collection<Long> columnIds, @Param("size") int size);
+
     List<Issue> findByColumnId(Long columnId, Pageable pageable);
+    List<Issue> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    List<Issue> findAllByProjectIdAndIdGreaterThanOrderByIdAsc(Long projectId, Long id, Pageable pageable);
     List<Issue> findAllByProjectId(Long projectId);
     List<Issue> findAllByProjectIdAndSprintId(Long projectId, Long sprintId);
-    List<Issue> findAllByProjectIdAndSprintIdOrderByPosition(Long projectId, Long sprintId);
+    List<Issue> findAllByProjectIdAndSprintIdOrderByRankAscIdAsc(Long projectId, Long sprintId);
+    Optional<RankView> findFirstByProjectIdAndSprintIdAndRankLessThanAndIdNotOrderByRankDesc(Long projectId, Long sprintId, String rank, Long excludedId);
+    Optional<RankView> findFirstByProjectIdAndSprintIdAndRankGreaterThanAndIdNotOrderByRankAsc(Long projectId, Long sprintId, String rank, Long excludedId);
     int countByProjectId(Long projectId);
 
+    @Query("SELECT i.version FROM Issue i WHERE i.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long issueId);
+
+    // for the changes the issue representation includes but that are not made through the entity, such as its comments
+    @Transactional
+    @Modifying
+    @Query("UPDATE Issue i SET i.version = i.version + 1 WHERE i.id = :id")
+    int incrementVersion(@Param("id") Long issueId);
+
+    // counted in place, so concurrent comments never lose an update, and versioned since the issue shows its count
+    @Transactional
+    @Modifying
+    @Query("UPDATE Issue i SET i.commentCount = i.commentCount + :delta, i.version = i.version + 1 WHERE i.id = :id")
+    int addCommentCount(@Param("id") Long issueId, @Param("delta") int delta);
+
+    @Query("SELECT i.id FROM Issue i WHERE i.project.id = :projectId ORDER BY i.rank, i.position, i.id")
+    List<Long> findIdsByProjectIdOrderByRank(@Param("projectId") Long projectId);
+
+    @Query("SELECT DISTINCT i.project.id FROM Issue i " +
+            "WHERE i.project IS NOT NULL AND (i.rank IS NULL OR LENGTH(i.rank) > :maxLength)")
+    List<Long> findProjectIdsToRebalance(@Param("maxLength") int maxLength);
+
+    // the callers keep the rank of the loaded issues in sync, so the persistence context is not cleared
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Issue i SET i.rank = :rank, i.version = i.version + 1 WHERE i.id = :id")
+    int updateRank(@Param("id") Long issueId, @Param("rank") String rank);
+
+    // forward-only scroll over the DTO columns of the project issues, fetched from the driver in bounded chunks
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_CACHEABLE, value = "false"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query(ISSUE_VIEW_SELECT + "WHERE i.project.id = :projectId ORDER BY i.id")
+    Stream<IssueView> streamViewsByProjectId(@Param("projectId") Long projectId);
+
     @Transactional
     @Modifying(clearAutomatically = true)
     @Query(value = "UPDATE issue SET sprint_id = :sprintId WHERE id IN :ids", nativeQuery = true)
     int updateIssuesSprint(@Param("sprintId") Long sprintId, @Param("ids") List<Long> ids);
 
+    // moves the issues of a sprint outside of the given column, or all of them without a column,
+    // back to the product backlog in one statement, whatever the size of the sprint
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Issue i SET i.sprint = NULL WHERE i.sprint.id = :sprintId " +
+            "AND (:columnId IS NULL OR i.column IS NULL OR i.column.id <> :columnId)")
+    int moveSprintIssuesOutsideColumnToProductBacklog(@Param("sprintId") Long sprintId, @Param("columnId") Long columnId);
+
     @Modifying(clearAutomatically = true)
     @Query(value = "UPDATE issue SET `column_id` = :columnId WHERE id = :issueId", nativeQuery = true)
     int updateIssueColumn(@Param("issueId") Long issueId, @Param("columnId") Long columnId);
@@ -32,6 +154,38 @@ public interface IssueRepository extends PagingAndSortingRepository<Issue, Long>
     @Query(value = "UPDATE issue SET `column_id` = :columnId WHERE id IN :ids", nativeQuery = true)
     int updateIssuesColumn(@Param("columnId") Long columnId, @Param("ids") List<Long> ids);
 
+    // the board of each issue through its column, null for the issues outside of any board
+    interface IssueBoardView {
+        Long getId();
+        Long getColumnId();
+        Long getBoardId();
+    }
+
+    @Query("SELECT i.id AS id, c.id AS columnId, b.id AS boardId " +
+            "FROM Issue i LEFT JOIN i.column c LEFT JOIN c.board b WHERE i.id IN :ids")
+    List<IssueBoardView> findBoardViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT i.column.id FROM Issue i WHERE i.id = :id")
+    Optional<Long> findColumnIdById(@Param("id") Long issueId);
+
+    @Query("SELECT i.sprint.id FROM Issue i WHERE i.id = :id")
+    Optional<Long> findSprintIdById(@Param("id") Long issueId);
+
+    // makes room for the issues moved into a column, pushing down the ones at or after their position
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Issue i SET i.position = i.position + :count " +
+            "WHERE i.column.id = :columnId AND i.position >= :position AND i.id NOT IN :ids")
+    int shiftPositions(@Param("columnId") Long columnId,
+                       @Param("position") int position,
+                       @Param("count") int count,
+                       @Param("ids") Collection<Long> movedIds);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Issue i SET i.position = :position WHERE i.id = :id")
+    int updatePosition(@Param("id") Long issueId, @Param("position") int position);
+
     @Transactional
     @Modifying(clearAutomatically = true)
     @Query(value = "SET @tempId1 = (SELECT position FROM issue WHERE id = :id1); SET @tempId2 = (SELECT position FROM issue WHERE id = :id2); UPDATE issue SET position = (CASE WHEN id = :id1 THEN @tempId2 WHEN id = :id2 THEN @tempId1 END)", nativeQuery = true)
@@ -1,32 +1,115 @@
 package com.habibInc.issueTracker.issue;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.habibInc.issueTracker.change.ChangeTracker;
+import com.habibInc.issueTracker.column.ColumnCounter;
+import com.habibInc.issueTracker.event.BoardEventBroker;
 import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
+import com.habibInc.issueTracker.exceptionhandler.PreconditionFailedException;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.flow.ColumnTransitionLog;
+import com.habibInc.issueTracker.history.IssueHistory;
 import com.habibInc.issueTracker.project.Project;
+import com.habibInc.issueTracker.project.ProjectSequenceAllocator;
+import com.habibInc.issueTracker.project.ProjectSequenceRepository;
 import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.search.SearchService;
+import com.habibInc.issueTracker.stats.IssueCounter;
+import com.habibInc.issueTracker.stats.IssueFacets;
 import com.habibInc.issueTracker.user.User;
 import com.habibInc.issueTracker.user.UserService;
+import com.habibInc.issueTracker.vote.IssueVoteRepository;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import com.habibInc.issueTracker.utils.patch.MergePatch;
+import com.habibInc.issueTracker.utils.rank.Rank;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class IssueService {
+    // issues inserted per JDBC batch (and per flush of the persistence context) by the bulk creation
+    public final static int BULK_BATCH_SIZE = 100;
+
+    // the fields a merge patch can change, the relations have their own operations
+    public final static Set<String> PATCHABLE_FIELDS = Set.of("summary", "description", "type", "status", "priority", "points");
+
+    // an unconditional patch is applied again onto the latest version when another write got in between
+    public final static int PATCH_ATTEMPTS = 3;
 
     private final IssueRepository issueRepository;
     private final ProjectService projectService;
     private final UserService userService;
+    private final SearchService searchService;
+    private final IssueRankRebalancer rankRebalancer;
+    private final ProjectSequenceAllocator sequenceAllocator;
+    private final ProjectSequenceRepository sequenceRepository;
+    private final EntityManager entityManager;
+    private final IssueCache issueCache;
+    private final ChangeTracker changeTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final MergePatch mergePatch;
+    private final IssueCounter issueCounter;
+    private final IssueHistory issueHistory;
+    private final IssueVoteRepository voteRepository;
+    private final BoardEventBroker eventBroker;
+    private final ColumnCounter columnCounter;
+    private final ColumnTransitionLog transitionLog;
 
     @Autowired
-    public IssueService(IssueRepository issueRepository, ProjectService projectService, UserService userService) {
+    public IssueService(IssueRepository issueRepository,
+                        ProjectService projectService,
+                        UserService userService,
+                        SearchService searchService,
+                        IssueRankRebalancer rankRebalancer,
+                        ProjectSequenceAllocator sequenceAllocator,
+                        ProjectSequenceRepository sequenceRepository,
+                        EntityManager entityManager,
+                        IssueCache issueCache,
+                        ChangeTracker changeTracker,
+                        TransactionTemplate transactionTemplate,
+                        MergePatch mergePatch,
+                        IssueCounter issueCounter,
+                        IssueHistory issueHistory,
+                        IssueVoteRepository voteRepository,
+                        BoardEventBroker eventBroker,
+                        ColumnCounter columnCounter,
+                        ColumnTransitionLog transitionLog) {
         this.issueRepository = issueRepository;
         this.projectService = projectService;
         this.userService = userService;
+        this.searchService = searchService;
+        this.rankRebalancer = rankRebalancer;
+        this.sequenceAllocator = sequenceAllocator;
+        this.sequenceRepository = sequenceRepository;
+        this.entityManager = entityManager;
+        this.issueCache = issueCache;
+        this.changeTracker = changeTracker;
+        this.transactionTemplate = transactionTemplate;
+        this.mergePatch = mergePatch;
+        this.issueCounter = issueCounter;
+        this.issueHistory = issueHistory;
+        this.voteRepository = voteRepository;
+        this.eventBroker = eventBroker;
+        this.columnCounter = columnCounter;
+        this.transitionLog = transitionLog;
     }
 
     public Issue getIssueById(Long id) {
@@ -34,6 +117,41 @@ public class IssueService {
                 .orElseThrow(() -> new ResourceNotFoundException("Issue not found"));
     }
 
+    public IssueSnapshot getIssueSnapshot(Long id) {
+        // served from the cache when the issue is only checked, not loaded to be changed (throws issue not found error)
+        return issueCache.get(id, (issueId) -> IssueSnapshot.of(getIssueById(issueId)));
+    }
+
+    public String getIssueETag(Long id) {
+        // the version alone is selected, without loading the issue (throws issue not found error)
+        Long version = issueRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Issue not found"));
+
+        return ChangeTracker.eTag(id, version);
+    }
+
+    public String getIssueETag(Issue issue) {
+        return ChangeTracker.eTag(issue.getId(), issue.getVersion());
+    }
+
+    public void incrementIssueVersion(Long id) {
+        issueRepository.incrementVersion(id);
+    }
+
+    public void addIssueComments(Long id, int delta) {
+        issueRepository.addCommentCount(id, delta);
+    }
+
+    public Issue getIssueReference(Long id) {
+        // a reference is enough to link an issue without selecting it, check that it exists with the snapshot first
+        return entityManager.getReference(Issue.class, id);
+    }
+
+    public IssueCacheStats getIssueCacheStats() {
+        return issueCache.getStats();
+    }
+
+    @Transactional
     public Issue createIssue(Issue issue, User authenticatedUser, Long projectId) {
         // find the project by id (throws project not found exception)
         Project project = projectService.getProjectById(projectId);
@@ -45,47 +163,250 @@ public class IssueService {
         // set the creation time
         issue.setCreationTime(LocalDateTime.now());
 
-        // get the project issues count to determine the new issue's position
-        final int position = issueRepository.countByProjectId(projectId) + 1;
+        // take the next number of the project, mostly handed out from memory
+        final long number = sequenceAllocator.next(projectId);
 
-        // set the issue's position
-        issue.setPosition(position);
+        // set the issue's position and its human readable key
+        issue.setPosition((int) number);
+        issue.setIssueKey(projectKey(project) + "-" + number);
+
+        // rank the issue last in the project
+        issue.setRank(sequenceAllocator.nextRank(projectId));
 
         // save the issue
-        return issueRepository.save(issue);
+        Issue createdIssue = issueRepository.save(issue);
+        issueCounter.added(IssueFacets.of(createdIssue));
+
+        // make the issue searchable
+        searchService.indexIssue(projectId, createdIssue.getId(), createdIssue.getSummary(), createdIssue.getDescription());
+        changeTracker.projectChanged(projectId);
+
+        scheduleRebalanceIfTooLong(projectId, createdIssue.getRank());
+
+        return createdIssue;
+    }
+
+    @Transactional
+    public List<Issue> createIssues(List<Issue> issues, User authenticatedUser, Long projectId) {
+        // find the project by id once for all the issues (throws project not found exception)
+        Project project = projectService.getProjectById(projectId);
+
+        if (issues.isEmpty())
+            return issues;
+
+        // reserve the numbers of all the issues at once and rank them after the last issue of the project
+        long number = sequenceAllocator.nextRange(projectId, issues.size());
+        List<String> ranks = sequenceAllocator.nextRanks(projectId, issues.size());
+
+        final LocalDateTime creationTime = LocalDateTime.now();
+        final String projectKey = projectKey(project);
+
+        // group the inserts into JDBC batches, for this session only
+        Session session = entityManager.unwrap(Session.class);
+        Integer jdbcBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(BULK_BATCH_SIZE);
+
+        List<Issue> createdIssues = new ArrayList<>(issues.size());
+
+        try {
+            for (Issue issue : issues) {
+                // the issues are always inserted, without their comments
+                issue.setId(null);
+                issue.setComments(null);
+
+                issue.setReporter(authenticatedUser);
+                issue.setProject(project);
+                issue.setCreationTime(creationTime);
+
+                issue.setPosition((int) number);
+                issue.setIssueKey(projectKey + "-" + number++);
+
+                issue.setRank(ranks.get(createdIssues.size()));
+
+                entityManager.persist(issue);
+                createdIssues.add(issue);
+
+                // send the batch and keep the persistence context small
+                if (createdIssues.size() % BULK_BATCH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+
+            entityManager.flush();
+            entityManager.clear();
+        } finally {
+            session.setJdbcBatchSize(jdbcBatchSize);
+        }
+
+        issueCounter.added(createdIssues.stream().map(IssueFacets::of).collect(Collectors.toList()));
+
+        // make the issues searchable
+        createdIssues.forEach((issue) ->
+                searchService.indexIssue(projectId, issue.getId(), issue.getSummary(), issue.getDescription()));
+        changeTracker.projectChanged(projectId);
+
+        scheduleRebalanceIfTooLong(projectId, ranks.get(ranks.size() - 1));
+
+        return createdIssues;
     }
 
-    public Iterable<Issue> getAllIssues() {
-        return issueRepository.findAll();
+    public CursorPage<Issue> getIssues(Long projectId, String cursor, int size) {
+        // the first page starts right after the smallest possible id
+        Long lastId = cursor != null ? Cursor.decodeId(cursor) : 0L;
+
+        // fetch one extra issue to find out whether there is a next page
+        int pageSize = CursorPage.limit(size);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        // seek past the last seen id instead of skipping rows, so that deep pages cost as much as the first one
+        List<Issue> issues = projectId != null ?
+                issueRepository.findAllByProjectIdAndIdGreaterThanOrderByIdAsc(projectId, lastId, pageable) :
+                issueRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, pageable);
+
+        return CursorPage.of(issues, pageSize, issue -> Cursor.encode(issue.getId()));
     }
 
+    @Transactional
     public Issue updateIssue(Long issueId, Issue issue, User authenticatedUser) {
         // make sure the issue already exists, otherwise an exception is thrown
-        Issue issueToUpdate = getIssueById(issueId);
+        IssueSnapshot issueToUpdate = getIssueSnapshot(issueId);
 
         // save the issue only if authenticated user is the reporter
-        if (issueToUpdate.getReporter().equals(authenticatedUser))
+        if (isReporter(issueToUpdate, authenticatedUser))
         {
             // set the update time
             issue.setUpdateTime(LocalDateTime.now());
-            return issueRepository.save(issue);
+
+            // the issue key is immutable
+            issue.setIssueKey(issueToUpdate.getIssueKey());
+
+            // the version the client read is checked when saving, clients that do not send it overwrite the latest one
+            if (issue.getVersion() == null)
+                issue.setVersion(issueRepository.findVersionById(issueId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Issue not found")));
+
+            // the stored issue is read before the given one is merged into it, to count and record what changed
+            // (the merge copies the given issue into this same managed instance)
+            Issue storedIssue = getIssueById(issueId);
+            IssueFacets countedIssue = IssueFacets.of(storedIssue);
+            Map<String, String> storedFields = IssueHistory.fieldsOf(storedIssue);
+            final Long fromColumnId = storedIssue.getColumn() != null ? storedIssue.getColumn().getId() : null;
+
+            Issue updatedIssue = issueRepository.save(issue);
+            issueCache.invalidate(issueId);
+
+            // the issue leaves or changes its column when the given one is different
+            Long toColumnId = updatedIssue.getColumn() != null ? updatedIssue.getColumn().getId() : null;
+            if (!Objects.equals(fromColumnId, toColumnId)) {
+                if (toColumnId != null)
+                    columnCounter.moved(Collections.singletonList(fromColumnId), toColumnId);
+                else
+                    columnCounter.removed(fromColumnId);
+
+                transitionLog.moved(issueId, fromColumnId, toColumnId);
+            }
+
+            issueCounter.changed(countedIssue, IssueFacets.of(issueToUpdate.getProjectId(), updatedIssue));
+            issueHistory.recordChanges(issueId, authenticatedUser, storedFields, IssueHistory.fieldsOf(updatedIssue));
+
+            // re-index the issue text (the project can not be changed by an update)
+            searchService.indexIssue(issueToUpdate.getProjectId(), issueId, updatedIssue.getSummary(), updatedIssue.getDescription());
+            // the board that showed the issue is notified, as it was stored before this update
+            changeTracker.projectChanged(issueToUpdate.getProjectId());
+            eventBroker.issueUpdated(fromColumnId, issueId);
+
+            return updatedIssue;
         }
 
         // in case the authenticated user is not the reporter, throw a forbidden error
         throw new ForbiddenOperationException("Forbidden");
     }
 
+    public Issue patchIssue(Long issueId, JsonNode patch, List<String> ifMatch, User authenticatedUser) {
+        // make sure the issue exists and that the authenticated user is the reporter
+        IssueSnapshot issueToPatch = getIssueSnapshot(issueId);
+
+        if (!isReporter(issueToPatch, authenticatedUser))
+            throw new ForbiddenOperationException("Forbidden");
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // the patched fields alone are written, under a check of the version that was loaded
+                Issue patchedIssue = transactionTemplate.execute((status) -> {
+                    Issue issue = getIssueById(issueId);
+
+                    if (!matches(ifMatch, getIssueETag(issue)))
+                        throw new PreconditionFailedException("Issue has been modified");
+
+                    IssueFacets countedIssue = IssueFacets.of(issue);
+                    Map<String, String> storedFields = IssueHistory.fieldsOf(issue);
+
+                    mergePatch.apply(issue, patch, PATCHABLE_FIELDS);
+                    issue.setUpdateTime(LocalDateTime.now());
+
+                    issueCounter.changed(countedIssue, IssueFacets.of(issue));
+                    issueHistory.recordChanges(issueId, authenticatedUser, storedFields, IssueHistory.fieldsOf(issue));
+
+                    // the board is found from the issue loaded here, the cached snapshot may miss a recent column move
+                    changeTracker.projectChanged(issueToPatch.getProjectId());
+                    eventBroker.issueUpdated(issue.getColumn() != null ? issue.getColumn().getId() : null, issueId);
+
+                    return issue;
+                });
+
+                issueCache.invalidate(issueId);
+                searchService.indexIssue(issueToPatch.getProjectId(), issueId, patchedIssue.getSummary(), patchedIssue.getDescription());
+
+                return patchedIssue;
+            } catch (OptimisticLockingFailureException ex) {
+                // a conditional patch was made against the version that has just been replaced
+                if (ifMatch != null && !ifMatch.isEmpty())
+                    throw new PreconditionFailedException("Issue has been modified");
+
+                if (attempt == PATCH_ATTEMPTS)
+                    throw ex;
+            }
+        }
+    }
+
+    private boolean matches(List<String> ifMatch, String eTag) {
+        return ifMatch == null || ifMatch.isEmpty() ||
+                ifMatch.stream().map(String::trim).anyMatch((tag) -> tag.equals("*") || tag.equals(eTag));
+    }
+
+    @Transactional
     public void deleteIssue(Long issueId, User authenticatedUser) {
-        Issue issueToDelete = getIssueById(issueId);
+        IssueSnapshot issueToDelete = getIssueSnapshot(issueId);
 
         // in case the authenticated user is not the reporter, throw a forbidden error
-        if (issueToDelete.getReporter().equals(authenticatedUser))
-            issueRepository.deleteById(issueId);
-        else
+        if (!isReporter(issueToDelete, authenticatedUser))
             throw new ForbiddenOperationException("Forbidden");
+
+        // the column is read from the database, the cached snapshot may not have seen a move made on another node
+        final Long columnId = issueRepository.findColumnIdById(issueId).orElse(null);
+
+        issueCounter.removed(issueCounter.getFacets(List.of(issueId)));
+        columnCounter.removed(columnId);
+        transitionLog.removed(issueId, columnId);
+
+        voteRepository.deleteAllByIssueId(issueId);
+        issueRepository.deleteById(issueId);
+        issueCache.invalidate(issueId);
+
+        // remove the issue and its comments from the search index
+        if (issueToDelete.getProjectId() != null)
+            searchService.removeIssue(issueToDelete.getProjectId(), issueId);
+
+        changeTracker.projectChanged(issueToDelete.getProjectId());
+    }
+
+    private boolean isReporter(IssueSnapshot issue, User user) {
+        return user != null && issue.getReporterId() != null && issue.getReporterId().equals(user.getId());
     }
 
-    public Issue updateIssueAssignee(Long issueId, Long userId) {
+    @Transactional
+    public Issue updateIssueAssignee(Long issueId, Long userId, User authenticatedUser) {
         // fetch the user by id (throws user not found error)
         User assignee = userService.getUserById(userId);
 
@@ -93,11 +414,100 @@ public class IssueService {
         Issue issue = getIssueById(issueId);
 
         // set the assignee
+        issueHistory.recordChange(issueId, authenticatedUser, IssueHistory.ASSIGNEE,
+                issue.getAssignee() != null ? issue.getAssignee().getId() : null, assignee.getId());
         issue.setAssignee(assignee);
+        issueCache.invalidate(issueId);
+
+        if (issue.getProject() != null)
+            changeTracker.projectChanged(issue.getProject().getId());
+
+        if (issue.getColumn() != null)
+            eventBroker.issueUpdated(issue.getColumn().getId(), issueId);
 
         return issue;
     }
 
+    @Transactional
+    public Issue moveIssueBefore(Long issueId, Long targetId) {
+        return moveIssue(issueId, targetId, true);
+    }
+
+    @Transactional
+    public Issue moveIssueAfter(Long issueId, Long targetId) {
+        return moveIssue(issueId, targetId, false);
+    }
+
+    private Issue moveIssue(Long issueId, Long targetId, boolean before) {
+        // fetch the issues by id (throws issue not found error)
+        Issue issue = getIssueById(issueId);
+
+        // moves wait on the project sequence row for the appends and the rebalancing, as those wait for each other,
+        // so the target and its neighbour are read with their latest ranks
+        if (issue.getProject() != null)
+            sequenceRepository.findForUpdate(issue.getProject().getId());
+
+        Issue target = getIssueById(targetId);
+
+        // an issue can only be moved within its own list, either the product backlog or a sprint backlog
+        if (issueId.equals(targetId) || target.getProject() == null ||
+                !target.getProject().equals(issue.getProject()) ||
+                !Objects.equals(getSprintId(issue), getSprintId(target))) {
+            throw new ForbiddenOperationException("Can not move issue");
+        }
+
+        final Long projectId = target.getProject().getId();
+        final Long sprintId = getSprintId(target);
+
+        // issues created before ranks existed get one first
+        if (target.getRank() == null) {
+            rankRebalancer.rebalance(projectId);
+            entityManager.refresh(target);
+        }
+
+        // only the neighbour on the other side of the target is needed to find the gap
+        final String rank;
+        if (before) {
+            String previousRank = issueRepository
+                    .findFirstByProjectIdAndSprintIdAndRankLessThanAndIdNotOrderByRankDesc(projectId, sprintId, target.getRank(), issueId)
+                    .map(IssueRepository.RankView::getRank)
+                    .orElse(null);
+
+            rank = Rank.between(previousRank, target.getRank());
+        } else {
+            String nextRank = issueRepository
+                    .findFirstByProjectIdAndSprintIdAndRankGreaterThanAndIdNotOrderByRankAsc(projectId, sprintId, target.getRank(), issueId)
+                    .map(IssueRepository.RankView::getRank)
+                    .orElse(null);
+
+            rank = nextRank != null ? Rank.between(target.getRank(), nextRank) : Rank.after(target.getRank());
+        }
+
+        // the move only ever writes the moved issue's row
+        issueRepository.updateRank(issueId, rank);
+        issue.setRank(rank);
+        changeTracker.projectChanged(projectId);
+
+        scheduleRebalanceIfTooLong(projectId, rank);
+
+        return issue;
+    }
+
+    private void scheduleRebalanceIfTooLong(Long projectId, String rank) {
+        // spread the project ranks again once they grow too long
+        if (rank != null && rank.length() > Rank.MAX_LENGTH)
+            rankRebalancer.schedule(projectId);
+    }
+
+    private String projectKey(Project project) {
+        // older projects have no key until their first issue
+        return project.getKey() != null ? project.getKey() : projectService.assignKey(project);
+    }
+
+    private Long getSprintId(Issue issue) {
+        return issue.getSprint() != null ? issue.getSprint().getId() : null;
+    }
+
     @Transactional
     public void swapIssuesPositions(Long projectId, Long issueId1, Long issueId2) {
         // fetch the project by id
@@ -118,5 +528,17 @@ public class IssueService {
 
         issue1.setPosition(position2);
         issue2.setPosition(position1);
+
+        // swap issues ranks as well, since they define the backlog order
+        final String rank1 = issue1.getRank();
+        final String rank2 = issue2.getRank();
+
+        issueRepository.updateRank(issueId1, rank2);
+        issueRepository.updateRank(issueId2, rank1);
+
+        issue1.setRank(rank2);
+        issue2.setRank(rank1);
+
+        changeTracker.projectChanged(projectId);
     }
 }
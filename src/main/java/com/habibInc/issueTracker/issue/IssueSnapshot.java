@@ -0,0 +1,42 @@
+package com.habibInc.issueTracker.issue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// the part of an issue the mutations need to check, detached from any persistence context so it can be shared
+@Getter
+@AllArgsConstructor
+
+public final class IssueSnapshot {
+
+    private final Long id;
+    private final String issueKey;
+    private final Long projectId;
+    private final Long sprintId;
+    private final Long columnId;
+    private final Long reporterId;
+    private final Long assigneeId;
+
+    public static IssueSnapshot of(Issue issue) {
+        return new IssueSnapshot(
+                issue.getId(),
+                issue.getIssueKey(),
+                issue.getProject() != null ? issue.getProject().getId() : null,
+                issue.getSprint() != null ? issue.getSprint().getId() : null,
+                issue.getColumn() != null ? issue.getColumn().getId() : null,
+                issue.getReporter() != null ? issue.getReporter().getId() : null,
+                issue.getAssignee() != null ? issue.getAssignee().getId() : null
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "id: " + id +
+                ", issueKey: '" + issueKey + '\'' +
+                ", projectId: " + projectId +
+                ", sprintId: " + sprintId +
+                ", columnId: " + columnId +
+                '}';
+    }
+}
@@ -0,0 +1,118 @@
+package com.habibInc.issueTracker.issue;
+
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+// the order of a filtered list of issues ("rank", or "-updateTime" for descending), always ended by the issue id
+// so that the cursor of the last seen issue tells exactly where the next page starts
+public class IssueSort {
+    public final static String ID = "id";
+    public final static String RANK = "rank";
+    public final static String UPDATE_TIME = "updateTime";
+
+    private final static List<String> ATTRIBUTES = List.of(ID, RANK, UPDATE_TIME);
+
+    private final String attribute;
+    private final boolean descending;
+
+    private IssueSort(String attribute, boolean descending) {
+        this.attribute = attribute;
+        this.descending = descending;
+    }
+
+    public static IssueSort parse(String sort) {
+        if (sort == null || sort.isBlank())
+            return new IssueSort(ID, false);
+
+        boolean descending = sort.startsWith("-");
+        String attribute = descending ? sort.substring(1) : sort;
+
+        if (!ATTRIBUTES.contains(attribute))
+            throw new InvalidIdException("Invalid sort: " + sort);
+
+        return new IssueSort(attribute, descending);
+    }
+
+    public Sort toSort() {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        return attribute.equals(ID) ?
+                Sort.by(direction, ID) :
+                Sort.by(direction, attribute).and(Sort.by(direction, ID));
+    }
+
+    public String cursorOf(IssueRepository.IssueView issue) {
+        if (attribute.equals(ID))
+            return Cursor.encode(issue.getId());
+
+        // an empty key stands for a null one, ranks and times are never empty
+        Object key = attribute.equals(RANK) ? issue.getRank() : issue.getUpdateTime();
+        return Cursor.encode(key != null ? key : "", issue.getId());
+    }
+
+    public Specification<Issue> after(String cursor) {
+        if (cursor == null)
+            return null;
+
+        if (attribute.equals(ID)) {
+            Long lastId = Cursor.decodeId(cursor);
+            return (issue, query, cb) -> descending ?
+                    cb.lessThan(issue.get(ID), lastId) :
+                    cb.greaterThan(issue.get(ID), lastId);
+        }
+
+        String[] keys = Cursor.decode(cursor, 2);
+        Long lastId = parse(keys[1], Long::valueOf);
+
+        if (attribute.equals(RANK))
+            return after(keys[0].isEmpty() ? null : keys[0], lastId);
+
+        return after(keys[0].isEmpty() ? null : parse(keys[0], LocalDateTime::parse), lastId);
+    }
+
+    private <T extends Comparable<? super T>> Specification<Issue> after(T lastKey, Long lastId) {
+        // the database sorts the null keys first in ascending order and last in descending order
+        return (issue, query, cb) -> {
+            Path<T> key = issue.get(attribute);
+            Path<Long> id = issue.get(ID);
+
+            if (lastKey == null) {
+                Predicate nextNull = cb.and(cb.isNull(key), idAfter(cb, id, lastId));
+                return descending ? nextNull : cb.or(nextNull, cb.isNotNull(key));
+            }
+
+            Predicate next = cb.or(
+                    descending ? cb.lessThan(key, lastKey) : cb.greaterThan(key, lastKey),
+                    cb.and(cb.equal(key, lastKey), idAfter(cb, id, lastId))
+            );
+
+            return descending ? cb.or(next, cb.isNull(key)) : next;
+        };
+    }
+
+    private Predicate idAfter(CriteriaBuilder cb, Path<Long> id, Long lastId) {
+        return descending ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId);
+    }
+
+    private static <T> T parse(String key, Function<String, T> parser) {
+        try {
+            return parser.apply(key);
+        } catch (RuntimeException ex) {
+            throw new InvalidIdException(Cursor.errorMessage);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (descending ? "-" : "") + attribute;
+    }
+}
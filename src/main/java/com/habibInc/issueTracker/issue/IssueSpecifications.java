@@ -0,0 +1,44 @@
+package com.habibInc.issueTracker.issue;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+// the predicates of the issues filter, compared on the foreign key columns so that no association is joined
+public class IssueSpecifications {
+
+    public static Specification<Issue> matching(Long projectId, IssueFilter filter) {
+        Specification<Issue> specification = inProject(projectId)
+                .and(in("status", filter.getStatuses()))
+                .and(in("priority", filter.getPriorities()))
+                .and(in("type", filter.getTypes()));
+
+        if (filter.getAssigneeId() != null)
+            specification = specification.and(hasForeignKey("assignee", filter.getAssigneeId()));
+        else if (filter.isUnassigned())
+            specification = specification.and((issue, query, cb) -> cb.isNull(issue.get("assignee")));
+
+        if (filter.getSprintId() != null)
+            specification = specification.and(hasForeignKey("sprint", filter.getSprintId()));
+        else if (filter.isInBacklog())
+            specification = specification.and((issue, query, cb) -> cb.isNull(issue.get("sprint")));
+
+        return specification;
+    }
+
+    public static Specification<Issue> inProject(Long projectId) {
+        return hasForeignKey("project", projectId);
+    }
+
+    private static Specification<Issue> hasForeignKey(String association, Long id) {
+        return (issue, query, cb) -> cb.equal(issue.get(association).get("id"), id);
+    }
+
+    private static Specification<Issue> in(String attribute, Collection<?> values) {
+        // no constraint at all rather than an empty IN list
+        if (values == null || values.isEmpty())
+            return null;
+
+        return (issue, query, cb) -> issue.get(attribute).in(values);
+    }
+}
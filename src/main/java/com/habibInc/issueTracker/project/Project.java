@@ -8,6 +8,7 @@ import lombok.*;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
@@ -30,6 +31,11 @@ public class Project {
     @NotBlank
     private String name;
 
+    // prefix of the project issues keys, derived from the name when not given
+    @Pattern(regexp = "[A-Z][A-Z0-9]{0,9}", message = "Invalid project key")
+    @Column(name = "project_key", unique = true, updatable = false, length = 10)
+    private String key;
+
     @OneToMany(mappedBy = "project")
     private List<Issue> backlog;
 
@@ -55,6 +61,7 @@ public class Project {
         return "{" +
                 "id: " + id +
                 ", name: '" + name + '\'' +
+                ", key: '" + key + '\'' +
                 ", creationTime: " + creationTime +
                 '}';
     }
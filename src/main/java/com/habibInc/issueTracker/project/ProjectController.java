@@ -1,20 +1,28 @@
 package com.habibInc.issueTracker.project;
 
-import com.habibInc.issueTracker.issue.Issue;
 import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueFilter;
+import com.habibInc.issueTracker.issue.IssueSort;
 import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import com.habibInc.issueTracker.utils.validation.IdValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @RestController
@@ -22,12 +30,14 @@ import java.util.stream.Collectors;
 public class ProjectController {
 
     private final ProjectService projectService;
-    private final ModelMapper modelMapper;
+    private final ObjectMapper objectMapper;
+
+    public final static MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     @Autowired
-    public ProjectController(ProjectService projectService, ModelMapper modelMapper) {
+    public ProjectController(ProjectService projectService, ObjectMapper objectMapper) {
         this.projectService = projectService;
-        this.modelMapper = modelMapper;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping({"", "/"})
@@ -65,22 +75,86 @@ public class ProjectController {
     }
 
     @GetMapping("/{id}/backlog")
-    @ResponseStatus(HttpStatus.OK)
-    public List<IssueDto> getBacklog(@PathVariable String id) {
+    public ResponseEntity<List<IssueDto>> getBacklog(@PathVariable String id, WebRequest request) {
         // validate project id
         Long projectId = IdValidator.validate(id);
 
-        // fetch list of issues by project id, ordered by their positions
-        List<Issue> issues = projectService.getOrderedBacklog(projectId);
+        // answer not modified while the project has not changed, without querying the backlog
+        final String eTag = projectService.getBacklogETag(projectId);
+        if (request.checkNotModified(eTag))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
 
-        // map to issue DTOs
-        final List<IssueDto> backlog = issues.stream()
-                .map((issue) -> modelMapper.map(issue, IssueDto.class))
-                .collect(Collectors.toList());
+        // fetch the backlog issue DTOs by project id, ordered by their ranks
+        final List<IssueDto> backlog = projectService.getOrderedBacklogDtos(projectId);
 
         log.info("Fetched backlog: {projectId: {}, backlog: {}}", id, backlog);
 
-        return backlog;
+        return ResponseEntity.ok().eTag(eTag).body(backlog);
+    }
+
+    @GetMapping("/{id}/issues")
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPage<IssueDto> getIssues(@PathVariable String id,
+                                          @RequestParam(name = "status", required = false) String status,
+                                          @RequestParam(name = "priority", required = false) String priority,
+                                          @RequestParam(name = "type", required = false) String type,
+                                          @RequestParam(name = "assignee", required = false) String assignee,
+                                          @RequestParam(name = "sprint", required = false) String sprint,
+                                          @RequestParam(name = "sort", defaultValue = IssueSort.ID) String sort,
+                                          @RequestParam(name = "cursor", required = false) String cursor,
+                                          @RequestParam(name = "size", defaultValue = "20") int size,
+                                          @AuthenticationPrincipal User authenticatedUser) {
+        // validate project id
+        Long projectId = IdValidator.validate(id);
+
+        // fetch the project by id (throws project not found error)
+        projectService.getProjectById(projectId);
+
+        // parse the filter criteria and the sort order (throws invalid filter errors)
+        IssueFilter filter = IssueFilter.of(status, priority, type, assignee, sprint, authenticatedUser);
+        IssueSort issueSort = IssueSort.parse(sort);
+
+        // fetch the page of filtered issues that follows the cursor
+        CursorPage<IssueDto> issues = projectService.getIssueDtos(projectId, filter, issueSort, cursor, size);
+
+        log.info("Fetched filtered issues: {projectId: {}, filter: {}, sort: {}, count: {}, nextCursor: {}}",
+                projectId, filter, issueSort, issues.getContent().size(), issues.getNextCursor());
+
+        return issues;
+    }
+
+    @GetMapping("/{id}/issues/export")
+    public ResponseEntity<StreamingResponseBody> exportIssues(@PathVariable String id) {
+        // validate project id
+        Long projectId = IdValidator.validate(id);
+
+        // fetch the project by id before the response is committed (throws project not found error)
+        projectService.getProjectById(projectId);
+
+        // write one issue DTO per line, flushing every batch so the client receives the export progressively
+        StreamingResponseBody responseBody = (outputStream) -> {
+            AtomicInteger written = new AtomicInteger();
+
+            int count = projectService.exportIssues(projectId, (issue) -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(issue));
+                    outputStream.write('\n');
+
+                    if (written.incrementAndGet() % ProjectService.EXPORT_BATCH_SIZE == 0)
+                        outputStream.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+
+            outputStream.flush();
+
+            log.info("Exported issues: {projectId: {}, count: {}}", projectId, count);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(responseBody);
     }
 
     @PostMapping("/{projectId}/users/{userId}")
@@ -12,6 +12,15 @@ import java.util.Set;
 @Repository
 public interface ProjectRepository extends CrudRepository<Project, Long> {
     Set<Project> findAllByAssignedUsersId(Long userId);
+    boolean existsByKey(String key);
+
+    // projects created before the keys existed are given one once, the first writer wins
+    @Modifying
+    @Query(value = "UPDATE project SET project_key = :key WHERE id = :projectId AND project_key IS NULL", nativeQuery = true)
+    int assignKey(@Param("projectId") Long projectId, @Param("key") String key);
+
+    @Query("SELECT p.key FROM Project p WHERE p.id = :projectId")
+    String findKeyById(@Param("projectId") Long projectId);
 
     @Transactional
     @Modifying(clearAutomatically = true, flushAutomatically = true)
@@ -0,0 +1,43 @@
+package com.habibInc.issueTracker.project;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Table(name = "project_sequence")
+public class ProjectSequence {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    // the last number reserved by any node, numbers up to it may still be handed out from memory
+    @Column(name = "reserved_until", nullable = false)
+    private long reservedUntil;
+
+    // the rank of the issue appended last, the next issues are ranked after it
+    @Column(name = "rank_tail", length = 64)
+    private String rankTail;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "projectId: " + projectId +
+                ", reservedUntil: " + reservedUntil +
+                ", rankTail: '" + rankTail + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,170 @@
+package com.habibInc.issueTracker.project;
+
+import com.habibInc.issueTracker.utils.rank.Rank;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ProjectSequenceAllocator {
+    public final static int BLOCK_SIZE = 100;
+
+    private final ProjectSequenceRepository sequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // project id -> numbers reserved by this node and not handed out yet
+    private final Map<Long, Block> blocks = new ConcurrentHashMap<>();
+
+    // project id -> ranks reserved by this node and not handed out yet
+    private final Map<Long, RankBlock> rankBlocks = new ConcurrentHashMap<>();
+    private final Map<Long, Object> locks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProjectSequenceAllocator(ProjectSequenceRepository sequenceRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.sequenceRepository = sequenceRepository;
+
+        // reserve in a short transaction of its own, so the sequence row is never locked for the caller's whole transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public long next(Long projectId) {
+        while (true) {
+            Block block = blocks.get(projectId);
+
+            if (block != null) {
+                long number = block.next.getAndIncrement();
+                if (number <= block.last)
+                    return number;
+            }
+
+            refill(projectId, block);
+        }
+    }
+
+    public long nextRange(Long projectId, int count) {
+        // large ranges are reserved on their own rather than drained from the cached block
+        return reserve(projectId, count).next.get();
+    }
+
+    public String nextRank(Long projectId) {
+        // like the numbers, the ranks of single issues come from a block reserved at once, rather than one locked
+        // transaction per issue; the issues created on other nodes meanwhile may be ranked before the last ones of the block
+        while (true) {
+            RankBlock block = rankBlocks.get(projectId);
+
+            if (block != null) {
+                int index = block.next.getAndIncrement();
+                if (index < block.ranks.size())
+                    return block.ranks.get(index);
+            }
+
+            refillRanks(projectId, block);
+        }
+    }
+
+    public List<String> nextRanks(Long projectId, int count) {
+        // large ranges are reserved on their own rather than drained from the cached block
+        return reserveRanks(projectId, count);
+    }
+
+    // the ranks reserved before the project ranks are rewritten would no longer follow the other issues
+    public void discardRanks(Long projectId) {
+        rankBlocks.remove(projectId);
+    }
+
+    private void refillRanks(Long projectId, RankBlock exhaustedBlock) {
+        synchronized (locks.computeIfAbsent(projectId, (id) -> new Object())) {
+            if (rankBlocks.get(projectId) == exhaustedBlock)
+                rankBlocks.put(projectId, new RankBlock(reserveRanks(projectId, BLOCK_SIZE)));
+        }
+    }
+
+    private List<String> reserveRanks(Long projectId, int count) {
+        // concurrent appends wait for each other on the sequence row instead of reading the same greatest rank
+        List<String> ranks = transactionTemplate.execute((status) ->
+                sequenceRepository.findForUpdate(projectId).map((sequence) -> {
+                    String rank = sequence.getRankTail() != null ?
+                            sequence.getRankTail() :
+                            sequenceRepository.findMaxIssueRank(projectId);
+
+                    List<String> appended = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        rank = Rank.after(rank);
+                        appended.add(rank);
+                    }
+
+                    sequence.setRankTail(rank);
+                    return appended;
+                }).orElse(null)
+        );
+
+        if (ranks == null) {
+            seed(projectId);
+            return reserveRanks(projectId, count);
+        }
+
+        return ranks;
+    }
+
+    private void refill(Long projectId, Block exhaustedBlock) {
+        // a single thread per project reserves the next block, the others pick it up once it is there
+        synchronized (locks.computeIfAbsent(projectId, (id) -> new Object())) {
+            if (blocks.get(projectId) == exhaustedBlock)
+                blocks.put(projectId, reserve(projectId, BLOCK_SIZE));
+        }
+    }
+
+    private Block reserve(Long projectId, int size) {
+        Long reservedUntil = transactionTemplate.execute((status) ->
+                sequenceRepository.reserve(projectId, size) == 1 ?
+                        sequenceRepository.findReservedUntil(projectId) :
+                        null
+        );
+
+        if (reservedUntil == null) {
+            seed(projectId);
+            return reserve(projectId, size);
+        }
+
+        return new Block(reservedUntil - size + 1, reservedUntil);
+    }
+
+    private void seed(Long projectId) {
+        try {
+            transactionTemplate.execute((status) -> sequenceRepository.seed(projectId));
+        } catch (DataIntegrityViolationException ex) {
+            // another node seeded the sequence first
+        }
+    }
+
+    private static class RankBlock {
+        private final List<String> ranks;
+        private final AtomicInteger next = new AtomicInteger();
+
+        private RankBlock(List<String> ranks) {
+            this.ranks = ranks;
+        }
+    }
+
+    private static class Block {
+        private final AtomicLong next;
+        private final long last;
+
+        private Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.habibInc.issueTracker.project;
+
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface ProjectSequenceRepository extends CrudRepository<ProjectSequence, Long> {
+
+    // the update locks the sequence row until the end of the transaction, so the read that follows sees this reservation only
+    @Modifying
+    @Query("UPDATE ProjectSequence s SET s.reservedUntil = s.reservedUntil + :blockSize WHERE s.projectId = :projectId")
+    int reserve(@Param("projectId") Long projectId, @Param("blockSize") long blockSize);
+
+    @Query("SELECT s.reservedUntil FROM ProjectSequence s WHERE s.projectId = :projectId")
+    long findReservedUntil(@Param("projectId") Long projectId);
+
+    // projects created before the sequences existed continue from their greatest issue position
+    @Modifying
+    @Query(value = "INSERT INTO project_sequence(project_id, reserved_until) " +
+            "SELECT :projectId, COALESCE(MAX(position), 0) FROM issue WHERE project_id = :projectId", nativeQuery = true)
+    int seed(@Param("projectId") Long projectId);
+
+    // the sequence row stays locked until the end of the transaction, appends to the project are taken one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProjectSequence s WHERE s.projectId = :projectId")
+    Optional<ProjectSequence> findForUpdate(@Param("projectId") Long projectId);
+
+    // projects ranked before the rank tail existed continue from their greatest issue rank
+    @Query("SELECT MAX(i.rank) FROM Issue i WHERE i.project.id = :projectId")
+    String findMaxIssueRank(@Param("projectId") Long projectId);
+}
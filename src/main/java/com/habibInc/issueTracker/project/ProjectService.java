@@ -1,15 +1,27 @@
 package com.habibInc.issueTracker.project;
 
+import com.habibInc.issueTracker.change.ChangeTracker;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
-import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueDtoAssembler;
+import com.habibInc.issueTracker.issue.IssueFilter;
 import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.issue.IssueSort;
+import com.habibInc.issueTracker.issue.IssueSpecifications;
 import com.habibInc.issueTracker.user.User;
 import com.habibInc.issueTracker.user.UserService;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ProjectService {
@@ -17,15 +29,36 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final IssueRepository issueRepository;
     private final UserService userService;
+    private final IssueDtoAssembler issueDtoAssembler;
+    private final ChangeTracker changeTracker;
+    private final TransactionTemplate keyTransactionTemplate;
+
+    public final static int MAX_KEY_ATTEMPTS = 5;
+    public final static int EXPORT_BATCH_SIZE = IssueRepository.STREAM_FETCH_SIZE;
 
     @Autowired
-    ProjectService(ProjectRepository projectRepository, IssueRepository issueRepository, UserService userService) {
+    ProjectService(ProjectRepository projectRepository,
+                   IssueRepository issueRepository,
+                   UserService userService,
+                   IssueDtoAssembler issueDtoAssembler,
+                   ChangeTracker changeTracker,
+                   PlatformTransactionManager transactionManager) {
         this.projectRepository = projectRepository;
         this.issueRepository = issueRepository;
         this.userService = userService;
+        this.issueDtoAssembler = issueDtoAssembler;
+        this.changeTracker = changeTracker;
+
+        // a backfilled key is committed on its own, before any issue key is derived from it
+        this.keyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.keyTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     public Project createProject(Project project, User authenticatedUser) {
+        // derive the issues keys prefix from the project name unless one is given
+        if (project.getKey() == null)
+            project.setKey(generateKey(project.getName()));
+
         // set project owner
         project.setOwner(authenticatedUser);
 
@@ -35,6 +68,46 @@ public class ProjectService {
         return projectRepository.save(project);
     }
 
+    public String assignKey(Project project) {
+        // projects created before the keys existed get theirs with their first issue, concurrent nodes keep the first one stored
+        for (int attempt = 1; project.getKey() == null; attempt++) {
+            try {
+                project.setKey(keyTransactionTemplate.execute((status) -> {
+                    projectRepository.assignKey(project.getId(), generateKey(project.getName()));
+                    return projectRepository.findKeyById(project.getId());
+                }));
+            } catch (DataIntegrityViolationException ex) {
+                // another project took the generated key meanwhile, the next attempt appends a counter
+                if (attempt == MAX_KEY_ATTEMPTS)
+                    throw ex;
+            }
+        }
+
+        return project.getKey();
+    }
+
+    String generateKey(String name) {
+        // take the initials of the name words, or the beginning of the name when it is a single word
+        String[] words = name.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9 ]", " ").trim().split(" +");
+
+        StringBuilder initials = new StringBuilder();
+        for (String word : words) {
+            if (!word.isEmpty())
+                initials.append(word.charAt(0));
+        }
+
+        String prefix = initials.length() > 1 ? initials.toString() : String.join("", words);
+        prefix = prefix.isEmpty() || !Character.isLetter(prefix.charAt(0)) ? "P" + prefix : prefix;
+        prefix = prefix.substring(0, Math.min(prefix.length(), 4));
+
+        // keys are unique (the database constraint settles concurrent creations), append a counter on collisions
+        String key = prefix;
+        for (int i = 2; projectRepository.existsByKey(key); i++)
+            key = prefix + i;
+
+        return key;
+    }
+
     public List<Project> getProjects() {
         return (List<Project>) projectRepository.findAll();
     }
@@ -44,12 +117,63 @@ public class ProjectService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found"));
     }
 
-    public List<Issue> getBacklog(Long projectId) {
-        return issueRepository.findAllByProjectIdAndSprintId(projectId, null);
+    public String getBacklogETag(Long projectId) {
+        return ChangeTracker.eTag(projectId, changeTracker.getProjectChangeCount(projectId));
+    }
+
+    public List<IssueDto> getOrderedBacklogDtos(Long projectId) {
+        // selects the DTO columns only, the comments and users of all the issues are fetched in one query each
+        return issueDtoAssembler.toDtos(issueRepository.findBacklogViewsByProjectId(projectId));
     }
 
-    public List<Issue> getOrderedBacklog(Long projectId) {
-        return issueRepository.findAllByProjectIdAndSprintIdOrderByPosition(projectId, null);
+    public CursorPage<IssueDto> getIssueDtos(Long projectId, IssueFilter filter, IssueSort sort, String cursor, int size) {
+        // fetch one extra issue to find out whether there is a next page
+        int pageSize = CursorPage.limit(size);
+
+        // the filter and the keyset only select the ids, ordered and limited by the database
+        List<Long> ids = issueRepository.findIds(
+                IssueSpecifications.matching(projectId, filter).and(sort.after(cursor)),
+                sort.toSort(),
+                pageSize + 1
+        );
+
+        if (ids.isEmpty())
+            return new CursorPage<>(new ArrayList<>(), null);
+
+        // then the DTO columns of the page are selected, and put back in the order of the ids
+        Map<Long, IssueRepository.IssueView> views = new HashMap<>();
+        issueRepository.findViewsByIdIn(ids).forEach((view) -> views.put(view.getId(), view));
+
+        List<IssueRepository.IssueView> orderedViews = new ArrayList<>(ids.size());
+        ids.stream().map(views::get).filter(Objects::nonNull).forEach(orderedViews::add);
+
+        CursorPage<IssueRepository.IssueView> page = CursorPage.of(orderedViews, pageSize, sort::cursorOf);
+
+        return new CursorPage<>(issueDtoAssembler.toDtos(page.getContent()), page.getNextCursor());
+    }
+
+    @Transactional(readOnly = true)
+    public int exportIssues(Long projectId, Consumer<IssueDto> consumer) {
+        int count = 0;
+
+        // the DTO columns are streamed rather than the issues, so nothing is loaded into the persistence context
+        try (Stream<IssueRepository.IssueView> views = issueRepository.streamViewsByProjectId(projectId)) {
+            Iterator<IssueRepository.IssueView> iterator = views.iterator();
+            List<IssueRepository.IssueView> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+
+                // the users of a batch are fetched in one query
+                if (batch.size() == EXPORT_BATCH_SIZE || !iterator.hasNext()) {
+                    issueDtoAssembler.toDtos(batch).forEach(consumer);
+                    count += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+
+        return count;
     }
 
     public Set<Project> getProjectsByAssignedUser(Long userId) {
@@ -0,0 +1,50 @@
+package com.habibInc.issueTracker.search;
+
+import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RestController
+@RequestMapping("/projects/{projectId}/search")
+public class SearchController {
+
+    private final SearchService searchService;
+    private final ProjectService projectService;
+
+    @Autowired
+    public SearchController(SearchService searchService, ProjectService projectService) {
+        this.searchService = searchService;
+        this.projectService = projectService;
+    }
+
+    @GetMapping({"", "/"})
+    @ResponseStatus(HttpStatus.OK)
+    public List<SearchResultDto> search(@PathVariable("projectId") String id,
+                                        @RequestParam(name = "q", defaultValue = "") String query,
+                                        @RequestParam(name = "size", defaultValue = "20") int size) {
+        // validate project id
+        Long projectId = IdValidator.validate(id);
+
+        // fetch the project by id (throws project not found error)
+        projectService.getProjectById(projectId);
+
+        // rank the project issues against the query
+        List<SearchHit> hits = searchService.search(projectId, query, CursorPage.limit(size));
+
+        final List<SearchResultDto> results = hits.stream()
+                .map((hit) -> new SearchResultDto(hit.getIssue(), hit.getScore()))
+                .collect(Collectors.toList());
+
+        log.info("Searched project issues: {projectId: {}, query: '{}', results: {}}", projectId, query, results.size());
+
+        return results;
+    }
+}
@@ -0,0 +1,30 @@
+package com.habibInc.issueTracker.search;
+
+import com.habibInc.issueTracker.issue.IssueDto;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+
+public class SearchHit {
+
+    private Long issueId;
+    private double score;
+
+    // resolved once the hits have been ranked
+    private IssueDto issue;
+
+    public SearchHit(Long issueId, double score) {
+        this.issueId = issueId;
+        this.score = score;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "issueId: " + issueId +
+                ", score: " + score +
+                '}';
+    }
+}
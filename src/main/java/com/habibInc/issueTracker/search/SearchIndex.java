@@ -0,0 +1,183 @@
+package com.habibInc.issueTracker.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+public class SearchIndex {
+    // BM25 term frequency saturation and document length normalization
+    public final static double K1 = 1.2;
+    public final static double B = 0.75;
+
+    private final static Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // term -> (issue id -> term frequency over all the issue fields)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    // issue id -> (field -> (term -> frequency)), kept to retract a field's terms when it changes
+    private final Map<Long, Map<String, Map<String, Integer>>> documents = new HashMap<>();
+
+    // issue id -> number of terms over all the issue fields
+    private final Map<Long, Integer> lengths = new HashMap<>();
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+
+        if (text == null)
+            return tokens;
+
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty())
+                tokens.add(token);
+        }
+
+        return tokens;
+    }
+
+    public void setField(Long issueId, String field, String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(text).forEach((term) -> frequencies.merge(term, 1, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeFieldTerms(issueId, field);
+
+            if (!frequencies.isEmpty()) {
+                documents.computeIfAbsent(issueId, (id) -> new HashMap<>()).put(field, frequencies);
+                addTerms(issueId, frequencies);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeField(Long issueId, String field) {
+        lock.writeLock().lock();
+        try {
+            removeFieldTerms(issueId, field);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeDocument(Long issueId) {
+        lock.writeLock().lock();
+        try {
+            Map<String, Map<String, Integer>> fields = documents.get(issueId);
+
+            if (fields != null) {
+                for (String field : new ArrayList<>(fields.keySet()))
+                    removeFieldTerms(issueId, field);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || lengths.isEmpty())
+                return new ArrayList<>();
+
+            final int documentsCount = lengths.size();
+            final double averageLength = (double) totalLength / documentsCount;
+
+            // only the issues containing at least one of the query terms are ever scored
+            Map<Long, Double> scores = new HashMap<>();
+
+            for (String term : terms) {
+                Map<Long, Integer> termPostings = postings.get(term);
+
+                if (termPostings == null)
+                    continue;
+
+                final int documentFrequency = termPostings.size();
+                final double idf = Math.log(1 + (documentsCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+                termPostings.forEach((issueId, frequency) -> {
+                    final double lengthRatio = lengths.get(issueId) / averageLength;
+                    final double score = idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * lengthRatio));
+                    scores.merge(issueId, score, Double::sum);
+                });
+            }
+
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return lengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<SearchHit> topHits(Map<Long, Double> scores, int limit) {
+        // keep the best hits in a bounded min-heap, ties broken by the most recent issue
+        Comparator<SearchHit> byRelevance = Comparator.comparingDouble(SearchHit::getScore)
+                .thenComparing(SearchHit::getIssueId);
+
+        PriorityQueue<SearchHit> heap = new PriorityQueue<>(limit + 1, byRelevance);
+
+        scores.forEach((issueId, score) -> {
+            heap.offer(new SearchHit(issueId, score));
+
+            if (heap.size() > limit)
+                heap.poll();
+        });
+
+        List<SearchHit> hits = new ArrayList<>(heap);
+        hits.sort(byRelevance.reversed());
+        return hits;
+    }
+
+    private void addTerms(Long issueId, Map<String, Integer> frequencies) {
+        frequencies.forEach((term, frequency) -> {
+            postings.computeIfAbsent(term, (t) -> new HashMap<>()).merge(issueId, frequency, Integer::sum);
+            lengths.merge(issueId, frequency, Integer::sum);
+            totalLength += frequency;
+        });
+    }
+
+    private void removeFieldTerms(Long issueId, String field) {
+        Map<String, Map<String, Integer>> fields = documents.get(issueId);
+
+        if (fields == null)
+            return;
+
+        Map<String, Integer> frequencies = fields.remove(field);
+
+        if (frequencies == null)
+            return;
+
+        frequencies.forEach((term, frequency) -> {
+            Map<Long, Integer> termPostings = postings.get(term);
+
+            // drop the posting once no field of the issue contains the term anymore
+            if (termPostings.merge(issueId, -frequency, Integer::sum) == 0)
+                termPostings.remove(issueId);
+
+            if (termPostings.isEmpty())
+                postings.remove(term);
+
+            if (lengths.merge(issueId, -frequency, Integer::sum) == 0)
+                lengths.remove(issueId);
+
+            totalLength -= frequency;
+        });
+
+        if (fields.isEmpty())
+            documents.remove(issueId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.habibInc.issueTracker.search;
+
+import com.habibInc.issueTracker.issue.Issue;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// reads only the indexed text, without loading the issue and comment entity graphs
+@Repository
+public interface SearchRepository extends org.springframework.data.repository.Repository<Issue, Long> {
+
+    interface IssueText {
+        Long getId();
+        Long getProjectId();
+        String getSummary();
+        String getDescription();
+    }
+
+    interface CommentText {
+        Long getId();
+        Long getIssueId();
+        Long getProjectId();
+        String getContent();
+    }
+
+    @Query("SELECT i.id AS id, i.project.id AS projectId, i.summary AS summary, i.description AS description " +
+            "FROM Issue i WHERE i.id > :lastId AND i.project IS NOT NULL ORDER BY i.id")
+    List<IssueText> findIssueTexts(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("SELECT c.id AS id, i.id AS issueId, i.project.id AS projectId, c.content AS content " +
+            "FROM Comment c JOIN c.issue i WHERE c.id > :lastId AND i.project IS NOT NULL ORDER BY c.id")
+    List<CommentText> findCommentTexts(@Param("lastId") Long lastId, Pageable pageable);
+}
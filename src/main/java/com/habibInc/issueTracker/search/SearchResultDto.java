@@ -0,0 +1,26 @@
+package com.habibInc.issueTracker.search;
+
+import com.habibInc.issueTracker.issue.IssueDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class SearchResultDto {
+
+    private IssueDto issue;
+    private double score;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "issue: " + issue +
+                ", score: " + score +
+                '}';
+    }
+}
@@ -0,0 +1,283 @@
+package com.habibInc.issueTracker.search;
+
+import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueDtoAssembler;
+import com.habibInc.issueTracker.issue.IssueRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class SearchService {
+    public final static String SUMMARY_FIELD = "summary";
+    public final static String DESCRIPTION_FIELD = "description";
+    public final static String COMMENT_FIELD_PREFIX = "comment:";
+
+    public final static int REBUILD_BATCH_SIZE = 500;
+
+    private final SearchRepository searchRepository;
+    private final IssueRepository issueRepository;
+    private final IssueDtoAssembler issueDtoAssembler;
+
+    // project id -> project index, replaced as a whole by the rebuild job
+    private volatile Map<Long, SearchIndex> indexes = new ConcurrentHashMap<>();
+
+    // indexes under construction, they receive the incremental updates too so the swap does not lose them
+    private volatile Rebuild rebuilding;
+
+    // the incremental updates share the lock, the rebuild batches and the swap take it alone
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    // stamps the incremental updates, a rebuild batch keeps the entries updated after it was read
+    private final AtomicLong updateStamps = new AtomicLong();
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private ExecutorService rebuilder;
+
+    @Autowired
+    public SearchService(SearchRepository searchRepository, IssueRepository issueRepository, IssueDtoAssembler issueDtoAssembler) {
+        this.searchRepository = searchRepository;
+        this.issueRepository = issueRepository;
+        this.issueDtoAssembler = issueDtoAssembler;
+    }
+
+    // a thread of its own, so that the rebuild never holds back the startup nor the scheduled jobs
+    @PostConstruct
+    public void start() {
+        rebuilder = Executors.newSingleThreadExecutor((runnable) -> {
+            Thread thread = new Thread(runnable, "search-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (rebuilder != null)
+            rebuilder.shutdownNow();
+    }
+
+    public void indexIssue(Long projectId, Long issueId, String summary, String description) {
+        if (projectId == null || issueId == null)
+            return;
+
+        updateIndexes(projectId, issueId, List.of(SUMMARY_FIELD, DESCRIPTION_FIELD), (index) -> {
+            index.setField(issueId, SUMMARY_FIELD, summary);
+            index.setField(issueId, DESCRIPTION_FIELD, description);
+        });
+    }
+
+    public void removeIssue(Long projectId, Long issueId) {
+        if (projectId == null)
+            return;
+
+        // the issue comments are removed along with it
+        updateIndexes(projectId, issueId, List.of(Rebuild.ALL_FIELDS), (index) -> index.removeDocument(issueId));
+    }
+
+    public void indexComment(Long projectId, Long issueId, Long commentId, String content) {
+        if (projectId == null || commentId == null)
+            return;
+
+        updateIndexes(projectId, issueId, List.of(COMMENT_FIELD_PREFIX + commentId),
+                (index) -> index.setField(issueId, COMMENT_FIELD_PREFIX + commentId, content));
+    }
+
+    public void removeComment(Long projectId, Long issueId, Long commentId) {
+        if (projectId == null)
+            return;
+
+        updateIndexes(projectId, issueId, List.of(COMMENT_FIELD_PREFIX + commentId),
+                (index) -> index.removeField(issueId, COMMENT_FIELD_PREFIX + commentId));
+    }
+
+    public List<SearchHit> search(Long projectId, String query, int size) {
+        SearchIndex index = indexes.get(projectId);
+
+        if (index == null)
+            return new ArrayList<>();
+
+        // rank the issues from the index, then read only the returned ones as projections, their users at once
+        List<SearchHit> hits = index.search(query, size);
+
+        if (hits.isEmpty())
+            return hits;
+
+        List<Long> ids = hits.stream().map(SearchHit::getIssueId).collect(Collectors.toList());
+
+        Map<Long, IssueDto> issues = new HashMap<>();
+        issueDtoAssembler.toDtos(issueRepository.findViewsByIdIn(ids)).forEach((issue) -> issues.put(issue.getId(), issue));
+
+        // drop the hits whose issue has been deleted in the meantime
+        hits.forEach((hit) -> hit.setIssue(issues.get(hit.getIssueId())));
+        hits.removeIf((hit) -> hit.getIssue() == null);
+
+        return hits;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${search.rebuild.cron:0 0 3 * * *}")
+    public void scheduleRebuild() {
+        // a rebuild already waiting covers this request too
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildPending.set(false);
+
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    // searches keep being served by the previous indexes until the next rebuild
+                    log.error("Failed to rebuild search indexes", ex);
+                }
+            });
+        }
+    }
+
+    public synchronized void rebuild() {
+        final Rebuild rebuild = new Rebuild();
+        rebuilding = rebuild;
+
+        try {
+            int issuesCount = 0, commentsCount = 0;
+
+            // scan the issues and the comments by keyset batches
+            Long lastId = 0L;
+            List<SearchRepository.IssueText> issues;
+            do {
+                final long readStamp = updateStamps.get();
+                issues = searchRepository.findIssueTexts(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+
+                rebuildLock.writeLock().lock();
+                try {
+                    for (SearchRepository.IssueText issue : issues) {
+                        SearchIndex index = rebuild.index(issue.getProjectId());
+
+                        if (!rebuild.updatedAfter(issue.getId(), SUMMARY_FIELD, readStamp))
+                            index.setField(issue.getId(), SUMMARY_FIELD, issue.getSummary());
+
+                        if (!rebuild.updatedAfter(issue.getId(), DESCRIPTION_FIELD, readStamp))
+                            index.setField(issue.getId(), DESCRIPTION_FIELD, issue.getDescription());
+
+                        lastId = issue.getId();
+                    }
+                } finally {
+                    rebuildLock.writeLock().unlock();
+                }
+
+                issuesCount += issues.size();
+            } while (issues.size() == REBUILD_BATCH_SIZE);
+
+            lastId = 0L;
+            List<SearchRepository.CommentText> comments;
+            do {
+                final long readStamp = updateStamps.get();
+                comments = searchRepository.findCommentTexts(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+
+                rebuildLock.writeLock().lock();
+                try {
+                    for (SearchRepository.CommentText comment : comments) {
+                        final String field = COMMENT_FIELD_PREFIX + comment.getId();
+
+                        if (!rebuild.updatedAfter(comment.getIssueId(), field, readStamp))
+                            rebuild.index(comment.getProjectId()).setField(comment.getIssueId(), field, comment.getContent());
+
+                        lastId = comment.getId();
+                    }
+                } finally {
+                    rebuildLock.writeLock().unlock();
+                }
+
+                commentsCount += comments.size();
+            } while (comments.size() == REBUILD_BATCH_SIZE);
+
+            // searches keep being served by the previous indexes until the swap
+            rebuildLock.writeLock().lock();
+            try {
+                indexes = rebuild.indexes;
+                rebuilding = null;
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+
+            log.info("Rebuilt search indexes: {projects: {}, issues: {}, comments: {}}",
+                    rebuild.indexes.size(), issuesCount, commentsCount);
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private void updateIndexes(Long projectId, Long issueId, List<String> fields, Consumer<SearchIndex> update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyUpdate(projectId, issueId, fields, update);
+            return;
+        }
+
+        // applied once committed, so that the index never holds a change that was rolled back
+        // and a rebuild reading the database meanwhile sees it as well
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyUpdate(projectId, issueId, fields, update);
+            }
+        });
+    }
+
+    private void applyUpdate(Long projectId, Long issueId, List<String> fields, Consumer<SearchIndex> update) {
+        rebuildLock.readLock().lock();
+        try {
+            update.accept(indexes.computeIfAbsent(projectId, (id) -> new SearchIndex()));
+
+            Rebuild rebuild = rebuilding;
+            if (rebuild != null) {
+                rebuild.stamp(issueId, fields, updateStamps.incrementAndGet());
+                update.accept(rebuild.index(projectId));
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private static class Rebuild {
+        // stamps the removal of the whole issue document
+        private final static String ALL_FIELDS = "*";
+
+        private final Map<Long, SearchIndex> indexes = new ConcurrentHashMap<>();
+
+        // "issue id/field" -> stamp of the latest incremental update of the entry
+        private final Map<String, Long> stamps = new ConcurrentHashMap<>();
+
+        private SearchIndex index(Long projectId) {
+            return indexes.computeIfAbsent(projectId, (id) -> new SearchIndex());
+        }
+
+        private void stamp(Long issueId, List<String> fields, long stamp) {
+            fields.forEach((field) -> stamps.put(issueId + "/" + field, stamp));
+        }
+
+        // the database rows read before an incremental update are older than the entry it left
+        private boolean updatedAfter(Long issueId, String field, long readStamp) {
+            return stamps.getOrDefault(issueId + "/" + field, 0L) > readStamp ||
+                    stamps.getOrDefault(issueId + "/" + ALL_FIELDS, 0L) > readStamp;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.habibInc.issueTracker.board.Board;
 import com.habibInc.issueTracker.issue.Issue;
 import com.habibInc.issueTracker.project.Project;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.time.LocalDate;
@@ -22,6 +23,9 @@ import java.util.Objects;
 
 @Builder
 
+@Table(name = "sprint", indexes = {
+        @Index(name = "idx_sprint_project_status", columnList = "project_id, status")
+})
 @JsonIgnoreProperties({"project", "backlog"})
 public class Sprint {
     @Id
@@ -43,12 +47,18 @@ public class Sprint {
     @ManyToOne(fetch = FetchType.LAZY)
     private Project project;
 
-    @OneToMany(mappedBy = "sprint", fetch = FetchType.EAGER)
+    // loaded on demand, the backlogs of the sprints listed together are loaded a batch at a time
+    @OneToMany(mappedBy = "sprint", fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<Issue> backlog = new ArrayList<>();
 
     @OneToOne(mappedBy = "sprint")
     private Board board;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -5,7 +5,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.habibInc.issueTracker.user.User;
 import com.habibInc.issueTracker.utils.validation.IdValidator;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -13,7 +12,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -21,12 +19,10 @@ import java.util.stream.Collectors;
 public class SprintController {
 
     private final SprintService sprintService;
-    private final ModelMapper modelMapper;
 
     @Autowired
-    public SprintController(SprintService sprintService, ModelMapper modelMapper) {
+    public SprintController(SprintService sprintService) {
         this.sprintService = sprintService;
-        this.modelMapper = modelMapper;
     }
 
     @PostMapping({"", "/"})
@@ -35,7 +31,7 @@ public class SprintController {
         Sprint createdSprint = sprintService.createSprint(projectId, sprint);
 
         // convert Sprint to SprintBacklogDto
-        SprintBacklogDto sprintDto = modelMapper.map(createdSprint, SprintBacklogDto.class);
+        SprintBacklogDto sprintDto = SprintMapper.toBacklogDto(createdSprint);
 
         log.info("Created sprint: {}", sprintDto);
 
@@ -48,7 +44,7 @@ public class SprintController {
         Sprint sprint = sprintService.getSprintById(sprintId);
 
         // map Sprint to SprintBoardDto
-        SprintBoardDto sprintDto = modelMapper.map(sprint, SprintBoardDto.class);
+        SprintBoardDto sprintDto = SprintMapper.toBoardDto(sprint);
 
         log.info("Fetched sprint: {}", sprintDto);
 
@@ -57,17 +53,16 @@ public class SprintController {
 
     @GetMapping(value = "", params = "status")
     @ResponseStatus(HttpStatus.OK)
-    public List<SprintBacklogDto> getSprintsByStatus(@RequestParam SprintStatus status) {
-        List<Sprint> sprints = sprintService.getSprintsByStatus(status);
+    public List<SprintSummaryDto> getSprintSummariesByStatus(@PathVariable Long projectId,
+                                                             @RequestParam SprintStatus status,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "10") int size) {
+        // a page of the project sprints by status with the size of their backlogs, none of their issues is loaded
+        List<SprintSummaryDto> summaries = sprintService.getSprintSummariesByStatus(projectId, status, page, size);
 
-        // map each sprint to SprintBacklogDto
-        List<SprintBacklogDto> sprintsByStatus = sprints.stream()
-                .map(sprint -> modelMapper.map(sprint, SprintBacklogDto.class))
-                .collect(Collectors.toList());
+        log.info("Fetched sprint summaries by status: {projectId: {}, sprints: {}, page: {}, pageSize: {}}", projectId, summaries, page, size);
 
-        log.info("Fetched sprints by status: {}", sprintsByStatus);
-
-        return sprintsByStatus;
+        return summaries;
     }
 
     @PatchMapping("/{sprintId}/backlog")
@@ -81,16 +76,16 @@ public class SprintController {
 
     @PatchMapping("{sprintId}")
     @ResponseStatus(HttpStatus.OK)
-    public Sprint updateSprintStatus(@PathVariable Long sprintId, @RequestBody String request) throws JsonProcessingException {
+    public SprintStatusDto updateSprintStatus(@PathVariable Long sprintId, @RequestBody String request) throws JsonProcessingException {
         // extract request body
         Map<String, String> requestBody = new ObjectMapper().readValue(request, Map.class);
 
         // extract the new sprint status
         SprintStatus status = SprintStatus.valueOf(requestBody.get("newSprintStatus").toUpperCase());
 
-        // update sprint status
-        final Sprint updatedSprint = sprintService.updateSprintStatus(sprintId, status);
-        log.info("Updated sprint status: {sprintId: {}, status: {}}", sprintId, status);
+        // update sprint status, along with the number of unfinished issues returned to the product backlog
+        final SprintStatusDto updatedSprint = sprintService.updateSprintStatus(sprintId, status);
+        log.info("Updated sprint status: {}", updatedSprint);
         return updatedSprint;
     }
 
@@ -98,7 +93,8 @@ public class SprintController {
     @ResponseStatus(HttpStatus.OK)
     public void updateIssueSprint(@RequestBody String request,
                                   @PathVariable String sprintId,
-                                  @PathVariable Long issueId) throws JsonProcessingException {
+                                  @PathVariable Long issueId,
+                                  @AuthenticationPrincipal User authenticatedUser) throws JsonProcessingException {
         // extract request body
         Map<String, String> requestBody = new ObjectMapper().readValue(request, Map.class);
 
@@ -110,7 +106,7 @@ public class SprintController {
         }
 
         // update issue sprint
-        sprintService.updateIssueSprint(sprintId, issueId, newSprintId);
+        sprintService.updateIssueSprint(sprintId, issueId, newSprintId, authenticatedUser);
 
         log.info("Updated issue sprint: {issueId: {}, newSprintId: {}}", issueId, newSprintId);
     }
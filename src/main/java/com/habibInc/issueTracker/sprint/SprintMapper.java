@@ -0,0 +1,63 @@
+package com.habibInc.issueTracker.sprint;
+
+import com.habibInc.issueTracker.board.BoardMapper;
+import com.habibInc.issueTracker.issue.IssueMapper;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SprintMapper {
+
+    public static SprintBacklogDto toBacklogDto(Sprint sprint) {
+        if (sprint == null)
+            return null;
+
+        return new SprintBacklogDto(
+                sprint.getId(),
+                sprint.getName(),
+                sprint.getGoal(),
+                sprint.getStatus(),
+                sprint.getStartDate(),
+                sprint.getEndDate(),
+                IssueMapper.toDtos(sprint.getBacklog())
+        );
+    }
+
+    public static SprintBoardDto toBoardDto(Sprint sprint) {
+        if (sprint == null)
+            return null;
+
+        return new SprintBoardDto(
+                sprint.getId(),
+                sprint.getName(),
+                sprint.getGoal(),
+                sprint.getStatus(),
+                sprint.getStartDate(),
+                sprint.getEndDate(),
+                BoardMapper.toDto(sprint.getBoard())
+        );
+    }
+
+    public static SprintSummaryDto toSummaryDto(SprintRepository.SprintSummaryView sprint) {
+        if (sprint == null)
+            return null;
+
+        return new SprintSummaryDto(
+                sprint.getId(),
+                sprint.getName(),
+                sprint.getGoal(),
+                sprint.getStatus(),
+                sprint.getStartDate(),
+                sprint.getEndDate(),
+                sprint.getIssueCount(),
+                sprint.getPoints()
+        );
+    }
+
+    public static List<SprintSummaryDto> toSummaryDtos(List<SprintRepository.SprintSummaryView> sprints) {
+        if (sprints == null)
+            return null;
+
+        return sprints.stream().map(SprintMapper::toSummaryDto).collect(Collectors.toList());
+    }
+}
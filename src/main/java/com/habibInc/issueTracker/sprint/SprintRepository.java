@@ -1,11 +1,53 @@
 package com.habibInc.issueTracker.sprint;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SprintRepository extends CrudRepository<Sprint, Long> {
-    List<Sprint> findAllByStatus(SprintStatus status);
+
+    // the sprint columns alone, without the backlog
+    interface SprintView {
+        Long getId();
+        String getName();
+        String getGoal();
+        SprintStatus getStatus();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+    }
+
+    // the sprint columns along with the size of its backlog
+    interface SprintSummaryView extends SprintView {
+        long getIssueCount();
+        long getPoints();
+    }
+
+    // the sprint and its backlog by one join, for the operations that go through every issue of the sprint
+    @EntityGraph(attributePaths = "backlog")
+    Optional<Sprint> findWithBacklogById(Long id);
+
+    // the sprints of a project by status, a page at a time, served by the (project_id, status) index
+    @Query("SELECT s.id AS id, s.name AS name, s.goal AS goal, s.status AS status, " +
+            "s.startDate AS startDate, s.endDate AS endDate, " +
+            "COUNT(i.id) AS issueCount, COALESCE(SUM(i.points), 0) AS points " +
+            "FROM Sprint s LEFT JOIN s.backlog i WHERE s.project.id = :projectId AND s.status = :status " +
+            "GROUP BY s.id, s.name, s.goal, s.status, s.startDate, s.endDate ORDER BY s.id")
+    List<SprintSummaryView> findSummariesByProjectIdAndStatus(@Param("projectId") Long projectId,
+                                                              @Param("status") SprintStatus status,
+                                                              Pageable pageable);
+
+    // the last column of the sprint board holds its finished issues
+    @Query("SELECT MAX(c.id) FROM Column c WHERE c.board.sprint.id = :sprintId")
+    Optional<Long> findLastColumnIdById(@Param("sprintId") Long sprintId);
+
+    @Query("SELECT s.project.id FROM Sprint s WHERE s.id = :sprintId")
+    Optional<Long> findProjectIdById(@Param("sprintId") Long sprintId);
 }
@@ -1,19 +1,25 @@
 package com.habibInc.issueTracker.sprint;
 
-import com.habibInc.issueTracker.column.Column;
+import com.habibInc.issueTracker.change.ChangeTracker;
 import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
-import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.history.IssueHistory;
+import com.habibInc.issueTracker.issue.IssueCache;
 import com.habibInc.issueTracker.issue.IssueRepository;
 import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.issue.IssueSnapshot;
 import com.habibInc.issueTracker.project.Project;
 import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.stats.IssueCounter;
 import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class SprintService {
@@ -22,13 +28,21 @@ public class SprintService {
     private final SprintRepository sprintRepository;
     private final IssueService issueService;
     private final IssueRepository issueRepository;
+    private final IssueCache issueCache;
+    private final ChangeTracker changeTracker;
+    private final IssueCounter issueCounter;
+    private final IssueHistory issueHistory;
 
     @Autowired
-    public SprintService(ProjectService projectService, SprintRepository sprintRepository, IssueService issueService, IssueRepository issueRepository) {
+    public SprintService(ProjectService projectService, SprintRepository sprintRepository, IssueService issueService, IssueRepository issueRepository, IssueCache issueCache, ChangeTracker changeTracker, IssueCounter issueCounter, IssueHistory issueHistory) {
         this.projectService = projectService;
         this.sprintRepository = sprintRepository;
         this.issueService = issueService;
         this.issueRepository = issueRepository;
+        this.issueCache = issueCache;
+        this.changeTracker = changeTracker;
+        this.issueCounter = issueCounter;
+        this.issueHistory = issueHistory;
     }
 
     public Sprint createSprint(Long projectId, Sprint sprint) {
@@ -45,70 +59,99 @@ public class SprintService {
                 new ResourceNotFoundException("Sprint not found"));
     }
 
+    public Sprint getSprintWithBacklogById(Long sprintId) {
+        return sprintRepository.findWithBacklogById(sprintId).orElseThrow(() ->
+                new ResourceNotFoundException("Sprint not found"));
+    }
+
+    @Transactional
     public int setSprintBacklog(Long sprintId, List<Long> issuesIds) {
-        return issueRepository.updateIssuesSprint(sprintId, issuesIds);
+        issueCounter.sprintChanged(issuesIds, sprintId);
+
+        final int updated = issueRepository.updateIssuesSprint(sprintId, issuesIds);
+        issueCache.invalidateAll(issuesIds);
+
+        // the issues leave their project backlog
+        sprintRepository.findProjectIdById(sprintId).ifPresent(changeTracker::projectChanged);
+
+        return updated;
+    }
+
+    // the sprints with the number of issues and points of their backlogs, counted by the database
+    public List<SprintSummaryDto> getSprintSummariesByStatus(Long projectId, SprintStatus status, int page, int size) {
+        return SprintMapper.toSummaryDtos(
+                sprintRepository.findSummariesByProjectIdAndStatus(projectId, status, pageOf(page, size)));
     }
 
-    public List<Sprint> getSprintsByStatus(SprintStatus status) {
-        return sprintRepository.findAllByStatus(status);
+    private static Pageable pageOf(int page, int size) {
+        // never serve more than the hard maximum page size
+        return PageRequest.of(Math.max(page, 0), CursorPage.limit(size));
     }
 
-    public Sprint updateSprintStatus(Long sprintId, SprintStatus status) {
+    @Transactional
+    public SprintStatusDto updateSprintStatus(Long sprintId, SprintStatus status) {
         // find the sprint by id (throws sprint not found error)
         Sprint sprint = getSprintById(sprintId);
 
         // when the sprint is over, then return the unfinished issues to the product backlog
-        if(status.equals(SprintStatus.OVER)){
-            moveUnfinishedSprintIssuesToProductBacklog(sprint);
-        }
+        int moved = 0;
+        if(status.equals(SprintStatus.OVER))
+            moved = moveUnfinishedSprintIssuesToProductBacklog(sprintId);
 
         // update the sprint status
         sprint.setStatus(status);
+        Sprint updatedSprint = sprintRepository.save(sprint);
 
-        return sprintRepository.save(sprint);
+        return new SprintStatusDto(updatedSprint.getId(), updatedSprint.getName(), updatedSprint.getStatus(), moved);
     }
 
-    public void moveUnfinishedSprintIssuesToProductBacklog(Sprint sprint) {
-        List<Issue> sprintBacklog = sprint.getBacklog();
-        List<Column> boardColumns = sprint.getBoard().getColumns();
+    // the unfinished issues are the ones outside of the last column of the sprint board, all of them without a board
+    @Transactional
+    public int moveUnfinishedSprintIssuesToProductBacklog(Long sprintId) {
+        Long lastColumnId = sprintRepository.findLastColumnIdById(sprintId).orElse(null);
 
-        // get the last board column id
-        Long lastColumnId = boardColumns.get(boardColumns.size() - 1).getId();
+        return moveIssuesToProductBacklog(sprintId, lastColumnId);
+    }
 
-        // extract all the unfinished issues (the ones that do not belong to the last column)
-        List<Issue> unfinishedIssues = sprintBacklog.stream()
-                .filter((issue) -> !issue.getColumn().getId().equals(lastColumnId))
-                .collect(Collectors.toList());
+    // moves the sprint issues outside of the given column (or all of them) by one statement, none of them is loaded
+    private int moveIssuesToProductBacklog(Long sprintId, Long keptColumnId) {
+        // the counts are moved by facets groups, a sprint without unfinished issues has none to move
+        issueCounter.sprintLeft(sprintId, keptColumnId);
+        final int moved = issueRepository.moveSprintIssuesOutsideColumnToProductBacklog(sprintId, keptColumnId);
 
-        // move the unfinished issues back to the product backlog
-        moveIssuesToProductBacklog(unfinishedIssues);
-    }
+        if (moved == 0)
+            return 0;
+
+        // the cached snapshots of the sprint are dropped at once, without selecting the ids of the moved issues
+        issueCache.invalidateSprint(sprintId);
 
-    private void moveIssuesToProductBacklog(List<Issue> issues) {
-        // extract issues' ids
-        final List<Long> issuesIds = issues.stream()
-                .map(issue -> issue.getId())
-                .collect(Collectors.toList());
+        sprintRepository.findProjectIdById(sprintId).ifPresent(changeTracker::projectChanged);
 
-        // move the issues back to the product backlog (set their sprint property to null)
-        issueRepository.updateIssuesSprint(null, issuesIds);
+        return moved;
     }
 
-    public void updateIssueSprint(String sprintId, Long issueId, Long newSprintId) {
+    @Transactional
+    public void updateIssueSprint(String sprintId, Long issueId, Long newSprintId, User authenticatedUser) {
         // check if the id is null (indicates that the issue is back to the product backlog)
         // otherwise fetch the new sprint by id (throws sprint not found error)
         Sprint newSprint = newSprintId != null ? getSprintById(newSprintId) : null;
 
-        // get the issue (throws issue not found error)
-        Issue issue = issueService.getIssueById(issueId);
+        // check that the issue exists (throws issue not found error)
+        IssueSnapshot issue = issueService.getIssueSnapshot(issueId);
+
+        // the sprint it leaves is read from the stored issue, the cached snapshot may miss a recent move
+        Long fromSprintId = issueRepository.findSprintIdById(issueId).orElse(null);
 
-        // update the sprint
-        issue.setSprint(newSprint);
+        // update the issue sprint alone, then drop the stale snapshot
+        issueCounter.sprintChanged(List.of(issueId), newSprintId);
+        issueRepository.updateIssuesSprint(newSprintId, List.of(issueId));
+        issueCache.invalidate(issueId);
+        changeTracker.projectChanged(issue.getProjectId());
 
-        //save the sprint
-        issueRepository.save(issue);
+        issueHistory.recordChange(issueId, authenticatedUser, IssueHistory.SPRINT, fromSprintId, newSprintId);
     }
 
+    @Transactional
     public void deleteSprintById(Long projectId, Long sprintId, User authenticatedUser) {
         final Project project = projectService.getProjectById(projectId);
         final Sprint sprintToDelete = getSprintById(sprintId);
@@ -119,7 +162,7 @@ public class SprintService {
         }
 
         // move sprint issues back to product backlog
-        moveIssuesToProductBacklog(sprintToDelete.getBacklog());
+        moveIssuesToProductBacklog(sprintToDelete.getId(), null);
 
         // invoke repository, delete sprint by id
         sprintRepository.deleteById(sprintToDelete.getId());
@@ -0,0 +1,43 @@
+package com.habibInc.issueTracker.sprint;
+
+import lombok.*;
+
+import java.util.Objects;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class SprintStatusDto {
+    private Long id;
+
+    private String name;
+    private SprintStatus status;
+
+    // the unfinished issues returned to the product backlog when the sprint is over
+    private int movedIssueCount;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "id: " + id +
+                ", name: '" + name + '\'' +
+                ", status: " + status +
+                ", movedIssueCount: " + movedIssueCount +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SprintStatusDto that = (SprintStatusDto) o;
+        return id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
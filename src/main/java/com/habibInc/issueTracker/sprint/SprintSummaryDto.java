@@ -0,0 +1,52 @@
+package com.habibInc.issueTracker.sprint;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class SprintSummaryDto {
+    private Long id;
+
+    private String name;
+    private String goal;
+    private SprintStatus status;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    private long issueCount;
+    private long points;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "id: " + id +
+                ", name: '" + name + '\'' +
+                ", goal: '" + goal + '\'' +
+                ", status: " + status +
+                ", startDate: " + startDate +
+                ", endDate: " + endDate +
+                ", issueCount: " + issueCount +
+                ", points: " + points +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SprintSummaryDto that = (SprintSummaryDto) o;
+        return id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,45 @@
+package com.habibInc.issueTracker.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+@Entity
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+// the number of issues of a project, sprint or column having a given status, priority or type
+@Table(name = "issue_count", indexes = {
+        @Index(name = "idx_issue_count_project", columnList = "project_id")
+})
+public class IssueCount {
+
+    @EmbeddedId
+    private IssueCountKey key;
+
+    // the project of the counted scope, so that all the counts of a project are read at once
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "key: " + key +
+                ", projectId: " + projectId +
+                ", total: " + total +
+                '}';
+    }
+}
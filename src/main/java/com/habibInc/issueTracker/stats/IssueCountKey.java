@@ -0,0 +1,79 @@
+package com.habibInc.issueTracker.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Objects;
+
+@Embeddable
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class IssueCountKey implements Serializable, Comparable<IssueCountKey> {
+
+    public enum Scope { PROJECT, SPRINT, COLUMN }
+
+    // the ALL dimension counts every issue of the scope, whatever its status, priority and type
+    public enum Dimension { ALL, STATUS, PRIORITY, TYPE }
+
+    private final static Comparator<IssueCountKey> ORDER = Comparator
+            .comparing(IssueCountKey::getScope)
+            .thenComparing(IssueCountKey::getScopeId)
+            .thenComparing(IssueCountKey::getDimension)
+            .thenComparing(IssueCountKey::getValue);
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", length = 16)
+    private Scope scope;
+
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 16)
+    private Dimension dimension;
+
+    // the name of the status, priority or type constant, or ALL
+    @Column(name = "dimension_value", length = 32)
+    private String value;
+
+    @Override
+    public int compareTo(IssueCountKey other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IssueCountKey key = (IssueCountKey) o;
+        return scope == key.scope &&
+                Objects.equals(scopeId, key.scopeId) &&
+                dimension == key.dimension &&
+                Objects.equals(value, key.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(scope, scopeId, dimension, value);
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "scope: " + scope +
+                ", scopeId: " + scopeId +
+                ", dimension: " + dimension +
+                ", value: '" + value + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,78 @@
+package com.habibInc.issueTracker.stats;
+
+import com.habibInc.issueTracker.issue.IssuePriority;
+import com.habibInc.issueTracker.issue.IssueStatus;
+import com.habibInc.issueTracker.issue.IssueType;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface IssueCountRepository extends CrudRepository<IssueCount, IssueCountKey> {
+
+    interface FacetsView {
+        Long getProjectId();
+        Long getSprintId();
+        Long getColumnId();
+        IssueStatus getStatus();
+        IssuePriority getPriority();
+        IssueType getType();
+    }
+
+    interface FacetsCountView extends FacetsView {
+        long getTotal();
+    }
+
+    // adds to the count in place, creating its row on the first issue, so concurrent writers never lose an update
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO issue_count (scope, scope_id, dimension, dimension_value, project_id, total) " +
+            "VALUES (:scope, :scopeId, :dimension, :value, :projectId, :delta) " +
+            "ON DUPLICATE KEY UPDATE total = total + :delta", nativeQuery = true)
+    int add(@Param("scope") String scope,
+            @Param("scopeId") Long scopeId,
+            @Param("dimension") String dimension,
+            @Param("value") String value,
+            @Param("projectId") Long projectId,
+            @Param("delta") long delta);
+
+    List<IssueCount> findAllByProjectId(Long projectId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IssueCount c WHERE c.projectId = :projectId AND c.total = 0")
+    int deleteEmptyByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT DISTINCT c.projectId FROM IssueCount c")
+    List<Long> findProjectIds();
+
+    @Query("SELECT i.project.id AS projectId, s.id AS sprintId, c.id AS columnId, " +
+            "i.status AS status, i.priority AS priority, i.type AS type " +
+            "FROM Issue i LEFT JOIN i.sprint s LEFT JOIN i.column c WHERE i.id IN :ids")
+    List<FacetsView> findFacetsByIssueIdIn(@Param("ids") Collection<Long> ids);
+
+    // the actual counts of a project, one row per combination of the counted attributes
+    @Query("SELECT i.project.id AS projectId, s.id AS sprintId, c.id AS columnId, " +
+            "i.status AS status, i.priority AS priority, i.type AS type, COUNT(i) AS total " +
+            "FROM Issue i LEFT JOIN i.sprint s LEFT JOIN i.column c WHERE i.project.id = :projectId " +
+            "GROUP BY i.project.id, s.id, c.id, i.status, i.priority, i.type")
+    List<FacetsCountView> countFacetsByProjectId(@Param("projectId") Long projectId);
+
+    // the counts of the issues of a sprint outside of the given column, or of all of them without a column
+    @Query("SELECT i.project.id AS projectId, s.id AS sprintId, c.id AS columnId, " +
+            "i.status AS status, i.priority AS priority, i.type AS type, COUNT(i) AS total " +
+            "FROM Issue i JOIN i.sprint s LEFT JOIN i.column c " +
+            "WHERE s.id = :sprintId AND (:columnId IS NULL OR c.id IS NULL OR c.id <> :columnId) " +
+            "GROUP BY i.project.id, s.id, c.id, i.status, i.priority, i.type")
+    List<FacetsCountView> countFacetsBySprintIdOutsideColumn(@Param("sprintId") Long sprintId,
+                                                             @Param("columnId") Long columnId);
+
+    @Query("SELECT DISTINCT i.project.id FROM Issue i WHERE i.project IS NOT NULL")
+    List<Long> findIssueProjectIds();
+}
@@ -0,0 +1,168 @@
+package com.habibInc.issueTracker.stats;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static com.habibInc.issueTracker.stats.IssueCountKey.Dimension;
+import static com.habibInc.issueTracker.stats.IssueCountKey.Scope;
+
+// keeps the issue counts up to date, within the transaction of the write that changes them
+@Component
+public class IssueCounter {
+
+    private final IssueCountRepository countRepository;
+
+    @Autowired
+    public IssueCounter(IssueCountRepository countRepository) {
+        this.countRepository = countRepository;
+    }
+
+    public void added(Collection<IssueFacets> issues) {
+        Deltas deltas = new Deltas();
+        issues.forEach((issue) -> deltas.add(issue, 1));
+        deltas.apply();
+    }
+
+    public void added(IssueFacets issue) {
+        added(List.of(issue));
+    }
+
+    public void removed(Collection<IssueFacets> issues) {
+        Deltas deltas = new Deltas();
+        issues.forEach((issue) -> deltas.add(issue, -1));
+        deltas.apply();
+    }
+
+    public void changed(IssueFacets before, IssueFacets after) {
+        if (Objects.equals(before, after))
+            return;
+
+        Deltas deltas = new Deltas();
+        deltas.add(before, -1);
+        deltas.add(after, 1);
+        deltas.apply();
+    }
+
+    public List<IssueFacets> getFacets(Collection<Long> issueIds) {
+        if (issueIds.isEmpty())
+            return List.of();
+
+        return countRepository.findFacetsByIssueIdIn(issueIds).stream()
+                .map(IssueFacets::of)
+                .collect(Collectors.toList());
+    }
+
+    // to be called before the issues are moved by a bulk statement, which skips the entities
+    public void sprintChanged(Collection<Long> issueIds, Long sprintId) {
+        moved(issueIds, (issue) -> issue.withSprintId(sprintId));
+    }
+
+    public void columnChanged(Collection<Long> issueIds, Long columnId) {
+        moved(issueIds, (issue) -> issue.withColumnId(columnId));
+    }
+
+    // to be called before the issues of a sprint outside of the given column leave it, counted by group
+    public void sprintLeft(Long sprintId, Long columnId) {
+        Deltas deltas = new Deltas();
+
+        for (IssueCountRepository.FacetsCountView group : countRepository.countFacetsBySprintIdOutsideColumn(sprintId, columnId)) {
+            IssueFacets issues = IssueFacets.of(group);
+            deltas.add(issues, -group.getTotal());
+            deltas.add(issues.withSprintId(null), group.getTotal());
+        }
+
+        deltas.apply();
+    }
+
+    private void moved(Collection<Long> issueIds, UnaryOperator<IssueFacets> move) {
+        Deltas deltas = new Deltas();
+
+        for (IssueFacets issue : getFacets(issueIds)) {
+            deltas.add(issue, -1);
+            deltas.add(move.apply(issue), 1);
+        }
+
+        deltas.apply();
+    }
+
+    // repairs the counts of a project from the issues themselves and returns the number of rows that had drifted
+    public int reconcile(Long projectId) {
+        Deltas deltas = new Deltas();
+
+        // the corrections are added rather than written over the counts, so the writes made meanwhile are kept
+        countRepository.countFacetsByProjectId(projectId)
+                .forEach((facets) -> deltas.add(IssueFacets.of(facets), facets.getTotal()));
+
+        countRepository.findAllByProjectId(projectId)
+                .forEach((count) -> deltas.add(count.getKey(), count.getProjectId(), -count.getTotal()));
+
+        int repaired = deltas.apply();
+        countRepository.deleteEmptyByProjectId(projectId);
+
+        return repaired;
+    }
+
+    // the changes of the counts summed up by row, so that each row is written once
+    private class Deltas {
+        // rows are always written in the same order, so two transactions never wait on each other's rows
+        private final Map<IssueCountKey, Long> deltas = new TreeMap<>();
+        private final Map<IssueCountKey, Long> projects = new TreeMap<>();
+
+        void add(IssueFacets issue, long delta) {
+            // issues outside of any project are not counted
+            if (issue.getProjectId() == null)
+                return;
+
+            add(issue, Scope.PROJECT, issue.getProjectId(), delta);
+
+            if (issue.getSprintId() != null)
+                add(issue, Scope.SPRINT, issue.getSprintId(), delta);
+
+            if (issue.getColumnId() != null)
+                add(issue, Scope.COLUMN, issue.getColumnId(), delta);
+        }
+
+        private void add(IssueFacets issue, Scope scope, Long scopeId, long delta) {
+            add(new IssueCountKey(scope, scopeId, Dimension.ALL, Dimension.ALL.name()), issue.getProjectId(), delta);
+            add(issue, scope, scopeId, Dimension.STATUS, issue.getStatus(), delta);
+            add(issue, scope, scopeId, Dimension.PRIORITY, issue.getPriority(), delta);
+            add(issue, scope, scopeId, Dimension.TYPE, issue.getType(), delta);
+        }
+
+        private void add(IssueFacets issue, Scope scope, Long scopeId, Dimension dimension, Enum<?> value, long delta) {
+            if (value == null)
+                return;
+
+            add(new IssueCountKey(scope, scopeId, dimension, value.name()), issue.getProjectId(), delta);
+        }
+
+        void add(IssueCountKey key, Long projectId, long delta) {
+            deltas.merge(key, delta, Long::sum);
+            projects.put(key, projectId);
+        }
+
+        int apply() {
+            int written = 0;
+
+            for (Map.Entry<IssueCountKey, Long> delta : deltas.entrySet()) {
+                if (delta.getValue() == 0)
+                    continue;
+
+                IssueCountKey key = delta.getKey();
+                countRepository.add(key.getScope().name(), key.getScopeId(), key.getDimension().name(),
+                        key.getValue(), projects.get(key), delta.getValue());
+                written++;
+            }
+
+            return written;
+        }
+    }
+}
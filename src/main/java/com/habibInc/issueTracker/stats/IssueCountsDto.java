@@ -0,0 +1,49 @@
+package com.habibInc.issueTracker.stats;
+
+import com.habibInc.issueTracker.issue.IssuePriority;
+import com.habibInc.issueTracker.issue.IssueStatus;
+import com.habibInc.issueTracker.issue.IssueType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class IssueCountsDto {
+
+    private long total;
+
+    private Map<IssueStatus, Long> status;
+    private Map<IssuePriority, Long> priority;
+    private Map<IssueType, Long> type;
+
+    // every constant is listed, with a zero count when no issue has it
+    public static IssueCountsDto empty() {
+        return new IssueCountsDto(0, zeros(IssueStatus.class), zeros(IssuePriority.class), zeros(IssueType.class));
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeros(Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants())
+            counts.put(constant, 0L);
+
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "total: " + total +
+                ", status: " + status +
+                ", priority: " + priority +
+                ", type: " + type +
+                '}';
+    }
+}
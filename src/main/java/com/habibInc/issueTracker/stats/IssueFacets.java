@@ -0,0 +1,89 @@
+package com.habibInc.issueTracker.stats;
+
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssuePriority;
+import com.habibInc.issueTracker.issue.IssueStatus;
+import com.habibInc.issueTracker.issue.IssueType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Objects;
+
+// the part of an issue the counts are kept on: where it is and what status, priority and type it has
+@Getter
+@AllArgsConstructor
+
+public final class IssueFacets {
+
+    private final Long projectId;
+    private final Long sprintId;
+    private final Long columnId;
+    private final IssueStatus status;
+    private final IssuePriority priority;
+    private final IssueType type;
+
+    public static IssueFacets of(Issue issue) {
+        return of(issue.getProject() != null ? issue.getProject().getId() : null, issue);
+    }
+
+    // the project of an issue can not change, while a merged issue does not always carry it
+    public static IssueFacets of(Long projectId, Issue issue) {
+        return new IssueFacets(
+                projectId,
+                issue.getSprint() != null ? issue.getSprint().getId() : null,
+                issue.getColumn() != null ? issue.getColumn().getId() : null,
+                issue.getStatus(),
+                issue.getPriority(),
+                issue.getType()
+        );
+    }
+
+    public static IssueFacets of(IssueCountRepository.FacetsView issue) {
+        return new IssueFacets(
+                issue.getProjectId(),
+                issue.getSprintId(),
+                issue.getColumnId(),
+                issue.getStatus(),
+                issue.getPriority(),
+                issue.getType()
+        );
+    }
+
+    public IssueFacets withSprintId(Long sprintId) {
+        return new IssueFacets(projectId, sprintId, columnId, status, priority, type);
+    }
+
+    public IssueFacets withColumnId(Long columnId) {
+        return new IssueFacets(projectId, sprintId, columnId, status, priority, type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IssueFacets facets = (IssueFacets) o;
+        return Objects.equals(projectId, facets.projectId) &&
+                Objects.equals(sprintId, facets.sprintId) &&
+                Objects.equals(columnId, facets.columnId) &&
+                status == facets.status &&
+                priority == facets.priority &&
+                type == facets.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(projectId, sprintId, columnId, status, priority, type);
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "projectId: " + projectId +
+                ", sprintId: " + sprintId +
+                ", columnId: " + columnId +
+                ", status: " + status +
+                ", priority: " + priority +
+                ", type: " + type +
+                '}';
+    }
+}
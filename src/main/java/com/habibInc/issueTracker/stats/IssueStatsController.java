@@ -0,0 +1,33 @@
+package com.habibInc.issueTracker.stats;
+
+import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/projects/{projectId}/stats")
+public class IssueStatsController {
+
+    private final IssueStatsService statsService;
+    private final ProjectService projectService;
+
+    @Autowired
+    public IssueStatsController(IssueStatsService statsService, ProjectService projectService) {
+        this.statsService = statsService;
+        this.projectService = projectService;
+    }
+
+    @GetMapping({"", "/"})
+    @ResponseStatus(HttpStatus.OK)
+    public ProjectStatsDto getProjectStats(@PathVariable("projectId") String id) {
+        // validate project id
+        Long projectId = IdValidator.validate(id);
+
+        // fetch the project by id (throws project not found error)
+        projectService.getProjectById(projectId);
+
+        return statsService.getProjectStats(projectId);
+    }
+}
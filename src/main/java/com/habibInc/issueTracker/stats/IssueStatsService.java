@@ -0,0 +1,98 @@
+package com.habibInc.issueTracker.stats;
+
+import com.habibInc.issueTracker.issue.IssuePriority;
+import com.habibInc.issueTracker.issue.IssueStatus;
+import com.habibInc.issueTracker.issue.IssueType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+@Slf4j
+@Service
+public class IssueStatsService {
+
+    private final IssueCountRepository countRepository;
+    private final IssueCounter issueCounter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public IssueStatsService(IssueCountRepository countRepository, IssueCounter issueCounter, TransactionTemplate transactionTemplate) {
+        this.countRepository = countRepository;
+        this.issueCounter = issueCounter;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public ProjectStatsDto getProjectStats(Long projectId) {
+        ProjectStatsDto stats = new ProjectStatsDto(projectId, IssueCountsDto.empty(), new TreeMap<>(), new TreeMap<>());
+
+        // all the counts of the project are kept in rows of their own, read without touching the issues
+        for (IssueCount count : countRepository.findAllByProjectId(projectId)) {
+            IssueCountKey key = count.getKey();
+
+            IssueCountsDto counts;
+            switch (key.getScope()) {
+                case SPRINT:
+                    counts = stats.getSprints().computeIfAbsent(key.getScopeId(), (id) -> IssueCountsDto.empty());
+                    break;
+                case COLUMN:
+                    counts = stats.getColumns().computeIfAbsent(key.getScopeId(), (id) -> IssueCountsDto.empty());
+                    break;
+                default:
+                    counts = stats.getProject();
+            }
+
+            add(counts, key, count.getTotal());
+        }
+
+        return stats;
+    }
+
+    private void add(IssueCountsDto counts, IssueCountKey key, long total) {
+        // a constant that is no longer declared is left out until the reconciliation drops it
+        try {
+            switch (key.getDimension()) {
+                case ALL:
+                    counts.setTotal(total);
+                    break;
+                case STATUS:
+                    counts.getStatus().merge(IssueStatus.valueOf(key.getValue()), total, Long::sum);
+                    break;
+                case PRIORITY:
+                    counts.getPriority().merge(IssuePriority.valueOf(key.getValue()), total, Long::sum);
+                    break;
+                case TYPE:
+                    counts.getType().merge(IssueType.valueOf(key.getValue()), total, Long::sum);
+                    break;
+            }
+        } catch (IllegalArgumentException ex) {
+            log.warn("Unknown issue count: {}", key);
+        }
+    }
+
+    // repairs the counts that drifted from the issues, such as the ones of issues written outside of the services
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${issue.stats.reconcile.cron:0 45 3 * * *}")
+    public void reconcileAll() {
+        // the projects that have issues, and the ones that only have counts left
+        TreeSet<Long> projectIds = new TreeSet<>(countRepository.findIssueProjectIds());
+        projectIds.addAll(countRepository.findProjectIds());
+
+        projectIds.forEach(this::reconcile);
+    }
+
+    public int reconcile(Long projectId) {
+        final int repaired = transactionTemplate.execute((status) -> issueCounter.reconcile(projectId));
+
+        if (repaired > 0)
+            log.warn("Repaired issue counts: {projectId: {}, rows: {}}", projectId, repaired);
+
+        return repaired;
+    }
+}
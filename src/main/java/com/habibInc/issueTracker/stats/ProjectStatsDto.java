@@ -0,0 +1,34 @@
+package com.habibInc.issueTracker.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class ProjectStatsDto {
+
+    private Long projectId;
+
+    private IssueCountsDto project;
+
+    // keyed by sprint id and by column id
+    private Map<Long, IssueCountsDto> sprints;
+    private Map<Long, IssueCountsDto> columns;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "projectId: " + projectId +
+                ", project: " + project +
+                ", sprints: " + sprints +
+                ", columns: " + columns +
+                '}';
+    }
+}
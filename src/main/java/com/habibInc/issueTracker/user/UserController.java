@@ -3,7 +3,6 @@ package com.habibInc.issueTracker.user;
 import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
 import com.habibInc.issueTracker.security.JwtUtil;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -13,7 +12,6 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @RestController
@@ -22,13 +20,11 @@ public class UserController {
 
     private final UserService userService;
     private final JwtUtil jwtUtil;
-    private final ModelMapper modelMapper;
 
     @Autowired
-    public UserController(UserService userService, JwtUtil jwtUtil, ModelMapper modelMapper) {
+    public UserController(UserService userService, JwtUtil jwtUtil) {
         this.userService = userService;
         this.jwtUtil = jwtUtil;
-        this.modelMapper = modelMapper;
     }
 
     @PostMapping("/signup")
@@ -46,7 +42,7 @@ public class UserController {
         User createdUser = userService.createUser(user);
 
         // set up user DTO response body
-        UserDto responseBody = modelMapper.map(createdUser, UserDto.class);
+        UserDto responseBody = UserMapper.toDto(createdUser);
 
         log.info("User signup success: {}", responseBody);
 
@@ -84,8 +80,7 @@ public class UserController {
         List<User> users = userService.getUsersNotAssignedToProject(excludedProjectId, page, size);
 
         // convert to UserDto
-        List<UserDto> usersNotAssignedToProject =
-                users.stream().map(user -> modelMapper.map(user, UserDto.class)).collect(Collectors.toList());
+        List<UserDto> usersNotAssignedToProject = UserMapper.toDtos(users);
 
         log.info("List of users not assigned to project: {projectId: {}, users: {}, page: {}, pageSize: {}}", excludedProjectId, usersNotAssignedToProject, page, size);
 
@@ -101,8 +96,7 @@ public class UserController {
         List<User> users = userService.getUsersByAssignedProject(projectId, page, size);
 
         // convert to UserDto
-        List<UserDto> usersByProject =
-                users.stream().map(user -> modelMapper.map(user, UserDto.class)).collect(Collectors.toList());
+        List<UserDto> usersByProject = UserMapper.toDtos(users);
 
         log.info("List of users assigned to project: {projectId: {}, users: {}, page: {}, pageSize: {}}", projectId, usersByProject, page, size);
 
@@ -117,7 +111,7 @@ public class UserController {
         List<User> users = userService.getPaginatedListOfUsers(page, size);
 
         // map to DTOs
-        List<UserDto> usersDto = users.stream().map((user) -> modelMapper.map(user, UserDto.class)).collect(Collectors.toList());
+        List<UserDto> usersDto = UserMapper.toDtos(users);
 
         log.info("Paginated list of users: {users: {}, page: {}, pageSize: {}}", page, size, usersDto);
 
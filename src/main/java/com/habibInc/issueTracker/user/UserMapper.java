@@ -0,0 +1,22 @@
+package com.habibInc.issueTracker.user;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// maps users to their DTO field by field, without the reflective matching of the model mapper
+public class UserMapper {
+
+    public static UserDto toDto(User user) {
+        if (user == null)
+            return null;
+
+        return new UserDto(user.getId(), user.getUsername(), user.getFullName());
+    }
+
+    public static List<UserDto> toDtos(List<User> users) {
+        if (users == null)
+            return null;
+
+        return users.stream().map(UserMapper::toDto).collect(Collectors.toList());
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,9 @@ public interface UserRepository extends CrudRepository<User, Long> {
 
     List<User> findAll(Pageable pageable);
 
+    @Query("SELECT new com.habibInc.issueTracker.user.UserDto(u.id, u.username, u.fullName) FROM User u WHERE u.id IN :ids")
+    List<UserDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
 }
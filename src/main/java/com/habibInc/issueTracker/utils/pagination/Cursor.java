@@ -0,0 +1,50 @@
+package com.habibInc.issueTracker.utils.pagination;
+
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class Cursor {
+    public final static String errorMessage = "Invalid cursor";
+
+    private final static String SEPARATOR = ",";
+
+    public static String encode(Object... keys) {
+        // join the keys of the last seen row and hide them behind an url-safe token
+        String joinedKeys = Arrays.stream(keys)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(joinedKeys.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int keysCount) throws InvalidIdException {
+        String[] keys;
+        try{
+            String joinedKeys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            keys = joinedKeys.split(Pattern.quote(SEPARATOR), -1);
+        }catch (Exception ex){
+            throw new InvalidIdException(errorMessage);
+        }
+
+        // the cursor should carry exactly the keys the query is sorted on
+        if(keys.length != keysCount)
+            throw new InvalidIdException(errorMessage);
+
+        return keys;
+    }
+
+    public static Long decodeId(String cursor) throws InvalidIdException {
+        try{
+            return Long.valueOf(decode(cursor, 1)[0]);
+        }catch (NumberFormatException ex){
+            throw new InvalidIdException(errorMessage);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.habibInc.issueTracker.utils.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class CursorPage<T> {
+    public final static int MAX_SIZE = 100;
+
+    private List<T> content;
+
+    // null when the last page has been reached
+    private String nextCursor;
+
+    public static int limit(int requestedSize) {
+        // never serve more than the hard maximum page size
+        return Math.max(1, Math.min(requestedSize, MAX_SIZE));
+    }
+
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        // the query fetches one extra row to find out whether another page follows
+        if(rows.size() <= size)
+            return new CursorPage<>(rows, null);
+
+        List<T> content = new ArrayList<>(rows.subList(0, size));
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)));
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        List<R> mappedContent = content.stream().map(mapper).collect(Collectors.toList());
+        return new CursorPage<>(mappedContent, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "content: " + content +
+                ", nextCursor: '" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.habibInc.issueTracker.utils.patch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habibInc.issueTracker.exceptionhandler.InvalidPatchException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+
+// applies a JSON merge patch (RFC 7386) onto an entity: the fields present in the patch are replaced, null ones are cleared
+@Component
+public class MergePatch {
+    public final static String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public MergePatch(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> T apply(T target, JsonNode patch, Set<String> patchableFields) {
+        if (patch == null || !patch.isObject())
+            throw new InvalidPatchException("Invalid merge patch");
+
+        // only the given fields can be patched, the identifiers, versions and relations have their own operations
+        Iterator<String> fields = patch.fieldNames();
+        while (fields.hasNext()) {
+            String field = fields.next();
+            if (!patchableFields.contains(field))
+                throw new InvalidPatchException("Field can not be patched: " + field);
+        }
+
+        try {
+            return objectMapper.readerForUpdating(target).readValue(patch);
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new InvalidPatchException("Invalid merge patch", ex);
+        }
+    }
+}
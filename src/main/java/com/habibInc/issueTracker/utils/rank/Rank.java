@@ -0,0 +1,90 @@
+package com.habibInc.issueTracker.utils.rank;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+// ranks are base 36 fractions written without the leading "0." and without trailing zeros,
+// so that comparing two ranks as strings compares them as numbers and there is always room between two of them
+public class Rank {
+    public final static String INITIAL = "i";
+
+    // appended ranks step over a fixed width, leaving room for many insertions in between
+    public final static int WIDTH = 6;
+    public final static int MAX_LENGTH = 12;
+
+    private final static int RADIX = 36;
+    private final static BigInteger BASE = BigInteger.valueOf(RADIX);
+    private final static BigInteger STEP = BASE.pow(WIDTH / 2);
+
+    public static String between(String lower, String upper) {
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0)
+            throw new IllegalArgumentException("Lower rank must precede upper rank");
+
+        int width = Math.max(1, Math.max(length(lower), length(upper)));
+
+        // widen the ranks until there is a free value strictly between them
+        while (true) {
+            BigInteger low = lower != null ? valueOf(lower, width) : BigInteger.ZERO;
+            BigInteger high = upper != null ? valueOf(upper, width) : BASE.pow(width);
+
+            if (high.subtract(low).compareTo(BigInteger.ONE) > 0)
+                return format(low.add(high).shiftRight(1), width);
+
+            width++;
+        }
+    }
+
+    public static String after(String rank) {
+        if (rank == null)
+            return INITIAL;
+
+        // step from the rank prefix rather than halving the remaining space, so that appending does not grow the ranks
+        BigInteger next = valueOf(rank.length() > WIDTH ? rank.substring(0, WIDTH) : rank, WIDTH).add(STEP);
+
+        if (next.compareTo(BASE.pow(WIDTH)) < 0)
+            return format(next, WIDTH);
+
+        return between(rank, null);
+    }
+
+    public static List<String> spread(int count) {
+        // the upper half of the range is left free, so that the issues appended afterwards keep short ranks
+        int width = WIDTH;
+        while (BASE.pow(width).shiftRight(1).compareTo(BigInteger.valueOf(count + 1L)) <= 0)
+            width++;
+
+        // evenly distribute the ranks over the lower half of the range
+        BigInteger step = BASE.pow(width).shiftRight(1).divide(BigInteger.valueOf(count + 1L));
+
+        List<String> ranks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++)
+            ranks.add(format(step.multiply(BigInteger.valueOf(i)), width));
+
+        return ranks;
+    }
+
+    private static int length(String rank) {
+        return rank != null ? rank.length() : 0;
+    }
+
+    private static BigInteger valueOf(String rank, int width) {
+        StringBuilder digits = new StringBuilder(rank);
+        while (digits.length() < width)
+            digits.append('0');
+
+        return new BigInteger(digits.toString(), RADIX);
+    }
+
+    private static String format(BigInteger value, int width) {
+        StringBuilder digits = new StringBuilder(value.toString(RADIX));
+        while (digits.length() < width)
+            digits.insert(0, '0');
+
+        int end = digits.length();
+        while (end > 1 && digits.charAt(end - 1) == '0')
+            end--;
+
+        return digits.substring(0, end);
+    }
+}
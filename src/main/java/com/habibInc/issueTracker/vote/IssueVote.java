@@ -0,0 +1,38 @@
+package com.habibInc.issueTracker.vote;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+// a user's vote for an issue, keyed by both so that a user votes only once for an issue
+@Table(name = "issue_vote")
+public class IssueVote {
+
+    @EmbeddedId
+    private IssueVoteKey key;
+
+    @Column(name = "vote_time")
+    private LocalDateTime voteTime;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "key: " + key +
+                ", voteTime: " + voteTime +
+                '}';
+    }
+}
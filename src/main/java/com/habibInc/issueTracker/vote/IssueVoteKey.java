@@ -0,0 +1,47 @@
+package com.habibInc.issueTracker.vote;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class IssueVoteKey implements Serializable {
+
+    @Column(name = "issue_id")
+    private Long issueId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IssueVoteKey key = (IssueVoteKey) o;
+        return Objects.equals(issueId, key.issueId) &&
+                Objects.equals(userId, key.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(issueId, userId);
+    }
+
+    @Override
+    public String toString() {
+        return "{" +
+                "issueId: " + issueId +
+                ", userId: " + userId +
+                '}';
+    }
+}
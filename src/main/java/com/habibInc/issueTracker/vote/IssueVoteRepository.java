@@ -0,0 +1,48 @@
+package com.habibInc.issueTracker.vote;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IssueVoteRepository extends CrudRepository<IssueVote, IssueVoteKey> {
+
+    // a plain insert rather than a merge, so that a second vote of the same user fails on the primary key
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO issue_vote (issue_id, user_id, vote_time) VALUES (:issueId, :userId, :voteTime)",
+            nativeQuery = true)
+    int insertVote(@Param("issueId") Long issueId, @Param("userId") Long userId, @Param("voteTime") LocalDateTime voteTime);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IssueVote v WHERE v.key.issueId = :issueId AND v.key.userId = :userId")
+    int deleteVote(@Param("issueId") Long issueId, @Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IssueVote v WHERE v.key.issueId = :issueId")
+    int deleteAllByIssueId(@Param("issueId") Long issueId);
+
+    @Query("SELECT i.votes FROM Issue i WHERE i.id = :issueId")
+    Optional<Integer> findVotesByIssueId(@Param("issueId") Long issueId);
+
+    // the version is left alone, the votes are not part of the versioned issue and never fail the writes of its editors
+    @Modifying
+    @Query("UPDATE Issue i SET i.votes = i.votes + :delta WHERE i.id = :issueId")
+    int addVotes(@Param("issueId") Long issueId, @Param("delta") int delta);
+
+    @Query("SELECT DISTINCT i.project.id FROM Issue i WHERE i.id IN :issueIds AND i.project IS NOT NULL")
+    List<Long> findProjectIdsByIssueIdIn(@Param("issueIds") Collection<Long> issueIds);
+
+    @Query("SELECT DISTINCT c.board.id FROM Issue i JOIN i.column c WHERE i.id IN :issueIds AND c.board IS NOT NULL")
+    List<Long> findBoardIdsByIssueIdIn(@Param("issueIds") Collection<Long> issueIds);
+}
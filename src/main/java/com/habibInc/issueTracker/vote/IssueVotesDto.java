@@ -0,0 +1,29 @@
+package com.habibInc.issueTracker.vote;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+
+public class IssueVotesDto {
+
+    private Long issueId;
+    private long votes;
+
+    // whether the authenticated user has voted for the issue
+    private boolean voted;
+
+    @Override
+    public String toString() {
+        return "{" +
+                "issueId: " + issueId +
+                ", votes: " + votes +
+                ", voted: " + voted +
+                '}';
+    }
+}
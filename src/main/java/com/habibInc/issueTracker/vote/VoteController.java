@@ -0,0 +1,66 @@
+package com.habibInc.issueTracker.vote;
+
+import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/issues/{issueId}/votes")
+public class VoteController {
+
+    private final VoteService voteService;
+    private final IssueService issueService;
+
+    @Autowired
+    public VoteController(VoteService voteService, IssueService issueService) {
+        this.voteService = voteService;
+        this.issueService = issueService;
+    }
+
+    @GetMapping({"", "/"})
+    @ResponseStatus(HttpStatus.OK)
+    public IssueVotesDto getVotes(@PathVariable("issueId") String id, @AuthenticationPrincipal User authenticatedUser) {
+        // validate issue id
+        Long issueId = IdValidator.validate(id);
+
+        // check that the issue exists (throws issue not found error)
+        issueService.getIssueSnapshot(issueId);
+
+        IssueVotesDto votes = voteService.getVotes(issueId, authenticatedUser);
+
+        log.info("Fetched issue votes: {votes: {}}", votes);
+
+        return votes;
+    }
+
+    // voting again is a no-op, so that a retried request does not count twice
+    @PostMapping({"", "/"})
+    @ResponseStatus(HttpStatus.OK)
+    public IssueVotesDto vote(@PathVariable("issueId") String id, @AuthenticationPrincipal User authenticatedUser) {
+        Long issueId = IdValidator.validate(id);
+
+        IssueVotesDto votes = voteService.vote(issueId, authenticatedUser);
+
+        log.info("Voted for issue: {votes: {}}", votes);
+
+        return votes;
+    }
+
+    @DeleteMapping({"", "/"})
+    @ResponseStatus(HttpStatus.OK)
+    public IssueVotesDto unvote(@PathVariable("issueId") String id, @AuthenticationPrincipal User authenticatedUser) {
+        Long issueId = IdValidator.validate(id);
+
+        IssueVotesDto votes = voteService.unvote(issueId, authenticatedUser);
+
+        log.info("Removed issue vote: {votes: {}}", votes);
+
+        return votes;
+    }
+}
@@ -0,0 +1,123 @@
+package com.habibInc.issueTracker.vote;
+
+import com.habibInc.issueTracker.change.ChangeTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// adds the votes to the issues in batches, so that the votes for a popular issue do not all queue on its row
+@Slf4j
+@Component
+public class VoteCounter {
+    // issues updated per transaction
+    public final static int BATCH_SIZE = 100;
+
+    private final IssueVoteRepository voteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeTracker changeTracker;
+
+    // the votes not written yet, in striped adders so that concurrent votes for one issue do not contend either
+    private final ConcurrentMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public VoteCounter(IssueVoteRepository voteRepository, TransactionTemplate transactionTemplate, ChangeTracker changeTracker) {
+        this.voteRepository = voteRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.changeTracker = changeTracker;
+    }
+
+    public void add(Long issueId, long delta) {
+        LongAdder adder = pending.computeIfAbsent(issueId, (id) -> new LongAdder());
+        adder.add(delta);
+
+        // the adder was dropped by a flush in the meantime, whatever it still holds is moved to the current one
+        if (pending.get(issueId) != adder) {
+            long dropped = adder.sumThenReset();
+            if (dropped != 0)
+                add(issueId, dropped);
+        }
+    }
+
+    public long getPendingVotes(Long issueId) {
+        LongAdder adder = pending.get(issueId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${issue.votes.flush.delay:1000}")
+    public void flushPending() {
+        flush();
+    }
+
+    // writes every pending vote and tells whether all of them were written
+    public synchronized boolean flush() {
+        // the rows are updated in id order, so that two nodes flushing at once do not deadlock
+        Map<Long, Long> deltas = new TreeMap<>();
+
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            Long issueId = entry.getKey();
+            LongAdder adder = entry.getValue();
+
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(issueId, delta);
+            } else if (pending.remove(issueId, adder)) {
+                // an issue no longer voted for is dropped, a vote counted in between is moved to a new adder
+                long late = adder.sumThenReset();
+                if (late != 0)
+                    add(issueId, late);
+            }
+        }
+
+        List<Long> issueIds = new ArrayList<>(deltas.keySet());
+        for (int from = 0; from < issueIds.size(); from += BATCH_SIZE) {
+            List<Long> batch = issueIds.subList(from, Math.min(from + BATCH_SIZE, issueIds.size()));
+
+            try {
+                write(batch, deltas);
+            } catch (RuntimeException ex) {
+                // the votes are counted again and written by the next flush
+                log.error("Failed to write issue votes: {count: {}}", issueIds.size() - from, ex);
+                issueIds.subList(from, issueIds.size()).forEach((issueId) -> add(issueId, deltas.get(issueId)));
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void write(List<Long> issueIds, Map<Long, Long> deltas) {
+        transactionTemplate.execute((status) -> {
+            // the votes of a deleted issue update no row and are dropped
+            for (Long issueId : issueIds)
+                voteRepository.addVotes(issueId, Math.toIntExact(deltas.get(issueId)));
+
+            // the projects and the boards showing the issues are counted as changed once the votes are committed
+            voteRepository.findProjectIdsByIssueIdIn(issueIds).forEach(changeTracker::projectChanged);
+            voteRepository.findBoardIdsByIssueIdIn(issueIds).forEach(changeTracker::boardChanged);
+
+            return null;
+        });
+    }
+
+    // the pending votes only live in memory, so they are written out before the application stops
+    @PreDestroy
+    public void shutdown() {
+        if (!flush())
+            log.error("Issue votes lost on shutdown: {count: {}}", getPendingCount());
+    }
+}
@@ -0,0 +1,80 @@
+package com.habibInc.issueTracker.vote;
+
+import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
+import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.user.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+public class VoteService {
+
+    private final IssueVoteRepository voteRepository;
+    private final VoteCounter voteCounter;
+    private final IssueService issueService;
+
+    @Autowired
+    public VoteService(IssueVoteRepository voteRepository, VoteCounter voteCounter, IssueService issueService) {
+        this.voteRepository = voteRepository;
+        this.voteCounter = voteCounter;
+        this.issueService = issueService;
+    }
+
+    public IssueVotesDto vote(Long issueId, User authenticatedUser) {
+        checkVoter(issueId, authenticatedUser);
+
+        // the vote row is the dedupe, the issue total only counts the votes actually added
+        if (addVote(issueId, authenticatedUser.getId()))
+            voteCounter.add(issueId, 1);
+
+        return new IssueVotesDto(issueId, countVotes(issueId), true);
+    }
+
+    public IssueVotesDto unvote(Long issueId, User authenticatedUser) {
+        checkVoter(issueId, authenticatedUser);
+
+        if (voteRepository.deleteVote(issueId, authenticatedUser.getId()) > 0)
+            voteCounter.add(issueId, -1);
+
+        return new IssueVotesDto(issueId, countVotes(issueId), false);
+    }
+
+    public IssueVotesDto getVotes(Long issueId, User authenticatedUser) {
+        boolean voted = authenticatedUser != null &&
+                voteRepository.existsById(new IssueVoteKey(issueId, authenticatedUser.getId()));
+
+        return new IssueVotesDto(issueId, countVotes(issueId), voted);
+    }
+
+    private void checkVoter(Long issueId, User authenticatedUser) {
+        // check that the issue exists (throws issue not found error)
+        issueService.getIssueSnapshot(issueId);
+
+        if (authenticatedUser == null)
+            throw new ForbiddenOperationException("Forbidden");
+    }
+
+    private boolean addVote(Long issueId, Long userId) {
+        if (voteRepository.existsById(new IssueVoteKey(issueId, userId)))
+            return false;
+
+        try {
+            return voteRepository.insertVote(issueId, userId, LocalDateTime.now()) > 0;
+        } catch (DataIntegrityViolationException ex) {
+            // the same vote made concurrently
+            return false;
+        }
+    }
+
+    private long countVotes(Long issueId) {
+        // the written votes and those still pending, a read racing a flush may be off by the votes being written
+        int persistedVotes = voteRepository.findVotesByIssueId(issueId)
+                .orElseThrow(() -> new ResourceNotFoundException("Issue not found"));
+
+        return persistedVotes + voteCounter.getPendingVotes(issueId);
+    }
+}
@@ -0,0 +1,93 @@
+package com.habibInc.issueTracker.benchmark;
+
+import com.habibInc.issueTracker.comment.Comment;
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueMapper;
+import com.habibInc.issueTracker.user.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// compares the mapping of an issues page by the model mapper and by the hand-written mappers,
+// run with: ./mvnw test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test -Dexec.args="-cp %classpath com.habibInc.issueTracker.benchmark.DtoMappingBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"20", "200"})
+    int pageSize;
+
+    ModelMapper modelMapper;
+    List<Issue> issues;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+
+        User reporter = User.builder().id(1L).username("reporter").fullName("Reporter").build();
+        User assignee = User.builder().id(2L).username("assignee").fullName("Assignee").build();
+
+        issues = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            Issue issue = Issue.builder()
+                    .id(id)
+                    .IssueKey("BENCH-" + id)
+                    .summary("Issue summary " + id)
+                    .description("Issue description " + id)
+                    .rank("i" + id)
+                    .reporter(reporter)
+                    .assignee(assignee)
+                    .creationTime(LocalDateTime.now())
+                    .updateTime(LocalDateTime.now())
+                    .build();
+
+            // a few comments per issue, as on a typical issues page
+            List<Comment> comments = new ArrayList<>();
+            for (long i = 1; i <= 3; i++) {
+                comments.add(Comment.builder()
+                        .id(id * 10 + i)
+                        .content("Comment " + i)
+                        .issue(issue)
+                        .owner(i % 2 == 0 ? reporter : assignee)
+                        .creationTime(LocalDateTime.now())
+                        .build());
+            }
+            issue.setComments(comments);
+
+            issues.add(issue);
+        }
+    }
+
+    @Benchmark
+    public List<IssueDto> modelMapper() {
+        return issues.stream().map((issue) -> modelMapper.map(issue, IssueDto.class)).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<IssueDto> issueMapper() {
+        return IssueMapper.toDtos(issues);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        // the gc profiler reports the allocation rate and the bytes allocated per operation
+        new Runner(new OptionsBuilder()
+                .include(DtoMappingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+}
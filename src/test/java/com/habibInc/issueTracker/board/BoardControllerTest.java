@@ -1,6 +1,7 @@
 package com.habibInc.issueTracker.board;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habibInc.issueTracker.column.ColumnDto;
 import com.habibInc.issueTracker.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,11 +9,14 @@ import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -31,8 +35,7 @@ public class BoardControllerTest {
     @MockBean
     BoardService boardService;
 
-    @SpyBean
-    ModelMapper modelMapper;
+    ModelMapper modelMapper = new ModelMapper();
 
     Board board;
 
@@ -49,10 +52,16 @@ public class BoardControllerTest {
         // given the board service
         when(boardService.createBoard(any(), eq(board), any())).thenReturn(board);
 
+        // given the board DTO built by the board service
+        BoardDto boardDto = new BoardDto(board.getId(), board.getName(), List.of(
+                new ColumnDto(10L, "To Do", new ArrayList<>()),
+                new ColumnDto(20L, "In progress", new ArrayList<>()),
+                new ColumnDto(30L, "Done", new ArrayList<>())
+        ), 5L);
+        when(boardService.getBoardDto(board)).thenReturn(boardDto);
+
         // given the expected response
-        String expectedResponse = objectMapper.writeValueAsString(
-                modelMapper.map(board, BoardDto.class)
-        );
+        String expectedResponse = objectMapper.writeValueAsString(boardDto);
 
         // when a POST request to create a board is made
         String url = "/boards";
@@ -71,15 +80,60 @@ public class BoardControllerTest {
     @Test
     public void itShouldGetBoardById() throws Exception {
         // given the board service
+        when(boardService.getBoardETag(board.getId())).thenReturn("\"1-2-3-4\"");
         when(boardService.getBoardById(board.getId())).thenReturn(board);
 
         // given the get board by id endpoint
         String url = "/boards/" + board.getId();
 
-        // expect the response to be the retrieved board by id
+        // expect the response to be the retrieved board by id, along with its ETag
         mockMvc.perform(get(url)
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-2-3-4\""));
+    }
+
+    @Test
+    public void givenGetBoardById_whenBoardIsNotModified_itShouldNotLoadTheBoard() throws Exception {
+        // given the board ETag
+        when(boardService.getBoardETag(board.getId())).thenReturn("\"1-2-3-4\"");
+
+        // when the board is requested with its current ETag
+        mockMvc.perform(get("/boards/" + board.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-2-3-4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-2-3-4\""))
+                .andExpect(content().string(""));
+
+        // then the board should not have been loaded
+        verify(boardService, never()).getBoardById(any());
+    }
+
+    @Test
+    public void itShouldGetBoardSnapshot() throws Exception {
+        // given the board snapshot of three issues per column
+        BoardSnapshotDto snapshot = new BoardSnapshotDto(board.getId(), board.getName(), 5L,
+                List.of(new ColumnSnapshotDto(10L, "To do", 5, 4L, List.of(100L), "next")), List.of());
+
+        when(boardService.getBoardSnapshotETag(board.getId(), 3)).thenReturn("\"1-2-3-4-snapshot-3\"");
+        when(boardService.getBoardSnapshot(board.getId(), 3)).thenReturn(snapshot);
+
+        // expect the response to be the snapshot, along with its ETag
+        mockMvc.perform(get("/boards/" + board.getId() + "/snapshot").param("perColumn", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-2-3-4-snapshot-3\""))
+                .andExpect(content().json(objectMapper.writeValueAsString(snapshot)));
+    }
+
+    @Test
+    public void givenGetBoardSnapshot_whenBoardIsNotModified_itShouldNotBuildTheSnapshot() throws Exception {
+        when(boardService.getBoardSnapshotETag(board.getId(), 50)).thenReturn("\"1-2-3-4-snapshot-50\"");
+
+        mockMvc.perform(get("/boards/" + board.getId() + "/snapshot")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-2-3-4-snapshot-50\""))
+                .andExpect(status().isNotModified());
+
+        verify(boardService, never()).getBoardSnapshot(any(), anyInt());
     }
 
     @Test
@@ -5,16 +5,21 @@ import com.habibInc.issueTracker.column.ColumnDto;
 import com.habibInc.issueTracker.column.ColumnRepository;
 import com.habibInc.issueTracker.exceptionhandler.ApiError;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueRepository;
 import com.habibInc.issueTracker.security.JwtUtil;
 import com.habibInc.issueTracker.sprint.Sprint;
 import com.habibInc.issueTracker.sprint.SprintRepository;
 import com.habibInc.issueTracker.user.User;
 import com.habibInc.issueTracker.user.UserRepository;
 import com.habibInc.issueTracker.user.UserService;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 
 import java.util.List;
@@ -50,6 +55,9 @@ public class BoardIT {
     @Autowired
     SprintRepository sprintRepository;
 
+    @Autowired
+    IssueRepository issueRepository;
+
     User authenticatedUser;
     HttpHeaders httpHeaders;
 
@@ -193,6 +201,44 @@ public class BoardIT {
             // the first column of the board should be the to do column
             assertThat(response.getBody().getColumns().get(0).getTitle()).isEqualTo("To Do");
         }
+
+        @Test
+        @DisplayName("Get the board snapshot, then the issues left out of it")
+        public void itShouldGetBoardSnapshotAndHandOffToTheColumnIssues() {
+            // given three issues in the to do column
+            Column toDo = columnRepository.findById(
+                    columnRepository.findViewsByBoardIdOrderByIdAsc(board.getId()).get(0).getId()).get();
+
+            List<Issue> issues = (List<Issue>) issueRepository.saveAll(List.of(
+                    Issue.builder().summary("issue 1").column(toDo).position(1).build(),
+                    Issue.builder().summary("issue 2").column(toDo).position(2).build(),
+                    Issue.builder().summary("issue 3").column(toDo).position(3).build()
+            ));
+
+            // when the snapshot of two issues per column is fetched
+            ResponseEntity<BoardSnapshotDto> response = restTemplate.exchange(url + "/snapshot?perColumn=2",
+                    HttpMethod.GET, httpEntity, BoardSnapshotDto.class);
+
+            // then expect every column, the to do one holding its first two issues
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getETag()).isNotNull();
+
+            BoardSnapshotDto snapshot = response.getBody();
+            assertThat(snapshot.getColumns()).extracting(ColumnSnapshotDto::getTotal).containsExactly(3L, 0L, 0L);
+            assertThat(snapshot.getColumns().get(0).getIssueIds())
+                    .containsExactly(issues.get(0).getId(), issues.get(1).getId());
+            assertThat(snapshot.getIssues()).extracting(IssueDto::getSummary).containsExactly("issue 1", "issue 2");
+
+            // when the issues following the snapshot are fetched from the column
+            ResponseEntity<CursorPage<IssueDto>> page = restTemplate.exchange(
+                    url + "/columns/" + toDo.getId() + "/issues?cursor=" + snapshot.getColumns().get(0).getNextCursor(),
+                    HttpMethod.GET, httpEntity, new ParameterizedTypeReference<CursorPage<IssueDto>>() {});
+
+            // then expect the last issue of the column
+            assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(page.getBody().getContent()).extracting(IssueDto::getSummary).containsExactly("issue 3");
+            assertThat(page.getBody().getNextCursor()).isNull();
+        }
     }
 
     @Nested
@@ -289,6 +335,7 @@ public class BoardIT {
 
     @AfterEach
     public void teardown() {
+        issueRepository.deleteAll();
         columnRepository.deleteAll();
         boardRepository.deleteAll();
         sprintRepository.deleteAll();
@@ -1,12 +1,23 @@
 package com.habibInc.issueTracker.board;
 
+import com.habibInc.issueTracker.change.ChangeTracker;
 import com.habibInc.issueTracker.column.Column;
+import com.habibInc.issueTracker.column.ColumnCounter;
+import com.habibInc.issueTracker.column.ColumnCursor;
 import com.habibInc.issueTracker.column.ColumnRepository;
+import com.habibInc.issueTracker.column.ColumnDto;
 import com.habibInc.issueTracker.column.ColumnService;
 import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.flow.ColumnTransitionLog;
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueCache;
+import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueDtoAssembler;
+import com.habibInc.issueTracker.issue.IssueRepository;
 import com.habibInc.issueTracker.sprint.Sprint;
 import com.habibInc.issueTracker.sprint.SprintService;
+import com.habibInc.issueTracker.stats.IssueCounter;
 import com.habibInc.issueTracker.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +26,10 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -35,6 +50,27 @@ public class BoardServiceTest {
     @Mock
     ColumnRepository columnRepository;
 
+    @Mock
+    IssueRepository issueRepository;
+
+    @Mock
+    IssueCache issueCache;
+
+    @Mock
+    IssueDtoAssembler issueDtoAssembler;
+
+    @Mock
+    ChangeTracker changeTracker;
+
+    @Mock
+    IssueCounter issueCounter;
+
+    @Mock
+    ColumnCounter columnCounter;
+
+    @Mock
+    ColumnTransitionLog transitionLog;
+
     Board board;
     User owner;
 
@@ -59,7 +95,7 @@ public class BoardServiceTest {
         Long sprintId = 10L;
 
         // given
-        when(sprintService.getSprintById(sprintId)).thenReturn(null);
+        when(sprintService.getSprintWithBacklogById(sprintId)).thenReturn(null);
         when(boardRepository.save(board)).thenReturn(board);
         when(boardRepository.findById(board.getId())).thenReturn(Optional.of(board));
 
@@ -101,7 +137,7 @@ public class BoardServiceTest {
 
         // given
         when(boardRepository.save(board)).thenReturn(board);
-        when(sprintService.getSprintById(sprint.getId())).thenReturn(sprint);
+        when(sprintService.getSprintWithBacklogById(sprint.getId())).thenReturn(sprint);
         when(boardRepository.findById(board.getId())).thenReturn(Optional.of(board));
 
         doNothing().when(boardService).createToDoColumn(any(), any());
@@ -114,6 +150,160 @@ public class BoardServiceTest {
         assertThat(board.getSprint()).isEqualTo(sprint);
     }
 
+    @Test
+    public void givenSetToDoColumnIssues_itShouldLogTheTransitionsOfTheIssues() {
+        // given the to do column, and the issues of the sprint backlog
+        Column toDo = Column.builder().id(10L).title("To do").board(board).build();
+
+        Issue newIssue = Issue.builder().id(1L).build();
+        Issue carriedIssue = Issue.builder().id(2L).column(Column.builder().id(5L).build()).build();
+
+        // when the issues are set as the to do column issues
+        boardService.setToDoColumnIssues(toDo, List.of(newIssue, carriedIssue));
+
+        // then expect every issue to have been moved and counted in the column, from wherever it was
+        verify(issueRepository).updateIssuesColumn(10L, List.of(1L, 2L));
+        verify(columnCounter).movedRegardlessOfLimit(Arrays.asList(null, 5L), 10L);
+
+        Map<Long, Long> fromColumnIds = new HashMap<>();
+        fromColumnIds.put(1L, null);
+        fromColumnIds.put(2L, 5L);
+        verify(transitionLog).moved(fromColumnIds, 10L);
+    }
+
+    @Test
+    public void itShouldGetBoardDto() {
+        board.setOwner(owner);
+
+        // given the board columns
+        ColumnRepository.ColumnView toDo = mock(ColumnRepository.ColumnView.class);
+        ColumnRepository.ColumnView done = mock(ColumnRepository.ColumnView.class);
+        when(toDo.getId()).thenReturn(10L);
+        when(toDo.getTitle()).thenReturn("To do");
+        when(done.getId()).thenReturn(20L);
+        when(done.getTitle()).thenReturn("Done");
+
+        when(columnRepository.findViewsByBoardIdOrderByIdAsc(board.getId())).thenReturn(List.of(toDo, done));
+
+        // given an issue in the last column
+        IssueRepository.IssueView issue = mock(IssueRepository.IssueView.class);
+        when(issue.getColumnId()).thenReturn(20L);
+
+        IssueDto issueDto = new IssueDto();
+        issueDto.setId(100L);
+
+        when(issueRepository.findViewsByColumnIdIn(List.of(10L, 20L))).thenReturn(List.of(issue));
+        when(issueDtoAssembler.toDtos(List.of(issue))).thenReturn(List.of(issueDto));
+
+        // when the board dto is fetched
+        BoardDto boardDto = boardService.getBoardDto(board);
+
+        // then the columns should be returned in order along with their issues
+        assertThat(boardDto.getId()).isEqualTo(board.getId());
+        assertThat(boardDto.getOwnerId()).isEqualTo(owner.getId());
+        assertThat(boardDto.getColumns()).extracting(ColumnDto::getTitle).containsExactly("To do", "Done");
+        assertThat(boardDto.getColumns().get(0).getIssues()).isEmpty();
+        assertThat(boardDto.getColumns().get(1).getIssues()).containsExactly(issueDto);
+    }
+
+    @Test
+    public void itShouldGetBoardSnapshotWithTheFirstIssuesOfEachColumn() {
+        // given the board and its columns
+        BoardRepository.BoardView view = mock(BoardRepository.BoardView.class);
+        when(view.getId()).thenReturn(board.getId());
+        when(view.getName()).thenReturn(board.getName());
+        when(view.getOwnerId()).thenReturn(owner.getId());
+        when(boardRepository.findViewById(board.getId())).thenReturn(Optional.of(view));
+
+        ColumnRepository.ColumnView toDo = mock(ColumnRepository.ColumnView.class);
+        ColumnRepository.ColumnView done = mock(ColumnRepository.ColumnView.class);
+        when(toDo.getId()).thenReturn(10L);
+        when(toDo.getTitle()).thenReturn("To do");
+        when(done.getId()).thenReturn(20L);
+        when(done.getTitle()).thenReturn("Done");
+        when(columnRepository.findViewsByBoardIdOrderByIdAsc(board.getId())).thenReturn(List.of(toDo, done));
+
+        // given a window of two issues out of the three of the first column, and an empty last column
+        IssueRepository.ColumnWindowView window1 = mock(IssueRepository.ColumnWindowView.class);
+        IssueRepository.ColumnWindowView window2 = mock(IssueRepository.ColumnWindowView.class);
+        when(window1.getId()).thenReturn(100L);
+        when(window1.getColumnId()).thenReturn(10L);
+        when(window1.getTotal()).thenReturn(3L);
+        when(window2.getId()).thenReturn(200L);
+        when(window2.getColumnId()).thenReturn(10L);
+        when(window2.getTotal()).thenReturn(3L);
+        when(issueRepository.findColumnWindows(List.of(10L, 20L), 2)).thenReturn(List.of(window1, window2));
+
+        // given the issues, fetched out of their board order
+        IssueRepository.IssueView issue1 = mock(IssueRepository.IssueView.class);
+        IssueRepository.IssueView issue2 = mock(IssueRepository.IssueView.class);
+        when(issue1.getId()).thenReturn(100L);
+        when(issue1.getColumnId()).thenReturn(10L);
+        when(issue1.getPosition()).thenReturn(2);
+        when(issue2.getId()).thenReturn(200L);
+        when(issue2.getColumnId()).thenReturn(10L);
+        when(issue2.getPosition()).thenReturn(1);
+        when(issueRepository.findViewsByIdIn(List.of(100L, 200L))).thenReturn(List.of(issue1, issue2));
+
+        IssueDto issueDto1 = new IssueDto();
+        IssueDto issueDto2 = new IssueDto();
+        when(issueDtoAssembler.toDtos(List.of(issue2, issue1))).thenReturn(List.of(issueDto2, issueDto1));
+
+        // when the snapshot is fetched
+        BoardSnapshotDto snapshot = boardService.getBoardSnapshot(board.getId(), 2);
+
+        // then expect the issues in their board order, listed once and referenced by their columns
+        assertThat(snapshot.getOwnerId()).isEqualTo(owner.getId());
+        assertThat(snapshot.getIssues()).containsExactly(issueDto2, issueDto1);
+
+        assertThat(snapshot.getColumns()).extracting(ColumnSnapshotDto::getTitle).containsExactly("To do", "Done");
+        assertThat(snapshot.getColumns()).extracting(ColumnSnapshotDto::getTotal).containsExactly(3L, 0L);
+        assertThat(snapshot.getColumns().get(0).getIssueIds()).containsExactly(200L, 100L);
+        assertThat(snapshot.getColumns().get(1).getIssueIds()).isEmpty();
+
+        // and the first column to hand its last issue off to the column issues pages
+        assertThat(snapshot.getColumns().get(0).getNextCursor()).isEqualTo(ColumnCursor.of(issue1));
+        assertThat(snapshot.getColumns().get(1).getNextCursor()).isNull();
+    }
+
+    @Test
+    public void givenGetBoardSnapshot_whenBoardDoesNotExist_itShouldThrowBoardNotFoundError() {
+        when(boardRepository.findViewById(404L)).thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> boardService.getBoardSnapshot(404L, 50))
+                .withMessageContaining("Board not found");
+    }
+
+    @Test
+    public void itShouldGetBoardETagFromTheBoardAndProjectChangeCounts() {
+        // given the board keys
+        BoardRepository.BoardKeys keys = mock(BoardRepository.BoardKeys.class);
+        when(keys.getId()).thenReturn(board.getId());
+        when(keys.getProjectId()).thenReturn(50L);
+        when(boardRepository.findKeysById(board.getId())).thenReturn(Optional.of(keys));
+
+        // given the change counts
+        when(changeTracker.getBoardChangeCount(board.getId())).thenReturn(2L);
+        when(changeTracker.getProjectChangeCount(50L)).thenReturn(9L);
+
+        // when the board ETag is computed
+        String eTag = boardService.getBoardETag(board.getId());
+
+        // then it should be made of both counts, without loading the board
+        assertThat(eTag).isEqualTo("\"1-2-50-9\"");
+        verify(boardRepository, never()).findById(any());
+    }
+
+    @Test
+    public void givenGetBoardETag_whenBoardDoesNotExist_itShouldThrowBoardNotFoundError() {
+        when(boardRepository.findKeysById(404L)).thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> boardService.getBoardETag(404L))
+                .withMessageContaining("Board not found");
+    }
+
     @Test
     public void itShouldGetBoardById() {
         // given the board repository
@@ -0,0 +1,151 @@
+package com.habibInc.issueTracker.change;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ChangeTrackerTest {
+
+    ChangeTracker changeTracker;
+
+    @Mock
+    ChangeCounterRepository counterRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void init() {
+        initMocks(this);
+
+        changeTracker = new ChangeTracker(counterRepository, transactionManager);
+
+        // given existing counters
+        when(counterRepository.increment(any())).thenReturn(1);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    public void givenNoTransaction_itShouldCountTheChangeRightAway() {
+        // when a project changes outside of a transaction
+        changeTracker.projectChanged(1L);
+
+        // then its counter should have been incremented
+        verify(counterRepository).increment("project:1");
+    }
+
+    @Test
+    public void givenTransaction_itShouldCountTheChangesOnceAfterTheCommit() {
+        // given an ongoing transaction
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when the project and the board change several times
+        changeTracker.projectChanged(1L);
+        changeTracker.projectChanged(1L);
+        changeTracker.boardChanged(2L);
+
+        // then nothing should be counted before the commit
+        verify(counterRepository, never()).increment(any());
+
+        // when the transaction commits
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        // then each resource should have been counted once
+        verify(counterRepository, times(1)).increment("project:1");
+        verify(counterRepository, times(1)).increment("board:2");
+        assertThat(TransactionSynchronizationManager.getResource(changeTracker)).isNull();
+    }
+
+    @Test
+    public void givenRolledBackTransaction_itShouldNotCountTheChanges() {
+        // given an ongoing transaction in which a project changes
+        TransactionSynchronizationManager.initSynchronization();
+        changeTracker.projectChanged(1L);
+
+        // when the transaction rolls back
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // then nothing should have been counted
+        verify(counterRepository, never()).increment(any());
+        assertThat(TransactionSynchronizationManager.getResource(changeTracker)).isNull();
+    }
+
+    @Test
+    public void givenNoCounter_itShouldCreateIt() {
+        // given the project has no counter yet
+        when(counterRepository.increment("project:1")).thenReturn(0);
+
+        // when the project changes
+        changeTracker.projectChanged(1L);
+
+        // then its counter should be created with the change counted
+        verify(counterRepository).save(argThat((counter) ->
+                counter.getResource().equals("project:1") && counter.getChangeCount() == 1));
+    }
+
+    @Test
+    public void givenCounterCreatedConcurrently_itShouldIncrementIt() {
+        // given another request creates the counter first
+        when(counterRepository.increment("project:1")).thenReturn(0, 1);
+        when(counterRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // when the project changes
+        changeTracker.projectChanged(1L);
+
+        // then the counter created by the other request should be incremented
+        verify(counterRepository, times(2)).increment("project:1");
+    }
+
+    @Test
+    public void givenCountFails_itShouldRetryItLater() {
+        // given the counter can not be written for a moment
+        when(counterRepository.increment("project:1"))
+                .thenThrow(new QueryTimeoutException("Lock wait timeout"))
+                .thenThrow(new QueryTimeoutException("Lock wait timeout"))
+                .thenReturn(1);
+
+        // when the project changes twice
+        changeTracker.projectChanged(1L);
+        changeTracker.projectChanged(1L);
+
+        // then expect the changes to be counted by the retry, once for both of them
+        assertThat(changeTracker.getUncountedCount()).isEqualTo(1);
+
+        changeTracker.retryUncounted();
+        changeTracker.retryUncounted();
+
+        verify(counterRepository, times(3)).increment("project:1");
+        assertThat(changeTracker.getUncountedCount()).isZero();
+    }
+
+    @Test
+    public void itShouldBuildETagsFromTheChangeCounts() {
+        // given the counters
+        when(counterRepository.findChangeCount("project:1")).thenReturn(Optional.of(7L));
+        when(counterRepository.findChangeCount("board:2")).thenReturn(Optional.empty());
+
+        // then the ETags should be quoted and change along with the counts
+        assertThat(ChangeTracker.eTag(1L, changeTracker.getProjectChangeCount(1L))).isEqualTo("\"1-7\"");
+        assertThat(changeTracker.getBoardChangeCount(2L)).isZero();
+    }
+}
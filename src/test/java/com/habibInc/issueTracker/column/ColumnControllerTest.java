@@ -2,8 +2,11 @@ package com.habibInc.issueTracker.column;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habibInc.issueTracker.exceptionhandler.ConflictException;
 import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueDto;
 import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -148,6 +151,38 @@ public class ColumnControllerTest {
                 .andExpect(content().json(response));
     }
 
+    @Test
+    public void itShouldGetTheIssuesFollowingTheCursor() throws Exception {
+        // given the page following the cursor
+        IssueDto issue = new IssueDto();
+        issue.setId(1L);
+        CursorPage<IssueDto> page = new CursorPage<>(List.of(issue), "next");
+
+        when(columnService.getIssuesAfter(100L, column.getId(), "cursor", 5)).thenReturn(page);
+
+        // expect the response to be the page of issues along with its next cursor
+        mockMvc.perform(get(String.format("/boards/%s/columns/%s/issues", 100L, column.getId()))
+                .param("cursor", "cursor")
+                .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(page)));
+
+        verify(columnService, never()).getPaginatedListOfIssues(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void itShouldMoveIssuesToTheColumn() throws Exception {
+        // when the issues are moved to the column
+        mockMvc.perform(patch(String.format("/boards/%s/columns/%s/issues", 100L, column.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"issueIds\": [1, 2], \"position\": 5}"))
+                .andExpect(status().isOk());
+
+        // then expect the service to have been given the whole move
+        verify(columnService).moveIssues(eq(100L), eq(column.getId()),
+                argThat((move) -> move.getIssueIds().equals(List.of(1L, 2L)) && move.getPosition() == 5), any());
+    }
+
     @Test
     public void givenGetPaginatedListOfIssues_whenIdIsInvalid_itShouldReturnInvalidIdError() throws Exception {
         // given an invalid column id
@@ -278,6 +313,32 @@ public class ColumnControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void itShouldUpdateColumnWipLimit() throws Exception {
+        // given the column limited to 5 issues
+        column.setWipLimit(5);
+        when(columnService.updateWipLimit(eq(100L), eq(column.getId()), eq(5), any())).thenReturn(column);
+
+        // when the PUT request is made then expect the response to be the limited column
+        mockMvc.perform(put(String.format("/boards/%s/columns/%s/wipLimit", 100L, column.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"wipLimit\": 5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.wipLimit").value(5));
+    }
+
+    @Test
+    public void givenMoveIssues_whenTheColumnIsFull_itShouldReturnConflictError() throws Exception {
+        doThrow(new ConflictException("WIP limit reached"))
+                .when(columnService).moveIssues(eq(100L), eq(column.getId()), any(), any());
+
+        mockMvc.perform(patch(String.format("/boards/%s/columns/%s/issues", 100L, column.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"issueIds\": [1, 2]}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorMessage").value("WIP limit reached"));
+    }
+
     @Test
     public void givenUpdateColumnTitle_whenIdIsInvalid_itShouldReturnInvalidIdError() throws Exception {
         String baseUrl = "/boards/%s/columns/%s";
@@ -313,7 +374,7 @@ public class ColumnControllerTest {
         // given the request body
         String requestBody = "{\"newColumnId\": \"200\"}";
 
-        doNothing().when(columnService).updateIssueColumn(boardId, column.getId() , issueId, 200L);
+        doNothing().when(columnService).updateIssueColumn(boardId, column.getId() , issueId, 200L, null);
 
         // expect the PATCH request to have been served successfully
         mockMvc.perform(patch(url).content(requestBody)).andExpect(status().isOk());
@@ -0,0 +1,106 @@
+package com.habibInc.issueTracker.column;
+
+import com.habibInc.issueTracker.exceptionhandler.ConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ColumnCounterTest {
+
+    @InjectMocks
+    ColumnCounter columnCounter;
+
+    @Mock
+    ColumnRepository columnRepository;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void init() {
+        initMocks(this);
+
+        // run the transaction callbacks right away
+        when(transactionTemplate.execute(any())).thenAnswer(
+                (invocation) -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    public void itShouldCountTheMovedIssuesInColumnOrder() {
+        when(columnRepository.addIssuesWithinLimit(any(), anyInt())).thenReturn(1);
+
+        // given issues coming from two columns, from no column and from the target column itself
+        columnCounter.moved(Arrays.asList(30L, 10L, 30L, null, 20L), 20L);
+
+        // then expect each column to have been written once, in id order, the target one within its limit
+        InOrder inOrder = inOrder(columnRepository);
+        inOrder.verify(columnRepository).addIssues(10L, -1);
+        inOrder.verify(columnRepository).addIssuesWithinLimit(20L, 4);
+        inOrder.verify(columnRepository).addIssues(30L, -2);
+        verifyNoMoreInteractions(columnRepository);
+    }
+
+    @Test
+    public void givenMoved_whenTheColumnIsFull_itShouldThrowConflictError() {
+        // given the target column has no room left
+        when(columnRepository.addIssuesWithinLimit(20L, 2)).thenReturn(0);
+
+        assertThatExceptionOfType(ConflictException.class)
+                .isThrownBy(() -> columnCounter.moved(List.of(10L, 10L), 20L))
+                .withMessageContaining("WIP limit reached");
+    }
+
+    @Test
+    public void givenMovedRegardlessOfLimit_itShouldNotCheckTheLimit() {
+        columnCounter.movedRegardlessOfLimit(Arrays.asList(null, null), 20L);
+
+        verify(columnRepository).addIssues(20L, 2);
+        verify(columnRepository, never()).addIssuesWithinLimit(any(), anyInt());
+    }
+
+    @Test
+    public void givenMoved_whenTheIssuesStayInTheirColumn_itShouldNotWriteAnything() {
+        columnCounter.moved(List.of(20L), 20L);
+
+        verifyNoInteractions(columnRepository);
+    }
+
+    @Test
+    public void itShouldRemoveAnIssueFromItsColumn() {
+        columnCounter.removed(20L);
+        columnCounter.removed(null);
+
+        verify(columnRepository).addIssues(20L, -1);
+        verifyNoMoreInteractions(columnRepository);
+    }
+
+    @Test
+    public void itShouldRecountTheColumnsWithWrongCounts() {
+        when(columnRepository.findIdsWithWrongIssueCount()).thenReturn(List.of(10L, 20L));
+        when(columnRepository.recountIssues(List.of(10L, 20L))).thenReturn(2);
+
+        assertThat(columnCounter.reconcile()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenReconcile_whenTheCountsAreRight_itShouldNotRecount() {
+        when(columnRepository.findIdsWithWrongIssueCount()).thenReturn(List.of());
+
+        assertThat(columnCounter.reconcile()).isZero();
+        verify(columnRepository, never()).recountIssues(any());
+    }
+}
@@ -4,7 +4,10 @@ import com.habibInc.issueTracker.board.Board;
 import com.habibInc.issueTracker.board.BoardRepository;
 import com.habibInc.issueTracker.board.BoardService;
 import com.habibInc.issueTracker.exceptionhandler.ApiError;
+import com.habibInc.issueTracker.flow.ColumnTransition;
+import com.habibInc.issueTracker.flow.ColumnTransitionRepository;
 import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueDto;
 import com.habibInc.issueTracker.issue.IssueRepository;
 import com.habibInc.issueTracker.security.JwtUtil;
 import com.habibInc.issueTracker.sprint.Sprint;
@@ -19,8 +22,10 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.*;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -52,6 +57,9 @@ public class ColumnIT {
     @Autowired
     SprintRepository sprintRepository;
 
+    @Autowired
+    ColumnTransitionRepository transitionRepository;
+
     @Autowired
     TestRestTemplate restTemplate;
 
@@ -525,10 +533,122 @@ public class ColumnIT {
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(issueRepository.findById(issue.getId()).get().getColumn()).isEqualTo(column);
         }
+
+        @Test
+        public void givenUpdateIssue_whenTheIssueLeavesTheColumn_itShouldCountItOutAndLogTheTransition() {
+            // given an issue of the authenticated user moved to the column
+            column = columnService.createColumn(board.getId(), column);
+            Issue issue = issueRepository.save(Issue.builder().summary("issue").reporter(authenticatedUser).build());
+
+            String url = String.format(baseUrl + "/issues/%s", board.getId(), column.getId(), issue.getId());
+            restTemplate.exchange(url, HttpMethod.PATCH,
+                    new HttpEntity<>("{\"newColumnId\": \"" + column.getId() + "\"}", httpHeaders), Void.class);
+
+            assertThat(columnRepository.findById(column.getId()).get().getIssueCount()).isEqualTo(1);
+
+            // when the issue is replaced by a PUT, whose body never carries the column
+            Issue body = Issue.builder().id(issue.getId()).summary("updated summary").build();
+            ResponseEntity<IssueDto> response = restTemplate.exchange("/issues/" + issue.getId(), HttpMethod.PUT,
+                    new HttpEntity<>(body, httpHeaders), IssueDto.class);
+
+            // then expect the issue to have left the column, its count and its flow
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(issueRepository.findById(issue.getId()).get().getColumn()).isNull();
+            assertThat(columnRepository.findById(column.getId()).get().getIssueCount()).isZero();
+
+            final Long issueId = issue.getId();
+            List<ColumnTransition> transitions = transitionRepository.findAll().stream()
+                    .filter((transition) -> transition.getIssueId().equals(issueId))
+                    .sorted(Comparator.comparing(ColumnTransition::getTransitionTime).thenComparing(ColumnTransition::getId))
+                    .collect(Collectors.toList());
+
+            assertThat(transitions).extracting(ColumnTransition::getFromColumnId).containsExactly(null, column.getId());
+            assertThat(transitions).extracting(ColumnTransition::getToColumnId).containsExactly(column.getId(), null);
+        }
+
+        @Test
+        public void itShouldMoveIssuesToTheColumnAtOnce() {
+            // given the column, already holding an issue at the first position
+            column = columnService.createColumn(board.getId(), column);
+            Issue staying = issueRepository.save(Issue.builder().summary("staying").column(column).position(0).build());
+
+            // given two issues in another column of the board
+            Column other = columnService.createColumn(board.getId(), Column.builder().title("Other").build());
+            Issue issue1 = issueRepository.save(Issue.builder().summary("issue 1").column(other).position(8).build());
+            Issue issue2 = issueRepository.save(Issue.builder().summary("issue 2").column(other).position(9).build());
+
+            // when both issues are moved to the head of the column, the second one first
+            String url = String.format(baseUrl + "/issues", board.getId(), column.getId());
+            IssuesMoveDto move = new IssuesMoveDto(List.of(issue2.getId(), issue1.getId()), 0);
+
+            ResponseEntity<Void> response =
+                    restTemplate.exchange(url, HttpMethod.PATCH, new HttpEntity<>(move, httpHeaders), Void.class);
+
+            // then expect them in the column, in the given order and ahead of the issue it held
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+            Issue moved1 = issueRepository.findById(issue1.getId()).get();
+            Issue moved2 = issueRepository.findById(issue2.getId()).get();
+            assertThat(moved1.getColumn()).isEqualTo(column);
+            assertThat(moved2.getColumn()).isEqualTo(column);
+            assertThat(moved2.getPosition()).isEqualTo(0);
+            assertThat(moved1.getPosition()).isEqualTo(1);
+            assertThat(issueRepository.findById(staying.getId()).get().getPosition()).isEqualTo(2);
+        }
+
+        @Test
+        public void givenMoveIssues_whenTheColumnWipLimitIsExceeded_itShouldReturnConflictError() {
+            // given the column limited to a single issue
+            column.setWipLimit(1);
+            column = columnService.createColumn(board.getId(), column);
+
+            // given two issues in another column of the board
+            Column other = columnService.createColumn(board.getId(), Column.builder().title("Other").build());
+            Issue issue1 = issueRepository.save(Issue.builder().summary("issue 1").column(other).position(0).build());
+            Issue issue2 = issueRepository.save(Issue.builder().summary("issue 2").column(other).position(1).build());
+
+            String url = String.format(baseUrl + "/issues", board.getId(), column.getId());
+
+            // when both issues are moved to the column
+            ResponseEntity<ApiError> response = restTemplate.exchange(url, HttpMethod.PATCH,
+                    new HttpEntity<>(new IssuesMoveDto(List.of(issue1.getId(), issue2.getId()), 0), httpHeaders),
+                    ApiError.class);
+
+            // then expect a conflict, and none of them to have been moved
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(response.getBody().getErrorMessage()).isEqualTo("WIP limit reached");
+            assertThat(issueRepository.findById(issue1.getId()).get().getColumn()).isEqualTo(other);
+            assertThat(issueRepository.findById(issue2.getId()).get().getColumn()).isEqualTo(other);
+
+            // when a single issue is moved to the column, then expect it to fit
+            ResponseEntity<Void> moved = restTemplate.exchange(url, HttpMethod.PATCH,
+                    new HttpEntity<>(new IssuesMoveDto(List.of(issue1.getId()), 0), httpHeaders), Void.class);
+
+            assertThat(moved.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(issueRepository.findById(issue1.getId()).get().getColumn()).isEqualTo(column);
+            assertThat(columnRepository.findById(column.getId()).get().getIssueCount()).isEqualTo(1);
+        }
+
+        @Test
+        public void givenMoveIssues_whenAnIssueIsNotOnTheBoard_itShouldReturnIssueNotFoundError() {
+            column = columnService.createColumn(board.getId(), column);
+            Issue issue = issueRepository.save(Issue.builder().summary("off the board").build());
+
+            String url = String.format(baseUrl + "/issues", board.getId(), column.getId());
+            IssuesMoveDto move = new IssuesMoveDto(List.of(issue.getId()), 0);
+
+            ResponseEntity<ApiError> response =
+                    restTemplate.exchange(url, HttpMethod.PATCH, new HttpEntity<>(move, httpHeaders), ApiError.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(response.getBody().getErrorMessage()).isEqualTo("Issue not found");
+            assertThat(issueRepository.findById(issue.getId()).get().getColumn()).isNull();
+        }
     }
 
     @AfterEach
     public void teardown() {
+        transitionRepository.deleteAll();
         issueRepository.deleteAll();
         columnRepository.deleteAll();
         boardRepository.deleteAll();
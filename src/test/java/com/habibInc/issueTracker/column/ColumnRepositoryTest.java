@@ -1,10 +1,13 @@
 package com.habibInc.issueTracker.column;
 
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +20,12 @@ public class ColumnRepositoryTest {
     @Autowired
     ColumnRepository columnRepository;
 
+    @Autowired
+    IssueRepository issueRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
     Column column;
 
     @BeforeEach
@@ -82,4 +91,50 @@ public class ColumnRepositoryTest {
         // then expect the column to have been deleted successfully
         assertThat(columnRepository.findById(column.getId()).isPresent()).isFalse();
     }
+
+    @Test
+    public void itShouldCountTheIssuesMovedInOnlyWithinTheWipLimit() {
+        // given a column limited to two issues
+        column.setWipLimit(2);
+        Column limited = columnRepository.save(column);
+        Column unlimited = columnRepository.save(Column.builder().title("Backlog").build());
+
+        // when two issues are moved in, then expect them to be counted
+        assertThat(columnRepository.addIssuesWithinLimit(limited.getId(), 2)).isEqualTo(1);
+
+        // when one more issue is moved in, then expect the column to refuse it
+        assertThat(columnRepository.addIssuesWithinLimit(limited.getId(), 1)).isZero();
+
+        // when an issue is moved out, then expect the column to take one again
+        columnRepository.addIssues(limited.getId(), -1);
+        assertThat(columnRepository.addIssuesWithinLimit(limited.getId(), 1)).isEqualTo(1);
+
+        // and a column without limit to take any number of issues
+        assertThat(columnRepository.addIssuesWithinLimit(unlimited.getId(), 1000)).isEqualTo(1);
+
+        entityManager.clear();
+        assertThat(columnRepository.findById(limited.getId()).get().getIssueCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void itShouldRecountTheColumnsWithWrongIssueCounts() {
+        // given a column holding two issues, yet counting none
+        Column counted = columnRepository.save(column);
+        Column empty = columnRepository.save(Column.builder().title("Empty").build());
+
+        issueRepository.save(Issue.builder().summary("issue 1").column(counted).build());
+        issueRepository.save(Issue.builder().summary("issue 2").column(counted).build());
+
+        // when the wrong counts are looked up and recounted
+        List<Long> columnIds = columnRepository.findIdsWithWrongIssueCount();
+        assertThat(columnIds).containsExactly(counted.getId());
+        assertThat(columnRepository.recountIssues(columnIds)).isEqualTo(1);
+
+        // then expect the counts to match the issues
+        assertThat(columnRepository.findIdsWithWrongIssueCount()).isEmpty();
+
+        entityManager.clear();
+        assertThat(columnRepository.findById(counted.getId()).get().getIssueCount()).isEqualTo(2);
+        assertThat(columnRepository.findById(empty.getId()).get().getIssueCount()).isZero();
+    }
 }
@@ -2,12 +2,24 @@ package com.habibInc.issueTracker.column;
 
 import com.habibInc.issueTracker.board.Board;
 import com.habibInc.issueTracker.board.BoardService;
+import com.habibInc.issueTracker.change.ChangeTracker;
+import com.habibInc.issueTracker.event.BoardEventBroker;
+import com.habibInc.issueTracker.exceptionhandler.ConflictException;
 import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.flow.ColumnTransitionLog;
+import com.habibInc.issueTracker.history.IssueHistory;
 import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueDtoAssembler;
 import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.issue.IssueCache;
 import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.stats.IssueCounter;
 import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -15,10 +27,14 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,6 +55,30 @@ public class ColumnServiceTest {
     @Mock
     IssueService issueService;
 
+    @Mock
+    IssueCache issueCache;
+
+    @Mock
+    ChangeTracker changeTracker;
+
+    @Mock
+    IssueCounter issueCounter;
+
+    @Mock
+    IssueHistory issueHistory;
+
+    @Mock
+    BoardEventBroker eventBroker;
+
+    @Mock
+    IssueDtoAssembler issueDtoAssembler;
+
+    @Mock
+    ColumnCounter columnCounter;
+
+    @Mock
+    ColumnTransitionLog transitionLog;
+
     Column column;
     Board board;
     User boardOwner;
@@ -125,10 +165,10 @@ public class ColumnServiceTest {
                 Issue.builder().id(4L).build())
         );
 
-        // given the pageable object
+        // given the pageable object, sorted in the board order
         int page = 0;
         int size = 4;
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, size, Sort.by("position", "id"));
 
         // given the issue repository returns a list of issues
         when(issueRepository.findByColumnId(eq(column.getId()), eq(pageable))).thenReturn(issues);
@@ -163,6 +203,52 @@ public class ColumnServiceTest {
 
     }
 
+    @Test
+    public void itShouldGetTheIssuesFollowingTheCursor() {
+        // given the column belongs to the board
+        when(columnRepository.findBoardIdById(column.getId())).thenReturn(Optional.of(board.getId()));
+
+        // given two issues following the last seen one, at position 3
+        IssueRepository.IssueView issue1 = mock(IssueRepository.IssueView.class);
+        IssueRepository.IssueView issue2 = mock(IssueRepository.IssueView.class);
+        when(issue1.getId()).thenReturn(20L);
+        when(issue1.getPosition()).thenReturn(4);
+
+        when(issueRepository.findViewsByColumnIdAfter(column.getId(), 3, 10L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(issue1, issue2));
+
+        IssueDto issueDto = new IssueDto();
+        when(issueDtoAssembler.toDtos(List.of(issue1))).thenReturn(List.of(issueDto));
+
+        // when a page of one issue is fetched
+        CursorPage<IssueDto> page = columnService.getIssuesAfter(board.getId(), column.getId(), Cursor.encode(3, 10L), 1);
+
+        // then expect the first issue, along with its cursor
+        assertThat(page.getContent()).containsExactly(issueDto);
+        assertThat(page.getNextCursor()).isEqualTo(Cursor.encode(4, 20L));
+
+        // and the column not to have been loaded
+        verify(columnRepository, never()).findById(any());
+    }
+
+    @Test
+    public void givenGetIssuesAfter_whenColumnIsNotOnTheBoard_itShouldReturnBoardNotFoundError() {
+        when(columnRepository.findBoardIdById(column.getId())).thenReturn(Optional.of(404L));
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> columnService.getIssuesAfter(board.getId(), column.getId(), Cursor.encode(3, 10L), 10))
+                .withMessageContaining("Board not found");
+    }
+
+    @Test
+    public void givenGetIssuesAfter_whenCursorIsInvalid_itShouldReturnInvalidCursorError() {
+        when(columnRepository.findBoardIdById(column.getId())).thenReturn(Optional.of(board.getId()));
+
+        assertThatExceptionOfType(InvalidIdException.class)
+                .isThrownBy(() -> columnService.getIssuesAfter(board.getId(), column.getId(), Cursor.encode("x", 10L), 10))
+                .withMessageContaining(Cursor.errorMessage);
+    }
+
     @Test
     public void itShouldCreateColumnsList() {
         // given a list of columns
@@ -234,6 +320,9 @@ public class ColumnServiceTest {
 
         // then expect column repository to have been invoked
         verify(columnRepository, times(1)).deleteById(column.getId());
+
+        // then expect the deletion to have been published to the board subscribers
+        verify(eventBroker).columnDeleted(column.getBoard().getId(), column.getId());
     }
 
     @Test
@@ -343,13 +432,208 @@ public class ColumnServiceTest {
         Issue issue = Issue.builder().id(100L).column(column).summary("issue 1").build();
 
         when(columnRepository.findById(newColumn.getId())).thenReturn(Optional.of(newColumn));
-        when(issueService.getIssueById(issue.getId())).thenReturn(issue);
-        when(issueRepository.save(issue)).thenReturn(issue);
+
+        // given the column the issue is in, as stored
+        IssueRepository.IssueBoardView storedIssue = issueOnBoard(issue.getId(), column.getId(), board.getId());
+        when(issueRepository.findBoardViewsByIdIn(List.of(issue.getId()))).thenReturn(List.of(storedIssue));
 
         // when the column service is invoked to update the issue column
-        columnService.updateIssueColumn(board.getId(), column.getId(), issue.getId(), newColumn.getId());
+        User user = User.builder().id(7L).build();
+        columnService.updateIssueColumn(board.getId(), column.getId(), issue.getId(), newColumn.getId(), user);
+
+        // then expect the issue to have been counted in the new column, within its limit
+        verify(columnCounter).moved(List.of(column.getId()), newColumn.getId());
+
+        // then expect the issue column alone to have been updated, without loading the issue nor trusting its snapshot
+        verify(issueRepository).updateIssuesColumn(newColumn.getId(), List.of(issue.getId()));
+        verify(issueService, never()).getIssueById(any());
+        verify(issueService, never()).getIssueSnapshot(any());
+
+        // then expect the transition to have been logged
+        verify(transitionLog).moved(issue.getId(), column.getId(), newColumn.getId());
+
+        // then expect the cached issue snapshot to have been invalidated
+        verify(issueCache).invalidate(issue.getId());
+
+        // then expect the board to have been counted as changed
+        verify(changeTracker).boardChanged(board.getId());
+
+        // then expect the issue counts to have been moved to the new column
+        verify(issueCounter).columnChanged(List.of(issue.getId()), newColumn.getId());
+
+        // then expect the column change to have been recorded
+        verify(issueHistory).recordChange(issue.getId(), user, IssueHistory.COLUMN, column.getId(), newColumn.getId());
+
+        // then expect the move to have been published to the board subscribers
+        verify(eventBroker).issueMoved(board.getId(), issue.getId(), column.getId(), newColumn.getId());
+    }
+
+    @Test
+    public void itShouldMoveIssuesToTheColumnAtOnce() {
+        // given the column belongs to the board
+        when(columnRepository.findBoardIdById(column.getId())).thenReturn(Optional.of(board.getId()));
+
+        // given two issues on the board, the second one already in the column
+        IssueRepository.IssueBoardView issue1 = issueOnBoard(10L, 555L, board.getId());
+        IssueRepository.IssueBoardView issue2 = issueOnBoard(20L, column.getId(), board.getId());
+        when(issueRepository.findBoardViewsByIdIn(List.of(10L, 20L))).thenReturn(List.of(issue1, issue2));
+
+        // when they are moved to the column from the position 3 on
+        User user = User.builder().id(7L).build();
+        columnService.moveIssues(board.getId(), column.getId(), new IssuesMoveDto(List.of(10L, 20L, 10L), 3), user);
+
+        // then expect the issues to have been counted in the column from their own columns, within its limit
+        verify(columnCounter).moved(List.of(555L, column.getId()), column.getId());
+
+        // then expect the issues to have been moved by one statement, and laid out in the given order
+        verify(issueRepository).updateIssuesColumn(column.getId(), List.of(10L, 20L));
+        verify(transitionLog).moved(Map.of(10L, 555L, 20L, column.getId()), column.getId());
+        verify(issueRepository).shiftPositions(column.getId(), 3, 2, List.of(10L, 20L));
+        verify(issueRepository).updatePosition(10L, 3);
+        verify(issueRepository).updatePosition(20L, 4);
+        verify(columnRepository, never()).findById(any());
+
+        // and the counts, cache and board to have followed
+        verify(issueCounter).columnChanged(List.of(10L, 20L), column.getId());
+        verify(issueCache).invalidateAll(List.of(10L, 20L));
+        verify(changeTracker).boardChanged(board.getId());
+
+        // and the column change of the first issue alone to have been recorded, both moves being published
+        verify(issueHistory).recordChange(10L, user, IssueHistory.COLUMN, 555L, column.getId());
+        verify(issueHistory, never()).recordChange(eq(20L), any(), any(), any(), any());
+        verify(eventBroker).issueMoved(board.getId(), 10L, 555L, column.getId());
+        verify(eventBroker).issueMoved(board.getId(), 20L, column.getId(), column.getId());
+    }
+
+    @Test
+    public void givenMoveIssues_withoutPosition_itShouldKeepTheIssuesPositions() {
+        when(columnRepository.findBoardIdById(column.getId())).thenReturn(Optional.of(board.getId()));
+
+        IssueRepository.IssueBoardView issue = issueOnBoard(10L, 555L, board.getId());
+        when(issueRepository.findBoardViewsByIdIn(List.of(10L))).thenReturn(List.of(issue));
+
+        columnService.moveIssues(board.getId(), column.getId(), new IssuesMoveDto(List.of(10L), null), null);
+
+        verify(issueRepository).updateIssuesColumn(column.getId(), List.of(10L));
+        verify(issueRepository, never()).shiftPositions(any(), anyInt(), anyInt(), any());
+        verify(issueRepository, never()).updatePosition(any(), anyInt());
+    }
+
+    @Test
+    public void givenMoveIssues_whenAnIssueIsNotOnTheBoard_itShouldNotMoveAnything() {
+        when(columnRepository.findBoardIdById(column.getId())).thenReturn(Optional.of(board.getId()));
+
+        // given an issue of another board, and one that does not exist
+        IssueRepository.IssueBoardView issue = issueOnBoard(10L, 555L, 404L);
+        when(issueRepository.findBoardViewsByIdIn(List.of(10L, 20L))).thenReturn(List.of(issue));
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> columnService.moveIssues(board.getId(), column.getId(),
+                        new IssuesMoveDto(List.of(10L, 20L), 0), null))
+                .withMessageContaining("Issue not found");
+
+        verify(issueRepository, never()).updateIssuesColumn(any(), any());
+    }
+
+    @Test
+    public void givenMoveIssues_whenColumnIsNotOnTheBoard_itShouldReturnBoardNotFoundError() {
+        when(columnRepository.findBoardIdById(column.getId())).thenReturn(Optional.of(404L));
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> columnService.moveIssues(board.getId(), column.getId(),
+                        new IssuesMoveDto(List.of(10L), 0), null))
+                .withMessageContaining("Board not found");
+
+        verify(issueRepository, never()).findBoardViewsByIdIn(any());
+    }
+
+    @Test
+    public void givenMoveIssues_whenThereAreNoneOrTooManyIssues_itShouldReturnInvalidIdError() {
+        assertThatExceptionOfType(InvalidIdException.class)
+                .isThrownBy(() -> columnService.moveIssues(board.getId(), column.getId(), new IssuesMoveDto(List.of(), 0), null));
+
+        List<Long> tooMany = LongStream.rangeClosed(1, ColumnService.MAX_MOVED_ISSUES + 1).boxed().collect(Collectors.toList());
+
+        assertThatExceptionOfType(InvalidIdException.class)
+                .isThrownBy(() -> columnService.moveIssues(board.getId(), column.getId(), new IssuesMoveDto(tooMany, 0), null));
+
+        verifyNoInteractions(issueRepository);
+    }
+
+    @Test
+    public void givenMoveIssues_whenTheColumnIsFull_itShouldNotMoveAnything() {
+        when(columnRepository.findBoardIdById(column.getId())).thenReturn(Optional.of(board.getId()));
+
+        IssueRepository.IssueBoardView issue = issueOnBoard(10L, 555L, board.getId());
+        when(issueRepository.findBoardViewsByIdIn(List.of(10L))).thenReturn(List.of(issue));
+
+        // given the column has reached its WIP limit
+        doThrow(new ConflictException("WIP limit reached")).when(columnCounter).moved(any(), eq(column.getId()));
+
+        // then expect the move to be rejected before any issue is moved
+        assertThatExceptionOfType(ConflictException.class)
+                .isThrownBy(() -> columnService.moveIssues(board.getId(), column.getId(), new IssuesMoveDto(List.of(10L), 0), null));
+
+        verify(issueRepository, never()).updateIssuesColumn(any(), any());
+        verifyNoInteractions(issueCounter, eventBroker);
+    }
+
+    @Test
+    public void itShouldUpdateTheWipLimit() {
+        board.setOwner(boardOwner);
+        when(columnRepository.findById(column.getId())).thenReturn(Optional.of(column));
+        when(columnRepository.save(column)).thenReturn(column);
+
+        // when the board owner limits the column to 5 issues
+        Column response = columnService.updateWipLimit(board.getId(), column.getId(), 5, boardOwner);
+
+        // then expect the limit to have been saved
+        assertThat(response.getWipLimit()).isEqualTo(5);
+        verify(changeTracker).boardChanged(board.getId());
+    }
+
+    @Test
+    public void givenUpdateWipLimit_whenLimitIsNotPositive_itShouldReturnInvalidIdError() {
+        assertThatExceptionOfType(InvalidIdException.class)
+                .isThrownBy(() -> columnService.updateWipLimit(board.getId(), column.getId(), 0, boardOwner))
+                .withMessageContaining("Invalid WIP limit");
+
+        verify(columnRepository, never()).save(any());
+    }
+
+    @Test
+    public void givenUpdateWipLimit_whenUserIsNotTheBoardOwner_itShouldReturnForbiddenError() {
+        board.setOwner(boardOwner);
+        when(columnRepository.findById(column.getId())).thenReturn(Optional.of(column));
+
+        assertThatExceptionOfType(ForbiddenOperationException.class)
+                .isThrownBy(() -> columnService.updateWipLimit(board.getId(), column.getId(), 5, new User()));
+
+        verify(columnRepository, never()).save(any());
+    }
+
+    private IssueRepository.IssueBoardView issueOnBoard(Long issueId, Long columnId, Long boardId) {
+        IssueRepository.IssueBoardView issue = mock(IssueRepository.IssueBoardView.class);
+        when(issue.getId()).thenReturn(issueId);
+        when(issue.getColumnId()).thenReturn(columnId);
+        when(issue.getBoardId()).thenReturn(boardId);
+        return issue;
+    }
+
+    @Test
+    public void givenUpdateIssueColumn_whenIssueDoesNotExist_itShouldNotUpdateAnything() {
+        // given a column
+        when(columnRepository.findById(column.getId())).thenReturn(Optional.of(column));
+
+        // given the issue does not exist
+        when(issueRepository.findBoardViewsByIdIn(List.of(404L))).thenReturn(List.of());
+
+        // when the column service is invoked then expect an issue not found error
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> columnService.updateIssueColumn(board.getId(), column.getId(), 404L, column.getId(), null))
+                .withMessage("Issue not found");
 
-        // then expect the column to have been updated successfully
-        assertThat(issue.getColumn()).isEqualTo(newColumn);
+        verify(issueRepository, never()).updateIssuesColumn(any(), any());
+        verifyNoInteractions(issueCounter, eventBroker, columnCounter);
     }
 }
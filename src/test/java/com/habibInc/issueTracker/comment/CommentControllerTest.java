@@ -4,18 +4,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
 import com.habibInc.issueTracker.issue.Issue;
 import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -35,8 +37,7 @@ public class CommentControllerTest {
     @Autowired
     ObjectMapper objectMapper;
 
-    @SpyBean
-    ModelMapper modelMapper;
+    ModelMapper modelMapper = new ModelMapper();
 
     Comment comment;
     Issue issue;
@@ -216,4 +217,28 @@ public class CommentControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errorMessage").value(errorMessage));
     }
+
+    @Test
+    public void itShouldGetPageOfComments() throws Exception {
+        // given a page of comments
+        CommentDto commentDto = modelMapper.map(comment, CommentDto.class);
+        when(commentService.getComments(issue.getId(), "abc", 10))
+                .thenReturn(new CursorPage<>(List.of(commentDto), "next"));
+
+        // when a GET request is made to fetch the issue comments, then expect the page of comments
+        mockMvc.perform(get(String.format("/issues/%s/comments?cursor=abc&size=10", issue.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(comment.getId()))
+                .andExpect(jsonPath("$.content[0].content").value(comment.getContent()))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    public void givenGetComments_whenIssueIdIsInvalid_itShouldReturnInvalidIdError() throws Exception {
+        mockMvc.perform(get("/issues/invalid_id/comments"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value(IdValidator.errorMessage));
+
+        verify(commentService, never()).getComments(any(), any(), anyInt());
+    }
 }
@@ -0,0 +1,73 @@
+package com.habibInc.issueTracker.comment;
+
+import com.habibInc.issueTracker.change.ChangeTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class CommentCountCheckerTest {
+
+    CommentCountChecker commentCountChecker;
+
+    @Mock
+    CommentRepository commentRepository;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    ChangeTracker changeTracker;
+
+    @BeforeEach
+    public void init() {
+        initMocks(this);
+
+        // run the transaction callbacks right away
+        when(transactionTemplate.execute(any())).thenAnswer(
+                (invocation) -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+
+        commentCountChecker = new CommentCountChecker(commentRepository, transactionTemplate, changeTracker, 2);
+    }
+
+    @Test
+    public void itShouldRecountTheWrongCommentCountsByBatches() {
+        // given three issues with a wrong comment count, found two by two
+        when(commentRepository.findIssueIdsWithWrongCommentCount(0L, PageRequest.of(0, 2))).thenReturn(List.of(10L, 20L));
+        when(commentRepository.findIssueIdsWithWrongCommentCount(20L, PageRequest.of(0, 2))).thenReturn(List.of(30L));
+        when(commentRepository.findIssueIdsWithWrongCommentCount(30L, PageRequest.of(0, 2))).thenReturn(List.of());
+        when(commentRepository.findProjectIdsByIssueIdIn(any())).thenReturn(List.of(1L));
+
+        // when the comment counts are checked
+        int count = commentCountChecker.checkAll();
+
+        // then expect every batch to have been recounted, each one in its own transaction
+        assertThat(count).isEqualTo(3);
+        verify(commentRepository).recountComments(List.of(10L, 20L));
+        verify(commentRepository).recountComments(List.of(30L));
+        verify(transactionTemplate, times(3)).execute(any());
+
+        // and the projects of the recounted issues to have changed
+        verify(changeTracker, times(2)).projectChanged(1L);
+    }
+
+    @Test
+    public void itShouldNotRecountWhenTheCountsAreRight() {
+        when(commentRepository.findIssueIdsWithWrongCommentCount(anyLong(), any())).thenReturn(List.of());
+
+        assertThat(commentCountChecker.checkAll()).isZero();
+
+        verify(commentRepository, never()).recountComments(any());
+        verifyNoInteractions(changeTracker);
+    }
+}
@@ -1,5 +1,6 @@
 package com.habibInc.issueTracker.comment;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.habibInc.issueTracker.exceptionhandler.ApiError;
 import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
@@ -10,11 +11,13 @@ import com.habibInc.issueTracker.security.JwtUtil;
 import com.habibInc.issueTracker.user.User;
 import com.habibInc.issueTracker.user.UserRepository;
 import com.habibInc.issueTracker.user.UserService;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.junit.jupiter.api.*;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 
 import java.time.LocalDateTime;
@@ -43,8 +46,7 @@ public class CommentIT {
     @Autowired
     CommentRepository commentRepository;
 
-    @Autowired
-    ModelMapper modelMapper;
+    ModelMapper modelMapper = new ModelMapper();
 
     @Autowired
     JwtUtil jwtUtil;
@@ -296,6 +298,65 @@ public class CommentIT {
         }
     }
 
+    @Nested
+    @DisplayName("GET")
+    class Get {
+
+        @Test
+        public void itShouldGetPagesOfComments() {
+            // given three comments of the issue
+            for (int i = 1; i <= 3; i++)
+                commentService.createComment(Comment.builder().content("Comment " + i).build(), issue.getId(), authenticatedUser);
+
+            // when the first page of two comments is fetched
+            CursorPage<CommentDto> page = getComments("?size=2");
+
+            // then expect the oldest comments, with their owner
+            assertThat(page.getContent()).extracting(CommentDto::getContent).containsExactly("Comment 1", "Comment 2");
+            assertThat(page.getContent().get(0).getOwner().getId()).isEqualTo(authenticatedUser.getId());
+            assertThat(page.getNextCursor()).isNotNull();
+
+            // when the next page is fetched, then expect the last comment
+            page = getComments("?size=2&cursor=" + page.getNextCursor());
+
+            assertThat(page.getContent()).extracting(CommentDto::getContent).containsExactly("Comment 3");
+            assertThat(page.getNextCursor()).isNull();
+        }
+
+        @Test
+        public void itShouldCountTheCommentsOfTheIssue() {
+            // given two comments of the issue
+            for (int i = 1; i <= 2; i++)
+                commentService.createComment(Comment.builder().content("Comment " + i).build(), issue.getId(), authenticatedUser);
+
+            // when the issue is fetched (the count is read only, so it is not read back into an issue)
+            ResponseEntity<JsonNode> response = restTemplate.exchange("/issues/" + issue.getId(),
+                    HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class);
+
+            // then expect it to count its comments
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().get("commentCount").asInt()).isEqualTo(2);
+        }
+
+        @Test
+        public void givenGetComments_whenIssueDoesNotExist_itShouldReturnIssueNotFoundError() {
+            ResponseEntity<ApiError> response = restTemplate.exchange("/issues/404/comments",
+                    HttpMethod.GET, new HttpEntity<>(headers), ApiError.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(response.getBody().getErrorMessage()).isEqualTo("Issue not found");
+        }
+
+        private CursorPage<CommentDto> getComments(String query) {
+            ResponseEntity<CursorPage<CommentDto>> response = restTemplate.exchange(
+                    "/issues/" + issue.getId() + "/comments" + query, HttpMethod.GET, new HttpEntity<>(headers),
+                    new ParameterizedTypeReference<CursorPage<CommentDto>>() {});
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            return response.getBody();
+        }
+    }
+
     @AfterEach
     public void teardown() {
         commentRepository.deleteAll();
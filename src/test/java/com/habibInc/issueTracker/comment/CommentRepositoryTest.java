@@ -1,13 +1,16 @@
 package com.habibInc.issueTracker.comment;
 
+import com.habibInc.issueTracker.issue.Issue;
 import com.habibInc.issueTracker.issue.IssueRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -73,4 +76,57 @@ public class CommentRepositoryTest {
         // expect the comment to have been found successfully
         assertThat(commentOptional.isPresent()).isTrue();
     }
+
+    @Test
+    public void itShouldSeekThePagesOfTheIssueCommentsInCreationOrder() {
+        // given the comments of an issue, two of them created at the same time, and the comment of another issue
+        Issue issue = issueRepository.save(Issue.builder().summary("Commented").build());
+        Issue otherIssue = issueRepository.save(Issue.builder().summary("Other").build());
+
+        LocalDateTime time = LocalDateTime.of(2020, 1, 1, 10, 0);
+        Comment third = commentRepository.save(Comment.builder().content("third").issue(issue).creationTime(time.plusMinutes(5)).build());
+        Comment first = commentRepository.save(Comment.builder().content("first").issue(issue).creationTime(time).build());
+        Comment second = commentRepository.save(Comment.builder().content("second").issue(issue).creationTime(time).build());
+        commentRepository.save(Comment.builder().content("other").issue(otherIssue).creationTime(time).build());
+
+        // when the first page is fetched, then expect the oldest comments, by id when created at the same time
+        List<CommentRepository.CommentView> page = commentRepository.findPageByIssueId(issue.getId(), PageRequest.of(0, 2));
+        assertThat(page).extracting(CommentRepository.CommentView::getContent).containsExactly("first", "second");
+        assertThat(page).extracting(CommentRepository.CommentView::getIssueId).containsOnly(issue.getId());
+
+        // when the next page is fetched after the last seen comment, then expect the remaining one
+        page = commentRepository.findPageByIssueIdAfter(issue.getId(), second.getCreationTime(), second.getId(), PageRequest.of(0, 2));
+        assertThat(page).extracting(CommentRepository.CommentView::getId).containsExactly(third.getId());
+
+        // when the page following a comment without creation time is fetched, then expect every dated comment
+        page = commentRepository.findPageByIssueIdAfterNull(issue.getId(), first.getId(), PageRequest.of(0, 5));
+        assertThat(page).extracting(CommentRepository.CommentView::getId).containsExactly(first.getId(), second.getId(), third.getId());
+    }
+
+    @Test
+    public void itShouldFindAndRecountTheIssuesWithWrongCommentCounts() {
+        Issue commented = issueRepository.save(Issue.builder().summary("Commented").build());
+        Issue counted = issueRepository.save(Issue.builder().summary("Counted").commentCount(1).build());
+        Issue uncommented = issueRepository.save(Issue.builder().summary("Uncommented").commentCount(3).build());
+
+        commentRepository.save(Comment.builder().content("first").issue(commented).build());
+        commentRepository.save(Comment.builder().content("second").issue(commented).build());
+        commentRepository.save(Comment.builder().content("only").issue(counted).build());
+
+        // when the issues with a wrong comment count are looked up, then expect the counted issue to be left out
+        List<Long> ids = commentRepository.findIssueIdsWithWrongCommentCount(0L, PageRequest.of(0, 10));
+        assertThat(ids).containsExactly(commented.getId(), uncommented.getId());
+
+        // and the issues following the last seen one only
+        assertThat(commentRepository.findIssueIdsWithWrongCommentCount(commented.getId(), PageRequest.of(0, 10)))
+                .containsExactly(uncommented.getId());
+
+        // when they are recounted, then expect their counts to match their comments
+        assertThat(commentRepository.recountComments(ids)).isEqualTo(2);
+        assertThat(commentRepository.findIssueIdsWithWrongCommentCount(0L, PageRequest.of(0, 10))).isEmpty();
+
+        assertThat(issueRepository.findViewsByIdIn(List.of(commented.getId(), uncommented.getId())))
+                .extracting(IssueRepository.IssueView::getCommentCount)
+                .containsExactlyInAnyOrder(2, 0);
+    }
 }
@@ -1,20 +1,34 @@
 package com.habibInc.issueTracker.comment;
 
+import com.habibInc.issueTracker.change.ChangeTracker;
 import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
 import com.habibInc.issueTracker.issue.Issue;
 import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.issue.IssueSnapshot;
+import com.habibInc.issueTracker.project.Project;
+import com.habibInc.issueTracker.search.SearchService;
 import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.user.UserDto;
+import com.habibInc.issueTracker.user.UserRepository;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 public class CommentServiceTest {
@@ -29,6 +43,15 @@ public class CommentServiceTest {
     @Mock
     IssueService issueService;
 
+    @Mock
+    SearchService searchService;
+
+    @Mock
+    ChangeTracker changeTracker;
+
+    @Mock
+    UserRepository userRepository;
+
     User owner;
     Issue issue;
     Comment comment;
@@ -62,20 +85,23 @@ public class CommentServiceTest {
         // given a call to the repository "save()" method
         when(commentRepository.save(comment)).thenReturn(comment);
 
-        // given a call to the issueService "getIssue()" method
-        when(issueService.getIssueById(issue.getId())).thenReturn(issue);
+        // given the issueService finds the issue
+        givenIssueExists();
 
         // when the "createComment()" service method is called
         Comment response = commentService.createComment(comment, issue.getId(), owner);
 
         // then the response should be the created comment
         assertThat(response).isEqualTo(comment);
+
+        // then the issue should count one more comment
+        verify(issueService).addIssueComments(issue.getId(), 1);
     }
 
     @Test
     public void givenCreateComment_itShouldOwnerAndIssue() {
         when(commentRepository.save(comment)).thenReturn(comment);
-        when(issueService.getIssueById(issue.getId())).thenReturn(issue);
+        givenIssueExists();
 
         // when the "createComment()" service method is called
         Comment createdComment =
@@ -89,7 +115,7 @@ public class CommentServiceTest {
     @Test
     public void givenCreateComment_itShouldSetCreationTime() {
         when(commentRepository.save(comment)).thenReturn(comment);
-        when(issueService.getIssueById(issue.getId())).thenReturn(issue);
+        givenIssueExists();
 
         // when the "createComment()" service method is called
         Comment createdComment =
@@ -99,16 +125,45 @@ public class CommentServiceTest {
         assertThat(createdComment.getCreationTime()).isNotNull();
     }
 
+    @Test
+    public void givenCreateComment_itShouldIndexTheCommentContent() {
+        // given the issue belongs to a project
+        issue.setProject(Project.builder().id(7L).build());
+
+        when(commentRepository.save(comment)).thenReturn(comment);
+        givenIssueExists();
+
+        // when the comment is created
+        commentService.createComment(comment, issue.getId(), owner);
+
+        // then expect its content to have been indexed along with the issue
+        verify(searchService).indexComment(7L, issue.getId(), comment.getId(), comment.getContent());
+    }
+
     @Test
     public void givenCreateComment_whenIssueDoesNotExist_itShouldReturnIssueNotFoundError() {
         // when the issue does not exist
-        when(issueService.getIssueById(404L)).thenThrow(ResourceNotFoundException.class);
+        when(issueService.getIssueSnapshot(404L)).thenThrow(ResourceNotFoundException.class);
 
         // then an issue not found error should be returned
         assertThatExceptionOfType(ResourceNotFoundException.class)
                 .isThrownBy(() -> commentService.createComment(comment, 404L, null));
     }
 
+    @Test
+    public void givenCreateComment_itShouldNotLoadTheIssue() {
+        when(commentRepository.save(comment)).thenReturn(comment);
+        givenIssueExists();
+
+        // when the comment is created
+        commentService.createComment(comment, issue.getId(), owner);
+
+        // then expect the issue to have been checked from its snapshot and linked by reference
+        verify(issueService).getIssueSnapshot(issue.getId());
+        verify(issueService).getIssueReference(issue.getId());
+        verify(issueService, never()).getIssueById(any());
+    }
+
     @Test
     public void itShouldGetCommentById() {
         // when commentRepository#findById is invoked then return the comment
@@ -143,6 +198,26 @@ public class CommentServiceTest {
 
         // comment should be deleted successfully
         commentService.deleteComment(issue.getId(), comment.getId(), owner);
+
+        // and the issue should count one comment less
+        verify(commentRepository).deleteById(comment.getId());
+        verify(issueService).addIssueComments(issue.getId(), -1);
+    }
+
+    @Test
+    public void givenDeleteComment_itShouldRemoveTheCommentFromTheSearchIndex() {
+        // given the comment of an issue that belongs to a project
+        issue.setProject(Project.builder().id(7L).build());
+        comment.setOwner(owner);
+        comment.setIssue(issue);
+
+        when(commentRepository.findById(comment.getId())).thenReturn(Optional.of(comment));
+
+        // when the comment is deleted
+        commentService.deleteComment(issue.getId(), comment.getId(), owner);
+
+        // then expect its content to have been removed from the index
+        verify(searchService).removeComment(7L, issue.getId(), comment.getId());
     }
 
     @Test
@@ -203,6 +278,7 @@ public class CommentServiceTest {
         // the comment content should be updated successfully
         assertThat(response).isEqualTo(comment);
         assertThat(response.getContent()).isEqualTo(updatedContent);
+        verify(issueService).incrementIssueVersion(issue.getId());
     }
 
     @Test
@@ -252,4 +328,61 @@ public class CommentServiceTest {
                         comment.getId(), issue.getId(), "new content", randomUser))
                 .withMessageContaining("Forbidden");
     }
+
+    private void givenIssueExists() {
+        when(issueService.getIssueSnapshot(issue.getId())).thenReturn(IssueSnapshot.of(issue));
+        when(issueService.getIssueReference(issue.getId())).thenReturn(issue);
+    }
+
+    @Test
+    public void itShouldGetPageOfComments() {
+        // given a page of comments and an extra one telling that a next page follows
+        LocalDateTime time = LocalDateTime.of(2020, 1, 1, 10, 0);
+        CommentRepository.CommentView first = commentView(1L, time, owner.getId());
+        CommentRepository.CommentView second = commentView(2L, time, owner.getId());
+        CommentRepository.CommentView extra = commentView(3L, time.plusMinutes(1), owner.getId());
+
+        when(commentRepository.findPageByIssueId(eq(issue.getId()), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(first, second, extra));
+        when(userRepository.findDtosByIdIn(Set.of(owner.getId())))
+                .thenReturn(List.of(new UserDto(owner.getId(), "owner", "Comment Owner")));
+
+        // when the first page of two comments is fetched
+        CursorPage<CommentDto> page = commentService.getComments(issue.getId(), null, 2);
+
+        // then expect the comments with their owners, and a cursor on the last one
+        assertThat(page.getContent()).extracting(CommentDto::getId).containsExactly(1L, 2L);
+        assertThat(page.getContent().get(0).getOwner().getFullName()).isEqualTo("Comment Owner");
+        assertThat(page.getNextCursor()).isEqualTo(Cursor.encode(time, 2L));
+
+        // when the next page is fetched, then expect it to seek past the last seen comment
+        commentService.getComments(issue.getId(), page.getNextCursor(), 2);
+        verify(commentRepository).findPageByIssueIdAfter(issue.getId(), time, 2L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    public void givenGetComments_whenCursorIsInvalid_itShouldReturnInvalidCursorError() {
+        assertThatExceptionOfType(InvalidIdException.class)
+                .isThrownBy(() -> commentService.getComments(issue.getId(), Cursor.encode("yesterday", 2L), 2))
+                .withMessage(Cursor.errorMessage);
+    }
+
+    @Test
+    public void givenGetComments_whenIssueDoesNotExist_itShouldReturnIssueNotFoundError() {
+        when(issueService.getIssueSnapshot(404L)).thenThrow(new ResourceNotFoundException("Issue not found"));
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> commentService.getComments(404L, null, 2));
+
+        verifyNoInteractions(commentRepository);
+    }
+
+    private CommentRepository.CommentView commentView(Long id, LocalDateTime creationTime, Long ownerId) {
+        CommentRepository.CommentView view = mock(CommentRepository.CommentView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getCreationTime()).thenReturn(creationTime);
+        when(view.getOwnerId()).thenReturn(ownerId);
+
+        return view;
+    }
 }
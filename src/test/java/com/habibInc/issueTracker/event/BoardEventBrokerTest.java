@@ -0,0 +1,181 @@
+package com.habibInc.issueTracker.event;
+
+import com.habibInc.issueTracker.column.ColumnRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class BoardEventBrokerTest {
+
+    ColumnRepository columnRepository;
+    BoardEventBroker eventBroker;
+
+    SseEmitter emitter;
+    BoardSubscriber subscriber;
+
+    @BeforeEach
+    public void init() {
+        columnRepository = mock(ColumnRepository.class);
+
+        // a buffer of 3 events, a heartbeat after one second of silence, and sends stalled after a second
+        eventBroker = new BoardEventBroker(columnRepository, 60000, 3, 250, 1000, 1000, 2);
+
+        emitter = mock(SseEmitter.class);
+        subscriber = new BoardSubscriber(1L, emitter, 3, System.currentTimeMillis());
+        eventBroker.add(subscriber);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        eventBroker.shutdown();
+    }
+
+    @Test
+    public void itShouldBufferTheEventsOfTheSubscribedBoard() {
+        // when events are published to the subscribed board and to another one
+        eventBroker.columnCreated(1L, 10L, "To do");
+        eventBroker.columnCreated(2L, 20L, "Done");
+
+        // then expect the subscriber to hold the events of its own board
+        assertThat(subscriber.drain()).extracting(BoardEvent::getColumnId).containsExactly(10L);
+    }
+
+    @Test
+    public void itShouldCoalesceTheRapidChangesOfAnIssue() {
+        // when an issue is moved twice before the events are sent
+        eventBroker.issueMoved(1L, 100L, 10L, 11L);
+        eventBroker.columnUpdated(1L, 10L, "Doing");
+        eventBroker.issueMoved(1L, 100L, 11L, 12L);
+
+        // then expect a single move, from the first column to the last one, in the place of the first move
+        List<BoardEvent> events = subscriber.drain();
+
+        assertThat(events).extracting(BoardEvent::getType)
+                .containsExactly(BoardEvent.Type.ISSUE_MOVED, BoardEvent.Type.COLUMN_UPDATED);
+        assertThat(events.get(0).getFromColumnId()).isEqualTo(10L);
+        assertThat(events.get(0).getColumnId()).isEqualTo(12L);
+    }
+
+    @Test
+    public void itShouldCreateAColumnWithItsLatestTitle() {
+        eventBroker.columnCreated(1L, 10L, "To do");
+        eventBroker.columnUpdated(1L, 10L, "Backlog");
+
+        List<BoardEvent> events = subscriber.drain();
+
+        assertThat(events).extracting(BoardEvent::getType).containsExactly(BoardEvent.Type.COLUMN_CREATED);
+        assertThat(events.get(0).getTitle()).isEqualTo("Backlog");
+    }
+
+    @Test
+    public void givenFullBuffer_itShouldTellTheSubscriberToReloadTheBoard() {
+        // when more events are published than the buffer holds
+        for (long issueId = 1; issueId <= 4; issueId++)
+            eventBroker.issueMoved(1L, issueId, 10L, 11L);
+
+        // then expect the events to have been replaced by a resync
+        assertThat(subscriber.drain()).extracting(BoardEvent::getType).containsExactly(BoardEvent.Type.RESYNC);
+    }
+
+    @Test
+    public void itShouldPublishTheIssueUpdatesToTheBoardOfTheIssueColumn() {
+        when(columnRepository.findBoardIdById(10L)).thenReturn(Optional.of(1L));
+
+        eventBroker.issueUpdated(10L, 100L);
+
+        List<BoardEvent> events = subscriber.drain();
+
+        assertThat(events).extracting(BoardEvent::getType).containsExactly(BoardEvent.Type.ISSUE_UPDATED);
+        assertThat(events.get(0).getBoardId()).isEqualTo(1L);
+        assertThat(events.get(0).getIssueId()).isEqualTo(100L);
+    }
+
+    @Test
+    public void givenIssueUpdate_whenNoBoardIsWatched_itShouldNotLookUpTheBoard() {
+        BoardEventBroker idleBroker = new BoardEventBroker(columnRepository, 60000, 3, 250, 1000, 1000, 2);
+
+        idleBroker.issueUpdated(10L, 100L);
+
+        verifyNoInteractions(columnRepository);
+    }
+
+    @Test
+    public void itShouldSendTheBufferedEvents() throws IOException {
+        eventBroker.columnCreated(1L, 10L, "To do");
+        eventBroker.columnDeleted(1L, 11L);
+
+        // when the events are dispatched
+        eventBroker.dispatch();
+
+        // then expect each event to have been sent once, by a sender
+        verify(emitter, timeout(1000).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        assertThat(subscriber.getPendingCount()).isZero();
+
+        eventBroker.dispatch();
+        verify(emitter, after(100).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    public void itShouldSendHeartbeatsToIdleSubscribers() throws IOException {
+        // given a subscriber to which nothing has been sent for a while
+        subscriber.sent(System.currentTimeMillis() - 1000);
+
+        // when the events are dispatched, then expect a heartbeat to have been sent
+        eventBroker.dispatch();
+        verify(emitter, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    public void givenDispatch_whenSendFails_itShouldDropTheSubscriber() throws IOException {
+        // given a client that went away
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        eventBroker.columnCreated(1L, 10L, "To do");
+
+        // when the events are dispatched
+        eventBroker.dispatch();
+
+        // then expect the subscriber to have been dropped
+        verify(emitter, timeout(1000)).completeWithError(any());
+        assertThat(eventBroker.getSubscriberCount(1L)).isZero();
+    }
+
+    @Test
+    public void givenDispatch_whenASendStalls_itShouldDropTheSubscriberWithoutWaitingForIt() throws Exception {
+        // given a broker that gives up on a send right away, and a client that stopped reading
+        eventBroker = new BoardEventBroker(columnRepository, 60000, 3, 250, 1000, 0, 2);
+        eventBroker.add(subscriber);
+
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer((invocation) -> {
+            sending.countDown();
+            release.await();
+            return null;
+        }).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        eventBroker.columnCreated(1L, 10L, "To do");
+        eventBroker.dispatch();
+        sending.await();
+
+        // when the events are dispatched again while the send is blocked
+        eventBroker.dispatch();
+
+        // then expect the subscriber to have been dropped, without another send
+        assertThat(eventBroker.getSubscriberCount(1L)).isZero();
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+
+        // when the blocked send returns, then expect the stream to be completed
+        release.countDown();
+        verify(emitter, timeout(1000)).complete();
+    }
+}
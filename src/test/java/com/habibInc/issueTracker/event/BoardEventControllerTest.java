@@ -0,0 +1,63 @@
+package com.habibInc.issueTracker.event;
+
+import com.habibInc.issueTracker.board.BoardService;
+import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BoardEventController.class)
+@WithMockUser
+public class BoardEventControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    BoardEventBroker eventBroker;
+
+    @MockBean
+    BoardService boardService;
+
+    @Test
+    public void itShouldOpenTheBoardEventStream() throws Exception {
+        when(eventBroker.subscribe(1L)).thenReturn(new SseEmitter());
+
+        // when a GET request is made to the board events, then expect an asynchronous stream
+        mockMvc.perform(get("/boards/1/events"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(eventBroker).subscribe(1L);
+    }
+
+    @Test
+    public void givenSubscribe_whenBoardIdIsInvalid_itShouldReturnInvalidIdError() throws Exception {
+        mockMvc.perform(get("/boards/invalid_id/events"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value(IdValidator.errorMessage));
+
+        verify(eventBroker, never()).subscribe(any());
+    }
+
+    @Test
+    public void givenSubscribe_whenBoardDoesNotExist_itShouldReturnBoardNotFoundError() throws Exception {
+        when(boardService.getBoardById(404L)).thenThrow(new ResourceNotFoundException("Board not found"));
+
+        mockMvc.perform(get("/boards/404/events"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage").value("Board not found"));
+
+        verify(eventBroker, never()).subscribe(any());
+    }
+}
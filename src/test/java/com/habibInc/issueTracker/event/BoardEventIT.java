@@ -0,0 +1,136 @@
+package com.habibInc.issueTracker.event;
+
+import com.habibInc.issueTracker.board.Board;
+import com.habibInc.issueTracker.board.BoardRepository;
+import com.habibInc.issueTracker.board.BoardService;
+import com.habibInc.issueTracker.column.Column;
+import com.habibInc.issueTracker.column.ColumnRepository;
+import com.habibInc.issueTracker.column.ColumnService;
+import com.habibInc.issueTracker.security.JwtUtil;
+import com.habibInc.issueTracker.sprint.Sprint;
+import com.habibInc.issueTracker.sprint.SprintRepository;
+import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.user.UserRepository;
+import com.habibInc.issueTracker.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class BoardEventIT {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    BoardService boardService;
+
+    @Autowired
+    ColumnService columnService;
+
+    @Autowired
+    BoardEventBroker eventBroker;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    SprintRepository sprintRepository;
+
+    @Autowired
+    BoardRepository boardRepository;
+
+    @Autowired
+    ColumnRepository columnRepository;
+
+    @Autowired
+    JwtUtil jwtUtil;
+
+    User authenticatedUser;
+    String token;
+    Board board;
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    public void setup() {
+        // create a user to authenticate
+        authenticatedUser = new User();
+        authenticatedUser.setEmail("auth.user@email.com");
+        authenticatedUser.setPassword("auth_password");
+        authenticatedUser.setFullName("auth full name");
+        authenticatedUser.setUsername("auth username");
+
+        authenticatedUser = userService.createUser(authenticatedUser);
+        token = JwtUtil.TOKEN_PREFIX + jwtUtil.generateToken(authenticatedUser.getEmail());
+
+        // create a board
+        Sprint sprint = sprintRepository.save(Sprint.builder().name("Sprint").build());
+        board = boardService.createBoard(sprint.getId(), Board.builder().name("Board").build(), authenticatedUser);
+    }
+
+    @Test
+    public void itShouldStreamTheBoardChanges() throws Exception {
+        // given an open event stream of the board
+        HttpURLConnection connection = (HttpURLConnection) new URL(
+                "http://localhost:" + port + "/boards/" + board.getId() + "/events").openConnection();
+        connection.setRequestProperty(JwtUtil.HEADER, token);
+        connection.setRequestProperty("Accept", MediaType.TEXT_EVENT_STREAM_VALUE);
+        connection.setReadTimeout(10000);
+
+        assertThat(connection.getResponseCode()).isEqualTo(200);
+        assertThat(connection.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+
+        // read the stream until the created column is received
+        Future<String> data = executor.submit(() -> {
+            String line;
+            boolean columnCreated = false;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.equals("event:" + BoardEvent.Type.COLUMN_CREATED))
+                    columnCreated = true;
+                else if (columnCreated && line.startsWith("data:"))
+                    return line.substring("data:".length());
+            }
+
+            return null;
+        });
+
+        // when a column is created
+        Column column = columnService.createColumn(board.getId(), Column.builder().title("Review").build());
+
+        // then expect the column to have been pushed to the subscriber
+        assertThat(data.get(10, TimeUnit.SECONDS))
+                .contains("\"columnId\":" + column.getId())
+                .contains("\"title\":\"Review\"");
+
+        connection.disconnect();
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+        columnRepository.deleteAll();
+        boardRepository.deleteAll();
+        sprintRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+}
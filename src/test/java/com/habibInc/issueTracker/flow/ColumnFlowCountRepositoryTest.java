@@ -0,0 +1,125 @@
+package com.habibInc.issueTracker.flow;
+
+import com.habibInc.issueTracker.board.Board;
+import com.habibInc.issueTracker.board.BoardRepository;
+import com.habibInc.issueTracker.column.Column;
+import com.habibInc.issueTracker.column.ColumnRepository;
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ColumnFlowCountRepositoryTest {
+
+    @Autowired
+    ColumnFlowCountRepository countRepository;
+
+    @Autowired
+    ColumnTransitionRepository transitionRepository;
+
+    @Autowired
+    BoardRepository boardRepository;
+
+    @Autowired
+    ColumnRepository columnRepository;
+
+    @Autowired
+    IssueRepository issueRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    Board board;
+    Column toDo, done;
+    LocalDate day1, day2, day3;
+
+    @BeforeEach
+    public void setup() {
+        board = boardRepository.save(Board.builder().name("Board").build());
+        toDo = columnRepository.save(Column.builder().title("To do").board(board).build());
+        done = columnRepository.save(Column.builder().title("Done").board(board).build());
+
+        day1 = LocalDate.of(2020, 11, 1);
+        day2 = day1.plusDays(1);
+        day3 = day2.plusDays(1);
+    }
+
+    @Test
+    public void itShouldCreateAndAddToTheDailyCounts() {
+        // given a count written twice on the same day
+        countRepository.add(toDo.getId(), day1, board.getId(), 3, 0);
+        countRepository.add(toDo.getId(), day1, board.getId(), 1, 2);
+        countRepository.add(toDo.getId(), day2, board.getId(), 0, 1);
+        countRepository.add(done.getId(), day2, board.getId(), 1, 0);
+
+        entityManager.clear();
+
+        // then expect the day to hold the sum of both
+        ColumnFlowCount count = countRepository.findById(new ColumnFlowKey(toDo.getId(), day1)).get();
+        assertThat(count.getArrived()).isEqualTo(4);
+        assertThat(count.getDeparted()).isEqualTo(2);
+
+        // then expect the issues held before a day to be summed up by column
+        assertThat(countRepository.sumByBoardIdBefore(board.getId(), day2))
+                .extracting(ColumnFlowCountRepository.ColumnTotalView::getColumnId, ColumnFlowCountRepository.ColumnTotalView::getTotal)
+                .containsExactly(tuple(toDo.getId(), 2L));
+
+        // then expect the counts within a range, the first day first
+        assertThat(countRepository.findAllByBoardIdBetween(board.getId(), day2, day3))
+                .extracting((flow) -> flow.getKey().getColumnId())
+                .containsExactlyInAnyOrder(toDo.getId(), done.getId());
+        assertThat(countRepository.findAllByBoardIdBetween(board.getId() + 1, day1, day3)).isEmpty();
+    }
+
+    @Test
+    public void itShouldCountTheIssuesTheColumnsHold() {
+        issueRepository.save(Issue.builder().summary("issue 1").column(toDo).build());
+        issueRepository.save(Issue.builder().summary("issue 2").column(toDo).build());
+        issueRepository.save(Issue.builder().summary("issue 3").column(done).build());
+        issueRepository.save(Issue.builder().summary("off the board").build());
+
+        assertThat(countRepository.countIssuesByColumn())
+                .extracting(ColumnFlowCountRepository.ColumnTotalView::getColumnId,
+                        ColumnFlowCountRepository.ColumnTotalView::getBoardId,
+                        ColumnFlowCountRepository.ColumnTotalView::getTotal)
+                .containsExactlyInAnyOrder(tuple(toDo.getId(), board.getId(), 2L), tuple(done.getId(), board.getId(), 1L));
+
+        assertThat(countRepository.findColumnBoardsByIdIn(List.of(done.getId(), 404L)))
+                .extracting(ColumnFlowCountRepository.ColumnBoardView::getId)
+                .containsExactly(done.getId());
+    }
+
+    @Test
+    public void itShouldFindTheTransitionsAfterTheLastAggregatedOne() {
+        // given transitions made at the same time and later on
+        LocalDateTime time = LocalDateTime.of(2020, 11, 1, 10, 0);
+        List<ColumnTransition> transitions = transitionRepository.saveAll(List.of(
+                new ColumnTransition(null, 1L, null, toDo.getId(), time),
+                new ColumnTransition(null, 2L, null, toDo.getId(), time),
+                new ColumnTransition(null, 1L, toDo.getId(), done.getId(), time.plusHours(1)),
+                new ColumnTransition(null, 2L, toDo.getId(), done.getId(), time.plusHours(2))
+        ));
+
+        // when the transitions following the first one are fetched, up to the last one
+        List<ColumnTransition> found = transitionRepository.findAllAfter(time, transitions.get(0).getId(),
+                time.plusHours(2), PageRequest.of(0, 10));
+
+        // then expect the ones in between, in the order they were made
+        assertThat(found).extracting(ColumnTransition::getId)
+                .containsExactly(transitions.get(1).getId(), transitions.get(2).getId());
+    }
+}
@@ -0,0 +1,73 @@
+package com.habibInc.issueTracker.flow;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ColumnTransitionLogTest {
+
+    @InjectMocks
+    ColumnTransitionLog transitionLog;
+
+    @Mock
+    ColumnTransitionRepository transitionRepository;
+
+    @BeforeEach
+    public void init() {
+        initMocks(this);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void itShouldLogTheIssuesChangingColumn() {
+        // given an issue entering the board, one changing column and one staying in the column
+        Map<Long, Long> fromColumnIds = new LinkedHashMap<>();
+        fromColumnIds.put(1L, null);
+        fromColumnIds.put(2L, 10L);
+        fromColumnIds.put(3L, 20L);
+
+        // when they are moved to the column
+        transitionLog.moved(fromColumnIds, 20L);
+
+        // then expect the transitions of the first two issues, written at once
+        ArgumentCaptor<List<ColumnTransition>> transitions = ArgumentCaptor.forClass(List.class);
+        verify(transitionRepository).saveAll(transitions.capture());
+        verify(transitionRepository).flush();
+
+        assertThat(transitions.getValue())
+                .extracting(ColumnTransition::getIssueId, ColumnTransition::getFromColumnId, ColumnTransition::getToColumnId)
+                .containsExactly(tuple(1L, null, 20L), tuple(2L, 10L, 20L));
+        assertThat(transitions.getValue()).allMatch((transition) -> transition.getTransitionTime() != null);
+    }
+
+    @Test
+    public void givenMoved_whenTheIssueStaysInItsColumn_itShouldNotLogAnything() {
+        transitionLog.moved(1L, 20L, 20L);
+
+        verifyNoInteractions(transitionRepository);
+    }
+
+    @Test
+    public void givenRemoved_whenTheIssueIsNotInAnyColumn_itShouldNotLogAnything() {
+        transitionLog.removed(1L, null);
+        verify(transitionRepository, never()).saveAll(any());
+
+        // when the issue of a column is removed, then expect it to leave the column
+        transitionLog.removed(1L, 10L);
+        verify(transitionRepository).saveAll(argThat((List<ColumnTransition> transitions) ->
+                transitions.size() == 1 && transitions.get(0).getFromColumnId().equals(10L) &&
+                        transitions.get(0).getToColumnId() == null));
+    }
+}
@@ -0,0 +1,159 @@
+package com.habibInc.issueTracker.flow;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class CumulativeFlowAggregatorTest {
+
+    CumulativeFlowAggregator aggregator;
+
+    @Mock
+    ColumnTransitionRepository transitionRepository;
+
+    @Mock
+    ColumnFlowCountRepository countRepository;
+
+    @Mock
+    ColumnFlowProgressRepository progressRepository;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    ColumnFlowProgress progress;
+    LocalDateTime day1, day2;
+
+    @BeforeEach
+    public void init() {
+        initMocks(this);
+
+        aggregator = new CumulativeFlowAggregator(transitionRepository, countRepository, progressRepository,
+                transactionTemplate, 3, 0);
+
+        // run the transaction callbacks right away
+        when(transactionTemplate.execute(any())).thenAnswer(
+                (invocation) -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+
+        day1 = LocalDateTime.of(2020, 11, 1, 10, 0);
+        day2 = day1.plusDays(1);
+
+        progress = new ColumnFlowProgress(ColumnFlowProgress.ID, day1.minusHours(1), 5L);
+        when(progressRepository.findForUpdate(ColumnFlowProgress.ID)).thenReturn(Optional.of(progress));
+    }
+
+    @Test
+    public void itShouldAddTheTransitionsToTheDailyCountsOfTheirColumns() {
+        // given an issue entering the board, then two issues moving on to the next column over two days
+        List<ColumnTransition> transitions = List.of(
+                new ColumnTransition(6L, 1L, null, 10L, day1),
+                new ColumnTransition(7L, 2L, 10L, 20L, day1),
+                new ColumnTransition(8L, 1L, 10L, 20L, day2)
+        );
+
+        when(transitionRepository.findAllAfter(eq(progress.getLastTransitionTime()), eq(5L), any(), eq(PageRequest.of(0, 3))))
+                .thenReturn(transitions);
+        List<ColumnFlowCountRepository.ColumnBoardView> columns = List.of(columnBoard(10L, 1L), columnBoard(20L, 1L));
+        when(countRepository.findColumnBoardsByIdIn(any())).thenReturn(columns);
+
+        // when the batch is aggregated
+        int count = aggregator.aggregateBatch();
+
+        // then expect each column and day to have been written once, in order, with its arrivals and departures
+        assertThat(count).isEqualTo(3);
+
+        InOrder inOrder = inOrder(countRepository);
+        inOrder.verify(countRepository).add(10L, day1.toLocalDate(), 1L, 1, 1);
+        inOrder.verify(countRepository).add(10L, day2.toLocalDate(), 1L, 0, 1);
+        inOrder.verify(countRepository).add(20L, day1.toLocalDate(), 1L, 1, 0);
+        inOrder.verify(countRepository).add(20L, day2.toLocalDate(), 1L, 1, 0);
+
+        // then expect the next batch to start after the last transition
+        assertThat(progress.getLastTransitionTime()).isEqualTo(day2);
+        assertThat(progress.getLastTransitionId()).isEqualTo(8L);
+    }
+
+    @Test
+    public void givenAggregateBatch_whenAColumnHasBeenDeleted_itShouldSkipItsCounts() {
+        when(transitionRepository.findAllAfter(any(), any(), any(), any()))
+                .thenReturn(List.of(new ColumnTransition(6L, 1L, 30L, 10L, day1)));
+
+        // given the column the issue left no longer exists
+        List<ColumnFlowCountRepository.ColumnBoardView> columns = List.of(columnBoard(10L, 1L));
+        when(countRepository.findColumnBoardsByIdIn(any())).thenReturn(columns);
+
+        aggregator.aggregateBatch();
+
+        verify(countRepository).add(10L, day1.toLocalDate(), 1L, 1, 0);
+        verify(countRepository, never()).add(eq(30L), any(), any(), anyLong(), anyLong());
+        assertThat(progress.getLastTransitionId()).isEqualTo(6L);
+    }
+
+    @Test
+    public void givenAggregateBatch_whenNoTransitionIsLeft_itShouldNotMoveOn() {
+        when(transitionRepository.findAllAfter(any(), any(), any(), any())).thenReturn(List.of());
+
+        assertThat(aggregator.aggregateBatch()).isZero();
+
+        verifyNoInteractions(countRepository);
+        assertThat(progress.getLastTransitionId()).isEqualTo(5L);
+    }
+
+    @Test
+    public void givenAggregateBatch_whenNothingWasAggregatedYet_itShouldStartFromTheIssuesTheColumnsHold() {
+        when(progressRepository.findForUpdate(ColumnFlowProgress.ID)).thenReturn(Optional.empty());
+
+        // given a column holding three issues
+        ColumnFlowCountRepository.ColumnTotalView column = mock(ColumnFlowCountRepository.ColumnTotalView.class);
+        when(column.getColumnId()).thenReturn(10L);
+        when(column.getBoardId()).thenReturn(1L);
+        when(column.getTotal()).thenReturn(3L);
+        when(countRepository.countIssuesByColumn()).thenReturn(List.of(column));
+
+        // when the first batch is aggregated
+        assertThat(aggregator.aggregateBatch()).isZero();
+
+        // then expect the issues to have arrived today, and the transitions to be aggregated from now on
+        verify(countRepository).add(10L, LocalDate.now(), 1L, 3, 0);
+        verify(progressRepository).save(argThat((saved) -> saved.getId().equals(ColumnFlowProgress.ID)));
+        verifyNoInteractions(transitionRepository);
+    }
+
+    @Test
+    public void givenAggregate_itShouldAggregateBatchesUntilTheLastOne() {
+        // given a full batch followed by a partial one
+        ColumnTransition transition = new ColumnTransition(6L, 1L, null, 10L, day1);
+        when(transitionRepository.findAllAfter(any(), any(), any(), any()))
+                .thenReturn(List.of(transition, transition, transition))
+                .thenReturn(List.of(transition));
+        List<ColumnFlowCountRepository.ColumnBoardView> columns = List.of(columnBoard(10L, 1L));
+        when(countRepository.findColumnBoardsByIdIn(any())).thenReturn(columns);
+
+        aggregator.aggregate();
+
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(countRepository).add(10L, day1.toLocalDate(), 1L, 3, 0);
+        verify(countRepository).add(10L, day1.toLocalDate(), 1L, 1, 0);
+    }
+
+    private ColumnFlowCountRepository.ColumnBoardView columnBoard(Long columnId, Long boardId) {
+        ColumnFlowCountRepository.ColumnBoardView column = mock(ColumnFlowCountRepository.ColumnBoardView.class);
+        when(column.getId()).thenReturn(columnId);
+        when(column.getBoardId()).thenReturn(boardId);
+        return column;
+    }
+}
@@ -0,0 +1,67 @@
+package com.habibInc.issueTracker.flow;
+
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CumulativeFlowController.class)
+@WithMockUser
+public class CumulativeFlowControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    CumulativeFlowService flowService;
+
+    @Test
+    public void itShouldGetTheBoardCumulativeFlow() throws Exception {
+        // given the cumulative flow of a board over two days
+        LocalDate from = LocalDate.of(2020, 11, 1);
+        CumulativeFlowDto flow = new CumulativeFlowDto(100L, from, from.plusDays(1),
+                List.of(new ColumnFlowDto(10L, "To do", List.of(3L, 2L))));
+
+        when(flowService.getCumulativeFlow(100L, "2020-11-01", "2020-11-02")).thenReturn(flow);
+
+        // when a GET request is made with the range, then expect the daily counts of the columns
+        mockMvc.perform(get("/boards/100/cfd?from=2020-11-01&to=2020-11-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.boardId").value(100))
+                .andExpect(jsonPath("$.from").value("2020-11-01"))
+                .andExpect(jsonPath("$.to").value("2020-11-02"))
+                .andExpect(jsonPath("$.columns[0].title").value("To do"))
+                .andExpect(jsonPath("$.columns[0].counts[1]").value(2));
+    }
+
+    @Test
+    public void givenGetCumulativeFlow_whenBoardIdIsInvalid_itShouldReturnInvalidIdError() throws Exception {
+        mockMvc.perform(get("/boards/invalid_id/cfd"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value(IdValidator.errorMessage));
+
+        verify(flowService, never()).getCumulativeFlow(any(), any(), any());
+    }
+
+    @Test
+    public void givenGetCumulativeFlow_whenRangeIsInvalid_itShouldReturnInvalidIdError() throws Exception {
+        when(flowService.getCumulativeFlow(100L, "2020-11-02", "2020-11-01"))
+                .thenThrow(new InvalidIdException("Invalid date range"));
+
+        mockMvc.perform(get("/boards/100/cfd?from=2020-11-02&to=2020-11-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid date range"));
+    }
+}
@@ -0,0 +1,175 @@
+package com.habibInc.issueTracker.flow;
+
+import com.habibInc.issueTracker.board.Board;
+import com.habibInc.issueTracker.board.BoardDto;
+import com.habibInc.issueTracker.board.BoardRepository;
+import com.habibInc.issueTracker.column.ColumnRepository;
+import com.habibInc.issueTracker.column.IssuesMoveDto;
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.project.Project;
+import com.habibInc.issueTracker.project.ProjectRepository;
+import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.security.JwtUtil;
+import com.habibInc.issueTracker.sprint.Sprint;
+import com.habibInc.issueTracker.sprint.SprintRepository;
+import com.habibInc.issueTracker.sprint.SprintService;
+import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.user.UserRepository;
+import com.habibInc.issueTracker.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CumulativeFlowIT {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Autowired
+    SprintService sprintService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    SprintRepository sprintRepository;
+
+    @Autowired
+    BoardRepository boardRepository;
+
+    @Autowired
+    ColumnRepository columnRepository;
+
+    @Autowired
+    IssueRepository issueRepository;
+
+    @Autowired
+    ColumnTransitionRepository transitionRepository;
+
+    @Autowired
+    ColumnFlowCountRepository countRepository;
+
+    @Autowired
+    ColumnFlowProgressRepository progressRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JwtUtil jwtUtil;
+
+    CumulativeFlowAggregator aggregator;
+
+    User authenticatedUser;
+    HttpHeaders headers;
+    Project project;
+
+    @BeforeEach
+    public void authSetup() {
+        // create a user to authenticate
+        authenticatedUser = new User();
+        authenticatedUser.setEmail("auth.user@email.com");
+        authenticatedUser.setPassword("auth_password");
+        authenticatedUser.setFullName("auth full name");
+        authenticatedUser.setUsername("auth username");
+
+        authenticatedUser = userService.createUser(authenticatedUser);
+
+        // set up the authorization header with the auth token
+        headers = new HttpHeaders();
+        headers.add(JwtUtil.HEADER, JwtUtil.TOKEN_PREFIX + jwtUtil.generateToken(authenticatedUser.getEmail()));
+
+        // create a project owned by the authenticated user
+        project = new Project();
+        project.setName("Flow project");
+        project = projectService.createProject(project, authenticatedUser);
+
+        // an aggregator that does not wait for the transitions to settle
+        aggregator = new CumulativeFlowAggregator(transitionRepository, countRepository, progressRepository,
+                transactionTemplate, 100, 0);
+    }
+
+    private Issue createIssue(String summary) {
+        Issue issue = Issue.builder().summary(summary).build();
+
+        return restTemplate.exchange("/issues?project=" + project.getId(), HttpMethod.POST,
+                new HttpEntity<>(issue, headers), Issue.class).getBody();
+    }
+
+    @Test
+    public void itShouldServeTheDailyColumnCountsOfTheBoard() {
+        // given two issues in a sprint backlog
+        Issue issue1 = createIssue("issue 1");
+        Issue issue2 = createIssue("issue 2");
+
+        Sprint sprint = sprintService.createSprint(project.getId(), Sprint.builder().name("Sprint").build());
+        restTemplate.exchange("/projects/" + project.getId() + "/sprints/" + sprint.getId() + "/backlog",
+                HttpMethod.PATCH, new HttpEntity<>(List.of(issue1.getId(), issue2.getId()), headers), Integer.class);
+
+        // given a board whose to do column takes the sprint backlog
+        BoardDto board = restTemplate.exchange("/boards?sprint=" + sprint.getId(), HttpMethod.POST,
+                new HttpEntity<>(new Board(), headers), BoardDto.class).getBody();
+        Long inProgressColumnId = board.getColumns().get(1).getId();
+
+        // given an issue moved on to the in progress column
+        ResponseEntity<String> move = restTemplate.exchange("/boards/" + board.getId() + "/columns/" + inProgressColumnId + "/issues",
+                HttpMethod.PATCH, new HttpEntity<>(new IssuesMoveDto(List.of(issue1.getId()), 0), headers), String.class);
+        assertThat(move.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // when the transitions are aggregated
+        aggregator.aggregate();
+
+        // then expect today's counts to show an issue in each of the first two columns
+        String today = LocalDate.now().toString();
+        ResponseEntity<CumulativeFlowDto> response = restTemplate.exchange(
+                "/boards/" + board.getId() + "/cfd?from=" + today + "&to=" + today,
+                HttpMethod.GET, new HttpEntity<>(headers), CumulativeFlowDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getColumns()).extracting(ColumnFlowDto::getTitle)
+                .containsExactly("To Do", "In progress", "Done");
+        assertThat(response.getBody().getColumns()).extracting(ColumnFlowDto::getCounts)
+                .containsExactly(List.of(1L), List.of(1L), List.of(0L));
+    }
+
+    @Test
+    public void givenGetCumulativeFlow_whenBoardDoesNotExist_itShouldReturnBoardNotFoundError() {
+        ResponseEntity<String> response = restTemplate.exchange("/boards/404/cfd",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @AfterEach
+    public void teardown() {
+        issueRepository.deleteAll();
+        columnRepository.deleteAll();
+        boardRepository.deleteAll();
+        sprintRepository.deleteAll();
+        transitionRepository.deleteAll();
+        countRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+}
@@ -0,0 +1,127 @@
+package com.habibInc.issueTracker.flow;
+
+import com.habibInc.issueTracker.board.BoardRepository;
+import com.habibInc.issueTracker.column.ColumnRepository;
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
+import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class CumulativeFlowServiceTest {
+
+    @InjectMocks
+    CumulativeFlowService flowService;
+
+    @Mock
+    ColumnFlowCountRepository countRepository;
+
+    @Mock
+    BoardRepository boardRepository;
+
+    @Mock
+    ColumnRepository columnRepository;
+
+    LocalDate day1, day2, day3;
+
+    @BeforeEach
+    public void init() {
+        initMocks(this);
+
+        day1 = LocalDate.of(2020, 11, 1);
+        day2 = day1.plusDays(1);
+        day3 = day2.plusDays(1);
+
+        when(boardRepository.existsById(100L)).thenReturn(true);
+    }
+
+    @Test
+    public void itShouldCountTheIssuesOfEachColumnAtTheEndOfEachDay() {
+        // given the board columns
+        ColumnRepository.ColumnView toDo = column(10L, "To do");
+        ColumnRepository.ColumnView done = column(20L, "Done");
+        when(columnRepository.findViewsByBoardIdOrderByIdAsc(100L)).thenReturn(List.of(toDo, done));
+
+        // given the to do column held four issues before the range
+        ColumnFlowCountRepository.ColumnTotalView before = mock(ColumnFlowCountRepository.ColumnTotalView.class);
+        when(before.getColumnId()).thenReturn(10L);
+        when(before.getTotal()).thenReturn(4L);
+        when(countRepository.sumByBoardIdBefore(100L, day1)).thenReturn(List.of(before));
+
+        // given two issues done on the first day, and one more on the last day
+        when(countRepository.findAllByBoardIdBetween(100L, day1, day3)).thenReturn(List.of(
+                count(10L, day1, 0, 2), count(20L, day1, 2, 0),
+                count(10L, day3, 1, 1), count(20L, day3, 1, 0)
+        ));
+
+        // when the cumulative flow of the three days is fetched
+        CumulativeFlowDto flow = flowService.getCumulativeFlow(100L, day1.toString(), day3.toString());
+
+        // then expect a count per column and per day, carried over the days without any transition
+        assertThat(flow.getBoardId()).isEqualTo(100L);
+        assertThat(flow.getFrom()).isEqualTo(day1);
+        assertThat(flow.getTo()).isEqualTo(day3);
+
+        assertThat(flow.getColumns()).extracting(ColumnFlowDto::getTitle).containsExactly("To do", "Done");
+        assertThat(flow.getColumns().get(0).getCounts()).containsExactly(2L, 2L, 2L);
+        assertThat(flow.getColumns().get(1).getCounts()).containsExactly(2L, 2L, 3L);
+    }
+
+    @Test
+    public void givenGetCumulativeFlow_whenNoRangeIsGiven_itShouldReturnTheLastDays() {
+        CumulativeFlowDto flow = flowService.getCumulativeFlow(100L, null, null);
+
+        assertThat(flow.getTo()).isEqualTo(LocalDate.now());
+        assertThat(flow.getFrom()).isEqualTo(LocalDate.now().minusDays(CumulativeFlowService.DEFAULT_DAYS - 1));
+    }
+
+    @Test
+    public void givenGetCumulativeFlow_whenRangeIsInvalid_itShouldReturnInvalidIdError() {
+        // given a range ending before it starts
+        assertThatExceptionOfType(InvalidIdException.class)
+                .isThrownBy(() -> flowService.getCumulativeFlow(100L, day2.toString(), day1.toString()))
+                .withMessage("Invalid date range");
+
+        // given a range that is too long
+        assertThatExceptionOfType(InvalidIdException.class)
+                .isThrownBy(() -> flowService.getCumulativeFlow(100L, "2010-01-01", "2020-01-01"))
+                .withMessage("Invalid date range");
+
+        // given a day that is not a date
+        assertThatExceptionOfType(InvalidIdException.class)
+                .isThrownBy(() -> flowService.getCumulativeFlow(100L, "yesterday", null))
+                .withMessage("Invalid date: yesterday");
+
+        verifyNoInteractions(countRepository);
+    }
+
+    @Test
+    public void givenGetCumulativeFlow_whenBoardDoesNotExist_itShouldReturnBoardNotFoundError() {
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> flowService.getCumulativeFlow(404L, null, null))
+                .withMessage("Board not found");
+
+        verify(countRepository, never()).findAllByBoardIdBetween(any(), any(), any());
+    }
+
+    private ColumnRepository.ColumnView column(Long id, String title) {
+        ColumnRepository.ColumnView column = mock(ColumnRepository.ColumnView.class);
+        when(column.getId()).thenReturn(id);
+        when(column.getTitle()).thenReturn(title);
+        return column;
+    }
+
+    private ColumnFlowCount count(Long columnId, LocalDate day, long arrived, long departed) {
+        return new ColumnFlowCount(new ColumnFlowKey(columnId, day), 100L, arrived, departed);
+    }
+}
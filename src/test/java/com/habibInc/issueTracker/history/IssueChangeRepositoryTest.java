@@ -0,0 +1,50 @@
+package com.habibInc.issueTracker.history;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace= AutoConfigureTestDatabase.Replace.NONE)
+public class IssueChangeRepositoryTest {
+
+    @Autowired
+    IssueChangeRepository changeRepository;
+
+    @Test
+    public void itShouldPageTheChangesByChangeTimeRatherThanById() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        // given the latest change written first, and an earlier one written with a greater id, as by another node
+        IssueChange latest = changeRepository.save(change(now));
+        IssueChange tied = changeRepository.save(change(now));
+        IssueChange earlier = changeRepository.save(change(now.minusMinutes(1)));
+
+        // given a change of another issue
+        changeRepository.save(IssueChange.builder().issueId(2L).field(IssueHistory.STATUS).changeTime(now).build());
+
+        // when the first page is fetched
+        List<IssueChange> firstPage = changeRepository.findPageByIssueId(1L, PageRequest.of(0, 2));
+
+        // then expect the latest changes first, the ties broken by id
+        assertThat(firstPage).extracting(IssueChange::getId).containsExactly(tied.getId(), latest.getId());
+
+        // when the page following the last seen change is fetched
+        List<IssueChange> nextPage = changeRepository.findPageByIssueIdBefore(
+                1L, latest.getChangeTime(), latest.getId(), PageRequest.of(0, 2));
+
+        // then expect the earlier change alone, whatever its id
+        assertThat(nextPage).extracting(IssueChange::getId).containsExactly(earlier.getId());
+    }
+
+    private static IssueChange change(LocalDateTime changeTime) {
+        return IssueChange.builder().issueId(1L).field(IssueHistory.SUMMARY).changeTime(changeTime).build();
+    }
+}
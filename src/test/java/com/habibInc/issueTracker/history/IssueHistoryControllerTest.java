@@ -0,0 +1,70 @@
+package com.habibInc.issueTracker.history;
+
+import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(IssueHistoryController.class)
+@WithMockUser
+public class IssueHistoryControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    IssueHistory issueHistory;
+
+    @MockBean
+    IssueService issueService;
+
+    @Test
+    public void itShouldGetIssueHistory() throws Exception {
+        // given a page of the issue history
+        IssueChangeDto change = new IssueChangeDto(30L, 7L, IssueHistory.STATUS, "UNRESOLVED", "RESOLVED", LocalDateTime.now());
+        when(issueHistory.getHistory(1L, "abc", 10)).thenReturn(new CursorPage<>(List.of(change), Cursor.encode(30L)));
+
+        // when a GET request is made to fetch the issue history, then expect the page of changes
+        mockMvc.perform(get("/issues/1/history?cursor=abc&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(30))
+                .andExpect(jsonPath("$.content[0].userId").value(7))
+                .andExpect(jsonPath("$.content[0].field").value(IssueHistory.STATUS))
+                .andExpect(jsonPath("$.content[0].oldValue").value("UNRESOLVED"))
+                .andExpect(jsonPath("$.content[0].newValue").value("RESOLVED"))
+                .andExpect(jsonPath("$.nextCursor").value(Cursor.encode(30L)));
+    }
+
+    @Test
+    public void givenGetIssueHistory_whenIssueIdIsInvalid_itShouldReturnInvalidIdError() throws Exception {
+        mockMvc.perform(get("/issues/invalid_id/history"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value(IdValidator.errorMessage));
+    }
+
+    @Test
+    public void givenGetIssueHistory_whenIssueDoesNotExist_itShouldReturnIssueNotFoundError() throws Exception {
+        when(issueService.getIssueSnapshot(404L)).thenThrow(new ResourceNotFoundException("Issue not found"));
+
+        mockMvc.perform(get("/issues/404/history"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage").value("Issue not found"));
+
+        verify(issueHistory, never()).getHistory(any(), any(), anyInt());
+    }
+}
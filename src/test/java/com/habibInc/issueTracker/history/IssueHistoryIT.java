@@ -0,0 +1,164 @@
+package com.habibInc.issueTracker.history;
+
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.project.Project;
+import com.habibInc.issueTracker.project.ProjectRepository;
+import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.security.JwtUtil;
+import com.habibInc.issueTracker.sprint.Sprint;
+import com.habibInc.issueTracker.sprint.SprintRepository;
+import com.habibInc.issueTracker.sprint.SprintService;
+import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.user.UserRepository;
+import com.habibInc.issueTracker.user.UserService;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class IssueHistoryIT {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Autowired
+    IssueService issueService;
+
+    @Autowired
+    SprintService sprintService;
+
+    @Autowired
+    IssueHistoryWriter historyWriter;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    SprintRepository sprintRepository;
+
+    @Autowired
+    IssueRepository issueRepository;
+
+    @Autowired
+    IssueChangeRepository changeRepository;
+
+    @Autowired
+    JwtUtil jwtUtil;
+
+    User authenticatedUser;
+    HttpHeaders headers;
+    Project project;
+    Issue issue;
+
+    @BeforeEach
+    public void setup() {
+        // create a user to authenticate
+        authenticatedUser = new User();
+        authenticatedUser.setEmail("auth.user@email.com");
+        authenticatedUser.setPassword("auth_password");
+        authenticatedUser.setFullName("auth full name");
+        authenticatedUser.setUsername("auth username");
+
+        authenticatedUser = userService.createUser(authenticatedUser);
+
+        // set up the authorization header with the auth token
+        headers = new HttpHeaders();
+        headers.add(JwtUtil.HEADER, JwtUtil.TOKEN_PREFIX + jwtUtil.generateToken(authenticatedUser.getEmail()));
+
+        // create a project and an issue reported by the authenticated user
+        project = new Project();
+        project.setName("History project");
+        project = projectService.createProject(project, authenticatedUser);
+
+        issue = issueService.createIssue(Issue.builder().summary("Summary").points(1).build(), authenticatedUser, project.getId());
+    }
+
+    private CursorPage<IssueChangeDto> getHistory(String query) {
+        ResponseEntity<CursorPage<IssueChangeDto>> response = restTemplate.exchange(
+                "/issues/" + issue.getId() + "/history" + query, HttpMethod.GET, new HttpEntity<>(headers),
+                new ParameterizedTypeReference<CursorPage<IssueChangeDto>>() {});
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    @Test
+    public void itShouldRecordTheIssueChanges() {
+        // given a merge patch of the issue summary and points
+        HttpHeaders patchHeaders = new HttpHeaders();
+        patchHeaders.addAll(headers);
+        patchHeaders.setContentType(MediaType.valueOf("application/merge-patch+json"));
+
+        restTemplate.exchange("/issues/" + issue.getId(), HttpMethod.PATCH,
+                new HttpEntity<>("{\"summary\": \"Patched\", \"points\": 5}", patchHeaders), String.class);
+
+        // given the issue moved to a sprint
+        Sprint sprint = sprintService.createSprint(project.getId(), Sprint.builder().name("Sprint").build());
+        restTemplate.exchange("/projects/" + project.getId() + "/sprints/" + sprint.getId() + "/issues/" + issue.getId(),
+                HttpMethod.PATCH, new HttpEntity<>("{\"newSprintId\": \"" + sprint.getId() + "\"}", headers), Void.class);
+
+        // when the queued changes are written
+        assertThat(historyWriter.flush()).isTrue();
+
+        // then expect the latest change first, made by the authenticated user
+        CursorPage<IssueChangeDto> history = getHistory("?size=2");
+
+        assertThat(history.getContent()).extracting(IssueChangeDto::getField)
+                .containsExactly(IssueHistory.SPRINT, IssueHistory.POINTS);
+        assertThat(history.getContent().get(0).getOldValue()).isNull();
+        assertThat(history.getContent().get(0).getNewValue()).isEqualTo(sprint.getId().toString());
+        assertThat(history.getContent()).allMatch((change) -> authenticatedUser.getId().equals(change.getUserId()));
+
+        // when the next page is fetched, then expect the remaining change
+        history = getHistory("?size=2&cursor=" + history.getNextCursor());
+
+        assertThat(history.getContent()).extracting(IssueChangeDto::getField).containsExactly(IssueHistory.SUMMARY);
+        assertThat(history.getContent().get(0).getOldValue()).isEqualTo("Summary");
+        assertThat(history.getContent().get(0).getNewValue()).isEqualTo("Patched");
+        assertThat(history.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void givenConflictingUpdate_itShouldNotRecordAnyChange() {
+        // given an update made against a former version of the issue
+        Issue update = Issue.builder().summary("Stale").version(issue.getVersion() - 1).build();
+
+        // when the update is rejected
+        ResponseEntity<String> response = restTemplate.exchange("/issues/" + issue.getId(), HttpMethod.PUT,
+                new HttpEntity<>(update, headers), String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+        // then expect no change to have been recorded
+        historyWriter.flush();
+        assertThat(getHistory("").getContent()).isEmpty();
+    }
+
+    @AfterEach
+    public void teardown() {
+        historyWriter.flush();
+        changeRepository.deleteAll();
+        issueRepository.deleteAll();
+        sprintRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+}
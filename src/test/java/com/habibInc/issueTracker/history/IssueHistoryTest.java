@@ -0,0 +1,181 @@
+package com.habibInc.issueTracker.history;
+
+import com.habibInc.issueTracker.column.Column;
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssuePriority;
+import com.habibInc.issueTracker.issue.IssueStatus;
+import com.habibInc.issueTracker.issue.IssueType;
+import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class IssueHistoryTest {
+
+    @InjectMocks
+    IssueHistory issueHistory;
+
+    @Mock
+    IssueChangeRepository changeRepository;
+
+    @Mock
+    IssueHistoryWriter historyWriter;
+
+    User user;
+    Issue issue;
+
+    @BeforeEach
+    public void init() {
+        initMocks(this);
+
+        user = User.builder().id(7L).build();
+
+        issue = Issue.builder().id(1L).summary("Summary").type(IssueType.BUG).status(IssueStatus.UNRESOLVED)
+                .priority(IssuePriority.HIGH).points(3).column(Column.builder().id(20L).build()).build();
+    }
+
+    @AfterEach
+    public void teardown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<IssueChange> submittedChanges() {
+        ArgumentCaptor<List<IssueChange>> captor = ArgumentCaptor.forClass(List.class);
+        verify(historyWriter).submit(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void itShouldRecordTheChangedFieldsOnly() {
+        // given the fields of the issue before and after a change of its status and points
+        Map<String, String> before = IssueHistory.fieldsOf(issue);
+
+        issue.setStatus(IssueStatus.RESOLVED);
+        issue.setPoints(5);
+        Map<String, String> after = IssueHistory.fieldsOf(issue);
+
+        // when the changes are recorded
+        issueHistory.recordChanges(issue.getId(), user, before, after);
+
+        // then expect one change per changed field, by the given user
+        List<IssueChange> changes = submittedChanges();
+        assertThat(changes).extracting(IssueChange::getField).containsExactly(IssueHistory.STATUS, IssueHistory.POINTS);
+        assertThat(changes).extracting(IssueChange::getOldValue).containsExactly("UNRESOLVED", "3");
+        assertThat(changes).extracting(IssueChange::getNewValue).containsExactly("RESOLVED", "5");
+        assertThat(changes).allMatch((change) -> change.getUserId().equals(7L) && change.getIssueId().equals(1L));
+        assertThat(changes).allMatch((change) -> change.getChangeTime() != null);
+    }
+
+    @Test
+    public void itShouldRecordTheRelationsById() {
+        Map<String, String> fields = IssueHistory.fieldsOf(issue);
+
+        assertThat(fields).containsEntry(IssueHistory.COLUMN, "20");
+        assertThat(fields).containsEntry(IssueHistory.SPRINT, null);
+        assertThat(fields).containsEntry(IssueHistory.ASSIGNEE, null);
+    }
+
+    @Test
+    public void itShouldRecordASingleChange() {
+        // when an issue leaves its sprint
+        issueHistory.recordChange(issue.getId(), user, IssueHistory.SPRINT, 4L, null);
+
+        // then expect the sprint change, the new value being empty
+        List<IssueChange> changes = submittedChanges();
+        assertThat(changes).hasSize(1);
+        assertThat(changes.get(0).getField()).isEqualTo(IssueHistory.SPRINT);
+        assertThat(changes.get(0).getOldValue()).isEqualTo("4");
+        assertThat(changes.get(0).getNewValue()).isNull();
+    }
+
+    @Test
+    public void itShouldNotRecordUnchangedValues() {
+        issueHistory.recordChange(issue.getId(), user, IssueHistory.COLUMN, 20L, 20L);
+        issueHistory.recordChanges(issue.getId(), user, IssueHistory.fieldsOf(issue), IssueHistory.fieldsOf(issue));
+
+        verifyNoInteractions(historyWriter);
+    }
+
+    @Test
+    public void itShouldTruncateLongValues() {
+        issueHistory.recordChange(issue.getId(), user, IssueHistory.DESCRIPTION, null, "a".repeat(5000));
+
+        assertThat(submittedChanges().get(0).getNewValue()).hasSize(IssueChange.MAX_VALUE_LENGTH);
+    }
+
+    @Test
+    public void givenTransaction_itShouldSubmitTheChangesOnceCommitted() {
+        // given a transaction
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when a change is recorded, then expect nothing to be submitted yet
+        issueHistory.recordChange(issue.getId(), user, IssueHistory.STATUS, IssueStatus.UNRESOLVED, IssueStatus.RESOLVED);
+        verifyNoInteractions(historyWriter);
+
+        // when the transaction commits, then expect the change to be submitted
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(submittedChanges()).hasSize(1);
+    }
+
+    @Test
+    public void givenTransaction_whenRolledBack_itShouldNotSubmitTheChanges() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        issueHistory.recordChange(issue.getId(), user, IssueHistory.STATUS, IssueStatus.UNRESOLVED, IssueStatus.RESOLVED);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach((synchronization) -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        verifyNoInteractions(historyWriter);
+    }
+
+    @Test
+    public void itShouldGetTheLatestChangesFirst() {
+        // given more changes than the page holds
+        LocalDateTime now = LocalDateTime.now();
+        List<IssueChange> changes = List.of(
+                IssueChange.builder().id(30L).issueId(1L).field(IssueHistory.STATUS).changeTime(now).build(),
+                IssueChange.builder().id(20L).issueId(1L).field(IssueHistory.POINTS).changeTime(now.minusMinutes(1)).build(),
+                IssueChange.builder().id(10L).issueId(1L).field(IssueHistory.SUMMARY).changeTime(now.minusMinutes(2)).build()
+        );
+        when(changeRepository.findPageByIssueId(1L, PageRequest.of(0, 3))).thenReturn(changes);
+
+        // when the first page of two changes is fetched
+        CursorPage<IssueChangeDto> history = issueHistory.getHistory(1L, null, 2);
+
+        // then expect the two latest changes, and a cursor on the time and id of the last of them
+        assertThat(history.getContent()).extracting(IssueChangeDto::getId).containsExactly(30L, 20L);
+        assertThat(history.getNextCursor()).isEqualTo(Cursor.encode(now.minusMinutes(1), 20L));
+
+        // when the next page is fetched, then expect the query to seek past the cursor
+        issueHistory.getHistory(1L, history.getNextCursor(), 2);
+        verify(changeRepository).findPageByIssueIdBefore(eq(1L), eq(now.minusMinutes(1)), eq(20L), any());
+    }
+
+    @Test
+    public void givenGetHistory_whenCursorIsInvalid_itShouldReturnInvalidIdError() {
+        assertThatExceptionOfType(InvalidIdException.class)
+                .isThrownBy(() -> issueHistory.getHistory(1L, Cursor.encode("yesterday", 20L), 2))
+                .withMessage(Cursor.errorMessage);
+    }
+}
@@ -0,0 +1,136 @@
+package com.habibInc.issueTracker.history;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class IssueHistoryWriterTest {
+
+    EntityManager entityManager;
+    PlatformTransactionManager transactionManager;
+    IssueHistoryWriter historyWriter;
+
+    @BeforeEach
+    public void init() {
+        entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+
+        transactionManager = mock(PlatformTransactionManager.class);
+
+        historyWriter = new IssueHistoryWriter(entityManager, transactionManager, 1000);
+    }
+
+    private List<IssueChange> changes(int count) {
+        List<IssueChange> changes = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            changes.add(IssueChange.builder().issueId(1L).field(IssueHistory.SUMMARY).newValue("summary " + i).build());
+
+        return changes;
+    }
+
+    @Test
+    public void itShouldQueueChangesUntilTheyAreFlushed() {
+        // when changes are submitted
+        historyWriter.submit(changes(3));
+
+        // then expect them to wait in the queue, without being written
+        assertThat(historyWriter.getPendingCount()).isEqualTo(3);
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    public void itShouldWriteTheChangesInBatches() {
+        // given more changes than a batch holds
+        historyWriter.submit(changes(IssueHistoryWriter.BATCH_SIZE * 2 + 1));
+
+        // when the queue is flushed
+        assertThat(historyWriter.flush()).isTrue();
+
+        // then expect every change to have been written, one transaction of its own per batch
+        verify(entityManager, times(IssueHistoryWriter.BATCH_SIZE * 2 + 1)).persist(any(IssueChange.class));
+        verify(transactionManager, times(3)).getTransaction(argThat((definition) ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        assertThat(historyWriter.getPendingCount()).isZero();
+    }
+
+    @Test
+    public void givenFlush_whenWriteFails_itShouldWriteTheBatchAgainLater() {
+        // given a first write that fails
+        doThrow(new PersistenceException("Connection lost")).doNothing().when(entityManager).flush();
+
+        List<IssueChange> changes = changes(2);
+        changes.get(0).setId(10L);
+        historyWriter.submit(changes);
+
+        // when the queue is flushed, then expect the changes to be kept
+        assertThat(historyWriter.flush()).isFalse();
+        assertThat(historyWriter.getPendingCount()).isEqualTo(2);
+
+        // when the queue is flushed again, then expect the changes to be written, under new ids
+        assertThat(historyWriter.flush()).isTrue();
+        assertThat(historyWriter.getPendingCount()).isZero();
+        assertThat(changes.get(0).getId()).isNull();
+        verify(entityManager, times(4)).persist(any(IssueChange.class));
+    }
+
+    @Test
+    public void givenSubmit_whenQueueIsFull_itShouldWriteTheQueueRightAway() {
+        // given a writer whose queue holds two changes
+        historyWriter = new IssueHistoryWriter(entityManager, transactionManager, 2);
+
+        // when three changes are submitted
+        historyWriter.submit(changes(3));
+
+        // then expect the first two to have been written by the producer, and the last one to be queued
+        verify(entityManager, times(2)).persist(any(IssueChange.class));
+        assertThat(historyWriter.getPendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenSubmit_whenQueueIsFullAndWriteFails_itShouldKeepTheChange() {
+        // given a full queue that can not be written
+        historyWriter = new IssueHistoryWriter(entityManager, transactionManager, 1);
+        doThrow(new PersistenceException("Connection lost")).when(entityManager).flush();
+
+        // when two changes are submitted, then expect none of them to be lost
+        historyWriter.submit(changes(2));
+
+        assertThat(historyWriter.getPendingCount()).isEqualTo(2);
+        assertThat(historyWriter.getDroppedCount()).isZero();
+    }
+
+    @Test
+    public void givenSubmit_whenTheKeptChangesAreFull_itShouldDropAndCountTheOthers() {
+        // given a queue of one change that can not be written
+        historyWriter = new IssueHistoryWriter(entityManager, transactionManager, 1);
+        doThrow(new PersistenceException("Connection lost")).when(entityManager).flush();
+
+        // when more changes are submitted than the queue and the kept changes hold
+        historyWriter.submit(changes(IssueHistoryWriter.BATCH_SIZE + 4));
+
+        // then expect the extra changes to have been dropped and counted
+        assertThat(historyWriter.getPendingCount()).isEqualTo(IssueHistoryWriter.BATCH_SIZE + 2);
+        assertThat(historyWriter.getDroppedCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenShutdown_itShouldWriteTheQueuedChanges() {
+        historyWriter.submit(changes(5));
+
+        historyWriter.shutdown();
+
+        verify(entityManager, times(5)).persist(any(IssueChange.class));
+        assertThat(historyWriter.getPendingCount()).isZero();
+    }
+}
@@ -0,0 +1,188 @@
+package com.habibInc.issueTracker.issue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class IssueCacheTest {
+
+    IssueCache issueCache;
+
+    // the cache clock, moved forward by hand
+    AtomicLong now;
+
+    // counts the snapshots loaded from the "database"
+    AtomicInteger loads;
+    Function<Long, IssueSnapshot> loader;
+
+    @BeforeEach
+    public void setup() {
+        now = new AtomicLong(1000);
+        issueCache = new IssueCache(2, 500, now::get);
+
+        loads = new AtomicInteger();
+        loader = (id) -> {
+            loads.incrementAndGet();
+            return new IssueSnapshot(id, "PP-" + id, 1L, null, null, 10L, null);
+        };
+    }
+
+    @AfterEach
+    public void teardown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    public void itShouldLoadAMissingSnapshotOnce() {
+        // when the same issue is requested twice
+        IssueSnapshot first = issueCache.get(1L, loader);
+        IssueSnapshot second = issueCache.get(1L, loader);
+
+        // then expect it to have been loaded once and served from the cache afterwards
+        assertThat(second).isSameAs(first);
+        assertThat(loads.get()).isEqualTo(1);
+
+        IssueCacheStats stats = issueCache.getStats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getHitRate()).isEqualTo(0.5);
+        assertThat(stats.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void itShouldEvictTheLeastRecentlyUsedSnapshotBeyondTheMaximumSize() {
+        // given a full cache where the first issue has been used last
+        issueCache.get(1L, loader);
+        issueCache.get(2L, loader);
+        issueCache.get(1L, loader);
+
+        // when another issue is cached
+        issueCache.get(3L, loader);
+
+        // then expect the second issue to have been evicted
+        assertThat(issueCache.getStats().getEvictions()).isEqualTo(1);
+        assertThat(issueCache.getStats().getSize()).isEqualTo(2);
+
+        issueCache.get(1L, loader);
+        assertThat(loads.get()).isEqualTo(3);
+
+        issueCache.get(2L, loader);
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void itShouldReloadASnapshotOnceItsTimeToLiveIsOver() {
+        // given a cached snapshot
+        issueCache.get(1L, loader);
+
+        // when its time to live is over
+        now.addAndGet(500);
+        issueCache.get(1L, loader);
+
+        // then expect it to have been loaded again
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(issueCache.getStats().getExpirations()).isEqualTo(1);
+    }
+
+    @Test
+    public void itShouldReloadAnInvalidatedSnapshot() {
+        // given cached snapshots
+        issueCache.get(1L, loader);
+        issueCache.get(2L, loader);
+
+        // when they are invalidated
+        issueCache.invalidate(1L);
+        issueCache.invalidateAll(List.of(2L, 404L));
+
+        // then expect them to be loaded again
+        issueCache.get(1L, loader);
+        issueCache.get(2L, loader);
+
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(issueCache.getStats().getInvalidations()).isEqualTo(2);
+    }
+
+    @Test
+    public void itShouldReloadTheSnapshotsOfAnInvalidatedSprint() {
+        // given the cached snapshots of an issue of the sprint and of a backlog issue
+        Function<Long, IssueSnapshot> sprintLoader = (id) -> {
+            loads.incrementAndGet();
+            return new IssueSnapshot(id, "PP-" + id, 1L, id == 1L ? 50L : null, null, 10L, null);
+        };
+
+        issueCache.get(1L, sprintLoader);
+        issueCache.get(2L, sprintLoader);
+
+        // when the sprint issues are invalidated at once
+        issueCache.invalidateSprint(50L);
+
+        // then expect the issue of the sprint alone to be loaded again
+        issueCache.get(1L, sprintLoader);
+        issueCache.get(2L, sprintLoader);
+
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(issueCache.getStats().getInvalidations()).isEqualTo(1);
+
+        // then expect the reloaded snapshot to be cached again
+        issueCache.get(1L, sprintLoader);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void givenInvalidationDuringLoad_itShouldNotCacheTheLoadedSnapshot() {
+        // when the issue is written while its snapshot is being loaded
+        issueCache.get(1L, (id) -> {
+            IssueSnapshot snapshot = loader.apply(id);
+            issueCache.invalidate(id);
+            return snapshot;
+        });
+
+        // then expect the possibly stale snapshot not to have been cached
+        issueCache.get(1L, loader);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenReadDuringUncommittedWrite_itShouldDropTheSnapshotAgainAfterTheCommit() {
+        // given the issue is written in a transaction that has not committed yet
+        TransactionSynchronizationManager.initSynchronization();
+        issueCache.get(1L, loader);
+        issueCache.invalidate(1L);
+
+        // when the issue is read in between, which still loads the committed row
+        issueCache.get(1L, loader);
+        issueCache.get(1L, loader);
+        assertThat(loads.get()).isEqualTo(2);
+
+        // then expect the snapshot read before the commit to be dropped once the write commits
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        issueCache.get(1L, loader);
+
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void givenLoaderError_itShouldNotCacheAnything() {
+        // when the issue does not exist
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() ->
+                issueCache.get(404L, (id) -> {
+                    throw new IllegalStateException("Issue not found");
+                }));
+
+        // then expect the cache to be left empty
+        assertThat(issueCache.getStats().getSize()).isEqualTo(0);
+        assertThat(issueCache.getStats().getMisses()).isEqualTo(1);
+    }
+}
@@ -2,7 +2,11 @@ package com.habibInc.issueTracker.issue;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
+import com.habibInc.issueTracker.exceptionhandler.PreconditionFailedException;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
@@ -11,6 +15,7 @@ import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDoc
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -38,8 +43,7 @@ public class IssueControllerTest {
     @MockBean
     IssueService issueService;
 
-    @SpyBean
-    ModelMapper modelMapper;
+    ModelMapper modelMapper = new ModelMapper();
 
     @SpyBean
     ObjectMapper objectMapper;
@@ -116,9 +120,85 @@ public class IssueControllerTest {
                 );
     }
 
+    @Test
+    public void itShouldCreateIssuesInBulk() throws Exception {
+        // given the issue service response
+        List<Issue> issues = List.of(issue1, issue2);
+        when(issueService.createIssues(eq(issues), any(), eq(10L))).thenReturn(issues);
+
+        // given the request body
+        String requestBody = objectMapper.writeValueAsString(issues);
+
+        // given the expected response issue DTOs
+        String expectedResponse = objectMapper.writeValueAsString(List.of(
+                modelMapper.map(issue1, IssueDto.class),
+                modelMapper.map(issue2, IssueDto.class)
+        ));
+
+        // when a POST request is made to create the issues in bulk
+        // then expect a 201 created response
+        mockMvc.perform(post("/issues/bulk").param("project", "10")
+                .content(requestBody)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(expectedResponse))
+                .andDo(
+                        document("{methodName}",
+                                requestParameters(
+                                        parameterWithName("project").description("The project id")
+                                ),
+                                relaxedRequestFields(
+                                        fieldWithPath("[].summary").description("The issue's summary"),
+                                        fieldWithPath("[].description").description("The issue's description"),
+                                        fieldWithPath("[].type").description("The issue's type, either Story, Bug or Task"),
+                                        fieldWithPath("[].points").description("The issue's story points")
+                                ),
+                                relaxedResponseFields(
+                                        fieldWithPath("[].id").description("The issue's autogenerated id"),
+                                        fieldWithPath("[].summary").description("The issue's summary"),
+                                        fieldWithPath("[].description").description("The issue's description")
+                                )
+                        )
+                );
+
+        // then expect the issues to have been created by a single service call
+        verify(issueService, times(1)).createIssues(eq(issues), any(), eq(10L));
+        verify(issueService, never()).createIssue(any(), any(), any());
+    }
+
+    @Test
+    public void itShouldGetIssueCacheStats() throws Exception {
+        // given the issue cache stats
+        IssueCacheStats stats = new IssueCacheStats(30, 10, 2, 1, 5, 27);
+        when(issueService.getIssueCacheStats()).thenReturn(stats);
+
+        // when a GET request is made then expect the stats
+        mockMvc.perform(get("/issues/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(30))
+                .andExpect(jsonPath("$.misses").value(10))
+                .andExpect(jsonPath("$.evictions").value(2))
+                .andExpect(jsonPath("$.hitRate").value(0.75))
+                .andDo(
+                        document("{methodName}",
+                                responseFields(
+                                        fieldWithPath("hits").description("The issue lookups served from the cache"),
+                                        fieldWithPath("misses").description("The issue lookups loaded from the database"),
+                                        fieldWithPath("evictions").description("The snapshots dropped to stay under the maximum size"),
+                                        fieldWithPath("expirations").description("The snapshots dropped once their time to live was over"),
+                                        fieldWithPath("invalidations").description("The snapshots dropped because their issue was written"),
+                                        fieldWithPath("size").description("The number of cached snapshots"),
+                                        fieldWithPath("hitRate").description("The ratio of lookups served from the cache")
+                                )
+                        )
+                );
+    }
+
     @Test
     public void itShouldGetIssueById() throws Exception {
         // given the service response
+        when(issueService.getIssueETag(issue2.getId())).thenReturn("\"2-7\"");
         when(issueService.getIssueById(issue2.getId())).thenReturn(issue2);
 
         // given the response body
@@ -127,6 +207,7 @@ public class IssueControllerTest {
         // when a GET request is made, then expect the issue to have been fetched by id
         mockMvc.perform(get("/issues/{issueId}", issue2.getId()))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-7\""))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(responseBody))
                 .andDo(
@@ -148,13 +229,36 @@ public class IssueControllerTest {
                 );
     }
 
+    @Test
+    public void givenGetIssueById_whenIssueIsNotModified_itShouldNotLoadTheIssue() throws Exception {
+        // given the issue ETag
+        when(issueService.getIssueETag(issue2.getId())).thenReturn("\"2-7\"");
+
+        // when the issue is requested with its current ETag
+        mockMvc.perform(get("/issues/{issueId}", issue2.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-7\""))
+                .andExpect(content().string(""))
+                .andDo(
+                        document("{methodName}",
+                                pathParameters(
+                                        parameterWithName("issueId").description("The issue id")
+                                )
+                        )
+                );
+
+        // then the issue should not have been loaded
+        verify(issueService, never()).getIssueById(any());
+    }
+
     @Test
     public void givenGetIssueById_whenIssueDoesNotExist_itShouldReturnIssueNotFoundError() throws Exception {
         // given an error message
         String errorMessage = "Issue not found";
 
         // when the "getIssue()" service method throws a resource not found exception
-        when(issueService.getIssueById(3L))
+        when(issueService.getIssueETag(3L))
                 .thenThrow(new ResourceNotFoundException(errorMessage));
 
         // then an error message with a status code of 404 should be returned
@@ -176,27 +280,75 @@ public class IssueControllerTest {
     }
 
     @Test
-    public void itShouldGetListOfAllIssues() throws Exception {
-        // given a list of issues
-        List<Issue> issues = Arrays.asList(issue1, issue2);
+    public void itShouldGetPageOfIssues() throws Exception {
+        // given a page of issues followed by another page
+        String nextCursor = Cursor.encode(issue2.getId());
+        CursorPage<Issue> page = new CursorPage<>(Arrays.asList(issue1, issue2), nextCursor);
 
         // given the service response
-        when(issueService.getAllIssues()).thenReturn(issues);
+        when(issueService.getIssues(null, null, 20)).thenReturn(page);
 
-        // when a GET request is made then expect the response to be the list of all issues
+        // given the expected response
+        String expectedResponse = objectMapper.writeValueAsString(
+                page.map(issue -> modelMapper.map(issue, IssueDto.class))
+        );
+
+        // when a GET request is made then expect the response to be the first page of issues
         mockMvc.perform(get("/issues"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(content().string(objectMapper.writeValueAsString(issues)))
+                .andExpect(content().json(expectedResponse))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor))
                 .andDo(
                         document("{methodName}",
-                                responseFields(
-                                        subsectionWithPath("[]").description("List of all issues")
+                                relaxedResponseFields(
+                                        subsectionWithPath("content").description("The page of issues, ordered by id"),
+                                        fieldWithPath("nextCursor").description("The opaque cursor of the next page, null on the last page")
+                                )
+                        )
+                );
+    }
+
+    @Test
+    public void itShouldGetPageOfIssuesFollowingTheCursor() throws Exception {
+        // given the cursor of the previous page
+        String cursor = Cursor.encode(issue1.getId());
+
+        // given the service response
+        when(issueService.getIssues(10L, cursor, 5))
+                .thenReturn(new CursorPage<>(List.of(issue2), null));
+
+        // when a GET request is made with a cursor then expect the following page
+        mockMvc.perform(get("/issues")
+                .param("project", "10")
+                .param("cursor", cursor)
+                .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(issue2.getId()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andDo(
+                        document("{methodName}",
+                                requestParameters(
+                                        parameterWithName("project").description("The project id (optional)"),
+                                        parameterWithName("cursor").description("The cursor returned with the previous page (optional)"),
+                                        parameterWithName("size").description("The page size, capped at " + CursorPage.MAX_SIZE)
                                 )
                         )
                 );
     }
 
+    @Test
+    public void givenGetIssues_whenCursorIsInvalid_itShouldReturnInvalidCursorError() throws Exception {
+        // given the service rejects the cursor
+        when(issueService.getIssues(null, "invalid", 20))
+                .thenThrow(new InvalidIdException(Cursor.errorMessage));
+
+        // then a 400 bad request error should be returned
+        mockMvc.perform(get("/issues").param("cursor", "invalid"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value(Cursor.errorMessage));
+    }
+
     @Test
     public void itShouldUpdateIssue() throws Exception {
         // given the updated issue
@@ -323,7 +475,7 @@ public class IssueControllerTest {
         requestBody.put("assignee", userId);
 
         // given the service response
-        when(issueService.updateIssueAssignee(issue1.getId(), userId)).thenReturn(issue1);
+        when(issueService.updateIssueAssignee(eq(issue1.getId()), eq(userId), any())).thenReturn(issue1);
 
         // given the expected response (updated issue dto)
         String expectedResponse =
@@ -358,6 +510,64 @@ public class IssueControllerTest {
                 );
     }
 
+    @Test
+    public void itShouldPatchIssue() throws Exception {
+        // given the merge patch
+        ObjectNode patch = objectMapper.createObjectNode();
+        patch.put("summary", "patched summary");
+        patch.putNull("description");
+
+        // given the patched issue and its new ETag
+        issue1.setSummary("patched summary");
+        issue1.setDescription(null);
+
+        when(issueService.patchIssue(eq(issue1.getId()), eq(patch), eq(List.of("\"1-3\"")), any())).thenReturn(issue1);
+        when(issueService.getIssueETag(issue1)).thenReturn("\"1-4\"");
+
+        // when a merge patch is made against the ETag of the issue
+        // then expect the patched issue along with its new ETag
+        mockMvc.perform(patch("/issues/{issueId}", issue1.getId())
+                .contentType("application/merge-patch+json")
+                .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                .content(patch.toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+                .andExpect(content().json(objectMapper.writeValueAsString(IssueMapper.toDto(issue1))))
+                .andDo(
+                        document("{methodName}",
+                                pathParameters(
+                                        parameterWithName("issueId").description("The id of the issue")
+                                ),
+                                requestFields(
+                                        fieldWithPath("summary").description("The new summary, fields left out of the patch are kept"),
+                                        fieldWithPath("description").description("Null to remove the description")
+                                ),
+                                relaxedResponseFields(
+                                        fieldWithPath("id").description("The issue's id"),
+                                        fieldWithPath("summary").description("The issue's summary")
+                                )
+                        )
+                );
+
+        // then expect the assignee not to have been updated
+        verify(issueService, never()).updateIssueAssignee(any(), any(), any());
+    }
+
+    @Test
+    public void givenPatchIssue_whenIssueHasBeenModified_itShouldReturnPreconditionFailedError() throws Exception {
+        // given the issue has been modified since it was read
+        when(issueService.patchIssue(eq(issue1.getId()), any(), any(), any()))
+                .thenThrow(new PreconditionFailedException("Issue has been modified"));
+
+        // when a merge patch is made against the former ETag then expect a precondition failed error
+        mockMvc.perform(patch("/issues/{issueId}", issue1.getId())
+                .contentType("application/merge-patch+json")
+                .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                .content("{\"summary\": \"patched summary\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorMessage").value("Issue has been modified"));
+    }
+
     @Test
     public void itShouldSwapThePositionsOfTwoIssues() throws Exception {
         // given the project id
@@ -380,4 +590,61 @@ public class IssueControllerTest {
                 .content(requestBody).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    public void itShouldMoveIssueBeforeAnotherIssue() throws Exception {
+        // given the moved issue
+        issue1.setRank("b");
+        when(issueService.moveIssueBefore(issue1.getId(), issue2.getId())).thenReturn(issue1);
+
+        // given the request body
+        ObjectNode requestBody = objectMapper.createObjectNode();
+        requestBody.put("before", issue2.getId());
+
+        // when a PATCH request is made to move the issue before the other one
+        // then expect the moved issue with its new rank
+        mockMvc.perform(patch("/issues/{issueId}/rank", issue1.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(issue1.getId()))
+                .andExpect(jsonPath("$.rank").value("b"))
+                .andDo(
+                        document("{methodName}",
+                                pathParameters(
+                                        parameterWithName("issueId").description("The id of the issue to move")
+                                ),
+                                requestFields(
+                                        fieldWithPath("before").description("The id of the issue to move before, or use \"after\" instead")
+                                ),
+                                relaxedResponseFields(
+                                        fieldWithPath("id").description("The issue's id"),
+                                        fieldWithPath("rank").description("The issue's new rank, issues are ordered by comparing ranks as strings")
+                                )
+                        )
+                );
+    }
+
+    @Test
+    public void itShouldMoveIssueAfterAnotherIssue() throws Exception {
+        when(issueService.moveIssueAfter(issue1.getId(), issue2.getId())).thenReturn(issue1);
+
+        mockMvc.perform(patch("/issues/{issueId}/rank", issue1.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"after\": " + issue2.getId() + "}"))
+                .andExpect(status().isOk());
+
+        verify(issueService).moveIssueAfter(issue1.getId(), issue2.getId());
+    }
+
+    @Test
+    public void givenMoveIssue_whenTargetIsMissing_itShouldReturnInvalidIdError() throws Exception {
+        mockMvc.perform(patch("/issues/{issueId}/rank", issue1.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid target issue id"));
+
+        verifyNoInteractions(issueService);
+    }
 }
@@ -0,0 +1,108 @@
+package com.habibInc.issueTracker.issue;
+
+import com.habibInc.issueTracker.project.Project;
+import com.habibInc.issueTracker.project.ProjectRepository;
+import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.user.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IssueDtoAssembler.class)
+public class IssueDtoAssemblerTest {
+
+    @Autowired
+    IssueDtoAssembler issueDtoAssembler;
+
+    @Autowired
+    IssueRepository issueRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    Project project;
+    User user1, user2;
+
+    @BeforeEach
+    public void init() {
+        project = projectRepository.save(Project.builder().name("Project").build());
+
+        user1 = userRepository.save(User.builder()
+                .username("user1").fullName("User 1").email("user1@email.me").password("user1@pass").build());
+
+        user2 = userRepository.save(User.builder()
+                .username("user2").fullName("User 2").email("user2@email.me").password("user2@pass").build());
+    }
+
+    @Test
+    public void itShouldAssembleBacklogDtosWithConstantQueries() {
+        // given a backlog of issues counting their comments
+        for (int i = 0; i < 10; i++) {
+            issueRepository.save(Issue.builder()
+                    .summary("Issue " + i)
+                    .rank(String.valueOf((char) ('a' + i)))
+                    .project(project)
+                    .reporter(user1)
+                    .assignee(i % 2 == 0 ? user2 : null)
+                    .creationTime(LocalDateTime.now())
+                    .updateTime(LocalDateTime.now())
+                    .commentCount(2)
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // when the backlog dtos are assembled
+        List<IssueDto> backlog = issueDtoAssembler.toDtos(issueRepository.findBacklogViewsByProjectId(project.getId()));
+
+        // then one query is run for the issues, along with their comment counts, and one for the users
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        statistics.setStatisticsEnabled(false);
+
+        // and the dtos are ordered by rank with their comment counts and users
+        assertThat(backlog).hasSize(10);
+        assertThat(backlog).extracting(IssueDto::getSummary).startsWith("Issue 0", "Issue 1", "Issue 2");
+
+        assertThat(backlog.get(0).getReporter().getUsername()).isEqualTo("user1");
+        assertThat(backlog.get(0).getAssignee().getUsername()).isEqualTo("user2");
+        assertThat(backlog.get(1).getAssignee()).isNull();
+
+        assertThat(backlog).extracting(IssueDto::getCommentCount).containsOnly(2L);
+    }
+
+    @Test
+    public void itShouldNotQueryWhenThereAreNoIssues() {
+        // when the dtos of an empty backlog are assembled
+        List<IssueDto> backlog = issueDtoAssembler.toDtos(issueRepository.findBacklogViewsByProjectId(project.getId()));
+
+        // then nothing is returned
+        assertThat(backlog).isEmpty();
+    }
+}
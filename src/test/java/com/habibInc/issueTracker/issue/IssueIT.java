@@ -12,11 +12,13 @@ import com.habibInc.issueTracker.security.JwtUtil;
 import com.habibInc.issueTracker.user.User;
 import com.habibInc.issueTracker.user.UserRepository;
 import com.habibInc.issueTracker.user.UserService;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.junit.jupiter.api.*;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -24,8 +26,10 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.net.URI;
 import java.net.URL;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -60,8 +64,7 @@ public class IssueIT {
     @Autowired
     ObjectMapper mapper;
 
-    @Autowired
-    ModelMapper modelMapper;
+    ModelMapper modelMapper = new ModelMapper();
 
     User authenticatedUser;
     Issue issue1, issue2;
@@ -216,9 +219,9 @@ public class IssueIT {
             // given a list of project issues
             List<Issue> issues = (List<Issue>) issueRepository.saveAll(
                     List.of(
-                            Issue.builder().project(project).summary("issue 1").build(),
-                            Issue.builder().project(project).summary("issue 2").build(),
-                            Issue.builder().project(project).summary("issue 3").build()
+                            Issue.builder().project(project).position(1).summary("issue 1").build(),
+                            Issue.builder().project(project).position(2).summary("issue 2").build(),
+                            Issue.builder().project(project).position(3).summary("issue 3").build()
                     )
             );
 
@@ -229,6 +232,61 @@ public class IssueIT {
             // then the issue's position should be last
             assertThat(response.getBody().getPosition()).isEqualTo(issues.size() + 1);
         }
+
+        @Test
+        public void givenCreateIssuesInBulk_itShouldInsertThemAll() {
+            // given more issues than a single JDBC batch
+            final int count = IssueService.BULK_BATCH_SIZE * 2 + 5;
+
+            List<Issue> issues = new ArrayList<>();
+            for (int i = 1; i <= count; i++)
+                issues.add(Issue.builder().summary("bulk issue " + i).build());
+
+            // when a POST request is made to create the issues in bulk
+            ResponseEntity<IssueDto[]> response = restTemplate.postForEntity(
+                    String.format("/issues/bulk?project=%d", project.getId()),
+                    new HttpEntity<>(issues, headers),
+                    IssueDto[].class
+            );
+
+            // then expect the issues to have been created in order
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(response.getBody()).hasSize(count);
+            assertThat(response.getBody()[0].getIssueKey()).isEqualTo(project.getKey() + "-1");
+            assertThat(response.getBody()[count - 1].getIssueKey()).isEqualTo(project.getKey() + "-" + count);
+            assertThat(response.getBody()).extracting(IssueDto::getId).doesNotContainNull().doesNotHaveDuplicates();
+            assertThat(issueRepository.countByProjectId(project.getId())).isEqualTo(count);
+
+            // then expect the next issue to follow them
+            IssueDto next = restTemplate.postForEntity(baseUrl, httpEntity, IssueDto.class).getBody();
+            assertThat(next.getPosition()).isEqualTo(count + 1);
+            assertThat(next.getRank()).isGreaterThan(response.getBody()[count - 1].getRank());
+        }
+
+        @Test
+        public void givenCreateIssuesInBulk_whenProjectDoesNotExist_itShouldReturnProjectNotFoundError() {
+            // when a POST request is made to create issues in bulk in a project that does not exist
+            ResponseEntity<ApiError> response = restTemplate.postForEntity(
+                    "/issues/bulk?project=404",
+                    new HttpEntity<>(List.of(issue1), headers),
+                    ApiError.class
+            );
+
+            // then expect a 404 project not found error
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(response.getBody().getErrorMessage()).isEqualTo("Project not found");
+        }
+
+        @Test
+        public void givenCreateIssue_itShouldSetItsKey() {
+            // when POST requests are made to create issues
+            final IssueDto createdIssue1 = restTemplate.postForEntity(baseUrl, httpEntity, IssueDto.class).getBody();
+            final IssueDto createdIssue2 = restTemplate.postForEntity(baseUrl, httpEntity, IssueDto.class).getBody();
+
+            // then expect their keys to be made of the project key and their number
+            assertThat(createdIssue1.getIssueKey()).isEqualTo(project.getKey() + "-1");
+            assertThat(createdIssue2.getIssueKey()).isEqualTo(project.getKey() + "-2");
+        }
     }
 
     @Nested
@@ -261,29 +319,39 @@ public class IssueIT {
             assertThat(response.getBody().getId()).isPositive();
             assertThat(response.getBody()).isEqualTo(issue2);
 
-            // expect the response to contain a list of comments
-            assertThat(response.getBody()).hasFieldOrProperty("comments");
+            // expect the comments to be left out, they are fetched by pages of their own
+            assertThat(response.getBody().getComments()).isNull();
         }
 
         @Test
-        public void itShouldGetAllIssues() {
+        public void itShouldGetPagesOfIssues() {
             // given a list of issues
             List<Issue> issues = Arrays.asList(issue1, issue2);
             issueRepository.saveAll(issues);
 
-            // when a GET request to fetch the list of all issues is made
-            ResponseEntity<Issue[]> response = restTemplate.exchange(
-                    "/issues",
+            // when a GET request to fetch the first page of issues is made
+            ResponseEntity<CursorPage<IssueDto>> response = restTemplate.exchange(
+                    "/issues?size=1",
                     HttpMethod.GET,
                     httpEntity,
-                    Issue[].class
+                    new ParameterizedTypeReference<>() {}
             );
 
-            List<Issue> responseBody = Arrays.asList(response.getBody());
-
-            // then expect all issues to have been retrieved
+            // then expect the first issue and a cursor to the next page
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-            assertThat(responseBody).isEqualTo(issues);
+            assertThat(response.getBody().getContent()).containsExactly(modelMapper.map(issue1, IssueDto.class));
+            assertThat(response.getBody().getNextCursor()).isNotNull();
+
+            // when the next page is requested
+            ResponseEntity<CursorPage<IssueDto>> nextResponse = restTemplate.exchange(
+                    "/issues?size=1&cursor=" + response.getBody().getNextCursor(),
+                    HttpMethod.GET,
+                    httpEntity,
+                    new ParameterizedTypeReference<>() {}
+            );
+
+            // then expect the second issue
+            assertThat(nextResponse.getBody().getContent()).containsExactly(modelMapper.map(issue2, IssueDto.class));
         }
     }
 
@@ -296,9 +364,11 @@ public class IssueIT {
             // given the issue is created
             Issue issue = issueService.createIssue(issue1, authenticatedUser, project.getId());
 
-            // given the updated issue fields
+            // given the updated issue fields, without the issue key
+            final String issueKey = issue.getIssueKey();
             issue1.setSummary("updated summary");
             issue1.setType(IssueType.BUG);
+            issue1.setIssueKey(null);
 
             // given the request body
             HttpEntity<Issue> httpEntity = new HttpEntity<>(issue1, headers);
@@ -317,6 +387,9 @@ public class IssueIT {
             // the response should be the updated issue DTO
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(response.getBody()).isEqualToComparingOnlyGivenFields(updatedIssue);
+
+            // the issue key should have been kept
+            assertThat(response.getBody().getIssueKey()).isNotNull().isEqualTo(issueKey);
         }
 
         @Test
@@ -411,6 +484,44 @@ public class IssueIT {
             assertThat(response.getBody().getReporter()).isEqualToComparingOnlyGivenFields(authenticatedUser);
         }
 
+        @Test
+        public void itShouldPatchIssueAgainstItsETag() {
+            // given an issue
+            issue1 = issueService.createIssue(issue1, authenticatedUser, project.getId());
+            String url = "/issues/" + issue1.getId();
+
+            // given the issue ETag
+            String eTag = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class)
+                    .getHeaders().getETag();
+
+            // given a merge patch of the issue summary, made against that ETag
+            HttpHeaders patchHeaders = new HttpHeaders();
+            patchHeaders.addAll(headers);
+            patchHeaders.setContentType(MediaType.valueOf("application/merge-patch+json"));
+            patchHeaders.setIfMatch(eTag);
+
+            HttpEntity<String> httpEntity = new HttpEntity<>("{\"summary\": \"patched summary\"}", patchHeaders);
+
+            // when the PATCH request is made
+            ResponseEntity<IssueDto> response = restTemplate.exchange(url, HttpMethod.PATCH, httpEntity, IssueDto.class);
+
+            // then expect the summary alone to have been changed, under a new ETag
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getETag()).isNotNull().isNotEqualTo(eTag);
+            assertThat(response.getBody().getSummary()).isEqualTo("patched summary");
+
+            Issue patchedIssue = issueService.getIssueById(issue1.getId());
+            assertThat(patchedIssue.getSummary()).isEqualTo("patched summary");
+            assertThat(patchedIssue.getDescription()).isEqualTo(issue1.getDescription());
+            assertThat(patchedIssue.getPoints()).isEqualTo(issue1.getPoints());
+
+            // when the same patch is made again against the former ETag
+            ResponseEntity<ApiError> conflict = restTemplate.exchange(url, HttpMethod.PATCH, httpEntity, ApiError.class);
+
+            // then expect a precondition failed error
+            assertThat(conflict.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        }
+
         @Test
         public void itShouldSwapThePositionsOfTwoIssues() {
             // given the issues are created and belong to the same project
@@ -448,6 +559,41 @@ public class IssueIT {
             assertThat(issue2.getPosition()).isEqualTo(issue1Position);
         }
 
+        @Test
+        public void itShouldMoveAnIssueToTheTopOfTheBacklog() {
+            // given a backlog of issues created in order
+            List<Issue> backlog = new ArrayList<>();
+            for (int i = 0; i < 5; i++)
+                backlog.add(issueService.createIssue(Issue.builder().summary("issue " + i).build(), authenticatedUser, project.getId()));
+
+            Issue first = backlog.get(0);
+            Issue last = backlog.get(backlog.size() - 1);
+
+            // given the request body
+            final ObjectNode requestBody = mapper.createObjectNode();
+            requestBody.put("before", first.getId());
+
+            // when a PATCH request is made to move the last issue before the first one
+            ResponseEntity<IssueDto> response = restTemplate.exchange(
+                    "/issues/" + last.getId() + "/rank",
+                    HttpMethod.PATCH,
+                    new HttpEntity<>(requestBody, headers),
+                    IssueDto.class
+            );
+
+            // then expect the last issue to be the first one of the backlog
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getRank()).isLessThan(first.getRank());
+
+            List<Long> orderedIds = projectService.getOrderedBacklogDtos(project.getId()).stream()
+                    .map(IssueDto::getId)
+                    .collect(Collectors.toList());
+
+            assertThat(orderedIds).containsExactly(
+                    last.getId(), backlog.get(0).getId(), backlog.get(1).getId(), backlog.get(2).getId(), backlog.get(3).getId()
+            );
+        }
+
         @Test
         public void givenSwapIssuesPositions_whenIssuesDoNotBelongToTheSameProject_itShouldNotSwapTheirPositions() {
             // given two distinct projects
@@ -508,6 +654,28 @@ public class IssueIT {
                     .withMessageContaining("Issue not found");
         }
 
+        @Test
+        public void givenDeleteIssue_whenIssueWasDeletedWithoutTheService_itShouldReturnIssueNotFoundError() {
+            // given an issue whose snapshot is cached
+            Issue issue = issueService.createIssue(issue1, authenticatedUser, project.getId());
+            issueService.getIssueSnapshot(issue.getId());
+
+            // given the issue is deleted through the repository
+            issueRepository.deleteById(issue.getId());
+
+            // when a delete request is made
+            ResponseEntity<ApiError> response = restTemplate.exchange(
+                    "/issues/" + issue.getId(),
+                    HttpMethod.DELETE,
+                    new HttpEntity<>(headers),
+                    ApiError.class
+            );
+
+            // then the stale snapshot should not have been served
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(response.getBody().getErrorMessage()).contains("Issue not found");
+        }
+
         @Test
         public void givenDeleteIssue_whenIssueDoesNotExist_itShouldReturnIssueNotFoundError() {
             String errorMessage = "Issue not found";
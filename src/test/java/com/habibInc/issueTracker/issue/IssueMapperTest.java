@@ -0,0 +1,89 @@
+package com.habibInc.issueTracker.issue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.habibInc.issueTracker.comment.Comment;
+import com.habibInc.issueTracker.comment.CommentDto;
+import com.habibInc.issueTracker.comment.CommentMapper;
+import com.habibInc.issueTracker.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IssueMapperTest {
+
+    ModelMapper modelMapper = new ModelMapper();
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    Issue issue;
+    User reporter, assignee;
+
+    @BeforeEach
+    public void setup() {
+        reporter = User.builder().id(1L).username("reporter").fullName("Reporter").email("reporter@email.me").build();
+        assignee = User.builder().id(2L).username("assignee").fullName("Assignee").email("assignee@email.me").build();
+
+        issue = Issue.builder()
+                .id(100L)
+                .IssueKey("IT-1")
+                .summary("Issue summary")
+                .description("Issue description")
+                .type(IssueType.BUG)
+                .status(IssueStatus.IN_PROGRESS)
+                .priority(IssuePriority.HIGH)
+                .position(3)
+                .rank("i")
+                .points(5)
+                .commentCount(2)
+                .reporter(reporter)
+                .assignee(assignee)
+                .creationTime(LocalDateTime.now())
+                .updateTime(LocalDateTime.now())
+                .build();
+
+        issue.setComments(List.of(
+                Comment.builder().id(10L).content("first").issue(issue).owner(reporter).creationTime(LocalDateTime.now()).build(),
+                Comment.builder().id(20L).content("second").issue(issue).owner(assignee).creationTime(LocalDateTime.now()).build()
+        ));
+    }
+
+    @Test
+    public void itShouldMapIssueLikeTheModelMapper() throws Exception {
+        // when the issue is mapped by hand and by the model mapper
+        IssueDto mapped = IssueMapper.toDto(issue);
+        IssueDto expected = modelMapper.map(issue, IssueDto.class);
+
+        // then both dtos should serialize the same way
+        assertThat(objectMapper.writeValueAsString(mapped)).isEqualTo(objectMapper.writeValueAsString(expected));
+        assertThat(mapped.getCommentCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void itShouldMapIssueWithoutAssociationsLikeTheModelMapper() throws Exception {
+        // given an issue without comments nor users
+        Issue bare = Issue.builder().id(200L).summary("bare").build();
+
+        // then the missing associations should be mapped to null
+        assertThat(objectMapper.writeValueAsString(IssueMapper.toDto(bare)))
+                .isEqualTo(objectMapper.writeValueAsString(modelMapper.map(bare, IssueDto.class)));
+    }
+
+    @Test
+    public void itShouldMapCommentLikeTheModelMapper() throws Exception {
+        Comment comment = issue.getComments().get(0);
+
+        assertThat(objectMapper.writeValueAsString(CommentMapper.toDto(comment)))
+                .isEqualTo(objectMapper.writeValueAsString(modelMapper.map(comment, CommentDto.class)));
+    }
+
+    @Test
+    public void itShouldMapNullToNull() {
+        assertThat(IssueMapper.toDto(null)).isNull();
+        assertThat(IssueMapper.toDtos(null)).isNull();
+    }
+}
@@ -0,0 +1,113 @@
+package com.habibInc.issueTracker.issue;
+
+import com.habibInc.issueTracker.change.ChangeTracker;
+import com.habibInc.issueTracker.project.ProjectSequence;
+import com.habibInc.issueTracker.project.ProjectSequenceAllocator;
+import com.habibInc.issueTracker.project.ProjectSequenceRepository;
+import com.habibInc.issueTracker.utils.rank.Rank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class IssueRankRebalancerTest {
+
+    @InjectMocks
+    IssueRankRebalancer rankRebalancer;
+
+    @Mock
+    IssueRepository issueRepository;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    ChangeTracker changeTracker;
+
+    @Mock
+    ProjectSequenceRepository sequenceRepository;
+
+    @Mock
+    ProjectSequenceAllocator sequenceAllocator;
+
+    @BeforeEach
+    public void init() {
+        initMocks(this);
+
+        // run the transaction callbacks right away
+        when(transactionTemplate.execute(any())).thenAnswer(
+                (invocation) -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    public void itShouldSpreadTheProjectRanksInTheirCurrentOrder() {
+        // given the project issues ids ordered by rank
+        List<Long> ids = List.of(30L, 10L, 20L);
+        when(issueRepository.findIdsByProjectIdOrderByRank(1L)).thenReturn(ids);
+
+        // when the project is rebalanced
+        int count = rankRebalancer.rebalance(1L);
+
+        // then expect the issues to have been given evenly spread ranks, in the same order
+        List<String> ranks = Rank.spread(ids.size());
+
+        assertThat(count).isEqualTo(ids.size());
+        verify(issueRepository).updateRank(30L, ranks.get(0));
+        verify(issueRepository).updateRank(10L, ranks.get(1));
+        verify(issueRepository).updateRank(20L, ranks.get(2));
+    }
+
+    @Test
+    public void itShouldAppendTheNextIssuesAfterTheLastSpreadRank() {
+        // given the locked sequence row of the project, with a rank tail at the top of the range
+        ProjectSequence sequence = new ProjectSequence(1L, 10L, "zzzzzzzzzzzzz");
+        when(sequenceRepository.findForUpdate(1L)).thenReturn(Optional.of(sequence));
+        when(issueRepository.findIdsByProjectIdOrderByRank(1L)).thenReturn(List.of(30L, 10L));
+
+        // when the project is rebalanced
+        rankRebalancer.rebalance(1L);
+
+        // then expect the rank tail to have been moved back to the last spread rank
+        assertThat(sequence.getRankTail()).isEqualTo(Rank.spread(2).get(1));
+
+        // then expect the ranks reserved by this node before the rewrite to have been discarded
+        verify(sequenceAllocator).discardRanks(1L);
+    }
+
+    @Test
+    public void itShouldRebalanceScheduledProjectsOnce() {
+        when(issueRepository.findIdsByProjectIdOrderByRank(any())).thenReturn(List.of());
+
+        // given a project scheduled twice
+        rankRebalancer.schedule(1L);
+        rankRebalancer.schedule(1L);
+
+        // when the pending projects are rebalanced twice
+        rankRebalancer.rebalancePendingProjects();
+        rankRebalancer.rebalancePendingProjects();
+
+        // then expect the project to have been rebalanced once
+        verify(issueRepository, times(1)).findIdsByProjectIdOrderByRank(1L);
+    }
+
+    @Test
+    public void itShouldRebalanceAllTheProjectsNeedingIt() {
+        when(issueRepository.findProjectIdsToRebalance(Rank.MAX_LENGTH)).thenReturn(List.of(1L, 2L));
+        when(issueRepository.findIdsByProjectIdOrderByRank(any())).thenReturn(List.of());
+
+        rankRebalancer.rebalanceAll();
+
+        verify(issueRepository).findIdsByProjectIdOrderByRank(1L);
+        verify(issueRepository).findIdsByProjectIdOrderByRank(2L);
+    }
+}
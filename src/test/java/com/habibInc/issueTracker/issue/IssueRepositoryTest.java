@@ -6,20 +6,25 @@ import com.habibInc.issueTracker.project.Project;
 import com.habibInc.issueTracker.project.ProjectRepository;
 import com.habibInc.issueTracker.sprint.Sprint;
 import com.habibInc.issueTracker.sprint.SprintRepository;
+import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.util.comparator.Comparators;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -39,6 +44,12 @@ public class IssueRepositoryTest {
     @Autowired
     ProjectRepository projectRepository;
 
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
     Issue issue1, issue2;
     Project project;
     Sprint sprint;
@@ -165,6 +176,124 @@ public class IssueRepositoryTest {
         assertThat(paginatedIssuesList).isEqualTo(issues.subList(0, size));
     }
 
+    @Test
+    public void itShouldFindTheFirstIssuesOfEachColumnWithTheirColumnTotals() {
+        // given two columns, the first one holding more issues than the window
+        Column todo = columnRepository.save(Column.builder().title("To do").build());
+        Column done = columnRepository.save(Column.builder().title("Done").build());
+        Column empty = columnRepository.save(Column.builder().title("Empty").build());
+
+        Issue third = issueRepository.save(Issue.builder().column(todo).summary("third").position(3).build());
+        Issue first = issueRepository.save(Issue.builder().column(todo).summary("first").position(1).build());
+        Issue second = issueRepository.save(Issue.builder().column(todo).summary("second").position(1).build());
+        Issue closed = issueRepository.save(Issue.builder().column(done).summary("closed").position(0).build());
+
+        // when the windows of two issues are fetched
+        List<IssueRepository.ColumnWindowView> windows =
+                issueRepository.findColumnWindows(List.of(todo.getId(), done.getId(), empty.getId()), 2);
+
+        // then expect the first issues of each column by position then id, along with their column totals
+        assertThat(windows).extracting(IssueRepository.ColumnWindowView::getId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId(), closed.getId());
+
+        assertThat(windows).filteredOn((window) -> window.getColumnId().equals(todo.getId()))
+                .extracting(IssueRepository.ColumnWindowView::getTotal).containsOnly(3L);
+        assertThat(windows).filteredOn((window) -> window.getColumnId().equals(done.getId()))
+                .extracting(IssueRepository.ColumnWindowView::getTotal).containsOnly(1L);
+
+        // when the issues following the window are fetched, then expect the remaining one
+        List<IssueRepository.IssueView> next = issueRepository.findViewsByColumnIdAfter(
+                todo.getId(), second.getPosition(), second.getId(), PageRequest.of(0, 2));
+
+        assertThat(next).extracting(IssueRepository.IssueView::getId).containsExactly(third.getId());
+    }
+
+    @Test
+    public void itShouldFindTheBoardOfEachIssueAndShiftTheColumnPositions() {
+        // given a column of a board holding two issues, and an issue outside of any column
+        Column column = columnRepository.save(Column.builder().title("To do").build());
+        Issue first = issueRepository.save(Issue.builder().column(column).summary("first").position(1).build());
+        Issue second = issueRepository.save(Issue.builder().column(column).summary("second").position(2).build());
+        Issue moved = issueRepository.save(Issue.builder().summary("moved").position(7).build());
+
+        // when the boards of the issues are looked up, then expect the column of each one
+        List<IssueRepository.IssueBoardView> views = issueRepository.findBoardViewsByIdIn(List.of(first.getId(), moved.getId()));
+        assertThat(views).extracting(IssueRepository.IssueBoardView::getId).containsExactlyInAnyOrder(first.getId(), moved.getId());
+        assertThat(views).filteredOn((view) -> view.getId().equals(moved.getId()))
+                .extracting(IssueRepository.IssueBoardView::getColumnId).containsOnlyNulls();
+
+        // when room is made for one issue at the position 2, then expect the issues at or after it to be pushed down
+        assertThat(issueRepository.shiftPositions(column.getId(), 2, 1, List.of(moved.getId()))).isEqualTo(1);
+        issueRepository.updatePosition(moved.getId(), 2);
+
+        assertThat(issueRepository.findById(first.getId()).get().getPosition()).isEqualTo(1);
+        assertThat(issueRepository.findById(second.getId()).get().getPosition()).isEqualTo(3);
+        assertThat(issueRepository.findById(moved.getId()).get().getPosition()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenPositionUpdates_itShouldKeepThePendingChanges() {
+        // given a column issue with changes not flushed yet
+        Column column = columnRepository.save(Column.builder().title("To do").build());
+        Issue issue = issueRepository.save(Issue.builder().column(column).summary("summary").position(1).build());
+        issue.setSummary("updated summary");
+
+        // when the positions are updated, clearing the persistence context
+        issueRepository.shiftPositions(column.getId(), 1, 1, List.of(0L));
+        issueRepository.updatePosition(issue.getId(), 5);
+
+        // then expect the changes made before to have been flushed rather than dropped
+        Issue storedIssue = issueRepository.findById(issue.getId()).get();
+        assertThat(storedIssue.getSummary()).isEqualTo("updated summary");
+        assertThat(storedIssue.getPosition()).isEqualTo(5);
+    }
+
+    @Test
+    public void itShouldFindIssuesFollowingIdOrderedById() {
+        // given a list of issues
+        List<Issue> issues = (List<Issue>) issueRepository.saveAll(
+                List.of(
+                        Issue.builder().summary("issue 1").build(),
+                        Issue.builder().summary("issue 2").build(),
+                        Issue.builder().summary("issue 3").build(),
+                        Issue.builder().summary("issue 4").build()
+                )
+        );
+
+        // given the id of the last seen issue
+        Long lastId = issues.get(0).getId();
+
+        // when the repository is invoked to fetch the issues that follow it
+        List<Issue> page = issueRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, 2));
+
+        // then expect the next issues ordered by id
+        assertThat(page).containsExactlyElementsOf(issues.subList(1, 3));
+    }
+
+    @Test
+    public void itShouldFindProjectIssuesFollowingIdOrderedById() {
+        // given two projects
+        final Project project1 = projectRepository.save(Project.builder().name("project 01").build());
+        final Project project2 = projectRepository.save(Project.builder().name("project 02").build());
+
+        // given issues of both projects
+        List<Issue> issues = (List<Issue>) issueRepository.saveAll(
+                List.of(
+                        Issue.builder().project(project1).summary("issue 11").build(),
+                        Issue.builder().project(project2).summary("issue 21").build(),
+                        Issue.builder().project(project1).summary("issue 12").build()
+                )
+        );
+
+        // when the repository is invoked to fetch the first page of the first project issues
+        List<Issue> page = issueRepository.findAllByProjectIdAndIdGreaterThanOrderByIdAsc(
+                project1.getId(), 0L, PageRequest.of(0, 10)
+        );
+
+        // then expect only the first project issues
+        assertThat(page).containsExactly(issues.get(0), issues.get(2));
+    }
+
     @Test
     public void itShouldUpdateIssueColumn() {
         // given two distinct columns
@@ -321,25 +450,116 @@ public class IssueRepositoryTest {
     }
 
     @Test
-    public void itShouldReturnIssuesByProjectIdAndSprintIdOrderedByPosition() {
+    public void itShouldReturnIssuesByProjectIdAndSprintIdOrderedByRank() {
         // given the project
         project = projectRepository.save(project);
 
-        // given a list of issues with different positions
+        // given a list of issues with different ranks
         List<Issue> issues = List.of(
-                Issue.builder().project(project).position(3).summary("issue 10").build(),
-                Issue.builder().project(project).position(1).summary("issue 20").build(),
-                Issue.builder().project(project).position(2).summary("issue 30").build()
+                Issue.builder().project(project).rank("k").summary("issue 10").build(),
+                Issue.builder().project(project).rank("b").summary("issue 20").build(),
+                Issue.builder().project(project).rank("b8").summary("issue 30").build()
         );
 
         issueRepository.saveAll(issues);
 
-        // when the repository is invoked to fetch the product backlog ordered by position
+        // when the repository is invoked to fetch the product backlog ordered by rank
         List<Issue> productBacklog =
-                issueRepository.findAllByProjectIdAndSprintIdOrderByPosition(project.getId(), null);
+                issueRepository.findAllByProjectIdAndSprintIdOrderByRankAscIdAsc(project.getId(), null);
+
+        // then the product backlog should be ordered by issues' ranks
+        assertThat(productBacklog).extracting(Issue::getRank).containsExactly("b", "b8", "k");
+    }
+
+    @Test
+    public void itShouldFindTheRanksNextToAnIssueInTheSameList() {
+        // given a project and a sprint
+        project = projectRepository.save(project);
+        sprint = sprintRepository.save(sprint);
 
-        // then the product backlog should be ordered by issues' positions
-        assertThat(productBacklog).isSortedAccordingTo(Comparator.comparingInt(Issue::getPosition));
+        // given backlog issues and a sprint issue ranked in between
+        Issue first = issueRepository.save(Issue.builder().project(project).rank("a").build());
+        Issue second = issueRepository.save(Issue.builder().project(project).rank("c").build());
+        Issue third = issueRepository.save(Issue.builder().project(project).rank("e").build());
+        issueRepository.save(Issue.builder().project(project).sprint(sprint).rank("d").build());
+
+        // when the neighbours of the second issue are fetched within the product backlog
+        Optional<IssueRepository.RankView> previous = issueRepository
+                .findFirstByProjectIdAndSprintIdAndRankLessThanAndIdNotOrderByRankDesc(project.getId(), null, "c", third.getId());
+        Optional<IssueRepository.RankView> next = issueRepository
+                .findFirstByProjectIdAndSprintIdAndRankGreaterThanAndIdNotOrderByRankAsc(project.getId(), null, "c", first.getId());
+
+        // then expect the sprint issue to be skipped
+        assertThat(previous.get().getRank()).isEqualTo(first.getRank());
+        assertThat(next.get().getRank()).isEqualTo(third.getRank());
+
+        // then expect the excluded issue to be skipped too
+        assertThat(issueRepository
+                .findFirstByProjectIdAndSprintIdAndRankGreaterThanAndIdNotOrderByRankAsc(project.getId(), null, "c", third.getId()))
+                .isEmpty();
+        assertThat(second.getRank()).isEqualTo("c");
+    }
+
+    @Test
+    public void itShouldUpdateTheRankOfAnIssue() {
+        // given an issue
+        issue1.setRank("i");
+        issue1 = issueRepository.save(issue1);
+
+        // when its rank is updated
+        issueRepository.updateRank(issue1.getId(), "h8");
+        entityManager.clear();
+
+        // then expect the new rank to have been saved
+        assertThat(issueRepository.findById(issue1.getId()).get().getRank()).isEqualTo("h8");
+    }
+
+    @Test
+    public void itShouldNotUpdateTheRankWhenSavingTheIssue() {
+        // given an issue
+        issue1.setRank("i");
+        issue1 = issueRepository.save(issue1);
+
+        // when the issue is saved with another rank
+        issue1.setRank("z");
+        issueRepository.save(issue1);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // then expect the rank to be left untouched
+        assertThat(issueRepository.findById(issue1.getId()).get().getRank()).isEqualTo("i");
+    }
+
+    @Test
+    public void itShouldFindProjectsToRebalance() {
+        // given a project with unranked issues, one with too long ranks and one with short ranks
+        Project unranked = projectRepository.save(Project.builder().name("Unranked").build());
+        Project longRanks = projectRepository.save(Project.builder().name("Long ranks").build());
+        Project shortRanks = projectRepository.save(Project.builder().name("Short ranks").build());
+
+        issueRepository.save(Issue.builder().project(unranked).build());
+        issueRepository.save(Issue.builder().project(longRanks).rank("i0000000000001").build());
+        issueRepository.save(Issue.builder().project(shortRanks).rank("i").build());
+
+        // then expect only the projects needing a rebalance
+        assertThat(issueRepository.findProjectIdsToRebalance(12))
+                .containsExactlyInAnyOrder(unranked.getId(), longRanks.getId());
+    }
+
+    @Test
+    public void itShouldFindIssueIdsOrderedByRank() {
+        // given a project with ranked and unranked issues
+        project = projectRepository.save(project);
+
+        Issue ranked = issueRepository.save(Issue.builder().project(project).rank("b").build());
+        Issue unranked = issueRepository.save(Issue.builder().project(project).position(2).build());
+        Issue rankedFirst = issueRepository.save(Issue.builder().project(project).rank("a").build());
+        Issue unrankedFirst = issueRepository.save(Issue.builder().project(project).position(1).build());
+
+        // then expect the unranked issues first, ordered by their position
+        assertThat(issueRepository.findIdsByProjectIdOrderByRank(project.getId()))
+                .containsExactly(unrankedFirst.getId(), unranked.getId(), rankedFirst.getId(), ranked.getId());
     }
 
     @Test
@@ -418,4 +638,136 @@ public class IssueRepositoryTest {
         assertThat(issue1.getPosition()).isEqualTo(position2);
         assertThat(issue2.getPosition()).isEqualTo(position1);
     }
+
+    @Test
+    public void itShouldStreamIssueViewsByProjectIdOrderedById() {
+        // given a project and another project
+        project = projectRepository.save(project);
+        Project project2 = projectRepository.save(Project.builder().name("Project 2").build());
+
+        // given the issues of both projects
+        issue1.setProject(project);
+        issue2.setProject(project);
+
+        issue2 = issueRepository.save(issue2);
+        issue1 = issueRepository.save(issue1);
+        issueRepository.save(Issue.builder().summary("Other").project(project2).build());
+
+        // when the project issues are streamed
+        try (Stream<IssueRepository.IssueView> issues = issueRepository.streamViewsByProjectId(project.getId())) {
+            // then expect only the project issues to be streamed, ordered by id
+            assertThat(issues.map(IssueRepository.IssueView::getId).collect(Collectors.toList()))
+                    .containsExactly(issue2.getId(), issue1.getId());
+        }
+    }
+
+    @Test
+    public void itShouldFindTheIdsOfTheIssuesMatchingTheFilter() {
+        // given a project, another project and a user
+        project = projectRepository.save(project);
+        Project project2 = projectRepository.save(Project.builder().name("Project 2").build());
+        User user = userRepository.save(User.builder()
+                .username("assignee").fullName("Assignee").email("assignee@email.me").password("assignee@pass").build());
+
+        // given the issues that match the filter, in the project and in the other project
+        Issue match1 = issueRepository.save(Issue.builder().project(project).assignee(user)
+                .priority(IssuePriority.HIGH).type(IssueType.BUG).status(IssueStatus.UNRESOLVED).build());
+        Issue match2 = issueRepository.save(Issue.builder().project(project).assignee(user)
+                .priority(IssuePriority.HIGH).type(IssueType.BUG).status(IssueStatus.IN_PROGRESS).build());
+        issueRepository.save(Issue.builder().project(project2).assignee(user)
+                .priority(IssuePriority.HIGH).type(IssueType.BUG).status(IssueStatus.UNRESOLVED).build());
+
+        // given the issues that differ by a single criterion
+        issueRepository.save(Issue.builder().project(project).assignee(user)
+                .priority(IssuePriority.LOW).type(IssueType.BUG).status(IssueStatus.UNRESOLVED).build());
+        issueRepository.save(Issue.builder().project(project).assignee(user)
+                .priority(IssuePriority.HIGH).type(IssueType.TASK).status(IssueStatus.UNRESOLVED).build());
+        issueRepository.save(Issue.builder().project(project).assignee(user)
+                .priority(IssuePriority.HIGH).type(IssueType.BUG).status(IssueStatus.RESOLVED).build());
+        issueRepository.save(Issue.builder().project(project)
+                .priority(IssuePriority.HIGH).type(IssueType.BUG).status(IssueStatus.UNRESOLVED).build());
+
+        // when the unresolved high priority bugs assigned to the user are filtered
+        IssueFilter filter = IssueFilter.of("unresolved,in progress", "HIGH", "Bug", "me", null, user);
+
+        List<Long> ids = issueRepository.findIds(
+                IssueSpecifications.matching(project.getId(), filter), IssueSort.parse(null).toSort(), 10);
+
+        // then expect the matching issues of the project only, ordered by id
+        assertThat(ids).containsExactly(match1.getId(), match2.getId());
+    }
+
+    @Test
+    public void itShouldPageThroughTheFilteredIssuesWithoutSkippingOrRepeatingAny() {
+        project = projectRepository.save(project);
+        sprint.setProject(project);
+        sprint = sprintRepository.save(sprint);
+
+        // given backlog issues with duplicated and missing ranks and update times
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        String[] ranks = {"b", "a", null, "b", "c", null, "a", "d", "b"};
+
+        for (int i = 0; i < ranks.length; i++) {
+            issueRepository.save(Issue.builder()
+                    .project(project)
+                    .rank(ranks[i])
+                    .updateTime(i % 3 == 0 ? null : now.minusMinutes(i % 2))
+                    .build());
+        }
+
+        // given an issue of the sprint, left out by the filter
+        issueRepository.save(Issue.builder().project(project).sprint(sprint).rank("a").build());
+
+        IssueFilter filter = IssueFilter.of(null, null, null, null, "none", null);
+
+        for (String sort : List.of("id", "-id", "rank", "-rank", "updateTime", "-updateTime")) {
+            IssueSort issueSort = IssueSort.parse(sort);
+
+            // given the whole ordered list
+            List<Long> expected = issueRepository.findIds(
+                    IssueSpecifications.matching(project.getId(), filter), issueSort.toSort(), 100);
+
+            // when it is fetched by pages of two issues, each one starting after the last issue of the previous one
+            List<Long> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                List<Long> ids = issueRepository.findIds(
+                        IssueSpecifications.matching(project.getId(), filter).and(issueSort.after(cursor)),
+                        issueSort.toSort(), 2);
+
+                paged.addAll(ids);
+
+                cursor = ids.size() < 2 ? null : issueSort.cursorOf(issueRepository.findViewsByIdIn(List.of(ids.get(1))).get(0));
+            } while (cursor != null);
+
+            // then expect the pages to hold the whole list, in the same order
+            assertThat(expected).as(sort).hasSize(ranks.length);
+            assertThat(paged).as(sort).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    public void itShouldMoveTheSprintIssuesOutsideTheColumnToTheProductBacklog() {
+        // given a sprint holding a finished issue, an unfinished one and one outside of any column
+        Sprint closedSprint = sprintRepository.save(Sprint.builder().name("Closed sprint").build());
+        Column toDo = columnRepository.save(Column.builder().title("To do").build());
+        Column done = columnRepository.save(Column.builder().title("Done").build());
+
+        Issue finished = issueRepository.save(Issue.builder().summary("finished").sprint(closedSprint).column(done).build());
+        Issue unfinished = issueRepository.save(Issue.builder().summary("unfinished").sprint(closedSprint).column(toDo).build());
+        Issue unplanned = issueRepository.save(Issue.builder().summary("unplanned").sprint(closedSprint).build());
+
+        // when the issues outside of the done column are moved back to the product backlog
+        int moved = issueRepository.moveSprintIssuesOutsideColumnToProductBacklog(closedSprint.getId(), done.getId());
+
+        // then expect the finished issue alone to stay in the sprint
+        assertThat(moved).isEqualTo(2);
+        assertThat(issueRepository.findById(finished.getId()).get().getSprint()).isEqualTo(closedSprint);
+        assertThat(issueRepository.findById(unfinished.getId()).get().getSprint()).isNull();
+        assertThat(issueRepository.findById(unplanned.getId()).get().getSprint()).isNull();
+
+        // when no column is kept, then expect every issue of the sprint to be moved
+        assertThat(issueRepository.moveSprintIssuesOutsideColumnToProductBacklog(closedSprint.getId(), null)).isEqualTo(1);
+        assertThat(issueRepository.findById(finished.getId()).get().getSprint()).isNull();
+    }
 }
@@ -2,19 +2,45 @@ package com.habibInc.issueTracker.issue;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.habibInc.issueTracker.change.ChangeTracker;
+import com.habibInc.issueTracker.column.Column;
+import com.habibInc.issueTracker.column.ColumnCounter;
+import com.habibInc.issueTracker.event.BoardEventBroker;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
 import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
+import com.habibInc.issueTracker.exceptionhandler.InvalidPatchException;
+import com.habibInc.issueTracker.exceptionhandler.PreconditionFailedException;
+import com.habibInc.issueTracker.flow.ColumnTransitionLog;
+import com.habibInc.issueTracker.history.IssueHistory;
 import com.habibInc.issueTracker.project.Project;
+import com.habibInc.issueTracker.project.ProjectSequenceAllocator;
+import com.habibInc.issueTracker.project.ProjectSequenceRepository;
 import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.search.SearchService;
+import com.habibInc.issueTracker.sprint.Sprint;
+import com.habibInc.issueTracker.stats.IssueCounter;
+import com.habibInc.issueTracker.stats.IssueFacets;
 import com.habibInc.issueTracker.user.User;
 import com.habibInc.issueTracker.user.UserService;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import com.habibInc.issueTracker.utils.patch.MergePatch;
+import com.habibInc.issueTracker.utils.rank.Rank;
+import com.habibInc.issueTracker.vote.IssueVoteRepository;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -39,13 +65,63 @@ public class IssueServiceTest {
     @Mock
     UserService userService;
 
+    @Mock
+    SearchService searchService;
+
+    @Mock
+    IssueRankRebalancer rankRebalancer;
+
+    @Mock
+    ProjectSequenceAllocator sequenceAllocator;
+
+    @Mock
+    ProjectSequenceRepository sequenceRepository;
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    ChangeTracker changeTracker;
+
+    @Mock
+    IssueCounter issueCounter;
+
+    @Mock
+    IssueHistory issueHistory;
+
+    @Mock
+    IssueVoteRepository voteRepository;
+
+    @Mock
+    BoardEventBroker eventBroker;
+
+    @Mock
+    ColumnCounter columnCounter;
+
+    @Mock
+    ColumnTransitionLog transitionLog;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Spy
+    IssueCache issueCache = new IssueCache(100, 60000);
+
+    @Spy
+    MergePatch mergePatch = new MergePatch(new ObjectMapper());
+
     Issue issue1, issue2;
     User authenticatedUser;
+    Project project;
 
     @BeforeEach
     public void init() {
         // initialize mocks
         initMocks(this);
+
+        // run the transaction callbacks right away
+        when(transactionTemplate.execute(any())).thenAnswer(
+                (invocation) -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
     }
 
     @BeforeEach
@@ -91,6 +167,10 @@ public class IssueServiceTest {
 
         // set another reporter for issue2
         issue2.setReporter(reporter);
+
+        // set up the issues project
+        project = Project.builder().id(100L).name("Issues project").key("IP").build();
+        when(projectService.getProjectById(any())).thenReturn(project);
     }
 
     @Test
@@ -106,6 +186,18 @@ public class IssueServiceTest {
         assertThat(createdIssue).isEqualTo(issue1);
     }
 
+    @Test
+    public void givenCreateIssue_itShouldCountTheIssue() {
+        when(issueRepository.save(issue1)).thenReturn(issue1);
+
+        // when the issue is created
+        issueService.createIssue(issue1, authenticatedUser, project.getId());
+
+        // then expect the issue to have been counted in its project
+        verify(issueCounter).added(IssueFacets.of(issue1));
+        assertThat(IssueFacets.of(issue1).getProjectId()).isEqualTo(project.getId());
+    }
+
     @Test
     public void givenCreateIssue_itShouldSetReporter() {
         // given a reporter
@@ -141,21 +233,168 @@ public class IssueServiceTest {
 
     @Test
     public void givenCreateIssue_itShouldSetPosition() {
-        // given the project id
-        Long projectId = 100L;
+        // given the next number of the project sequence
+        when(sequenceAllocator.next(project.getId())).thenReturn(6L);
+        when(issueRepository.save(issue1)).thenReturn(issue1);
 
-        // given the issues count
-        int issuesCount = 5;
+        // when the service is invoked to create the issue
+        issueService.createIssue(issue1, authenticatedUser, project.getId());
 
+        // then expect the issue's position to have been set without counting the project issues
+        assertThat(issue1.getPosition()).isEqualTo(6);
+        verify(issueRepository, never()).countByProjectId(any());
+    }
+
+    @Test
+    public void givenCreateIssue_itShouldSetKey() {
+        // given the next number of the project sequence
+        when(sequenceAllocator.next(project.getId())).thenReturn(1234L);
         when(issueRepository.save(issue1)).thenReturn(issue1);
-        when(issueRepository.countByProjectId(projectId)).thenReturn(issuesCount);
 
         // when the service is invoked to create the issue
+        issueService.createIssue(issue1, authenticatedUser, project.getId());
+
+        // then expect the key to be made of the project key and the number
+        assertThat(issue1.getIssueKey()).isEqualTo("IP-1234");
+    }
+
+    @Test
+    public void givenCreateIssue_whenTheProjectHasNoKey_itShouldAssignOne() {
+        // given a project created before the keys existed
+        project.setKey(null);
+        when(projectService.assignKey(project)).thenReturn("IP");
+
+        when(sequenceAllocator.next(project.getId())).thenReturn(17L);
+        when(issueRepository.save(issue1)).thenReturn(issue1);
+
+        // when the service is invoked to create the issue
+        issueService.createIssue(issue1, authenticatedUser, project.getId());
+
+        // then expect the project to have been given a key first
+        assertThat(issue1.getIssueKey()).isEqualTo("IP-17");
+    }
+
+    @Test
+    public void givenCreateIssues_itShouldInsertThemInBatches() {
+        // given a list of issues larger than a batch
+        List<Issue> issues = new ArrayList<>();
+        for (int i = 0; i < IssueService.BULK_BATCH_SIZE + 2; i++)
+            issues.add(Issue.builder().summary("issue " + i).build());
+
+        // given the reserved range of numbers and the last rank of the project
+        when(sequenceAllocator.nextRange(project.getId(), issues.size())).thenReturn(41L);
+
+        List<String> ranks = new ArrayList<>();
+        String rank = "a";
+        for (int i = 0; i < issues.size(); i++)
+            ranks.add(rank = Rank.after(rank));
+        when(sequenceAllocator.nextRanks(project.getId(), issues.size())).thenReturn(ranks);
+        Session session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.getJdbcBatchSize()).thenReturn(null);
+
+        // when the issues are created in bulk
+        List<Issue> createdIssues = issueService.createIssues(issues, authenticatedUser, project.getId());
+
+        // then expect the project to have been fetched once
+        verify(projectService, times(1)).getProjectById(project.getId());
+
+        // then expect the issues to have been persisted with consecutive numbers and increasing ranks
+        assertThat(createdIssues).hasSize(issues.size());
+        verify(entityManager, times(issues.size())).persist(any(Issue.class));
+
+        assertThat(createdIssues.get(0).getIssueKey()).isEqualTo("IP-41");
+        assertThat(createdIssues.get(0).getPosition()).isEqualTo(41);
+        assertThat(createdIssues.get(issues.size() - 1).getIssueKey()).isEqualTo("IP-" + (41 + issues.size() - 1));
+        assertThat(createdIssues.get(0).getRank()).isGreaterThan("a");
+        assertThat(createdIssues).extracting(Issue::getRank).isSorted().doesNotHaveDuplicates();
+        assertThat(createdIssues).extracting(Issue::getReporter).containsOnly(authenticatedUser);
+        assertThat(createdIssues).extracting(Issue::getProject).containsOnly(project);
+
+        // then expect a flush per batch and the session batch size to have been restored
+        verify(session).setJdbcBatchSize(IssueService.BULK_BATCH_SIZE);
+        verify(entityManager, times(2)).flush();
+        verify(session).setJdbcBatchSize(null);
+
+        // then expect the issues to have been indexed
+        verify(searchService, times(issues.size())).indexIssue(eq(project.getId()), any(), any(), any());
+    }
+
+    @Test
+    public void givenCreateIssues_whenIssuesHaveIdsOrComments_itShouldInsertThemAsNewIssues() {
+        // given an issue with an id and comments
+        issue1.setComments(new ArrayList<>());
+
+        when(sequenceAllocator.nextRange(any(), anyInt())).thenReturn(1L);
+        when(sequenceAllocator.nextRanks(any(), anyInt())).thenReturn(List.of(Rank.INITIAL));
+        when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+
+        // when the issue is created in bulk
+        issueService.createIssues(List.of(issue1), authenticatedUser, project.getId());
+
+        // then expect a new issue to have been persisted, without its comments
+        assertThat(issue1.getId()).isNull();
+        assertThat(issue1.getComments()).isNull();
+        verify(entityManager).persist(issue1);
+    }
+
+    @Test
+    public void givenCreateIssues_whenProjectDoesNotExist_itShouldNotReserveNumbers() {
+        // given the project does not exist
+        when(projectService.getProjectById(404L)).thenThrow(new ResourceNotFoundException("Project not found"));
+
+        // when the issues are created in bulk then expect a not found error
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> issueService.createIssues(List.of(issue1), authenticatedUser, 404L))
+                .withMessage("Project not found");
+
+        verify(sequenceAllocator, never()).nextRange(any(), anyInt());
+        verify(sequenceAllocator, never()).nextRanks(any(), anyInt());
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    public void givenCreateIssue_itShouldRankTheIssueLastInTheProject() {
+        // given the next rank after the project rank tail
+        Long projectId = 100L;
+        when(sequenceAllocator.nextRank(projectId)).thenReturn(Rank.after("i"));
+        when(issueRepository.save(issue1)).thenReturn(issue1);
+
+        // when the issue is created
         issueService.createIssue(issue1, authenticatedUser, projectId);
 
-        // then expect the issue's position to have been set
-        assertThat(issue1.getPosition()).isEqualTo(issuesCount+1);
-        verify(issueRepository, times(1)).countByProjectId(projectId);
+        // then expect it to be ranked right after, without reading the greatest rank of the project
+        assertThat(issue1.getRank()).isEqualTo(Rank.after("i")).isGreaterThan("i");
+        verify(rankRebalancer, never()).schedule(any());
+    }
+
+    @Test
+    public void givenCreateIssue_whenRankGrowsTooLong_itShouldScheduleARebalance() {
+        // given the rank tail has no room left at its width
+        Long projectId = 100L;
+        when(sequenceAllocator.nextRank(projectId)).thenReturn("zzzzzzzzzzzzi");
+        when(issueRepository.save(issue1)).thenReturn(issue1);
+
+        // when the issue is created
+        issueService.createIssue(issue1, authenticatedUser, projectId);
+
+        // then expect a rebalance of the project to have been scheduled
+        verify(rankRebalancer).schedule(projectId);
+    }
+
+    @Test
+    public void givenCreateIssue_itShouldIndexTheIssue() {
+        // given the project
+        Project project = Project.builder().id(100L).name("Proj").build();
+
+        when(projectService.getProjectById(project.getId())).thenReturn(project);
+        when(issueRepository.save(issue1)).thenReturn(issue1);
+
+        // when an issue is created
+        issueService.createIssue(issue1, authenticatedUser, project.getId());
+
+        // then expect its summary and description to have been indexed
+        verify(searchService).indexIssue(project.getId(), issue1.getId(), issue1.getSummary(), issue1.getDescription());
     }
 
     @Test
@@ -184,19 +423,62 @@ public class IssueServiceTest {
     }
 
     @Test
-    public void itShouldGetAllIssues() {
-        // given a list of issues
-        List<Issue> issues = Arrays.asList(issue1, issue2);
+    public void itShouldGetFirstPageOfIssues() {
+        // given a page size
+        int size = 2;
+
+        // given the repository response
+        when(issueRepository.findAllByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(issue1, issue2));
+
+        // when the first page of issues is retrieved
+        CursorPage<Issue> page = issueService.getIssues(null, null, size);
+
+        // then expect the issues to have been retrieved with no next cursor
+        assertThat(page.getContent()).containsExactly(issue1, issue2);
+        assertThat(page.getNextCursor()).isNull();
+
+        // expect one extra issue to have been requested
+        verify(issueRepository).findAllByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, size + 1));
+    }
+
+    @Test
+    public void givenGetIssues_whenMoreIssuesFollow_itShouldReturnNextCursor() {
+        // given the repository returns one issue more than the page size
+        when(issueRepository.findAllByProjectIdAndIdGreaterThanOrderByIdAsc(eq(100L), eq(0L), any()))
+                .thenReturn(List.of(issue1, issue2));
+
+        // when a page of one issue is retrieved
+        CursorPage<Issue> page = issueService.getIssues(100L, null, 1);
+
+        // then expect the next cursor to point right after the last issue of the page
+        assertThat(page.getContent()).containsExactly(issue1);
+        assertThat(Cursor.decodeId(page.getNextCursor())).isEqualTo(issue1.getId());
+    }
+
+    @Test
+    public void givenGetIssues_itShouldSeekPastTheCursor() {
+        // given a cursor pointing at issue1
+        String cursor = Cursor.encode(issue1.getId());
 
-        // when issueRepository is invoked return the list of issues
-        when(issueRepository.findAll()).thenReturn(issues);
+        when(issueRepository.findAllByIdGreaterThanOrderByIdAsc(eq(issue1.getId()), any()))
+                .thenReturn(List.of(issue2));
 
-        // retrieve list of issues
-        Iterable<Issue> returnedIssues = issueService.getAllIssues();
+        // when the next page is retrieved
+        CursorPage<Issue> page = issueService.getIssues(null, cursor, 10);
 
-        // expect all issues to have been retrieved successfully
-        assertThat(returnedIssues).contains(issue1);
-        assertThat(returnedIssues).contains(issue2);
+        // then expect only the issues that follow the cursor
+        assertThat(page.getContent()).containsExactly(issue2);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void givenGetIssues_whenPageSizeIsTooLarge_itShouldCapIt() {
+        // when a page larger than the maximum page size is requested
+        issueService.getIssues(null, null, 100_000);
+
+        // then expect the page size to have been capped
+        verify(issueRepository).findAllByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, CursorPage.MAX_SIZE + 1));
     }
 
     @Test
@@ -215,6 +497,7 @@ public class IssueServiceTest {
 
         // mock the issue repository behaviour
         when(issueRepository.findById(1L)).thenReturn(Optional.of(issue1));
+        when(issueRepository.findVersionById(1L)).thenReturn(Optional.of(0L));
         when(issueRepository.save(updatedIssue)).thenReturn(updatedIssue);
 
         // when the updateIssue service method is invoked
@@ -224,6 +507,256 @@ public class IssueServiceTest {
         assertThat(returnedIssue).isEqualTo(updatedIssue);
     }
 
+    @Test
+    public void givenUpdateIssue_itShouldKeepTheIssueKey() {
+        // given an issue with a key
+        issue1.setIssueKey("IP-1");
+
+        // given an update without the key
+        Issue updatedIssue = Issue.builder().id(issue1.getId()).summary("updated summary").build();
+
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        when(issueRepository.findVersionById(issue1.getId())).thenReturn(Optional.of(0L));
+        when(issueRepository.save(updatedIssue)).thenReturn(updatedIssue);
+
+        // when the updateIssue service method is invoked
+        issueService.updateIssue(issue1.getId(), updatedIssue, authenticatedUser);
+
+        // then expect the key to have been kept
+        assertThat(updatedIssue.getIssueKey()).isEqualTo("IP-1");
+
+        // then expect the cached snapshot to have been invalidated
+        verify(issueCache).invalidate(issue1.getId());
+    }
+
+    @Test
+    public void givenUpdateIssue_itShouldCountTheProjectChange() {
+        // given an issue of the project
+        issue1.setProject(project);
+
+        Issue updatedIssue = Issue.builder().id(issue1.getId()).summary("updated summary").build();
+
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        when(issueRepository.findVersionById(issue1.getId())).thenReturn(Optional.of(0L));
+        when(issueRepository.save(updatedIssue)).thenReturn(updatedIssue);
+
+        // when the issue is updated
+        issueService.updateIssue(issue1.getId(), updatedIssue, authenticatedUser);
+
+        // then the project should have been counted as changed
+        verify(changeTracker).projectChanged(project.getId());
+    }
+
+    @Test
+    public void givenUpdateIssue_whenTheColumnIsKept_itShouldNotCountAnything() {
+        // given an issue stored in a column, updated within the same column
+        issue1.setColumn(Column.builder().id(30L).build());
+        Issue updatedIssue = Issue.builder().id(issue1.getId()).column(Column.builder().id(30L).build()).version(1L).build();
+
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        when(issueRepository.save(updatedIssue)).thenReturn(updatedIssue);
+
+        // when the issue is updated
+        issueService.updateIssue(issue1.getId(), updatedIssue, authenticatedUser);
+
+        // then expect the column counts and the flow to have been left alone
+        verifyNoInteractions(columnCounter, transitionLog);
+    }
+
+    @Test
+    public void givenUpdateIssue_itShouldSaveTheLatestVersionWhenNoneIsGiven() {
+        Issue updatedIssue = Issue.builder().id(issue1.getId()).summary("updated summary").build();
+
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        when(issueRepository.findVersionById(issue1.getId())).thenReturn(Optional.of(4L));
+        when(issueRepository.save(updatedIssue)).thenReturn(updatedIssue);
+
+        // when an update without version is made
+        issueService.updateIssue(issue1.getId(), updatedIssue, authenticatedUser);
+
+        // then expect the latest version to have been saved
+        assertThat(updatedIssue.getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    public void givenUpdateIssue_itShouldKeepTheVersionTheClientRead() {
+        Issue updatedIssue = Issue.builder().id(issue1.getId()).summary("updated summary").version(2L).build();
+
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        when(issueRepository.save(updatedIssue)).thenReturn(updatedIssue);
+
+        // when an update with a version is made
+        issueService.updateIssue(issue1.getId(), updatedIssue, authenticatedUser);
+
+        // then expect that version to have been saved, so that it is checked against the latest one
+        assertThat(updatedIssue.getVersion()).isEqualTo(2L);
+        verify(issueRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    public void itShouldGetIssueETagFromTheIssueVersion() {
+        // given the issue version
+        when(issueRepository.findVersionById(issue1.getId())).thenReturn(Optional.of(7L));
+
+        // when the issue ETag is computed
+        String eTag = issueService.getIssueETag(issue1.getId());
+
+        // then it should be made of the issue id and version, without loading the issue
+        assertThat(eTag).isEqualTo("\"1-7\"");
+        verify(issueRepository, never()).findById(any());
+    }
+
+    @Test
+    public void givenGetIssueETag_whenIssueDoesNotExist_itShouldReturnIssueNotFoundError() {
+        when(issueRepository.findVersionById(404L)).thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> issueService.getIssueETag(404L))
+                .withMessage("Issue not found");
+    }
+
+    @Test
+    public void itShouldPatchIssue() throws Exception {
+        // given an issue of the project
+        issue1.setProject(project);
+        issue1.setVersion(3L);
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+
+        // given a merge patch of the issue summary and points
+        String description = issue1.getDescription();
+        ObjectMapper mapper = new ObjectMapper();
+
+        // when the issue is patched with the ETag of its version
+        Issue patchedIssue = issueService.patchIssue(issue1.getId(),
+                mapper.readTree("{\"summary\": \"patched summary\", \"points\": 8, \"type\": \"Bug\"}"),
+                List.of("\"1-3\""), authenticatedUser);
+
+        // then expect the patched fields alone to have been changed
+        assertThat(patchedIssue.getSummary()).isEqualTo("patched summary");
+        assertThat(patchedIssue.getPoints()).isEqualTo(8);
+        assertThat(patchedIssue.getType()).isEqualTo(IssueType.BUG);
+        assertThat(patchedIssue.getDescription()).isEqualTo(description);
+        assertThat(patchedIssue.getUpdateTime()).isNotNull();
+
+        // then expect the issue to have been patched as loaded, without saving it as a whole
+        verify(issueRepository, never()).save(any());
+        verify(issueCache).invalidate(issue1.getId());
+        verify(changeTracker).projectChanged(project.getId());
+
+        // then expect the issue counts to have been moved from the former type to the new one
+        verify(issueCounter).changed(
+                argThat((before) -> before.getType() == IssueType.STORY),
+                argThat((after) -> after.getType() == IssueType.BUG)
+        );
+
+        // then expect the patched fields to have been recorded as changed by the authenticated user
+        verify(issueHistory).recordChanges(eq(issue1.getId()), eq(authenticatedUser),
+                argThat((before) -> before.get(IssueHistory.SUMMARY).equals("Issue 1 summary")),
+                argThat((after) -> after.get(IssueHistory.SUMMARY).equals("patched summary") &&
+                        after.get(IssueHistory.TYPE).equals("BUG")));
+    }
+
+    @Test
+    public void givenPatchIssue_whenTheCachedColumnIsStale_itShouldNotifyTheBoardOfTheLoadedColumn() throws Exception {
+        // given an issue whose snapshot was cached in a former column
+        issue1.setProject(project);
+        issue1.setColumn(Column.builder().id(20L).build());
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        issueService.getIssueSnapshot(issue1.getId());
+
+        // given the issue has been moved to another column since
+        issue1.setColumn(Column.builder().id(30L).build());
+
+        // when the issue is patched
+        issueService.patchIssue(issue1.getId(), new ObjectMapper().readTree("{\"points\": 8}"), null, authenticatedUser);
+
+        // then expect the board of the column the issue was loaded in to have been notified
+        verify(eventBroker).issueUpdated(30L, issue1.getId());
+    }
+
+    @Test
+    public void givenPatchIssue_itShouldClearTheFieldsSetToNull() throws Exception {
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+
+        // when the description is patched with null
+        Issue patchedIssue = issueService.patchIssue(issue1.getId(),
+                new ObjectMapper().readTree("{\"description\": null}"), null, authenticatedUser);
+
+        // then expect the description to have been removed
+        assertThat(patchedIssue.getDescription()).isNull();
+        assertThat(patchedIssue.getSummary()).isEqualTo("Issue 1 summary");
+    }
+
+    @Test
+    public void givenPatchIssue_whenIfMatchIsStale_itShouldReturnPreconditionFailedError() throws Exception {
+        // given the issue has been updated since it was read
+        issue1.setVersion(4L);
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+
+        // when it is patched with the ETag of a previous version
+        assertThatExceptionOfType(PreconditionFailedException.class)
+                .isThrownBy(() -> issueService.patchIssue(issue1.getId(),
+                        new ObjectMapper().readTree("{\"summary\": \"patched summary\"}"),
+                        List.of("\"1-3\""), authenticatedUser));
+
+        // then expect the issue not to have been patched
+        assertThat(issue1.getSummary()).isEqualTo("Issue 1 summary");
+    }
+
+    @Test
+    public void givenPatchIssue_whenFieldIsNotPatchable_itShouldReturnInvalidPatchError() throws Exception {
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+
+        assertThatExceptionOfType(InvalidPatchException.class)
+                .isThrownBy(() -> issueService.patchIssue(issue1.getId(),
+                        new ObjectMapper().readTree("{\"version\": 10}"), null, authenticatedUser))
+                .withMessageContaining("version");
+    }
+
+    @Test
+    public void givenPatchIssue_whenAuthenticatedUserIsNotTheReporter_itShouldReturnForbiddenOperationError() throws Exception {
+        when(issueRepository.findById(issue2.getId())).thenReturn(Optional.of(issue2));
+
+        assertThatExceptionOfType(ForbiddenOperationException.class)
+                .isThrownBy(() -> issueService.patchIssue(issue2.getId(),
+                        new ObjectMapper().readTree("{\"summary\": \"patched summary\"}"), null, authenticatedUser));
+    }
+
+    @Test
+    public void givenUnconditionalPatchIssue_whenAConcurrentUpdateWins_itShouldPatchTheLatestVersion() throws Exception {
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+
+        // given the first write loses against a concurrent update
+        doThrow(new ObjectOptimisticLockingFailureException(Issue.class, issue1.getId()))
+                .doAnswer((invocation) -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+
+        // when the issue is patched without a precondition
+        Issue patchedIssue = issueService.patchIssue(issue1.getId(),
+                new ObjectMapper().readTree("{\"summary\": \"patched summary\"}"), null, authenticatedUser);
+
+        // then expect the patch to have been applied again
+        assertThat(patchedIssue.getSummary()).isEqualTo("patched summary");
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    public void givenConditionalPatchIssue_whenAConcurrentUpdateWins_itShouldReturnPreconditionFailedError() throws Exception {
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+
+        // given the write loses against a concurrent update
+        doThrow(new ObjectOptimisticLockingFailureException(Issue.class, issue1.getId()))
+                .when(transactionTemplate).execute(any());
+
+        // when the issue is patched with an ETag then expect a precondition failed error, without retrying
+        assertThatExceptionOfType(PreconditionFailedException.class)
+                .isThrownBy(() -> issueService.patchIssue(issue1.getId(),
+                        new ObjectMapper().readTree("{\"summary\": \"patched summary\"}"),
+                        List.of("\"1-0\""), authenticatedUser));
+
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
     @Test
     public void givenUpdateIssue_whenIssueDoesNotExist_itShouldReturnIssueNotFoundError() {
         String errorMessage = "Issue not found";
@@ -255,10 +788,108 @@ public class IssueServiceTest {
         // when deleteIssue() is called
         issueService.deleteIssue(issue1.getId(), authenticatedUser);
 
-        // then expect the issue repository to have been invoked
+        // then expect the issue and its votes to have been deleted
+        verify(voteRepository).deleteAllByIssueId(issue1.getId());
         verify(issueRepository).deleteById(issue1.getId());
     }
 
+    @Test
+    public void givenDeleteIssue_itShouldRemoveTheIssueFromTheCounts() {
+        // given the issue exists, with its counted facets
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+
+        List<IssueFacets> facets = List.of(IssueFacets.of(project.getId(), issue1));
+        when(issueCounter.getFacets(List.of(issue1.getId()))).thenReturn(facets);
+
+        // when the issue is deleted
+        issueService.deleteIssue(issue1.getId(), authenticatedUser);
+
+        // then expect its counts to have been removed
+        verify(issueCounter).removed(facets);
+    }
+
+    @Test
+    public void givenDeleteIssue_itShouldRemoveTheIssueFromItsColumnCount() {
+        // given the issue was cached in a column, then moved to another one by another node
+        issue1.setColumn(Column.builder().id(20L).build());
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        issueService.getIssueSnapshot(issue1.getId());
+
+        when(issueRepository.findColumnIdById(issue1.getId())).thenReturn(Optional.of(30L));
+
+        // when the issue is deleted, then expect its current column to count one issue less
+        issueService.deleteIssue(issue1.getId(), authenticatedUser);
+
+        verify(columnCounter).removed(30L);
+
+        // and the issue to have left the column flow
+        verify(transitionLog).removed(issue1.getId(), 30L);
+    }
+
+    @Test
+    public void givenGetIssueSnapshot_itShouldLoadTheIssueOnlyOnce() {
+        // given the issue exists
+        issue1.setProject(Project.builder().id(100L).build());
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+
+        // when the issue snapshot is requested twice
+        IssueSnapshot snapshot = issueService.getIssueSnapshot(issue1.getId());
+        issueService.getIssueSnapshot(issue1.getId());
+
+        // then expect the issue to have been loaded once
+        verify(issueRepository, times(1)).findById(issue1.getId());
+
+        assertThat(snapshot.getId()).isEqualTo(issue1.getId());
+        assertThat(snapshot.getProjectId()).isEqualTo(100L);
+        assertThat(snapshot.getReporterId()).isEqualTo(authenticatedUser.getId());
+    }
+
+    @Test
+    public void givenDeleteIssue_itShouldInvalidateTheCachedSnapshot() {
+        // given a cached issue snapshot
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        issueService.getIssueSnapshot(issue1.getId());
+
+        // when the issue is deleted
+        issueService.deleteIssue(issue1.getId(), authenticatedUser);
+
+        // then expect its snapshot to have been invalidated
+        verify(issueCache).invalidate(issue1.getId());
+
+        // then expect the next lookup to reach the repository again
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> issueService.getIssueSnapshot(issue1.getId()));
+    }
+
+    @Test
+    public void givenUpdateIssueAssignee_itShouldInvalidateTheCachedSnapshot() {
+        // given the assignee and the issue
+        User assignee = User.builder().id(77L).email("assignee@issue").build();
+        when(userService.getUserById(assignee.getId())).thenReturn(assignee);
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+
+        // when the issue assignee is updated
+        issueService.updateIssueAssignee(issue1.getId(), assignee.getId(), authenticatedUser);
+
+        // then expect the issue snapshot to have been invalidated
+        verify(issueCache).invalidate(issue1.getId());
+    }
+
+    @Test
+    public void givenDeleteIssue_itShouldRemoveTheIssueFromTheSearchIndex() {
+        // given the issue belongs to a project
+        issue1.setProject(Project.builder().id(100L).build());
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+
+        // when the issue is deleted
+        issueService.deleteIssue(issue1.getId(), authenticatedUser);
+
+        // then expect it to have been removed from the project search index
+        verify(searchService).removeIssue(100L, issue1.getId());
+    }
+
     @Test
     public void givenDeleteIssue_whenAuthenticatedUserIsNotTheReporter_itShouldReturnForbiddenOperationError() {
         when(issueRepository.findById(2L)).thenReturn(Optional.of(issue2));
@@ -280,7 +911,7 @@ public class IssueServiceTest {
         when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
 
         // when the update assignee request is made
-        issueService.updateIssueAssignee(issue1.getId(), assignee.getId());
+        issueService.updateIssueAssignee(issue1.getId(), assignee.getId(), authenticatedUser);
 
         // then expect the issue assignee to have been updated successfully
         assertThat(issue1.getAssignee()).isEqualTo(assignee);
@@ -316,6 +947,157 @@ public class IssueServiceTest {
         verify(projectService, times(1)).getProjectById(project.getId());
     }
 
+    @Test
+    public void givenSwapIssuesPositions_itShouldSwapTheirRanks() {
+        // given the issues belong to the same project
+        Project project = Project.builder().id(100L).name("project swap").build();
+
+        issue1.setProject(project);
+        issue1.setRank("a");
+
+        issue2.setProject(project);
+        issue2.setRank("b");
+
+        when(projectService.getProjectById(project.getId())).thenReturn(project);
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        when(issueRepository.findById(issue2.getId())).thenReturn(Optional.of(issue2));
+
+        // when the issues are swapped
+        issueService.swapIssuesPositions(project.getId(), issue1.getId(), issue2.getId());
+
+        // then expect their ranks to have been swapped too
+        verify(issueRepository).updateRank(issue1.getId(), "b");
+        verify(issueRepository).updateRank(issue2.getId(), "a");
+    }
+
+    @Test
+    public void itShouldMoveIssueBeforeAnotherIssue() {
+        // given the moved issue and the target issue in the same backlog
+        Project project = Project.builder().id(100L).build();
+
+        issue1.setProject(project);
+        issue1.setRank("z");
+
+        issue2.setProject(project);
+        issue2.setRank("c");
+
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        when(issueRepository.findById(issue2.getId())).thenReturn(Optional.of(issue2));
+
+        // given the issue right before the target
+        when(issueRepository.findFirstByProjectIdAndSprintIdAndRankLessThanAndIdNotOrderByRankDesc(
+                project.getId(), null, "c", issue1.getId())).thenReturn(Optional.of(() -> "a"));
+
+        // when the issue is moved before the target
+        Issue movedIssue = issueService.moveIssueBefore(issue1.getId(), issue2.getId());
+
+        // then expect it to be ranked in the gap, with a single row written
+        assertThat(movedIssue.getRank()).isEqualTo("b");
+        verify(issueRepository, times(1)).updateRank(issue1.getId(), "b");
+        verify(issueRepository, never()).save(any());
+
+        // then expect the project appends and rebalancing to have been locked out during the move
+        verify(sequenceRepository).findForUpdate(project.getId());
+    }
+
+    @Test
+    public void itShouldMoveIssueAfterTheLastIssue() {
+        // given the moved issue and the last issue of the backlog
+        Project project = Project.builder().id(100L).build();
+
+        issue1.setProject(project);
+        issue1.setRank("a");
+
+        issue2.setProject(project);
+        issue2.setRank("i");
+
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        when(issueRepository.findById(issue2.getId())).thenReturn(Optional.of(issue2));
+        when(issueRepository.findFirstByProjectIdAndSprintIdAndRankGreaterThanAndIdNotOrderByRankAsc(
+                project.getId(), null, "i", issue1.getId())).thenReturn(Optional.empty());
+
+        // when the issue is moved after the target
+        Issue movedIssue = issueService.moveIssueAfter(issue1.getId(), issue2.getId());
+
+        // then expect it to be appended
+        assertThat(movedIssue.getRank()).isEqualTo(Rank.after("i"));
+        verify(issueRepository).updateRank(issue1.getId(), Rank.after("i"));
+    }
+
+    @Test
+    public void givenMoveIssue_whenRankGrowsTooLong_itShouldScheduleARebalance() {
+        // given two issues with no room left between their ranks
+        Project project = Project.builder().id(100L).build();
+
+        issue1.setProject(project);
+        issue1.setRank("z");
+
+        issue2.setProject(project);
+        issue2.setRank("a00000000001");
+
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        when(issueRepository.findById(issue2.getId())).thenReturn(Optional.of(issue2));
+        when(issueRepository.findFirstByProjectIdAndSprintIdAndRankLessThanAndIdNotOrderByRankDesc(
+                any(), any(), any(), any())).thenReturn(Optional.of(() -> "a"));
+
+        // when the issue is moved in between
+        Issue movedIssue = issueService.moveIssueBefore(issue1.getId(), issue2.getId());
+
+        // then expect a rebalance of the project to have been scheduled
+        assertThat(movedIssue.getRank().length()).isGreaterThan(Rank.MAX_LENGTH);
+        verify(rankRebalancer).schedule(project.getId());
+    }
+
+    @Test
+    public void givenMoveIssue_whenTargetHasNoRank_itShouldRebalanceTheProjectFirst() {
+        // given a target issue created before ranks existed
+        Project project = Project.builder().id(100L).build();
+
+        issue1.setProject(project);
+        issue2.setProject(project);
+
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        when(issueRepository.findById(issue2.getId())).thenReturn(Optional.of(issue2));
+
+        // given the rebalanced rank is read back into the target
+        doAnswer((invocation) -> {
+            issue2.setRank("i");
+            return null;
+        }).when(entityManager).refresh(issue2);
+        when(issueRepository.findFirstByProjectIdAndSprintIdAndRankGreaterThanAndIdNotOrderByRankAsc(
+                any(), any(), any(), any())).thenReturn(Optional.empty());
+
+        // when the issue is moved after it
+        issueService.moveIssueAfter(issue1.getId(), issue2.getId());
+
+        // then expect the project to have been ranked first
+        verify(rankRebalancer).rebalance(project.getId());
+        verify(issueRepository).updateRank(issue1.getId(), Rank.after("i"));
+    }
+
+    @Test
+    public void givenMoveIssue_whenIssuesAreNotInTheSameList_itShouldReturnForbiddenError() {
+        // given the issues belong to the same project but not the same sprint
+        Project project = Project.builder().id(100L).build();
+
+        issue1.setProject(project);
+        issue1.setSprint(Sprint.builder().id(1L).build());
+
+        issue2.setProject(project);
+
+        when(issueRepository.findById(issue1.getId())).thenReturn(Optional.of(issue1));
+        when(issueRepository.findById(issue2.getId())).thenReturn(Optional.of(issue2));
+
+        // then expect the move to be forbidden
+        assertThatExceptionOfType(ForbiddenOperationException.class)
+                .isThrownBy(() -> issueService.moveIssueBefore(issue1.getId(), issue2.getId()));
+
+        assertThatExceptionOfType(ForbiddenOperationException.class)
+                .isThrownBy(() -> issueService.moveIssueBefore(issue1.getId(), issue1.getId()));
+
+        verify(issueRepository, never()).updateRank(any(), any());
+    }
+
     @Test
     public void itShouldOnlySwapIssues_whenTheyBelongToTheSameProject() {
         // given the projects
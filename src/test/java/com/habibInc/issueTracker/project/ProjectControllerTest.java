@@ -1,24 +1,36 @@
 package com.habibInc.issueTracker.project;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
 import com.habibInc.issueTracker.issue.Issue;
 import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueFilter;
+import com.habibInc.issueTracker.issue.IssuePriority;
+import com.habibInc.issueTracker.issue.IssueSort;
+import com.habibInc.issueTracker.issue.IssueStatus;
+import com.habibInc.issueTracker.issue.IssueType;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import com.habibInc.issueTracker.utils.validation.IdValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.function.Consumer;
 
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -37,8 +49,7 @@ public class ProjectControllerTest {
     @MockBean
     ProjectService projectService;
 
-    @SpyBean
-    ModelMapper modelMapper;
+    ModelMapper modelMapper = new ModelMapper();
 
     Project project, project2;
 
@@ -112,21 +123,38 @@ public class ProjectControllerTest {
                 Issue.builder().id(300L).summary("issue 2").build()
         );
 
+        List<IssueDto> backlogDtos = backlog.stream()
+                .map((issue) -> modelMapper.map(issue, IssueDto.class))
+                .collect(Collectors.toList());
+
         // given the expected response
-        String expectedResponse = mapper.writeValueAsString(
-                backlog.stream()
-                        .map((issue) -> modelMapper.map(issue, IssueDto.class))
-                        .collect(Collectors.toList())
-        );
+        String expectedResponse = mapper.writeValueAsString(backlogDtos);
 
-        when(projectService.getOrderedBacklog(project.getId())).thenReturn(backlog);
+        when(projectService.getBacklogETag(project.getId())).thenReturn("\"1-5\"");
+        when(projectService.getOrderedBacklogDtos(project.getId())).thenReturn(backlogDtos);
 
         // expect the backlog to be fetched successfully
         mockMvc.perform(get("/projects/" + project.getId() + "/backlog"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-5\""))
                 .andExpect(content().json(expectedResponse));
     }
 
+    @Test
+    public void givenGetProductBacklog_whenBacklogIsNotModified_itShouldNotQueryTheBacklog() throws Exception {
+        // given the backlog ETag
+        when(projectService.getBacklogETag(project.getId())).thenReturn("\"1-5\"");
+
+        // when the backlog is requested with its current ETag
+        mockMvc.perform(get("/projects/" + project.getId() + "/backlog")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // then the backlog should not have been queried
+        verify(projectService, never()).getOrderedBacklogDtos(any());
+    }
+
     @Test
     public void givenGetProjectBacklog_whenProjectIdIsInvalid_itShouldReturnInvalidIdError() throws Exception {
         mockMvc.perform(get("/projects/invalid_id/backlog"))
@@ -135,6 +163,104 @@ public class ProjectControllerTest {
                         .value(IdValidator.errorMessage));
     }
 
+    @Test
+    public void itShouldGetPageOfFilteredIssues() throws Exception {
+        // given the page of filtered issues
+        CursorPage<IssueDto> page = new CursorPage<>(List.of(
+                modelMapper.map(Issue.builder().id(100L).summary("issue 1").build(), IssueDto.class),
+                modelMapper.map(Issue.builder().id(200L).summary("issue 2").build(), IssueDto.class)
+        ), "next");
+
+        ArgumentCaptor<IssueFilter> filter = ArgumentCaptor.forClass(IssueFilter.class);
+        ArgumentCaptor<IssueSort> sort = ArgumentCaptor.forClass(IssueSort.class);
+
+        when(projectService.getIssueDtos(eq(project.getId()), filter.capture(), sort.capture(), eq("cursor"), eq(10)))
+                .thenReturn(page);
+
+        // when a GET request is made to filter the project issues
+        mockMvc.perform(get("/projects/" + project.getId() + "/issues")
+                .queryParam("status", "Unresolved,In Progress")
+                .queryParam("priority", "HIGH")
+                .queryParam("type", "bug")
+                .queryParam("assignee", "7")
+                .queryParam("sprint", "none")
+                .queryParam("sort", "-updateTime")
+                .queryParam("cursor", "cursor")
+                .queryParam("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(page)));
+
+        // then expect the filter criteria and the sort order to have been parsed
+        assertThat(filter.getValue().getStatuses()).containsOnly(IssueStatus.UNRESOLVED, IssueStatus.IN_PROGRESS);
+        assertThat(filter.getValue().getPriorities()).containsOnly(IssuePriority.HIGH);
+        assertThat(filter.getValue().getTypes()).containsOnly(IssueType.BUG);
+        assertThat(filter.getValue().getAssigneeId()).isEqualTo(7L);
+        assertThat(filter.getValue().isInBacklog()).isTrue();
+        assertThat(sort.getValue().toString()).isEqualTo("-updateTime");
+    }
+
+    @Test
+    public void givenGetFilteredIssues_whenCriterionIsInvalid_itShouldReturnBadRequestError() throws Exception {
+        // when the issues are filtered on an unknown priority then expect a 400 error
+        mockMvc.perform(get("/projects/" + project.getId() + "/issues").queryParam("priority", "Urgent"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid priority: Urgent"));
+
+        // when they are sorted on an unknown attribute then expect a 400 error as well
+        mockMvc.perform(get("/projects/" + project.getId() + "/issues").queryParam("sort", "summary"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Invalid sort: summary"));
+
+        verify(projectService, never()).getIssueDtos(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    public void itShouldExportProjectIssuesAsNewlineDelimitedJson() throws Exception {
+        // given the project issue DTOs
+        List<IssueDto> issues = List.of(
+                modelMapper.map(Issue.builder().id(100L).summary("issue 1").build(), IssueDto.class),
+                modelMapper.map(Issue.builder().id(200L).summary("issue 2").build(), IssueDto.class)
+        );
+
+        // given the project service streams the issue DTOs to the consumer
+        when(projectService.getProjectById(project.getId())).thenReturn(project);
+        when(projectService.exportIssues(eq(project.getId()), any())).thenAnswer((invocation) -> {
+            Consumer<IssueDto> consumer = invocation.getArgument(1);
+            issues.forEach(consumer);
+            return issues.size();
+        });
+
+        // given the expected response, one issue DTO per line
+        StringBuilder expectedResponse = new StringBuilder();
+        for (IssueDto issue : issues)
+            expectedResponse.append(mapper.writeValueAsString(issue)).append('\n');
+
+        // when a GET request is made to export the project issues
+        MvcResult result = mockMvc.perform(get("/projects/" + project.getId() + "/issues/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then expect the issues to be streamed as newline delimited json
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ProjectController.APPLICATION_NDJSON))
+                .andExpect(content().string(expectedResponse.toString()));
+    }
+
+    @Test
+    public void givenExportIssues_whenProjectDoesNotExist_itShouldReturnProjectNotFoundError() throws Exception {
+        // given the project does not exist
+        when(projectService.getProjectById(404L)).thenThrow(new ResourceNotFoundException("Project not found"));
+
+        // when a GET request is made to export its issues
+        // then expect a 404 not found error before anything is streamed
+        mockMvc.perform(get("/projects/404/issues/export"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage").value("Project not found"));
+
+        verify(projectService, never()).exportIssues(any(), any());
+    }
+
     @Test
     public void itShouldGetProjectsByAssignedUser() throws Exception {
         // given a user id
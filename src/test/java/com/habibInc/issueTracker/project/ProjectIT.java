@@ -1,8 +1,12 @@
 package com.habibInc.issueTracker.project;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.habibInc.issueTracker.exceptionhandler.ApiError;
 import com.habibInc.issueTracker.issue.Issue;
 import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.issue.IssueStatus;
+import com.habibInc.issueTracker.issue.IssueType;
 import com.habibInc.issueTracker.security.JwtUtil;
 import com.habibInc.issueTracker.user.User;
 import com.habibInc.issueTracker.user.UserRepository;
@@ -47,6 +51,9 @@ public class ProjectIT {
     @Autowired
     JwtUtil jwtUtil;
 
+    @Autowired
+    ObjectMapper mapper;
+
     User authenticatedUser;
     String token;
     HttpHeaders headers;
@@ -230,9 +237,9 @@ public class ProjectIT {
 
             // given the project backlog
             List<Issue> backlog = List.of(
-                    Issue.builder().position(3).project(project).summary("issue 1").build(),
-                    Issue.builder().position(1).project(project).summary("issue 2").build(),
-                    Issue.builder().position(2).project(project).summary("issue 2").build()
+                    Issue.builder().rank("s").project(project).summary("issue 1").build(),
+                    Issue.builder().rank("a").project(project).summary("issue 2").build(),
+                    Issue.builder().rank("i").project(project).summary("issue 2").build()
             );
 
             // given the backlog is saved
@@ -250,8 +257,8 @@ public class ProjectIT {
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(response.getBody()).hasSameElementsAs(backlog);
 
-            // expect the issues to be in the correct order by position
-            assertThat(response.getBody()).isSortedAccordingTo(Comparator.comparingInt(Issue::getPosition));
+            // expect the issues to be in the correct order by rank
+            assertThat(response.getBody()).isSortedAccordingTo(Comparator.comparing(Issue::getRank));
         }
 
         @Test
@@ -294,6 +301,99 @@ public class ProjectIT {
             assertThat(response.getBody()).doesNotContainAnyElementsOf(backlogSecondary);
         }
 
+        @Test
+        public void givenGetProjectBacklog_whenBacklogHasNotChanged_itShouldReturnNotModified() {
+            project = projectService.createProject(project, authenticatedUser);
+
+            // given the GET backlog url
+            String url = String.format("%s/%s/backlog", baseUrl, project.getId());
+
+            // given the backlog has been fetched once
+            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, httpEntity, String.class);
+            String eTag = response.getHeaders().getETag();
+            assertThat(eTag).isNotNull();
+
+            // when it is fetched again with the same ETag
+            HttpHeaders conditionalHeaders = new HttpHeaders();
+            conditionalHeaders.addAll(headers);
+            conditionalHeaders.setIfNoneMatch(eTag);
+            HttpEntity<Void> conditionalEntity = new HttpEntity<>(conditionalHeaders);
+
+            response = restTemplate.exchange(url, HttpMethod.GET, conditionalEntity, String.class);
+
+            // then expect it not to have been modified
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getBody()).isNull();
+
+            // when an issue is added to the backlog
+            Issue issue = Issue.builder().summary("issue 1").type(IssueType.STORY).build();
+            restTemplate.postForEntity(String.format("/issues?project=%d", project.getId()),
+                    new HttpEntity<>(issue, headers), String.class);
+
+            // then expect the backlog to be fetched again with a new ETag
+            response = restTemplate.exchange(url, HttpMethod.GET, conditionalEntity, String.class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getETag()).isNotEqualTo(eTag);
+            assertThat(response.getBody()).contains("issue 1");
+        }
+
+        @Test
+        public void itShouldGetFilteredProjectIssuesPageByPage() throws Exception {
+            project = projectService.createProject(project, authenticatedUser);
+
+            // given resolved and unresolved issues
+            List<Issue> resolved = (List<Issue>) issueRepository.saveAll(List.of(
+                    Issue.builder().project(project).summary("issue 1").status(IssueStatus.RESOLVED).build(),
+                    Issue.builder().project(project).summary("issue 2").status(IssueStatus.UNRESOLVED).build(),
+                    Issue.builder().project(project).summary("issue 3").status(IssueStatus.RESOLVED).build()
+            ));
+
+            // when the resolved issues are fetched one per page
+            String url = String.format("%s/%s/issues?status=Resolved&size=1", baseUrl, project.getId());
+            JsonNode firstPage = mapper.readTree(restTemplate.exchange(url, HttpMethod.GET, httpEntity, String.class).getBody());
+
+            String cursor = firstPage.get("nextCursor").asText();
+            JsonNode lastPage = mapper.readTree(restTemplate.exchange(url + "&cursor=" + cursor, HttpMethod.GET, httpEntity, String.class).getBody());
+
+            // then expect each resolved issue once, ordered by id
+            assertThat(firstPage.get("content").get(0).get("id").asLong()).isEqualTo(resolved.get(0).getId());
+            assertThat(lastPage.get("content").get(0).get("id").asLong()).isEqualTo(resolved.get(2).getId());
+            assertThat(lastPage.get("content")).hasSize(1);
+            assertThat(lastPage.get("nextCursor").isNull()).isTrue();
+        }
+
+        @Test
+        public void itShouldExportProjectIssuesAsNewlineDelimitedJson() {
+            // given two distinct projects
+            project = projectService.createProject(project, authenticatedUser);
+            project2 = projectService.createProject(project2, authenticatedUser);
+
+            // given the issues of both projects are saved
+            List<Issue> issues = (List<Issue>) issueRepository.saveAll(List.of(
+                    Issue.builder().project(project).summary("issue 1").build(),
+                    Issue.builder().project(project).summary("issue 2").build(),
+                    Issue.builder().project(project).summary("issue 3").build()
+            ));
+            issueRepository.save(Issue.builder().project(project2).summary("issue 4").build());
+
+            // given the GET export url
+            String url = String.format("%s/%s/issues/export", baseUrl, project.getId());
+
+            // when a GET request is made to export the project issues
+            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, httpEntity, String.class);
+
+            // then expect one line per project issue, ordered by id
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getContentType()).isEqualTo(ProjectController.APPLICATION_NDJSON);
+
+            String[] lines = response.getBody().split("\n");
+            assertThat(lines).hasSize(issues.size());
+
+            for (int i = 0; i < lines.length; i++)
+                assertThat(lines[i]).contains("\"id\":" + issues.get(i).getId() + ",");
+        }
+
         @Test
         public void itShouldGetProjectsByAssignedUser() {
             // given a user
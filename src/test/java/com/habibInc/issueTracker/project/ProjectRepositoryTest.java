@@ -142,4 +142,16 @@ public class ProjectRepositoryTest {
         assertThat(projectRepository.findAllByAssignedUsersId(user.getId()))
                 .doesNotContain(project);
     }
+
+    @Test
+    public void itShouldAssignTheKeyOfAProjectWithout() {
+        // given a project without key
+        project = projectRepository.save(project);
+
+        // when keys are assigned twice, then expect the first one alone to be stored
+        assertThat(projectRepository.assignKey(project.getId(), "PP")).isEqualTo(1);
+        assertThat(projectRepository.assignKey(project.getId(), "PP2")).isEqualTo(0);
+
+        assertThat(projectRepository.findKeyById(project.getId())).isEqualTo("PP");
+    }
 }
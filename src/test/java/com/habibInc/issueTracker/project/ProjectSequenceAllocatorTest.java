@@ -0,0 +1,229 @@
+package com.habibInc.issueTracker.project;
+
+import com.habibInc.issueTracker.utils.rank.Rank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ProjectSequenceAllocatorTest {
+
+    ProjectSequenceAllocator sequenceAllocator;
+
+    @Mock
+    ProjectSequenceRepository sequenceRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    // the sequence row as stored in the database
+    AtomicLong reservedUntil;
+
+    @BeforeEach
+    public void init() {
+        initMocks(this);
+
+        sequenceAllocator = new ProjectSequenceAllocator(sequenceRepository, transactionManager);
+
+        // given a seeded sequence row for the project
+        reservedUntil = new AtomicLong(0);
+
+        when(sequenceRepository.reserve(eq(1L), anyLong())).thenAnswer((invocation) -> {
+            reservedUntil.addAndGet(invocation.getArgument(1));
+            return 1;
+        });
+        when(sequenceRepository.findReservedUntil(1L)).thenAnswer((invocation) -> reservedUntil.get());
+    }
+
+    @Test
+    public void itShouldHandOutConsecutiveNumbersFromASingleReservation() {
+        // when numbers are requested
+        long first = sequenceAllocator.next(1L);
+        long second = sequenceAllocator.next(1L);
+        long third = sequenceAllocator.next(1L);
+
+        // then expect consecutive numbers from one block reservation
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(third).isEqualTo(3);
+
+        verify(sequenceRepository, times(1)).reserve(1L, ProjectSequenceAllocator.BLOCK_SIZE);
+    }
+
+    @Test
+    public void givenExhaustedBlock_itShouldReserveTheNextOne() {
+        // when one number more than a block is requested
+        long last = 0;
+        for (int i = 0; i <= ProjectSequenceAllocator.BLOCK_SIZE; i++)
+            last = sequenceAllocator.next(1L);
+
+        // then expect the numbers to continue over a second reservation
+        assertThat(last).isEqualTo(ProjectSequenceAllocator.BLOCK_SIZE + 1);
+        verify(sequenceRepository, times(2)).reserve(1L, ProjectSequenceAllocator.BLOCK_SIZE);
+    }
+
+    @Test
+    public void givenRange_itShouldReserveItWithoutDrainingTheCachedBlock() {
+        // given a number handed out from a cached block
+        sequenceAllocator.next(1L);
+
+        // when a range of numbers is reserved
+        long first = sequenceAllocator.nextRange(1L, 1000);
+
+        // then expect the range to follow the cached block
+        assertThat(first).isEqualTo(ProjectSequenceAllocator.BLOCK_SIZE + 1);
+        verify(sequenceRepository, times(1)).reserve(1L, 1000);
+
+        // then expect the cached block to keep handing out its numbers
+        assertThat(sequenceAllocator.next(1L)).isEqualTo(2);
+    }
+
+    @Test
+    public void givenSequenceDoesNotExist_itShouldSeedItFirst() {
+        // given the project sequence has not been created yet
+        when(sequenceRepository.reserve(eq(2L), anyLong())).thenReturn(0, 1);
+        when(sequenceRepository.findReservedUntil(2L)).thenReturn(7L + ProjectSequenceAllocator.BLOCK_SIZE);
+
+        // when a number is requested
+        long number = sequenceAllocator.next(2L);
+
+        // then expect the sequence to have been seeded and the number to follow the seed
+        verify(sequenceRepository, times(1)).seed(2L);
+        assertThat(number).isEqualTo(8);
+    }
+
+    @Test
+    public void givenSequenceSeededConcurrently_itShouldReserveFromIt() {
+        // given another node seeds the sequence first
+        when(sequenceRepository.reserve(eq(2L), anyLong())).thenReturn(0, 1);
+        when(sequenceRepository.seed(2L)).thenThrow(new DataIntegrityViolationException("Duplicate key"));
+        when(sequenceRepository.findReservedUntil(2L)).thenReturn((long) ProjectSequenceAllocator.BLOCK_SIZE);
+
+        // when a number is requested
+        long number = sequenceAllocator.next(2L);
+
+        // then expect the number to come from the existing sequence
+        assertThat(number).isEqualTo(1);
+    }
+
+    @Test
+    public void itShouldRankAppendedIssuesAfterTheRankTail() {
+        // given the sequence row with its rank tail
+        ProjectSequence sequence = new ProjectSequence(1L, 0L, "i");
+        when(sequenceRepository.findForUpdate(1L)).thenReturn(Optional.of(sequence));
+
+        // when ranks are requested
+        List<String> ranks = sequenceAllocator.nextRanks(1L, 2);
+
+        // then expect them to follow the tail, which moves to the last of them
+        assertThat(ranks).containsExactly(Rank.after("i"), Rank.after(Rank.after("i")));
+        assertThat(sequence.getRankTail()).isEqualTo(ranks.get(1));
+        verify(sequenceRepository, never()).findMaxIssueRank(any());
+    }
+
+    @Test
+    public void givenNoRankTail_itShouldRankAfterTheGreatestIssueRank() {
+        // given a sequence row without rank tail, and the greatest rank of the project issues
+        ProjectSequence sequence = new ProjectSequence(1L, 0L, null);
+        when(sequenceRepository.findForUpdate(1L)).thenReturn(Optional.of(sequence));
+        when(sequenceRepository.findMaxIssueRank(1L)).thenReturn("k");
+
+        // when a rank is requested
+        String rank = sequenceAllocator.nextRank(1L);
+
+        // then expect it to follow the greatest issue rank
+        assertThat(rank).isEqualTo(Rank.after("k"));
+    }
+
+    @Test
+    public void givenNextRank_itShouldHandOutTheRanksOfASingleReservation() {
+        // given a sequence row with a rank tail
+        ProjectSequence sequence = new ProjectSequence(1L, 0L, "i");
+        when(sequenceRepository.findForUpdate(1L)).thenReturn(Optional.of(sequence));
+
+        // when one rank more than a block is requested
+        List<String> ranks = new ArrayList<>();
+        for (int i = 0; i <= ProjectSequenceAllocator.BLOCK_SIZE; i++)
+            ranks.add(sequenceAllocator.nextRank(1L));
+
+        // then expect increasing ranks from two locked reservations only
+        assertThat(ranks).isSorted().doesNotHaveDuplicates();
+        assertThat(ranks.get(0)).isEqualTo(Rank.after("i"));
+        verify(sequenceRepository, times(2)).findForUpdate(1L);
+
+        // then expect the rank tail to have been moved past the whole second block
+        assertThat(sequence.getRankTail()).isGreaterThan(ranks.get(ProjectSequenceAllocator.BLOCK_SIZE));
+    }
+
+    @Test
+    public void givenDiscardedRanks_itShouldReserveTheNextRankFromTheRankTail() {
+        // given a rank handed out from a reserved block
+        ProjectSequence sequence = new ProjectSequence(1L, 0L, "i");
+        when(sequenceRepository.findForUpdate(1L)).thenReturn(Optional.of(sequence));
+        sequenceAllocator.nextRank(1L);
+
+        // given the project ranks are rewritten and the reserved ones discarded
+        sequence.setRankTail("a");
+        sequenceAllocator.discardRanks(1L);
+
+        // when the next rank is requested
+        String rank = sequenceAllocator.nextRank(1L);
+
+        // then expect it to follow the rewritten rank tail
+        assertThat(rank).isEqualTo(Rank.after("a"));
+    }
+
+    @Test
+    public void givenNextRank_whenSequenceDoesNotExist_itShouldSeedItFirst() {
+        // given the project sequence has not been created yet
+        when(sequenceRepository.findForUpdate(2L)).thenReturn(Optional.empty(), Optional.of(new ProjectSequence(2L, 0L, null)));
+
+        // when a rank is requested
+        String rank = sequenceAllocator.nextRank(2L);
+
+        // then expect the sequence to have been seeded, and the first issue to get the initial rank
+        verify(sequenceRepository, times(1)).seed(2L);
+        assertThat(rank).isEqualTo(Rank.INITIAL);
+    }
+
+    @Test
+    public void givenConcurrentRequests_itShouldNeverHandOutTheSameNumberTwice() throws Exception {
+        final int count = ProjectSequenceAllocator.BLOCK_SIZE * 5 + 3;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<Long> numbers = ConcurrentHashMap.newKeySet();
+
+        try {
+            // when numbers are requested concurrently
+            CountDownLatch done = new CountDownLatch(count);
+            for (int i = 0; i < count; i++) {
+                executor.submit(() -> {
+                    numbers.add(sequenceAllocator.next(1L));
+                    done.countDown();
+                });
+            }
+
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+
+        // then expect every number to be unique and no block to have been wasted
+        assertThat(numbers).hasSize(count);
+        assertThat(reservedUntil.get()).isEqualTo(ProjectSequenceAllocator.BLOCK_SIZE * 6);
+    }
+}
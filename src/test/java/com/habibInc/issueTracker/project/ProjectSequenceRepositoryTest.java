@@ -0,0 +1,102 @@
+package com.habibInc.issueTracker.project;
+
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace= AutoConfigureTestDatabase.Replace.NONE)
+public class ProjectSequenceRepositoryTest {
+
+    @Autowired
+    ProjectSequenceRepository sequenceRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    IssueRepository issueRepository;
+
+    Project project;
+
+    @BeforeEach
+    public void setup() {
+        project = projectRepository.save(Project.builder().name("Primary project").key("PP").build());
+    }
+
+    @Test
+    public void givenSeed_itShouldStartFromTheGreatestIssuePosition() {
+        // given existing project issues
+        issueRepository.saveAll(List.of(
+                Issue.builder().project(project).position(3).build(),
+                Issue.builder().project(project).position(12).build(),
+                Issue.builder().project(project).position(7).build()
+        ));
+
+        // when the sequence is seeded
+        int seeded = sequenceRepository.seed(project.getId());
+
+        // then expect it to start after the greatest position
+        assertThat(seeded).isEqualTo(1);
+        assertThat(sequenceRepository.findReservedUntil(project.getId())).isEqualTo(12);
+    }
+
+    @Test
+    public void givenSeed_whenProjectHasNoIssues_itShouldStartFromZero() {
+        sequenceRepository.seed(project.getId());
+
+        assertThat(sequenceRepository.findReservedUntil(project.getId())).isEqualTo(0);
+    }
+
+    @Test
+    public void itShouldReserveBlocks() {
+        // given a seeded sequence
+        sequenceRepository.seed(project.getId());
+
+        // when blocks are reserved
+        sequenceRepository.reserve(project.getId(), 100);
+        int updated = sequenceRepository.reserve(project.getId(), 100);
+
+        // then expect the reservations to add up
+        assertThat(updated).isEqualTo(1);
+        assertThat(sequenceRepository.findReservedUntil(project.getId())).isEqualTo(200);
+    }
+
+    @Test
+    public void givenReserve_whenSequenceDoesNotExist_itShouldUpdateNothing() {
+        assertThat(sequenceRepository.reserve(project.getId(), 100)).isEqualTo(0);
+    }
+
+    @Test
+    public void itShouldFindTheSequenceRowForUpdate() {
+        // given a seeded sequence
+        sequenceRepository.seed(project.getId());
+
+        // when the row is selected for update
+        ProjectSequence sequence = sequenceRepository.findForUpdate(project.getId()).get();
+
+        // then expect it to be found, without a rank tail yet
+        assertThat(sequence.getReservedUntil()).isEqualTo(0);
+        assertThat(sequence.getRankTail()).isNull();
+        assertThat(sequenceRepository.findForUpdate(404L)).isEmpty();
+    }
+
+    @Test
+    public void itShouldFindTheGreatestIssueRankOfAProject() {
+        // given a project with ranked issues
+        issueRepository.save(Issue.builder().project(project).rank("i01").build());
+        issueRepository.save(Issue.builder().project(project).rank("i").build());
+
+        // then expect the greatest rank
+        assertThat(sequenceRepository.findMaxIssueRank(project.getId())).isEqualTo("i01");
+        assertThat(sequenceRepository.findMaxIssueRank(404L)).isNull();
+    }
+}
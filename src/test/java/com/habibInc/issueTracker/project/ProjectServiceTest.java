@@ -1,19 +1,30 @@
 package com.habibInc.issueTracker.project;
 
+import com.habibInc.issueTracker.change.ChangeTracker;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
-import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueDtoAssembler;
+import com.habibInc.issueTracker.issue.IssueFilter;
 import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.issue.IssueSort;
 import com.habibInc.issueTracker.user.User;
 import com.habibInc.issueTracker.user.UserService;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,6 +43,15 @@ public class ProjectServiceTest {
     @Mock
     UserService userService;
 
+    @Mock
+    IssueDtoAssembler issueDtoAssembler;
+
+    @Mock
+    ChangeTracker changeTracker;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
     Project project, project2;
 
     @BeforeEach
@@ -91,6 +111,91 @@ public class ProjectServiceTest {
         assertThat(createdProject.getAssignedUsers()).containsExactly(authenticatedUser);
     }
 
+    @Test
+    public void givenCreateProject_itShouldGenerateItsKey() {
+        // given the repository response
+        when(projectRepository.save(project)).thenReturn(project);
+
+        // when the project is created without a key
+        Project createdProject = projectService.createProject(project, new User());
+
+        // then its key should be made of the name initials
+        assertThat(createdProject.getKey()).isEqualTo("PP");
+    }
+
+    @Test
+    public void givenCreateProject_whenKeyIsProvided_itShouldKeepIt() {
+        // given a project key
+        project.setKey("PRIM");
+        when(projectRepository.save(project)).thenReturn(project);
+
+        // when the project is created
+        Project createdProject = projectService.createProject(project, new User());
+
+        // then its key should be kept
+        assertThat(createdProject.getKey()).isEqualTo("PRIM");
+        verify(projectRepository, never()).existsByKey(any());
+    }
+
+    @Test
+    public void givenGenerateKey_itShouldDeriveItFromTheName() {
+        assertThat(projectService.generateKey("Issue tracker back end")).isEqualTo("ITBE");
+        assertThat(projectService.generateKey("a very long project name")).isEqualTo("AVLP");
+        assertThat(projectService.generateKey("backend")).isEqualTo("BACK");
+        assertThat(projectService.generateKey("3d engine")).isEqualTo("P3E");
+        assertThat(projectService.generateKey("#backlog")).isEqualTo("BACK");
+    }
+
+    @Test
+    public void givenGenerateKey_whenKeyIsTaken_itShouldAppendACounter() {
+        // given the first keys are already taken
+        when(projectRepository.existsByKey("PP")).thenReturn(true);
+        when(projectRepository.existsByKey("PP2")).thenReturn(true);
+
+        // when the key is generated
+        String key = projectService.generateKey(project.getName());
+
+        // then expect the first free key
+        assertThat(key).isEqualTo("PP3");
+    }
+
+    @Test
+    public void givenAssignKey_itShouldStoreAGeneratedKeyAndReadItBack() {
+        // given another node stored the key of the project first
+        when(projectRepository.assignKey(project.getId(), "PP")).thenReturn(0);
+        when(projectRepository.findKeyById(project.getId())).thenReturn("PRIM");
+
+        // when the key is assigned
+        String key = projectService.assignKey(project);
+
+        // then expect the stored key to be used
+        assertThat(key).isEqualTo("PRIM");
+        assertThat(project.getKey()).isEqualTo("PRIM");
+    }
+
+    @Test
+    public void givenAssignKey_whenTheKeyIsTakenMeanwhile_itShouldGenerateAnother() {
+        // given another project took the generated key between the check and the update
+        when(projectRepository.existsByKey("PP")).thenReturn(false, true);
+        when(projectRepository.assignKey(project.getId(), "PP")).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(projectRepository.findKeyById(project.getId())).thenReturn("PP2");
+
+        // when the key is assigned
+        String key = projectService.assignKey(project);
+
+        // then expect the next free key
+        verify(projectRepository).assignKey(project.getId(), "PP2");
+        assertThat(key).isEqualTo("PP2");
+    }
+
+    @Test
+    public void givenAssignKey_whenTheProjectHasAKey_itShouldKeepIt() {
+        project.setKey("PRIM");
+
+        assertThat(projectService.assignKey(project)).isEqualTo("PRIM");
+        verifyNoInteractions(projectRepository);
+    }
+
     @Test
     public void itShouldGetListOfProjects() {
         // given the repository returns a list of projects
@@ -123,40 +228,114 @@ public class ProjectServiceTest {
     }
 
     @Test
-    public void itShouldGetProductBacklogByProjectId() {
-        // given the project backlog
-        List<Issue> backlog = List.of(
-                Issue.builder().id(100L).summary("issue 1").build(),
-                Issue.builder().id(200L).summary("issue 2").build(),
-                Issue.builder().id(300L).summary("issue 2").build()
+    public void itShouldGetOrderedProductBacklogDtosByProjectId() {
+        // given the backlog projections
+        List<IssueRepository.IssueView> backlogViews = List.of(
+                mock(IssueRepository.IssueView.class),
+                mock(IssueRepository.IssueView.class)
         );
 
-        when(issueRepository.findAllByProjectIdAndSprintId(project.getId(), null)).thenReturn(backlog);
+        List<IssueDto> backlogDtos = List.of(new IssueDto(), new IssueDto());
 
-        // when projectService is invoked to get the project backlog
-        List<Issue> retrievedBacklog = projectService.getBacklog(project.getId());
+        when(issueRepository.findBacklogViewsByProjectId(project.getId())).thenReturn(backlogViews);
+        when(issueDtoAssembler.toDtos(backlogViews)).thenReturn(backlogDtos);
 
-        // then the backlog should be retrieved successfully
-        assertThat(retrievedBacklog).containsExactlyElementsOf(backlog);
+        // when the service is invoked to fetch the backlog dtos
+        List<IssueDto> retrievedBacklog = projectService.getOrderedBacklogDtos(project.getId());
+
+        // then the dtos should be assembled from the projections
+        assertThat(retrievedBacklog).isEqualTo(backlogDtos);
+        verify(issueRepository, never()).findAllByProjectIdAndSprintIdOrderByRankAscIdAsc(any(), any());
     }
 
     @Test
-    public void itShouldGetOrderedProductBacklogByProjectId() {
-        // given the expected ordered backlog
-        List<Issue> orderedBacklog = List.of(
-                Issue.builder().id(100L).position(1).summary("issue 1").build(),
-                Issue.builder().id(200L).position(2).summary("issue 2").build(),
-                Issue.builder().id(300L).position(3).summary("issue 2").build()
-        );
+    public void itShouldGetPageOfFilteredIssueDtosInTheOrderOfTheIds() {
+        // given the ids of the filtered issues, one more than the page size
+        when(issueRepository.findIds(any(), any(), eq(3))).thenReturn(List.of(30L, 10L, 20L));
 
-        // given the repository response
-        when(issueRepository.findAllByProjectIdAndSprintIdOrderByPosition(project.getId(), null)).thenReturn(orderedBacklog);
+        // given their projections, in another order
+        IssueRepository.IssueView view10 = mockView(10L), view20 = mockView(20L), view30 = mockView(30L);
+        when(issueRepository.findViewsByIdIn(List.of(30L, 10L, 20L))).thenReturn(List.of(view10, view20, view30));
+
+        List<IssueDto> dtos = List.of(new IssueDto(), new IssueDto());
+        when(issueDtoAssembler.toDtos(List.of(view30, view10))).thenReturn(dtos);
+
+        // when a page of two filtered issues is fetched
+        CursorPage<IssueDto> page = projectService.getIssueDtos(project.getId(),
+                IssueFilter.builder().build(), IssueSort.parse("id"), null, 2);
+
+        // then expect the dtos of the page alone, assembled in the order of the ids
+        assertThat(page.getContent()).isEqualTo(dtos);
+
+        // then expect the cursor to point at the last issue of the page
+        assertThat(page.getNextCursor()).isEqualTo(Cursor.encode(10L));
+    }
+
+    @Test
+    public void givenGetIssueDtos_whenNoIssueMatches_itShouldNotSelectAnyView() {
+        when(issueRepository.findIds(any(), any(), anyInt())).thenReturn(new ArrayList<>());
+
+        CursorPage<IssueDto> page = projectService.getIssueDtos(project.getId(),
+                IssueFilter.builder().build(), IssueSort.parse(null), null, 20);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+        verify(issueRepository, never()).findViewsByIdIn(any());
+    }
+
+    private IssueRepository.IssueView mockView(Long id) {
+        IssueRepository.IssueView view = mock(IssueRepository.IssueView.class);
+        when(view.getId()).thenReturn(id);
+        return view;
+    }
+
+    @Test
+    public void itShouldGetBacklogETagFromTheProjectChangeCount() {
+        // given the project change count
+        when(changeTracker.getProjectChangeCount(project.getId())).thenReturn(3L);
+
+        // when the backlog ETag is computed
+        String eTag = projectService.getBacklogETag(project.getId());
+
+        // then it should be made of the project id and its change count, without querying the backlog
+        assertThat(eTag).isEqualTo("\"" + project.getId() + "-3\"");
+        verifyNoInteractions(issueRepository);
+    }
+
+    @Test
+    public void itShouldExportProjectIssues() {
+        // given the DTO columns of the project issues
+        List<IssueRepository.IssueView> views = List.of(mockView(100L), mockView(200L));
+        when(issueRepository.streamViewsByProjectId(project.getId())).thenReturn(views.stream());
+
+        List<IssueDto> dtos = List.of(new IssueDto(), new IssueDto());
+        when(issueDtoAssembler.toDtos(views)).thenReturn(dtos);
+
+        // when the project issues are exported
+        List<IssueDto> exportedIssues = new ArrayList<>();
+        int count = projectService.exportIssues(project.getId(), exportedIssues::add);
+
+        // then expect every issue DTO to have been handed to the consumer in order, without loading any issue
+        assertThat(exportedIssues).containsExactlyElementsOf(dtos);
+        assertThat(count).isEqualTo(views.size());
+        verify(issueRepository, never()).findAllById(any());
+    }
+
+    @Test
+    public void givenExportIssues_itShouldAssembleTheDtosOneBatchAtATime() {
+        // given more than two batches of issues
+        List<IssueRepository.IssueView> views = LongStream.rangeClosed(1, ProjectService.EXPORT_BATCH_SIZE * 2 + 1)
+                .mapToObj(this::mockView)
+                .collect(Collectors.toList());
+
+        when(issueRepository.streamViewsByProjectId(project.getId())).thenReturn(views.stream());
 
-        // when the service is invoked to fetch the ordered backlog
-        List<Issue> retrievedBacklog = projectService.getOrderedBacklog(project.getId());
+        // when the project issues are exported
+        int count = projectService.exportIssues(project.getId(), (issue) -> {});
 
-        // then the ordered backlog should be retrieved successfully
-        assertThat(retrievedBacklog).containsExactlyElementsOf(orderedBacklog);
+        // then expect the DTOs to have been assembled once per batch, the last one partial
+        verify(issueDtoAssembler, times(3)).toDtos(any());
+        assertThat(count).isEqualTo(views.size());
     }
 
     @Test
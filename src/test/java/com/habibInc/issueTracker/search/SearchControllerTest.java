@@ -0,0 +1,94 @@
+package com.habibInc.issueTracker.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SearchController.class)
+@WithMockUser
+public class SearchControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper mapper;
+
+    @MockBean
+    SearchService searchService;
+
+    @MockBean
+    ProjectService projectService;
+
+    ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    public void itShouldSearchProjectIssues() throws Exception {
+        // given the ranked hits
+        SearchHit hit1 = new SearchHit(1L, 2.5);
+        hit1.setIssue(modelMapper.map(Issue.builder().id(1L).summary("Login page crashes").build(), IssueDto.class));
+
+        SearchHit hit2 = new SearchHit(2L, 0.8);
+        hit2.setIssue(modelMapper.map(Issue.builder().id(2L).summary("Login is slow").build(), IssueDto.class));
+
+        List<SearchHit> hits = List.of(hit1, hit2);
+        when(searchService.search(10L, "login", 20)).thenReturn(hits);
+
+        // given the expected response
+        String expectedResponse = mapper.writeValueAsString(
+                hits.stream()
+                        .map((hit) -> new SearchResultDto(hit.getIssue(), hit.getScore()))
+                        .collect(Collectors.toList())
+        );
+
+        // when a GET request is made to search the project issues
+        // then expect the ranked issues to be returned
+        mockMvc.perform(get("/projects/10/search?q=login"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(expectedResponse, true));
+    }
+
+    @Test
+    public void givenSearch_itShouldCapTheNumberOfResults() throws Exception {
+        when(searchService.search(10L, "login", CursorPage.MAX_SIZE)).thenReturn(List.of());
+
+        mockMvc.perform(get("/projects/10/search?q=login&size=100000"))
+                .andExpect(status().isOk());
+
+        verify(searchService).search(10L, "login", CursorPage.MAX_SIZE);
+    }
+
+    @Test
+    public void givenSearch_whenProjectIdIsInvalid_itShouldReturnInvalidIdError() throws Exception {
+        mockMvc.perform(get("/projects/invalid_id/search?q=login"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value(IdValidator.errorMessage));
+    }
+
+    @Test
+    public void givenSearch_whenProjectDoesNotExist_itShouldReturnProjectNotFoundError() throws Exception {
+        when(projectService.getProjectById(404L)).thenThrow(new ResourceNotFoundException("Project not found"));
+
+        mockMvc.perform(get("/projects/404/search?q=login"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage").value("Project not found"));
+    }
+}
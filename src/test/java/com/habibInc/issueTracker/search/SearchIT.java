@@ -0,0 +1,154 @@
+package com.habibInc.issueTracker.search;
+
+import com.habibInc.issueTracker.comment.Comment;
+import com.habibInc.issueTracker.comment.CommentRepository;
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.project.Project;
+import com.habibInc.issueTracker.project.ProjectRepository;
+import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.security.JwtUtil;
+import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.user.UserRepository;
+import com.habibInc.issueTracker.user.UserService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class SearchIT {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Autowired
+    SearchService searchService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    IssueRepository issueRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    JwtUtil jwtUtil;
+
+    User authenticatedUser;
+    HttpHeaders headers;
+    Project project;
+
+    @BeforeEach
+    public void authSetup() {
+        // create a user to authenticate
+        authenticatedUser = new User();
+        authenticatedUser.setEmail("auth.user@email.com");
+        authenticatedUser.setPassword("auth_password");
+        authenticatedUser.setFullName("auth full name");
+        authenticatedUser.setUsername("auth username");
+
+        authenticatedUser = userService.createUser(authenticatedUser);
+
+        // set up the authorization header with the auth token
+        headers = new HttpHeaders();
+        headers.add(JwtUtil.HEADER, JwtUtil.TOKEN_PREFIX + jwtUtil.generateToken(authenticatedUser.getEmail()));
+
+        // create a project owned by the authenticated user
+        project = new Project();
+        project.setName("Search project");
+        project = projectService.createProject(project, authenticatedUser);
+    }
+
+    private Issue createIssue(String summary, String description) {
+        Issue issue = Issue.builder().summary(summary).description(description).build();
+
+        return restTemplate.exchange("/issues?project=" + project.getId(), HttpMethod.POST,
+                new HttpEntity<>(issue, headers), Issue.class).getBody();
+    }
+
+    private SearchResultDto[] search(String query) {
+        ResponseEntity<SearchResultDto[]> response = restTemplate.exchange(
+                String.format("/projects/%s/search?q=%s", project.getId(), query),
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                SearchResultDto[].class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    @Test
+    public void itShouldSearchIssuesCreatedThroughTheApi() {
+        // given issues created through the api
+        Issue issue1 = createIssue("Login page crashes", "Happens on every browser");
+        Issue issue2 = createIssue("Slow dashboard", "The login widget takes seconds to render");
+
+        // when searching for a term of the first issue summary and the second issue description
+        SearchResultDto[] results = search("login");
+
+        // then expect both issues, the shorter matching document first
+        assertThat(results).extracting(SearchResultDto::getIssue).extracting(IssueDto::getId)
+                .containsExactly(issue1.getId(), issue2.getId());
+    }
+
+    @Test
+    public void itShouldSearchCommentsAndForgetDeletedIssues() {
+        // given an issue with a comment
+        Issue issue = createIssue("Export fails", null);
+
+        Comment comment = new Comment();
+        comment.setContent("Reproduced on staging");
+        restTemplate.exchange("/issues/" + issue.getId() + "/comments", HttpMethod.POST,
+                new HttpEntity<>(comment, headers), Comment.class);
+
+        // then expect the issue to be found by its comment content
+        assertThat(search("staging")).extracting(SearchResultDto::getIssue).extracting(IssueDto::getId)
+                .containsExactly(issue.getId());
+
+        // when the issue is deleted
+        restTemplate.exchange("/issues/" + issue.getId(), HttpMethod.DELETE, new HttpEntity<>(headers), Void.class);
+
+        // then expect it not to be found anymore
+        assertThat(search("staging")).isEmpty();
+        assertThat(search("export")).isEmpty();
+    }
+
+    @Test
+    public void givenRebuild_itShouldIndexExistingIssues() {
+        // given an issue saved without going through the service
+        Issue issue = issueRepository.save(Issue.builder().project(project).summary("Imported issue").build());
+        assertThat(search("imported")).isEmpty();
+
+        // when the indexes are rebuilt
+        searchService.rebuild();
+
+        // then expect the issue to be searchable
+        assertThat(search("imported")).extracting(SearchResultDto::getIssue).extracting(IssueDto::getId)
+                .containsExactly(issue.getId());
+    }
+
+    @AfterEach
+    public void teardown() {
+        commentRepository.deleteAll();
+        issueRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+}
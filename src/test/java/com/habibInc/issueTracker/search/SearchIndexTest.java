@@ -0,0 +1,108 @@
+package com.habibInc.issueTracker.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchIndexTest {
+
+    SearchIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new SearchIndex();
+    }
+
+    private List<Long> search(String query) {
+        return index.search(query, 10).stream().map(SearchHit::getIssueId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void itShouldTokenizeText() {
+        assertThat(SearchIndex.tokenize("Login-page crashes, on iOS 14!"))
+                .containsExactly("login", "page", "crashes", "on", "ios", "14");
+
+        assertThat(SearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    public void itShouldFindIssuesContainingAnyOfTheQueryTerms() {
+        // given indexed issues
+        index.setField(1L, "summary", "Login page crashes");
+        index.setField(2L, "summary", "Signup form validation");
+        index.setField(3L, "description", "The login button is misaligned");
+
+        // when searching, then expect only the matching issues
+        assertThat(search("login")).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(search("signup crashes")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(search("unknown")).isEmpty();
+        assertThat(search("  ")).isEmpty();
+    }
+
+    @Test
+    public void itShouldRankRareTermsAndShortDocumentsHigher() {
+        // given issues sharing a common term, only one of them containing a rare term
+        index.setField(1L, "summary", "board column");
+        index.setField(2L, "summary", "board sprint");
+        index.setField(3L, "summary", "board");
+        index.setField(4L, "summary", "board column drag and drop between many different lanes");
+
+        // when searching for the rare and the common terms
+        List<SearchHit> hits = index.search("sprint board", 10);
+
+        // then expect the issue with the rare term first
+        assertThat(hits.get(0).getIssueId()).isEqualTo(2L);
+
+        // then expect the shorter documents to score higher for the common term
+        assertThat(search("column")).containsExactly(1L, 4L);
+    }
+
+    @Test
+    public void itShouldLimitTheNumberOfHits() {
+        for (long id = 1; id <= 20; id++)
+            index.setField(id, "summary", "same summary");
+
+        assertThat(index.search("summary", 5)).hasSize(5);
+    }
+
+    @Test
+    public void givenSetField_itShouldReplaceThePreviousFieldText() {
+        // given an indexed issue
+        index.setField(1L, "summary", "Old summary");
+        index.setField(1L, "description", "Description");
+
+        // when its summary is updated
+        index.setField(1L, "summary", "New title");
+
+        // then expect the old terms to be gone and the other fields to be kept
+        assertThat(search("old")).isEmpty();
+        assertThat(search("new")).containsExactly(1L);
+        assertThat(search("description")).containsExactly(1L);
+    }
+
+    @Test
+    public void itShouldRemoveFieldsAndDocuments() {
+        // given an issue with a comment, and another issue
+        index.setField(1L, "summary", "Issue summary");
+        index.setField(1L, "comment:10", "Reproduced on staging");
+        index.setField(2L, "summary", "Another issue");
+
+        // when the comment is removed
+        index.removeField(1L, "comment:10");
+
+        // then expect its terms to be gone only
+        assertThat(search("staging")).isEmpty();
+        assertThat(search("summary")).containsExactly(1L);
+
+        // when the whole issue is removed
+        index.removeDocument(1L);
+
+        // then expect it to be gone from the index
+        assertThat(search("issue")).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
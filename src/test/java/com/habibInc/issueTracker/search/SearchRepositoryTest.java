@@ -0,0 +1,86 @@
+package com.habibInc.issueTracker.search;
+
+import com.habibInc.issueTracker.comment.Comment;
+import com.habibInc.issueTracker.comment.CommentRepository;
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.project.Project;
+import com.habibInc.issueTracker.project.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class SearchRepositoryTest {
+
+    @Autowired
+    SearchRepository searchRepository;
+
+    @Autowired
+    IssueRepository issueRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    Project project;
+    Issue issue1, issue2;
+
+    @BeforeEach
+    public void setup() {
+        project = projectRepository.save(Project.builder().name("Project").build());
+
+        issue1 = issueRepository.save(Issue.builder().project(project).summary("Summary 1").description("Description 1").build());
+        issue2 = issueRepository.save(Issue.builder().project(project).summary("Summary 2").build());
+
+        // issues without a project are not searchable
+        issueRepository.save(Issue.builder().summary("Orphan").build());
+    }
+
+    @Test
+    public void itShouldFindIssueTextsAfterTheGivenId() {
+        // when the first batch is fetched
+        List<SearchRepository.IssueText> texts = searchRepository.findIssueTexts(0L, PageRequest.of(0, 1));
+
+        // then expect the first issue text only
+        assertThat(texts).hasSize(1);
+        assertThat(texts.get(0).getId()).isEqualTo(issue1.getId());
+        assertThat(texts.get(0).getProjectId()).isEqualTo(project.getId());
+        assertThat(texts.get(0).getSummary()).isEqualTo(issue1.getSummary());
+        assertThat(texts.get(0).getDescription()).isEqualTo(issue1.getDescription());
+
+        // when the next batch is fetched, then expect the remaining issue with a project
+        texts = searchRepository.findIssueTexts(issue1.getId(), PageRequest.of(0, 10));
+
+        assertThat(texts).extracting(SearchRepository.IssueText::getId).containsExactly(issue2.getId());
+    }
+
+    @Test
+    public void itShouldFindCommentTexts() {
+        // given a comment
+        Comment comment = new Comment();
+        comment.setContent("Comment content");
+        comment.setIssue(issue2);
+        comment = commentRepository.save(comment);
+
+        // when the comment texts are fetched
+        List<SearchRepository.CommentText> texts = searchRepository.findCommentTexts(0L, PageRequest.of(0, 10));
+
+        // then expect the comment with its issue and project ids
+        assertThat(texts).hasSize(1);
+        assertThat(texts.get(0).getId()).isEqualTo(comment.getId());
+        assertThat(texts.get(0).getIssueId()).isEqualTo(issue2.getId());
+        assertThat(texts.get(0).getProjectId()).isEqualTo(project.getId());
+        assertThat(texts.get(0).getContent()).isEqualTo(comment.getContent());
+    }
+}
@@ -0,0 +1,225 @@
+package com.habibInc.issueTracker.search;
+
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueDto;
+import com.habibInc.issueTracker.issue.IssueDtoAssembler;
+import com.habibInc.issueTracker.issue.IssueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class SearchServiceTest {
+
+    @InjectMocks
+    SearchService searchService;
+
+    @Mock
+    SearchRepository searchRepository;
+
+    @Mock
+    IssueRepository issueRepository;
+
+    @Mock
+    IssueDtoAssembler issueDtoAssembler;
+
+    Issue issue1, issue2;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void init() {
+        initMocks(this);
+
+        // assemble a DTO carrying the id of each issue projection
+        when(issueDtoAssembler.toDtos(any())).thenAnswer((invocation) ->
+                ((List<IssueRepository.IssueView>) invocation.getArgument(0)).stream()
+                        .map((view) -> {
+                            IssueDto issueDto = new IssueDto();
+                            issueDto.setId(view.getId());
+                            return issueDto;
+                        })
+                        .collect(Collectors.toList()));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+
+        searchService.shutdown();
+    }
+
+    @BeforeEach
+    public void setup() {
+        issue1 = Issue.builder().id(1L).summary("Login page crashes").build();
+        issue2 = Issue.builder().id(2L).summary("Signup page is slow").build();
+    }
+
+    @Test
+    public void itShouldSearchIndexedIssuesOfTheProjectOnly() {
+        // given issues indexed in two projects
+        searchService.indexIssue(10L, issue1.getId(), issue1.getSummary(), null);
+        searchService.indexIssue(20L, issue2.getId(), issue2.getSummary(), null);
+
+        doReturn(viewsOf(issue1)).when(issueRepository).findViewsByIdIn(List.of(issue1.getId()));
+
+        // when searching the first project
+        List<SearchHit> hits = searchService.search(10L, "page", 10);
+
+        // then expect only its issues to be returned
+        assertThat(hits).extracting((hit) -> hit.getIssue().getId()).containsExactly(issue1.getId());
+    }
+
+    @Test
+    public void itShouldSearchCommentsContent() {
+        // given an issue with a comment
+        searchService.indexIssue(10L, issue1.getId(), issue1.getSummary(), null);
+        searchService.indexComment(10L, issue1.getId(), 100L, "reproduced on staging");
+
+        doReturn(viewsOf(issue1)).when(issueRepository).findViewsByIdIn(List.of(issue1.getId()));
+
+        // when searching for the comment content, then expect the issue to be found
+        assertThat(searchService.search(10L, "staging", 10)).extracting((hit) -> hit.getIssue().getId()).containsExactly(issue1.getId());
+
+        // when the comment is removed, then expect the issue not to be found anymore
+        searchService.removeComment(10L, issue1.getId(), 100L);
+        assertThat(searchService.search(10L, "staging", 10)).isEmpty();
+    }
+
+    @Test
+    public void givenSearch_whenProjectHasNoIndex_itShouldNotHitTheDatabase() {
+        assertThat(searchService.search(404L, "page", 10)).isEmpty();
+        verifyNoInteractions(issueRepository);
+    }
+
+    @Test
+    public void givenSearch_itShouldDropTheHitsOfDeletedIssues() {
+        // given an indexed issue that has been deleted
+        searchService.indexIssue(10L, issue1.getId(), issue1.getSummary(), null);
+        when(issueRepository.findViewsByIdIn(any())).thenReturn(List.of());
+
+        // then expect it not to be returned
+        assertThat(searchService.search(10L, "login", 10)).isEmpty();
+    }
+
+    @Test
+    public void itShouldRebuildTheIndexesFromTheDatabase() {
+        // given a stale index entry
+        searchService.indexIssue(10L, 99L, "stale entry", null);
+
+        // given the issues and comments texts
+        SearchRepository.IssueText issueText = mock(SearchRepository.IssueText.class);
+        when(issueText.getId()).thenReturn(issue1.getId());
+        when(issueText.getProjectId()).thenReturn(10L);
+        when(issueText.getSummary()).thenReturn(issue1.getSummary());
+
+        SearchRepository.CommentText commentText = mock(SearchRepository.CommentText.class);
+        when(commentText.getId()).thenReturn(100L);
+        when(commentText.getIssueId()).thenReturn(issue1.getId());
+        when(commentText.getProjectId()).thenReturn(10L);
+        when(commentText.getContent()).thenReturn("reproduced on staging");
+
+        when(searchRepository.findIssueTexts(eq(0L), any())).thenReturn(List.of(issueText));
+        when(searchRepository.findCommentTexts(eq(0L), any())).thenReturn(List.of(commentText));
+        doReturn(viewsOf(issue1)).when(issueRepository).findViewsByIdIn(List.of(issue1.getId()));
+
+        // when the indexes are rebuilt
+        searchService.rebuild();
+
+        // then expect the database texts to be searchable and the stale entry to be gone
+        assertThat(searchService.search(10L, "login", 10)).extracting((hit) -> hit.getIssue().getId()).containsExactly(issue1.getId());
+        assertThat(searchService.search(10L, "staging", 10)).extracting((hit) -> hit.getIssue().getId()).containsExactly(issue1.getId());
+        assertThat(searchService.search(10L, "stale", 10)).isEmpty();
+    }
+
+    @Test
+    public void givenTransaction_itShouldIndexTheIssueOnceCommitted() {
+        // given an ongoing transaction
+        TransactionSynchronizationManager.initSynchronization();
+
+        doReturn(viewsOf(issue1)).when(issueRepository).findViewsByIdIn(List.of(issue1.getId()));
+
+        // when an issue is indexed, then expect it not to be searchable before the commit
+        searchService.indexIssue(10L, issue1.getId(), issue1.getSummary(), null);
+        assertThat(searchService.search(10L, "login", 10)).isEmpty();
+
+        // when the transaction commits, then expect it to be searchable
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(searchService.search(10L, "login", 10)).extracting((hit) -> hit.getIssue().getId()).containsExactly(issue1.getId());
+    }
+
+    @Test
+    public void givenRebuild_itShouldKeepTheEntriesUpdatedAfterTheBatchWasRead() {
+        // given the issue text read by the rebuild
+        SearchRepository.IssueText issueText = mock(SearchRepository.IssueText.class);
+        when(issueText.getId()).thenReturn(issue1.getId());
+        when(issueText.getProjectId()).thenReturn(10L);
+        when(issueText.getSummary()).thenReturn(issue1.getSummary());
+
+        SearchRepository.IssueText deletedIssueText = mock(SearchRepository.IssueText.class);
+        when(deletedIssueText.getId()).thenReturn(issue2.getId());
+        when(deletedIssueText.getProjectId()).thenReturn(10L);
+        when(deletedIssueText.getSummary()).thenReturn(issue2.getSummary());
+
+        // given the first issue is updated and the second one deleted right after the batch was read
+        when(searchRepository.findIssueTexts(eq(0L), any())).thenAnswer((invocation) -> {
+            searchService.indexIssue(10L, issue1.getId(), "Logout button is hidden", null);
+            searchService.removeIssue(10L, issue2.getId());
+            return List.of(issueText, deletedIssueText);
+        });
+
+        doReturn(viewsOf(issue1, issue2)).when(issueRepository).findViewsByIdIn(any());
+
+        // when the indexes are rebuilt
+        searchService.rebuild();
+
+        // then expect the rebuild not to have brought back the older texts
+        assertThat(searchService.search(10L, "logout", 10)).extracting(SearchHit::getIssueId).containsExactly(issue1.getId());
+        assertThat(searchService.search(10L, "login", 10)).isEmpty();
+        assertThat(searchService.search(10L, "signup", 10)).isEmpty();
+    }
+
+    @Test
+    public void givenScheduleRebuild_itShouldRebuildOnItsOwnThread() {
+        searchService.start();
+
+        // given the thread reading the database is recorded
+        AtomicReference<String> threadName = new AtomicReference<>();
+        when(searchRepository.findIssueTexts(eq(0L), any())).thenAnswer((invocation) -> {
+            threadName.set(Thread.currentThread().getName());
+            return List.of();
+        });
+
+        // when a rebuild is scheduled
+        searchService.scheduleRebuild();
+
+        // then expect it to have run on the rebuild thread
+        verify(searchRepository, timeout(1000)).findCommentTexts(eq(0L), any());
+        assertThat(threadName.get()).isEqualTo("search-rebuild");
+    }
+
+    private static List<IssueRepository.IssueView> viewsOf(Issue... issues) {
+        return Arrays.stream(issues).map((issue) -> {
+            IssueRepository.IssueView view = mock(IssueRepository.IssueView.class);
+            when(view.getId()).thenReturn(issue.getId());
+            return view;
+        }).collect(Collectors.toList());
+    }
+}
@@ -14,11 +14,9 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,9 +34,6 @@ public class SprintControllerTest {
     @MockBean
     SprintService sprintService;
 
-    @MockBean
-    ModelMapper modelMapper;
-
     Sprint sprint;
     List<Issue> issues;
 
@@ -67,7 +62,6 @@ public class SprintControllerTest {
 
         // given the service response
         when(sprintService.createSprint(any(Long.class), any(Sprint.class))).thenReturn(sprint);
-        when(modelMapper.map(sprint, SprintBacklogDto.class)).thenReturn(sprintDto);
 
         // given the request body
         String requestBody = objectMapper.writeValueAsString(sprint);
@@ -90,7 +84,6 @@ public class SprintControllerTest {
 
         // given the expected sprint DTO response
         SprintBoardDto sprintDto = new ModelMapper().map(sprint, SprintBoardDto.class);
-        when(modelMapper.map(sprint, SprintBoardDto.class)).thenReturn(sprintDto);
         String expectedResponse = objectMapper.writeValueAsString(sprintDto);
 
         // when a GET request is made to fetch a sprint by id
@@ -121,14 +114,20 @@ public class SprintControllerTest {
     }
 
     @Test
-    public void itShouldGetSprintsByStatus() throws Exception {
-        // given the sprint service returns a list of active sprints
-        when(sprintService.getSprintsByStatus(SprintStatus.ACTIVE)).thenReturn(new ArrayList<>());
-
-        // when a GET request is made to fetch a list of sprints by status
-        // then expect the sprints with the correct status to have been fetched
-        mockMvc.perform(get("/projects/1/sprints?status=active"))
-                .andExpect(status().isOk());
+    public void itShouldGetSprintSummariesByStatus() throws Exception {
+        // given the sprint service returns the summary of an active sprint
+        SprintSummaryDto summary = new SprintSummaryDto(sprint.getId(), sprint.getName(), sprint.getGoal(),
+                SprintStatus.ACTIVE, sprint.getStartDate(), sprint.getEndDate(), 4, 13);
+        when(sprintService.getSprintSummariesByStatus(1L, SprintStatus.ACTIVE, 2, 5)).thenReturn(List.of(summary));
+
+        // when a GET request is made to fetch the sprint summaries by status
+        // then expect the sprints to have been fetched with the size of their backlogs
+        mockMvc.perform(get("/projects/1/sprints?status=active&page=2&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(sprint.getId()))
+                .andExpect(jsonPath("$[0].issueCount").value(4))
+                .andExpect(jsonPath("$[0].points").value(13))
+                .andExpect(jsonPath("$[0].backlog").doesNotExist());
     }
 
     @Test
@@ -137,14 +136,33 @@ public class SprintControllerTest {
         String requestBody = "{\"newSprintStatus\": \"active\"}";
 
         // given the sprint service returns the updated sprint
-        when(sprintService.updateSprintStatus(sprint.getId(), SprintStatus.ACTIVE)).thenReturn(sprint);
+        when(sprintService.updateSprintStatus(sprint.getId(), SprintStatus.ACTIVE))
+                .thenReturn(new SprintStatusDto(sprint.getId(), sprint.getName(), SprintStatus.ACTIVE, 0));
 
         // when a PATCH request is made to update the sprint status
         // then expect the response to be the updated sprint
         mockMvc.perform(patch("/projects/1/sprints/" + sprint.getId())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestBody))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(sprint.getId()))
+                .andExpect(jsonPath("$.status").value("Active"));
+    }
+
+    @Test
+    public void givenUpdateSprintStatus_whenStatusIsOver_itShouldReturnTheNumberOfMovedIssues() throws Exception {
+        // given the sprint service moved three unfinished issues to the product backlog
+        when(sprintService.updateSprintStatus(sprint.getId(), SprintStatus.OVER))
+                .thenReturn(new SprintStatusDto(sprint.getId(), sprint.getName(), SprintStatus.OVER, 3));
+
+        // when a PATCH request is made to end the sprint
+        // then expect the response to carry the number of moved issues
+        mockMvc.perform(patch("/projects/1/sprints/" + sprint.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"newSprintStatus\": \"over\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Over"))
+                .andExpect(jsonPath("$.movedIssueCount").value(3));
     }
 
     @Test
@@ -159,7 +177,7 @@ public class SprintControllerTest {
         // given the request body
         String requestBody = "{\"newSprintId\": \""+ newSprintId +"\"}";
 
-        doNothing().when(sprintService).updateIssueSprint(oldSprintId, issue.getId(), newSprintId);
+        doNothing().when(sprintService).updateIssueSprint(oldSprintId, issue.getId(), newSprintId, null);
 
         // given the endpoint url
         String url = "/projects/1/sprints/" + oldSprintId + "/issues/" + issue.getId();
@@ -162,8 +162,8 @@ public class SprintIT {
         public void itShouldGetSprintsByStatus() {
             // given a list of active sprints
             List<Sprint> activeSprints = List.of(
-                    Sprint.builder().name("sprint active 1").status(SprintStatus.ACTIVE).build(),
-                    Sprint.builder().name("sprint active 2").status(SprintStatus.ACTIVE).build()
+                    Sprint.builder().name("sprint active 1").status(SprintStatus.ACTIVE).project(project).build(),
+                    Sprint.builder().name("sprint active 2").status(SprintStatus.ACTIVE).project(project).build()
             );
 
             // given a list of inactive sprints
@@ -182,19 +182,51 @@ public class SprintIT {
             inactiveSprints = (List<Sprint>) sprintRepository.saveAll(inactiveSprints);
             overSprints = (List<Sprint>) sprintRepository.saveAll(overSprints);
 
+            // given an active sprint of another project
+            Project otherProject = projectRepository.save(Project.builder().name("Other project").build());
+            Sprint otherSprint = sprintRepository.save(
+                    Sprint.builder().name("sprint other").status(SprintStatus.ACTIVE).project(otherProject).build());
+
             // when a GET request is made to fetch sprints by status
-            ResponseEntity<Sprint[]> response =
-                    restTemplate.exchange(baseUrl + "?status=active", HttpMethod.GET, httpEntity, Sprint[].class);
+            ResponseEntity<SprintSummaryDto[]> response =
+                    restTemplate.exchange(baseUrl + "?status=active", HttpMethod.GET, httpEntity, SprintSummaryDto[].class);
 
-            List<Sprint> sprintsByStatus = Arrays.asList(response.getBody());
+            List<Long> sprintsByStatus = Arrays.stream(response.getBody()).map(SprintSummaryDto::getId).collect(Collectors.toList());
 
             // then expect only the sprints with the correct status to have been fetched
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
 
             assertThat(sprintsByStatus)
-                    .containsExactlyElementsOf(activeSprints)
-                    .doesNotContainAnyElementsOf(inactiveSprints)
-                    .doesNotContainAnyElementsOf(overSprints);
+                    .containsExactlyElementsOf(idsOf(activeSprints))
+                    .doesNotContainAnyElementsOf(idsOf(inactiveSprints))
+                    .doesNotContainAnyElementsOf(idsOf(overSprints))
+                    .doesNotContain(otherSprint.getId());
+        }
+
+        @Test
+        public void itShouldGetSprintSummariesByStatus() {
+            // given an active sprint with two issues
+            Sprint activeSprint = sprintRepository.save(
+                    Sprint.builder().name("sprint active").status(SprintStatus.ACTIVE).project(project).build());
+
+            issueRepository.saveAll(List.of(
+                    Issue.builder().summary("issue 1").sprint(activeSprint).points(2).build(),
+                    Issue.builder().summary("issue 2").sprint(activeSprint).points(3).build()
+            ));
+
+            // when a GET request is made to fetch the sprint summaries by status
+            ResponseEntity<SprintSummaryDto[]> response = restTemplate.exchange(
+                    baseUrl + "?status=active", HttpMethod.GET, httpEntity, SprintSummaryDto[].class);
+
+            // then expect the sprint to have been summed up
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+            SprintSummaryDto summary = Arrays.stream(response.getBody())
+                    .filter((dto) -> dto.getId().equals(activeSprint.getId()))
+                    .findFirst().get();
+
+            assertThat(summary.getIssueCount()).isEqualTo(2);
+            assertThat(summary.getPoints()).isEqualTo(5);
         }
     }
 
@@ -234,7 +266,7 @@ public class SprintIT {
             assertThat(patchResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
 
             List<Issue> sprintIssues =
-                    sprintService.getSprintById(sprint.getId()).getBacklog();
+                    sprintService.getSprintWithBacklogById(sprint.getId()).getBacklog();
             assertThat(sprintIssues).containsExactlyElementsOf(issues);
         }
 
@@ -248,8 +280,8 @@ public class SprintIT {
             HttpEntity<String> httpEntity = new HttpEntity<>(requestBody, headers);
 
             // when a PATCH request is made to update the sprint status
-            ResponseEntity<Sprint> response =
-                    restTemplate.exchange(baseUrl + "/" + sprint.getId(), HttpMethod.PATCH, httpEntity, Sprint.class);
+            ResponseEntity<SprintStatusDto> response =
+                    restTemplate.exchange(baseUrl + "/" + sprint.getId(), HttpMethod.PATCH, httpEntity, SprintStatusDto.class);
 
             // then the status should be updated successfully
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -279,8 +311,8 @@ public class SprintIT {
             HttpEntity<String> httpEntity = new HttpEntity<>(requestBody, headers);
 
             // when a PATCH request is made to update the sprint status to over
-            ResponseEntity<Sprint> response =
-                    restTemplate.exchange(baseUrl + "/" + sprint.getId(), HttpMethod.PATCH, httpEntity, Sprint.class);
+            ResponseEntity<SprintStatusDto> response =
+                    restTemplate.exchange(baseUrl + "/" + sprint.getId(), HttpMethod.PATCH, httpEntity, SprintStatusDto.class);
 
             // then the status should be updated successfully
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -295,6 +327,33 @@ public class SprintIT {
             sprintBacklog.forEach(issue -> assertThat(issue.getSprint()).isNull());
         }
 
+        @Test
+        public void givenUpdateSprintStatus_whenStatusIsOver_itShouldKeepTheFinishedIssuesInTheSprint() {
+            // given a sprint with a board laying out its backlog
+            sprint = sprintService.createSprint(project.getId(), sprint);
+
+            Issue finished = issueRepository.save(Issue.builder().summary("finished").sprint(sprint).build());
+            Issue unfinished = issueRepository.save(Issue.builder().summary("unfinished").sprint(sprint).build());
+
+            boardService.createBoard(sprint.getId(), Board.builder().name("Sprint board").build(), authenticatedUser);
+
+            // given the first issue done, and an issue added to the sprint without any column
+            Long doneColumnId = sprintRepository.findLastColumnIdById(sprint.getId()).get();
+            issueRepository.updateIssuesColumn(doneColumnId, List.of(finished.getId()));
+            Issue unplanned = issueRepository.save(Issue.builder().summary("unplanned").sprint(sprint).build());
+
+            // when the sprint is over
+            ResponseEntity<SprintStatusDto> response = restTemplate.exchange(baseUrl + "/" + sprint.getId(), HttpMethod.PATCH,
+                    new HttpEntity<>("{\"newSprintStatus\": \"over\"}", headers), SprintStatusDto.class);
+
+            // then expect the finished issue alone to stay in the sprint
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getMovedIssueCount()).isEqualTo(2);
+            assertThat(issueRepository.findById(finished.getId()).get().getSprint().getId()).isEqualTo(sprint.getId());
+            assertThat(issueRepository.findById(unfinished.getId()).get().getSprint()).isNull();
+            assertThat(issueRepository.findById(unplanned.getId()).get().getSprint()).isNull();
+        }
+
         @Test
         public void itShouldUpdateIssueSprint() {
             // given the new and old sprints
@@ -321,7 +380,7 @@ public class SprintIT {
             // then expect the update to have been successful
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
 
-            assertThat(sprintRepository.findById(newSprint.getId()).get().getBacklog())
+            assertThat(sprintRepository.findWithBacklogById(newSprint.getId()).get().getBacklog())
                     .contains(issue);
         }
     }
@@ -366,7 +425,7 @@ public class SprintIT {
             sprintBacklog = (List<Issue>) issueRepository.saveAll(sprintBacklog);
 
             // assert that the sprint backlog has been saved
-            assertThat(sprintRepository.findById(sprint.getId()).get().getBacklog()).containsExactlyElementsOf(sprintBacklog);
+            assertThat(sprintRepository.findWithBacklogById(sprint.getId()).get().getBacklog()).containsExactlyElementsOf(sprintBacklog);
 
             // when a DELETE request is made to remove the sprint by id
             restTemplate.exchange(baseUrl + sprint.getId(), HttpMethod.DELETE, httpEntity, Void.class);
@@ -396,4 +455,8 @@ public class SprintIT {
         projectRepository.deleteAll();
         userRepository.deleteAll();
     }
+
+    private static List<Long> idsOf(List<Sprint> sprints) {
+        return sprints.stream().map(Sprint::getId).collect(Collectors.toList());
+    }
 }
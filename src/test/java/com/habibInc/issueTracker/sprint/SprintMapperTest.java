@@ -0,0 +1,69 @@
+package com.habibInc.issueTracker.sprint;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.habibInc.issueTracker.board.Board;
+import com.habibInc.issueTracker.column.Column;
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SprintMapperTest {
+
+    ModelMapper modelMapper = new ModelMapper();
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    Sprint sprint;
+
+    @BeforeEach
+    public void setup() {
+        User owner = User.builder().id(1L).username("owner").fullName("Owner").build();
+
+        sprint = Sprint.builder()
+                .id(10L)
+                .name("Sprint")
+                .goal("Sprint goal")
+                .status(SprintStatus.ACTIVE)
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusWeeks(2))
+                .build();
+
+        Issue issue1 = Issue.builder().id(100L).summary("issue 1").reporter(owner).sprint(sprint).build();
+        Issue issue2 = Issue.builder().id(200L).summary("issue 2").assignee(owner).sprint(sprint).build();
+        sprint.setBacklog(List.of(issue1, issue2));
+
+        Board board = new Board();
+        board.setId(20L);
+        board.setName("Board");
+        board.setOwner(owner);
+        board.setSprint(sprint);
+
+        Column toDo = Column.builder().id(30L).title("To do").board(board).issues(List.of(issue1)).build();
+        Column done = Column.builder().id(40L).title("Done").board(board).issues(List.of(issue2)).build();
+        board.setColumns(List.of(toDo, done));
+
+        sprint.setBoard(board);
+    }
+
+    @Test
+    public void itShouldMapSprintBacklogLikeTheModelMapper() throws Exception {
+        assertThat(objectMapper.writeValueAsString(SprintMapper.toBacklogDto(sprint)))
+                .isEqualTo(objectMapper.writeValueAsString(modelMapper.map(sprint, SprintBacklogDto.class)));
+    }
+
+    @Test
+    public void itShouldMapSprintBoardLikeTheModelMapper() throws Exception {
+        SprintBoardDto mapped = SprintMapper.toBoardDto(sprint);
+
+        assertThat(objectMapper.writeValueAsString(mapped))
+                .isEqualTo(objectMapper.writeValueAsString(modelMapper.map(sprint, SprintBoardDto.class)));
+        assertThat(mapped.getBoard().getOwnerId()).isEqualTo(1L);
+    }
+}
@@ -2,11 +2,14 @@ package com.habibInc.issueTracker.sprint;
 
 import com.habibInc.issueTracker.issue.Issue;
 import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.project.Project;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -24,6 +27,9 @@ public class SprintRepositoryTest {
     @Autowired
     IssueRepository issueRepository;
 
+    @Autowired
+    TestEntityManager entityManager;
+
     Sprint sprint;
 
     @BeforeEach
@@ -84,22 +90,68 @@ public class SprintRepositoryTest {
     }
 
     @Test
-    public void itShouldFindAllSprintsByStatus() {
-        // given a list of sprints with various statuses
-        Sprint activeSprint1 = Sprint.builder().name("sprint 1").status(SprintStatus.ACTIVE).build();
-        Sprint activeSprint2 = Sprint.builder().name("sprint 2").status(SprintStatus.ACTIVE).build();
-        Sprint inactiveSprint = Sprint.builder().name("sprint 2").status(SprintStatus.INACTIVE).build();
-        Sprint overSprint = Sprint.builder().name("sprint 2").status(SprintStatus.OVER).build();
-
-        sprintRepository.saveAll(List.of(activeSprint1, activeSprint2, inactiveSprint, overSprint));
-
-        // when the sprints are queried by status
-        List<Sprint> sprintsByStatus = sprintRepository.findAllByStatus(SprintStatus.ACTIVE);
-
-        // then only the sprints with the correct status should be fetched
-        assertThat(sprintsByStatus).containsAll(List.of(activeSprint1, activeSprint2));
-        assertThat(sprintsByStatus).doesNotContain(inactiveSprint);
-        assertThat(sprintsByStatus).doesNotContain(overSprint);
+    public void itShouldFindSprintWithItsBacklogById() {
+        // given the sprint is saved along with its issues
+        sprint = sprintRepository.save(sprint);
+
+        List<Issue> issues = List.of(
+                Issue.builder().summary("issue 1").sprint(sprint).build(),
+                Issue.builder().summary("issue 2").sprint(sprint).build()
+        );
+        issueRepository.saveAll(issues);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // when the sprint is queried by id along with its backlog
+        Optional<Sprint> sprintOptional = sprintRepository.findWithBacklogById(sprint.getId());
+
+        // then the sprint should be retrieved once, holding its issues
+        assertThat(sprintOptional).contains(sprint);
+        assertThat(sprintOptional.get().getBacklog()).containsExactlyInAnyOrderElementsOf(issues);
+    }
+
+    @Test
+    public void itShouldFindSprintSummariesByProjectIdAndStatus() {
+        // given two active sprints of the project, one of them with issues, and an inactive sprint
+        Project project = entityManager.persist(Project.builder().name("Project").build());
+        Project otherProject = entityManager.persist(Project.builder().name("Other project").build());
+
+        Sprint activeSprint1 = Sprint.builder().name("sprint 1").status(SprintStatus.ACTIVE).project(project).build();
+        Sprint activeSprint2 = Sprint.builder().name("sprint 2").status(SprintStatus.ACTIVE).project(project).build();
+        Sprint inactiveSprint = Sprint.builder().name("sprint 3").status(SprintStatus.INACTIVE).project(project).build();
+
+        // given an active sprint of another project
+        Sprint otherSprint = Sprint.builder().name("sprint 4").status(SprintStatus.ACTIVE).project(otherProject).build();
+
+        sprintRepository.saveAll(List.of(activeSprint1, activeSprint2, inactiveSprint, otherSprint));
+
+        issueRepository.saveAll(List.of(
+                Issue.builder().summary("issue 1").sprint(activeSprint1).points(3).build(),
+                Issue.builder().summary("issue 2").sprint(activeSprint1).points(5).build(),
+                Issue.builder().summary("issue 3").sprint(inactiveSprint).points(8).build(),
+                Issue.builder().summary("issue 4").sprint(otherSprint).points(13).build()
+        ));
+
+        // when the sprint summaries of the project are queried by status
+        List<SprintRepository.SprintSummaryView> summaries =
+                sprintRepository.findSummariesByProjectIdAndStatus(project.getId(), SprintStatus.ACTIVE, PageRequest.of(0, 10));
+
+        // then each active sprint of the project should be counted, the empty one included
+        assertThat(summaries).extracting(SprintRepository.SprintSummaryView::getId)
+                .containsExactly(activeSprint1.getId(), activeSprint2.getId());
+
+        assertThat(summaries.get(0).getIssueCount()).isEqualTo(2);
+        assertThat(summaries.get(0).getPoints()).isEqualTo(8);
+        assertThat(summaries.get(1).getIssueCount()).isZero();
+        assertThat(summaries.get(1).getPoints()).isZero();
+
+        // when the second page of a single sprint is queried
+        List<SprintRepository.SprintSummaryView> secondPage =
+                sprintRepository.findSummariesByProjectIdAndStatus(project.getId(), SprintStatus.ACTIVE, PageRequest.of(1, 1));
+
+        // then only the second sprint should be fetched
+        assertThat(secondPage).extracting(SprintRepository.SprintSummaryView::getId).containsExactly(activeSprint2.getId());
     }
 
     @Test
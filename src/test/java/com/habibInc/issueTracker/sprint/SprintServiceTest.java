@@ -1,12 +1,17 @@
 package com.habibInc.issueTracker.sprint;
 
+import com.habibInc.issueTracker.change.ChangeTracker;
 import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
 import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.history.IssueHistory;
 import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueCache;
 import com.habibInc.issueTracker.issue.IssueRepository;
 import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.issue.IssueSnapshot;
 import com.habibInc.issueTracker.project.Project;
 import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.stats.IssueCounter;
 import com.habibInc.issueTracker.user.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +19,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -40,6 +46,18 @@ public class SprintServiceTest {
     @Mock
     IssueService issueService;
 
+    @Mock
+    IssueCache issueCache;
+
+    @Mock
+    ChangeTracker changeTracker;
+
+    @Mock
+    IssueCounter issueCounter;
+
+    @Mock
+    IssueHistory issueHistory;
+
     Sprint sprint;
     List<Issue> issues;
 
@@ -135,15 +153,57 @@ public class SprintServiceTest {
     }
 
     @Test
-    public void itShouldGetSprintsByStatus() {
-        // given the sprint repository
-        when(sprintRepository.findAllByStatus(SprintStatus.ACTIVE)).thenReturn(new ArrayList<>());
+    public void givenSetSprintBacklog_itShouldInvalidateTheCachedIssues() {
+        // when the sprint backlog is set
+        sprintService.setSprintBacklog(sprint.getId(), List.of(10L, 20L));
 
-        // when the service method is invoked
-        sprintService.getSprintsByStatus(SprintStatus.ACTIVE);
+        // then expect the cached snapshots of the moved issues to have been invalidated
+        verify(issueCache, times(1)).invalidateAll(List.of(10L, 20L));
+    }
+
+    @Test
+    public void givenSetSprintBacklog_itShouldMoveTheIssueCounts() {
+        // when the sprint backlog is set
+        sprintService.setSprintBacklog(sprint.getId(), List.of(10L, 20L));
 
-        // then expect the repository to have been invoked
-        verify(sprintRepository, times(1)).findAllByStatus(SprintStatus.ACTIVE);
+        // then expect the counts of the moved issues to have been moved along
+        verify(issueCounter, times(1)).sprintChanged(List.of(10L, 20L), sprint.getId());
+    }
+
+    @Test
+    public void givenSetSprintBacklog_itShouldCountTheProjectChange() {
+        // given the sprint project
+        when(sprintRepository.findProjectIdById(sprint.getId())).thenReturn(Optional.of(100L));
+
+        // when the sprint backlog is set
+        sprintService.setSprintBacklog(sprint.getId(), List.of(10L, 20L));
+
+        // then expect the project to have been counted as changed
+        verify(changeTracker, times(1)).projectChanged(100L);
+    }
+
+    @Test
+    public void itShouldGetSprintSummariesByStatus() {
+        // given an active sprint summary
+        SprintRepository.SprintSummaryView summary = mock(SprintRepository.SprintSummaryView.class);
+        when(summary.getId()).thenReturn(1L);
+        when(summary.getStatus()).thenReturn(SprintStatus.ACTIVE);
+        when(summary.getIssueCount()).thenReturn(4L);
+        when(summary.getPoints()).thenReturn(13L);
+
+        when(sprintRepository.findSummariesByProjectIdAndStatus(1L, SprintStatus.ACTIVE, PageRequest.of(0, 10)))
+                .thenReturn(List.of(summary));
+
+        // when the sprint summaries are fetched by status
+        List<SprintSummaryDto> summaries = sprintService.getSprintSummariesByStatus(1L, SprintStatus.ACTIVE, 0, 10);
+
+        // then expect the counts to have been mapped, without loading any sprint or issue
+        assertThat(summaries).hasSize(1);
+        assertThat(summaries.get(0).getId()).isEqualTo(1L);
+        assertThat(summaries.get(0).getIssueCount()).isEqualTo(4L);
+        assertThat(summaries.get(0).getPoints()).isEqualTo(13L);
+
+        verifyNoInteractions(issueRepository);
     }
 
     @Test
@@ -153,10 +213,11 @@ public class SprintServiceTest {
         when(sprintRepository.save(sprint)).thenReturn(sprint);
 
         // when the service method is invoked
-        sprintService.updateSprintStatus(sprint.getId(), SprintStatus.ACTIVE);
+        SprintStatusDto updatedSprint = sprintService.updateSprintStatus(sprint.getId(), SprintStatus.ACTIVE);
 
-        // then expect the status to have been updated
+        // then expect the status to have been updated, without moving any issue
         assertThat(sprint.getStatus()).isEqualTo(SprintStatus.ACTIVE);
+        assertThat(updatedSprint.getMovedIssueCount()).isZero();
 
         verify(sprintRepository, times(1)).findById(sprint.getId());
         verify(sprintRepository, times(1)).save(sprint);
@@ -168,18 +229,58 @@ public class SprintServiceTest {
         when(sprintRepository.findById(sprint.getId())).thenReturn(Optional.of(sprint));
         when(sprintRepository.save(sprint)).thenReturn(sprint);
 
-        doNothing().when(sprintService).moveUnfinishedSprintIssuesToProductBacklog(sprint);
+        doReturn(2).when(sprintService).moveUnfinishedSprintIssuesToProductBacklog(sprint.getId());
 
         // when the service method is invoked
-        sprintService.updateSprintStatus(sprint.getId(), SprintStatus.OVER);
+        SprintStatusDto updatedSprint = sprintService.updateSprintStatus(sprint.getId(), SprintStatus.OVER);
 
-        // then expect the status to have been updated
+        // then expect the status to have been updated, once the unfinished issues were moved
         assertThat(sprint.getStatus()).isEqualTo(SprintStatus.OVER);
+        assertThat(updatedSprint.getStatus()).isEqualTo(SprintStatus.OVER);
+        assertThat(updatedSprint.getMovedIssueCount()).isEqualTo(2);
+        verify(sprintService).moveUnfinishedSprintIssuesToProductBacklog(sprint.getId());
 
         verify(sprintRepository, times(1)).findById(sprint.getId());
         verify(sprintRepository, times(1)).save(sprint);
     }
 
+    @Test
+    public void itShouldMoveUnfinishedSprintIssuesToProductBacklog() {
+        // given the last column of the sprint board and the issues outside of it
+        when(sprintRepository.findLastColumnIdById(sprint.getId())).thenReturn(Optional.of(30L));
+        when(sprintRepository.findProjectIdById(sprint.getId())).thenReturn(Optional.of(9L));
+        when(issueRepository.moveSprintIssuesOutsideColumnToProductBacklog(sprint.getId(), 30L)).thenReturn(2);
+
+        // when the unfinished issues are moved
+        int moved = sprintService.moveUnfinishedSprintIssuesToProductBacklog(sprint.getId());
+
+        // then expect them to have been moved by one statement, without loading the sprint, its backlog or its issue ids
+        assertThat(moved).isEqualTo(2);
+        verify(issueCounter).sprintLeft(sprint.getId(), 30L);
+        verify(issueCache).invalidateSprint(sprint.getId());
+        verify(changeTracker).projectChanged(9L);
+        verify(sprintRepository, never()).findById(any());
+        verify(issueRepository, never()).updateIssuesSprint(any(), any());
+    }
+
+    @Test
+    public void givenMoveUnfinishedSprintIssuesToProductBacklog_whenSprintHasNoBoard_itShouldMoveAllIssues() {
+        when(sprintRepository.findLastColumnIdById(sprint.getId())).thenReturn(Optional.empty());
+        when(issueRepository.moveSprintIssuesOutsideColumnToProductBacklog(sprint.getId(), null)).thenReturn(1);
+
+        assertThat(sprintService.moveUnfinishedSprintIssuesToProductBacklog(sprint.getId())).isEqualTo(1);
+    }
+
+    @Test
+    public void givenMoveUnfinishedSprintIssuesToProductBacklog_whenEveryIssueIsFinished_itShouldNotInvalidateAnything() {
+        when(sprintRepository.findLastColumnIdById(sprint.getId())).thenReturn(Optional.of(30L));
+        when(issueRepository.moveSprintIssuesOutsideColumnToProductBacklog(sprint.getId(), 30L)).thenReturn(0);
+
+        assertThat(sprintService.moveUnfinishedSprintIssuesToProductBacklog(sprint.getId())).isZero();
+
+        verifyNoInteractions(issueCache, changeTracker);
+    }
+
     @Test
     public void itShouldUpdateIssueSprint() {
         // given an issue
@@ -187,15 +288,24 @@ public class SprintServiceTest {
 
         // given
         when(sprintRepository.findById(sprint.getId())).thenReturn(Optional.of(sprint));
-        when(issueService.getIssueById(issue.getId())).thenReturn(issue);
+        when(issueService.getIssueSnapshot(issue.getId())).thenReturn(IssueSnapshot.of(issue));
 
-        when(issueRepository.save(issue)).thenReturn(issue);
+        // given the issue has been moved to another sprint since its snapshot was cached
+        when(issueRepository.findSprintIdById(issue.getId())).thenReturn(Optional.of(5L));
 
         // when the service method is invoked
-        sprintService.updateIssueSprint(null, issue.getId(), sprint.getId());
+        User user = User.builder().id(7L).build();
+        sprintService.updateIssueSprint(null, issue.getId(), sprint.getId(), user);
 
-        // then the sprint should have been updated
-        assertThat(issue.getSprint()).isEqualTo(sprint);
+        // then the issue sprint alone should have been updated, without loading the issue
+        verify(issueRepository, times(1)).updateIssuesSprint(sprint.getId(), List.of(issue.getId()));
+        verify(issueService, never()).getIssueById(any());
+
+        // then the cached issue snapshot should have been invalidated
+        verify(issueCache, times(1)).invalidate(issue.getId());
+
+        // then the sprint change should have been recorded, from the sprint the stored issue was in
+        verify(issueHistory).recordChange(issue.getId(), user, IssueHistory.SPRINT, 5L, sprint.getId());
     }
 
     @Test
@@ -214,12 +324,12 @@ public class SprintServiceTest {
         doReturn(sprint).when(sprintService).getSprintById(sprint.getId());
         doReturn(project).when(projectService).getProjectById(project.getId());
 
-        // given the issues sprint is updated
-        doReturn(0).when(issueRepository).updateIssuesSprint(eq(null), any(List.class));
-
         // when the service method to delete a sprint by id is invoked
         sprintService.deleteSprintById(project.getId(), sprint.getId(), projectOwner);
 
+        // then expect all the sprint issues to have been moved back to the product backlog at once
+        verify(issueRepository).moveSprintIssuesOutsideColumnToProductBacklog(sprint.getId(), null);
+
         // then expect the repository to have been invoked and the sprint to have been deleted
         verify(sprintRepository, times(1)).deleteById(sprint.getId());
     }
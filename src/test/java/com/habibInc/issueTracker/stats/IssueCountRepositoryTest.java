@@ -0,0 +1,118 @@
+package com.habibInc.issueTracker.stats;
+
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssuePriority;
+import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.issue.IssueStatus;
+import com.habibInc.issueTracker.issue.IssueType;
+import com.habibInc.issueTracker.project.Project;
+import com.habibInc.issueTracker.project.ProjectRepository;
+import com.habibInc.issueTracker.sprint.Sprint;
+import com.habibInc.issueTracker.sprint.SprintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static com.habibInc.issueTracker.stats.IssueCountKey.Dimension;
+import static com.habibInc.issueTracker.stats.IssueCountKey.Scope;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class IssueCountRepositoryTest {
+
+    @Autowired
+    IssueCountRepository countRepository;
+
+    @Autowired
+    IssueRepository issueRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    SprintRepository sprintRepository;
+
+    Project project;
+    Sprint sprint;
+    Issue issue1, issue2, issue3;
+
+    @BeforeEach
+    public void setup() {
+        project = projectRepository.save(Project.builder().name("Project").build());
+        sprint = sprintRepository.save(Sprint.builder().name("Sprint").project(project).build());
+
+        issue1 = issueRepository.save(Issue.builder().project(project).sprint(sprint)
+                .status(IssueStatus.RESOLVED).priority(IssuePriority.HIGH).type(IssueType.BUG).build());
+        issue2 = issueRepository.save(Issue.builder().project(project).sprint(sprint)
+                .status(IssueStatus.RESOLVED).priority(IssuePriority.HIGH).type(IssueType.BUG).build());
+        issue3 = issueRepository.save(Issue.builder().project(project)
+                .status(IssueStatus.UNRESOLVED).priority(IssuePriority.LOW).type(IssueType.TASK).build());
+    }
+
+    @Test
+    public void itShouldCreateAndIncrementCounts() {
+        // given a count written twice
+        countRepository.add("SPRINT", sprint.getId(), "STATUS", "RESOLVED", project.getId(), 2);
+        countRepository.add("SPRINT", sprint.getId(), "STATUS", "RESOLVED", project.getId(), -1);
+
+        // when the counts of the project are fetched
+        List<IssueCount> counts = countRepository.findAllByProjectId(project.getId());
+
+        // then expect a single row with the sum of both deltas
+        assertThat(counts).hasSize(1);
+        assertThat(counts.get(0).getKey())
+                .isEqualTo(new IssueCountKey(Scope.SPRINT, sprint.getId(), Dimension.STATUS, "RESOLVED"));
+        assertThat(counts.get(0).getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    public void itShouldDeleteEmptyCounts() {
+        // given an empty count and a non empty one
+        countRepository.add("PROJECT", project.getId(), "TYPE", "BUG", project.getId(), 0);
+        countRepository.add("PROJECT", project.getId(), "TYPE", "TASK", project.getId(), 1);
+
+        // when the empty counts are deleted
+        countRepository.deleteEmptyByProjectId(project.getId());
+
+        // then expect the non empty count only
+        assertThat(countRepository.findAllByProjectId(project.getId()))
+                .extracting((count) -> count.getKey().getValue())
+                .containsExactly("TASK");
+    }
+
+    @Test
+    public void itShouldFindIssuesFacets() {
+        // when the facets of the first and last issues are fetched
+        List<IssueCountRepository.FacetsView> facets =
+                countRepository.findFacetsByIssueIdIn(List.of(issue1.getId(), issue3.getId()));
+
+        // then expect the issue in the sprint and the one in the backlog
+        assertThat(facets).extracting(IssueFacets::of).containsExactlyInAnyOrder(
+                new IssueFacets(project.getId(), sprint.getId(), null, IssueStatus.RESOLVED, IssuePriority.HIGH, IssueType.BUG),
+                new IssueFacets(project.getId(), null, null, IssueStatus.UNRESOLVED, IssuePriority.LOW, IssueType.TASK)
+        );
+    }
+
+    @Test
+    public void itShouldCountIssuesByFacets() {
+        // when the issues of the project are counted
+        List<IssueCountRepository.FacetsCountView> counts = countRepository.countFacetsByProjectId(project.getId());
+
+        // then expect the two identical issues to be counted together
+        assertThat(counts).hasSize(2);
+        assertThat(counts).filteredOn((count) -> sprint.getId().equals(count.getSprintId()))
+                .extracting(IssueCountRepository.FacetsCountView::getTotal)
+                .containsExactly(2L);
+        assertThat(counts).filteredOn((count) -> count.getSprintId() == null)
+                .extracting(IssueCountRepository.FacetsCountView::getTotal)
+                .containsExactly(1L);
+
+        // then expect the project to be listed among the ones with issues
+        assertThat(countRepository.findIssueProjectIds()).contains(project.getId());
+    }
+}
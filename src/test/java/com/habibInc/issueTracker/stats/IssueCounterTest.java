@@ -0,0 +1,204 @@
+package com.habibInc.issueTracker.stats;
+
+import com.habibInc.issueTracker.issue.IssuePriority;
+import com.habibInc.issueTracker.issue.IssueStatus;
+import com.habibInc.issueTracker.issue.IssueType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class IssueCounterTest {
+
+    @InjectMocks
+    IssueCounter issueCounter;
+
+    @Mock
+    IssueCountRepository countRepository;
+
+    IssueFacets issue;
+
+    @BeforeEach
+    public void init() {
+        initMocks(this);
+
+        // an issue of project 1, in sprint 2 and column 3
+        issue = new IssueFacets(1L, 2L, 3L, IssueStatus.UNRESOLVED, IssuePriority.HIGH, IssueType.BUG);
+    }
+
+    @Test
+    public void itShouldCountAddedIssuesInEveryScope() {
+        // when two issues are added, one of them outside of any sprint and column
+        issueCounter.added(List.of(issue, issue.withSprintId(null).withColumnId(null)));
+
+        // then expect the project counts to be incremented by two at once
+        verify(countRepository).add("PROJECT", 1L, "ALL", "ALL", 1L, 2);
+        verify(countRepository).add("PROJECT", 1L, "STATUS", "UNRESOLVED", 1L, 2);
+        verify(countRepository).add("PROJECT", 1L, "PRIORITY", "HIGH", 1L, 2);
+        verify(countRepository).add("PROJECT", 1L, "TYPE", "BUG", 1L, 2);
+
+        // then expect the sprint and column counts to be incremented by one
+        verify(countRepository).add("SPRINT", 2L, "ALL", "ALL", 1L, 1);
+        verify(countRepository).add("COLUMN", 3L, "ALL", "ALL", 1L, 1);
+        verify(countRepository).add("SPRINT", 2L, "STATUS", "UNRESOLVED", 1L, 1);
+        verify(countRepository).add("SPRINT", 2L, "PRIORITY", "HIGH", 1L, 1);
+        verify(countRepository).add("SPRINT", 2L, "TYPE", "BUG", 1L, 1);
+        verify(countRepository).add("COLUMN", 3L, "STATUS", "UNRESOLVED", 1L, 1);
+        verify(countRepository).add("COLUMN", 3L, "PRIORITY", "HIGH", 1L, 1);
+        verify(countRepository).add("COLUMN", 3L, "TYPE", "BUG", 1L, 1);
+
+        verifyNoMoreInteractions(countRepository);
+    }
+
+    @Test
+    public void itShouldNotCountIssuesOutsideOfAnyProject() {
+        issueCounter.added(new IssueFacets(null, null, null, IssueStatus.UNRESOLVED, IssuePriority.LOW, IssueType.TASK));
+
+        verifyNoInteractions(countRepository);
+    }
+
+    @Test
+    public void itShouldOnlyWriteTheChangedCounts() {
+        // when the issue status changes
+        issueCounter.changed(issue, new IssueFacets(1L, 2L, 3L, IssueStatus.RESOLVED, IssuePriority.HIGH, IssueType.BUG));
+
+        // then expect the status counts of each scope to be moved, the other counts are left as they are
+        verify(countRepository).add("PROJECT", 1L, "STATUS", "UNRESOLVED", 1L, -1);
+        verify(countRepository).add("PROJECT", 1L, "STATUS", "RESOLVED", 1L, 1);
+        verify(countRepository).add("SPRINT", 2L, "STATUS", "UNRESOLVED", 1L, -1);
+        verify(countRepository).add("SPRINT", 2L, "STATUS", "RESOLVED", 1L, 1);
+        verify(countRepository).add("COLUMN", 3L, "STATUS", "UNRESOLVED", 1L, -1);
+        verify(countRepository).add("COLUMN", 3L, "STATUS", "RESOLVED", 1L, 1);
+
+        verifyNoMoreInteractions(countRepository);
+    }
+
+    @Test
+    public void itShouldWriteTheCountsInTheSameOrder() {
+        // when an issue is removed
+        issueCounter.removed(List.of(issue));
+
+        // then expect the rows to be written in key order, whatever the change
+        InOrder inOrder = inOrder(countRepository);
+        inOrder.verify(countRepository).add("PROJECT", 1L, "ALL", "ALL", 1L, -1);
+        inOrder.verify(countRepository).add("PROJECT", 1L, "STATUS", "UNRESOLVED", 1L, -1);
+        inOrder.verify(countRepository).add("PROJECT", 1L, "PRIORITY", "HIGH", 1L, -1);
+        inOrder.verify(countRepository).add("PROJECT", 1L, "TYPE", "BUG", 1L, -1);
+        inOrder.verify(countRepository).add("SPRINT", 2L, "ALL", "ALL", 1L, -1);
+        inOrder.verify(countRepository).add("SPRINT", 2L, "STATUS", "UNRESOLVED", 1L, -1);
+        inOrder.verify(countRepository).add("COLUMN", 3L, "STATUS", "UNRESOLVED", 1L, -1);
+    }
+
+    @Test
+    public void itShouldIgnoreUnchangedIssues() {
+        issueCounter.changed(issue, issue.withSprintId(2L));
+
+        verifyNoInteractions(countRepository);
+    }
+
+    @Test
+    public void itShouldMoveTheCountsOfIssuesToAnotherSprint() {
+        // given the stored facets of two issues, one of them already in the target sprint
+        IssueCountRepository.FacetsView view1 = facetsView(issue);
+        IssueCountRepository.FacetsView view2 = facetsView(issue.withSprintId(5L));
+        when(countRepository.findFacetsByIssueIdIn(List.of(10L, 11L))).thenReturn(List.of(view1, view2));
+
+        // when the issues are moved to sprint 5
+        issueCounter.sprintChanged(List.of(10L, 11L), 5L);
+
+        // then expect the first issue alone to be moved from sprint 2 to sprint 5
+        verify(countRepository).add("SPRINT", 2L, "ALL", "ALL", 1L, -1);
+        verify(countRepository).add("SPRINT", 5L, "ALL", "ALL", 1L, 1);
+        verify(countRepository).add("SPRINT", 2L, "STATUS", "UNRESOLVED", 1L, -1);
+        verify(countRepository).add("SPRINT", 5L, "STATUS", "UNRESOLVED", 1L, 1);
+        verify(countRepository, never()).add(eq("PROJECT"), anyLong(), anyString(), anyString(), anyLong(), anyLong());
+        verify(countRepository, never()).add(eq("COLUMN"), anyLong(), anyString(), anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void itShouldMoveTheCountsOfTheIssuesLeavingASprintByGroup() {
+        // given two unfinished issues of sprint 2 sharing the same facets
+        IssueCountRepository.FacetsCountView group = mock(IssueCountRepository.FacetsCountView.class);
+        when(group.getProjectId()).thenReturn(issue.getProjectId());
+        when(group.getSprintId()).thenReturn(issue.getSprintId());
+        when(group.getColumnId()).thenReturn(issue.getColumnId());
+        when(group.getStatus()).thenReturn(issue.getStatus());
+        when(group.getPriority()).thenReturn(issue.getPriority());
+        when(group.getType()).thenReturn(issue.getType());
+        when(group.getTotal()).thenReturn(2L);
+
+        when(countRepository.countFacetsBySprintIdOutsideColumn(2L, 30L)).thenReturn(List.of(group));
+
+        // when the issues outside of the last column leave the sprint
+        issueCounter.sprintLeft(2L, 30L);
+
+        // then expect them to leave the sprint counts all at once, the project and column counts being unchanged
+        verify(countRepository).add("SPRINT", 2L, "ALL", "ALL", 1L, -2);
+        verify(countRepository).add("SPRINT", 2L, "STATUS", "UNRESOLVED", 1L, -2);
+        verify(countRepository, never()).add(eq("PROJECT"), anyLong(), anyString(), anyString(), anyLong(), anyLong());
+        verify(countRepository, never()).add(eq("COLUMN"), anyLong(), anyString(), anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void itShouldNotFetchTheFacetsOfNoIssues() {
+        assertThat(issueCounter.getFacets(List.of())).isEmpty();
+
+        verifyNoInteractions(countRepository);
+    }
+
+    @Test
+    public void itShouldReconcileTheDriftedCounts() {
+        // given the actual counts: two issues in project 1, none in a sprint or column
+        IssueCountRepository.FacetsCountView actual = mock(IssueCountRepository.FacetsCountView.class);
+        when(actual.getProjectId()).thenReturn(1L);
+        when(actual.getSprintId()).thenReturn(null);
+        when(actual.getColumnId()).thenReturn(null);
+        when(actual.getStatus()).thenReturn(IssueStatus.UNRESOLVED);
+        when(actual.getPriority()).thenReturn(IssuePriority.HIGH);
+        when(actual.getType()).thenReturn(IssueType.BUG);
+        when(actual.getTotal()).thenReturn(2L);
+        when(countRepository.countFacetsByProjectId(1L)).thenReturn(List.of(actual));
+
+        // given the stored counts, of which the status count and a sprint count have drifted
+        when(countRepository.findAllByProjectId(1L)).thenReturn(List.of(
+                count(IssueCountKey.Scope.PROJECT, 1L, IssueCountKey.Dimension.ALL, "ALL", 2),
+                count(IssueCountKey.Scope.PROJECT, 1L, IssueCountKey.Dimension.STATUS, "UNRESOLVED", 1),
+                count(IssueCountKey.Scope.PROJECT, 1L, IssueCountKey.Dimension.PRIORITY, "HIGH", 2),
+                count(IssueCountKey.Scope.PROJECT, 1L, IssueCountKey.Dimension.TYPE, "BUG", 2),
+                count(IssueCountKey.Scope.SPRINT, 2L, IssueCountKey.Dimension.TYPE, "BUG", 1)
+        ));
+
+        // when the project counts are reconciled
+        int repaired = issueCounter.reconcile(1L);
+
+        // then expect the drifted counts alone to be corrected, and the emptied ones to be dropped
+        assertThat(repaired).isEqualTo(2);
+        verify(countRepository).add("PROJECT", 1L, "STATUS", "UNRESOLVED", 1L, 1);
+        verify(countRepository).add("SPRINT", 2L, "TYPE", "BUG", 1L, -1);
+        verify(countRepository, times(2)).add(anyString(), anyLong(), anyString(), anyString(), anyLong(), anyLong());
+        verify(countRepository).deleteEmptyByProjectId(1L);
+    }
+
+    private IssueCount count(IssueCountKey.Scope scope, Long scopeId, IssueCountKey.Dimension dimension, String value, long total) {
+        return new IssueCount(new IssueCountKey(scope, scopeId, dimension, value), 1L, total);
+    }
+
+    private IssueCountRepository.FacetsView facetsView(IssueFacets facets) {
+        IssueCountRepository.FacetsView view = mock(IssueCountRepository.FacetsView.class);
+        when(view.getProjectId()).thenReturn(facets.getProjectId());
+        when(view.getSprintId()).thenReturn(facets.getSprintId());
+        when(view.getColumnId()).thenReturn(facets.getColumnId());
+        when(view.getStatus()).thenReturn(facets.getStatus());
+        when(view.getPriority()).thenReturn(facets.getPriority());
+        when(view.getType()).thenReturn(facets.getType());
+        return view;
+    }
+}
@@ -0,0 +1,80 @@
+package com.habibInc.issueTracker.stats;
+
+import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.issue.IssueStatus;
+import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.TreeMap;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(IssueStatsController.class)
+@WithMockUser
+public class IssueStatsControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    IssueStatsService statsService;
+
+    @MockBean
+    ProjectService projectService;
+
+    @Test
+    public void itShouldGetProjectStats() throws Exception {
+        // given the project stats, with a sprint
+        IssueCountsDto projectCounts = IssueCountsDto.empty();
+        projectCounts.setTotal(3);
+        projectCounts.getStatus().put(IssueStatus.IN_PROGRESS, 3L);
+
+        IssueCountsDto sprintCounts = IssueCountsDto.empty();
+        sprintCounts.setTotal(1);
+
+        TreeMap<Long, IssueCountsDto> sprints = new TreeMap<>();
+        sprints.put(2L, sprintCounts);
+
+        when(statsService.getProjectStats(10L)).thenReturn(new ProjectStatsDto(10L, projectCounts, sprints, new TreeMap<>()));
+
+        // when a GET request is made to fetch the project stats
+        // then expect the counts, keyed by the serialized constants
+        mockMvc.perform(get("/projects/10/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projectId").value(10))
+                .andExpect(jsonPath("$.project.total").value(3))
+                .andExpect(jsonPath("$.project.status['In Progress']").value(3))
+                .andExpect(jsonPath("$.project.status['Unresolved']").value(0))
+                .andExpect(jsonPath("$.project.priority['High']").value(0))
+                .andExpect(jsonPath("$.project.type['Bug']").value(0))
+                .andExpect(jsonPath("$.sprints['2'].total").value(1))
+                .andExpect(jsonPath("$.columns").isEmpty());
+    }
+
+    @Test
+    public void givenGetProjectStats_whenProjectIdIsInvalid_itShouldReturnInvalidIdError() throws Exception {
+        mockMvc.perform(get("/projects/invalid_id/stats"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value(IdValidator.errorMessage));
+    }
+
+    @Test
+    public void givenGetProjectStats_whenProjectDoesNotExist_itShouldReturnProjectNotFoundError() throws Exception {
+        when(projectService.getProjectById(404L)).thenThrow(new ResourceNotFoundException("Project not found"));
+
+        mockMvc.perform(get("/projects/404/stats"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage").value("Project not found"));
+
+        verify(statsService, never()).getProjectStats(any());
+    }
+}
@@ -0,0 +1,206 @@
+package com.habibInc.issueTracker.stats;
+
+import com.habibInc.issueTracker.board.BoardDto;
+import com.habibInc.issueTracker.board.BoardRepository;
+import com.habibInc.issueTracker.column.ColumnRepository;
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssuePriority;
+import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.issue.IssueStatus;
+import com.habibInc.issueTracker.issue.IssueType;
+import com.habibInc.issueTracker.project.Project;
+import com.habibInc.issueTracker.project.ProjectRepository;
+import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.security.JwtUtil;
+import com.habibInc.issueTracker.sprint.Sprint;
+import com.habibInc.issueTracker.sprint.SprintRepository;
+import com.habibInc.issueTracker.sprint.SprintService;
+import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.user.UserRepository;
+import com.habibInc.issueTracker.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class IssueStatsIT {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Autowired
+    SprintService sprintService;
+
+    @Autowired
+    IssueStatsService statsService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    SprintRepository sprintRepository;
+
+    @Autowired
+    BoardRepository boardRepository;
+
+    @Autowired
+    ColumnRepository columnRepository;
+
+    @Autowired
+    IssueRepository issueRepository;
+
+    @Autowired
+    IssueCountRepository countRepository;
+
+    @Autowired
+    JwtUtil jwtUtil;
+
+    User authenticatedUser;
+    HttpHeaders headers;
+    Project project;
+
+    @BeforeEach
+    public void authSetup() {
+        // create a user to authenticate
+        authenticatedUser = new User();
+        authenticatedUser.setEmail("auth.user@email.com");
+        authenticatedUser.setPassword("auth_password");
+        authenticatedUser.setFullName("auth full name");
+        authenticatedUser.setUsername("auth username");
+
+        authenticatedUser = userService.createUser(authenticatedUser);
+
+        // set up the authorization header with the auth token
+        headers = new HttpHeaders();
+        headers.add(JwtUtil.HEADER, JwtUtil.TOKEN_PREFIX + jwtUtil.generateToken(authenticatedUser.getEmail()));
+
+        // create a project owned by the authenticated user
+        project = new Project();
+        project.setName("Stats project");
+        project = projectService.createProject(project, authenticatedUser);
+    }
+
+    private Issue createIssue(IssueType type, IssuePriority priority) {
+        Issue issue = Issue.builder().summary("Summary").type(type).priority(priority).status(IssueStatus.UNRESOLVED).build();
+
+        return restTemplate.exchange("/issues?project=" + project.getId(), HttpMethod.POST,
+                new HttpEntity<>(issue, headers), Issue.class).getBody();
+    }
+
+    private ProjectStatsDto getStats() {
+        ResponseEntity<ProjectStatsDto> response = restTemplate.exchange("/projects/" + project.getId() + "/stats",
+                HttpMethod.GET, new HttpEntity<>(headers), ProjectStatsDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    @Test
+    public void itShouldCountIssuesThroughTheirChanges() {
+        // given three issues created through the api
+        Issue issue1 = createIssue(IssueType.BUG, IssuePriority.HIGH);
+        Issue issue2 = createIssue(IssueType.TASK, IssuePriority.HIGH);
+        Issue issue3 = createIssue(IssueType.TASK, IssuePriority.LOW);
+
+        // given the first two issues moved to a sprint
+        Sprint sprint = sprintService.createSprint(project.getId(), Sprint.builder().name("Sprint").build());
+        restTemplate.exchange("/projects/" + project.getId() + "/sprints/" + sprint.getId() + "/backlog",
+                HttpMethod.PATCH, new HttpEntity<>(List.of(issue1.getId(), issue2.getId()), headers), Integer.class);
+
+        // given a board whose to do column takes the sprint backlog
+        BoardDto board = restTemplate.exchange("/boards?sprint=" + sprint.getId(), HttpMethod.POST,
+                new HttpEntity<>(new com.habibInc.issueTracker.board.Board(), headers), BoardDto.class).getBody();
+        Long toDoColumnId = board.getColumns().get(0).getId();
+
+        // given the first issue resolved by a merge patch
+        HttpHeaders patchHeaders = new HttpHeaders();
+        patchHeaders.addAll(headers);
+        patchHeaders.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        restTemplate.exchange("/issues/" + issue1.getId(), HttpMethod.PATCH,
+                new HttpEntity<>("{\"status\": \"Resolved\"}", patchHeaders), String.class);
+
+        // given the last issue deleted
+        restTemplate.exchange("/issues/" + issue3.getId(), HttpMethod.DELETE, new HttpEntity<>(headers), Void.class);
+
+        // when the project stats are fetched
+        ProjectStatsDto stats = getStats();
+
+        // then expect the project counts of the two remaining issues
+        assertThat(stats.getProject().getTotal()).isEqualTo(2);
+        assertThat(stats.getProject().getStatus())
+                .containsEntry(IssueStatus.RESOLVED, 1L)
+                .containsEntry(IssueStatus.UNRESOLVED, 1L);
+        assertThat(stats.getProject().getPriority())
+                .containsEntry(IssuePriority.HIGH, 2L)
+                .containsEntry(IssuePriority.LOW, 0L);
+        assertThat(stats.getProject().getType())
+                .containsEntry(IssueType.BUG, 1L)
+                .containsEntry(IssueType.TASK, 1L);
+
+        // then expect the same counts for the sprint and its to do column
+        assertThat(stats.getSprints()).containsOnlyKeys(sprint.getId());
+        assertThat(stats.getSprints().get(sprint.getId()).getTotal()).isEqualTo(2);
+        assertThat(stats.getColumns()).containsOnlyKeys(toDoColumnId);
+        assertThat(stats.getColumns().get(toDoColumnId).getStatus()).containsEntry(IssueStatus.RESOLVED, 1L);
+
+        // when the counts are reconciled, then expect nothing to be repaired
+        assertThat(statsService.reconcile(project.getId())).isZero();
+
+        // when an issue is moved back to the product backlog
+        restTemplate.exchange("/projects/" + project.getId() + "/sprints/" + sprint.getId() + "/issues/" + issue2.getId(),
+                HttpMethod.PATCH, new HttpEntity<>("{\"newSprintId\": \"null\"}", headers), Void.class);
+
+        // then expect it to leave the sprint counts only
+        stats = getStats();
+        assertThat(stats.getProject().getTotal()).isEqualTo(2);
+        assertThat(stats.getSprints().get(sprint.getId()).getTotal()).isEqualTo(1);
+        assertThat(stats.getSprints().get(sprint.getId()).getType()).containsEntry(IssueType.TASK, 0L);
+    }
+
+    @Test
+    public void givenReconciliation_itShouldRepairDriftedCounts() {
+        // given an issue created through the api and one saved without going through the service
+        createIssue(IssueType.BUG, IssuePriority.HIGH);
+        issueRepository.save(Issue.builder().project(project).type(IssueType.TASK).build());
+
+        assertThat(getStats().getProject().getTotal()).isEqualTo(1);
+
+        // when the counts are reconciled
+        statsService.reconcileAll();
+
+        // then expect both issues to be counted
+        ProjectStatsDto stats = getStats();
+        assertThat(stats.getProject().getTotal()).isEqualTo(2);
+        assertThat(stats.getProject().getType())
+                .containsEntry(IssueType.BUG, 1L)
+                .containsEntry(IssueType.TASK, 1L);
+    }
+
+    @AfterEach
+    public void teardown() {
+        issueRepository.deleteAll();
+        columnRepository.deleteAll();
+        boardRepository.deleteAll();
+        sprintRepository.deleteAll();
+        countRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+}
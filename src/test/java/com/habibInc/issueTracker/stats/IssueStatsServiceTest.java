@@ -0,0 +1,116 @@
+package com.habibInc.issueTracker.stats;
+
+import com.habibInc.issueTracker.issue.IssuePriority;
+import com.habibInc.issueTracker.issue.IssueStatus;
+import com.habibInc.issueTracker.issue.IssueType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.habibInc.issueTracker.stats.IssueCountKey.Dimension;
+import static com.habibInc.issueTracker.stats.IssueCountKey.Scope;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class IssueStatsServiceTest {
+
+    @InjectMocks
+    IssueStatsService statsService;
+
+    @Mock
+    IssueCountRepository countRepository;
+
+    @Mock
+    IssueCounter issueCounter;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void init() {
+        initMocks(this);
+
+        // run the transaction callbacks right away
+        when(transactionTemplate.execute(any()))
+                .thenAnswer((invocation) -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    public void itShouldGetProjectStats() {
+        // given the stored counts of a project, a sprint and a column
+        when(countRepository.findAllByProjectId(1L)).thenReturn(List.of(
+                count(Scope.PROJECT, 1L, Dimension.ALL, "ALL", 5),
+                count(Scope.PROJECT, 1L, Dimension.STATUS, "UNRESOLVED", 3),
+                count(Scope.PROJECT, 1L, Dimension.STATUS, "RESOLVED", 2),
+                count(Scope.PROJECT, 1L, Dimension.PRIORITY, "HIGH", 5),
+                count(Scope.PROJECT, 1L, Dimension.TYPE, "BUG", 5),
+                count(Scope.SPRINT, 2L, Dimension.ALL, "ALL", 1),
+                count(Scope.SPRINT, 2L, Dimension.STATUS, "IN_PROGRESS", 1),
+                count(Scope.COLUMN, 3L, Dimension.TYPE, "TASK", 4)
+        ));
+
+        // when the project stats are fetched
+        ProjectStatsDto stats = statsService.getProjectStats(1L);
+
+        // then expect the project counts, with zeros for the missing constants
+        assertThat(stats.getProjectId()).isEqualTo(1L);
+        assertThat(stats.getProject().getTotal()).isEqualTo(5);
+        assertThat(stats.getProject().getStatus())
+                .containsEntry(IssueStatus.UNRESOLVED, 3L)
+                .containsEntry(IssueStatus.RESOLVED, 2L)
+                .containsEntry(IssueStatus.IN_PROGRESS, 0L);
+        assertThat(stats.getProject().getPriority())
+                .containsEntry(IssuePriority.HIGH, 5L)
+                .containsEntry(IssuePriority.LOW, 0L);
+        assertThat(stats.getProject().getType()).containsEntry(IssueType.BUG, 5L);
+
+        // then expect the sprint and column counts
+        assertThat(stats.getSprints()).containsOnlyKeys(2L);
+        assertThat(stats.getSprints().get(2L).getTotal()).isEqualTo(1);
+        assertThat(stats.getSprints().get(2L).getStatus()).containsEntry(IssueStatus.IN_PROGRESS, 1L);
+
+        assertThat(stats.getColumns()).containsOnlyKeys(3L);
+        assertThat(stats.getColumns().get(3L).getType()).containsEntry(IssueType.TASK, 4L);
+    }
+
+    @Test
+    public void itShouldSkipUnknownConstants() {
+        // given a count of a constant that no longer exists
+        when(countRepository.findAllByProjectId(1L)).thenReturn(List.of(
+                count(Scope.PROJECT, 1L, Dimension.STATUS, "ARCHIVED", 3)
+        ));
+
+        // when the project stats are fetched, then expect the count to be left out
+        ProjectStatsDto stats = statsService.getProjectStats(1L);
+
+        assertThat(stats.getProject().getStatus().values()).containsOnly(0L);
+        assertThat(stats.getProject().getStatus()).containsOnlyKeys(IssueStatus.values());
+    }
+
+    @Test
+    public void itShouldReconcileEveryCountedProject() {
+        // given the projects with issues and the ones with counts
+        when(countRepository.findIssueProjectIds()).thenReturn(List.of(1L, 2L));
+        when(countRepository.findProjectIds()).thenReturn(List.of(2L, 3L));
+
+        // when the counts are reconciled
+        statsService.reconcileAll();
+
+        // then expect each project to be reconciled once, in a transaction
+        verify(issueCounter).reconcile(1L);
+        verify(issueCounter).reconcile(2L);
+        verify(issueCounter).reconcile(3L);
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    private IssueCount count(Scope scope, Long scopeId, Dimension dimension, String value, long total) {
+        return new IssueCount(new IssueCountKey(scope, scopeId, dimension, value), 1L, total);
+    }
+}
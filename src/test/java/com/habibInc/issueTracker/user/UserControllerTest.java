@@ -9,7 +9,6 @@ import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -39,8 +38,7 @@ public class UserControllerTest {
     @MockBean
     JwtUtil jwtUtil;
 
-    @SpyBean
-    ModelMapper modelMapper;
+    ModelMapper modelMapper = new ModelMapper();
 
     User user;
 
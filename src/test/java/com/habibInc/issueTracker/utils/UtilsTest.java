@@ -1,9 +1,16 @@
 package com.habibInc.issueTracker.utils;
 
 import com.habibInc.issueTracker.exceptionhandler.InvalidIdException;
+import com.habibInc.issueTracker.utils.pagination.Cursor;
+import com.habibInc.issueTracker.utils.pagination.CursorPage;
+import com.habibInc.issueTracker.utils.rank.Rank;
 import com.habibInc.issueTracker.utils.validation.IdValidator;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
@@ -28,4 +35,119 @@ public class UtilsTest {
         assertThatExceptionOfType(InvalidIdException.class)
                 .isThrownBy(() -> IdValidator.validate(invalidId));
     }
+
+    @Test
+    public void itShouldEncodeAndDecodeCursor() {
+        // given the keys of the last seen row
+        String cursor = Cursor.encode(42L, "i0000001");
+
+        // when the cursor is decoded
+        String[] keys = Cursor.decode(cursor, 2);
+
+        // then expect the original keys
+        assertThat(keys).containsExactly("42", "i0000001");
+        assertThat(cursor).doesNotContain("42");
+    }
+
+    @Test
+    public void whenCursorIsInvalid_itShouldThrowInvalidIdError() {
+        // given a cursor that was not issued by the server
+        assertThatExceptionOfType(InvalidIdException.class)
+                .isThrownBy(() -> Cursor.decodeId("@@not-a-cursor@@"))
+                .withMessage(Cursor.errorMessage);
+
+        // given a cursor carrying the wrong number of keys
+        assertThatExceptionOfType(InvalidIdException.class)
+                .isThrownBy(() -> Cursor.decode(Cursor.encode(1L, 2L), 1));
+    }
+
+    @Test
+    public void itShouldCapPageSize() {
+        assertThat(CursorPage.limit(10)).isEqualTo(10);
+        assertThat(CursorPage.limit(0)).isEqualTo(1);
+        assertThat(CursorPage.limit(100_000)).isEqualTo(CursorPage.MAX_SIZE);
+    }
+
+    @Test
+    public void itShouldRankBetweenTwoRanks() {
+        assertThat(Rank.between("a", "c")).isEqualTo("b");
+        assertThat(Rank.between(null, null)).isEqualTo(Rank.INITIAL);
+
+        // when the ranks are adjacent, expect the rank to be one digit longer
+        assertThat(Rank.between("a", "b")).isEqualTo("ai");
+        assertThat(Rank.between("a", "a1")).isEqualTo("a0i");
+
+        // when a bound is missing, expect the rank to fall in the open range
+        assertThat(Rank.between(null, "1")).isEqualTo("0i");
+        assertThat(Rank.between("y", null)).isEqualTo("z");
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> Rank.between("b", "a"));
+    }
+
+    @Test
+    public void itShouldRankAfterARankWithoutGrowingIt() {
+        // given successive appended ranks
+        List<String> ranks = new ArrayList<>();
+        String rank = null;
+
+        for (int i = 0; i < 10_000; i++) {
+            rank = Rank.after(rank);
+            ranks.add(rank);
+        }
+
+        // then expect them to be strictly increasing and short
+        for (int i = 1; i < ranks.size(); i++)
+            assertThat(ranks.get(i)).isGreaterThan(ranks.get(i - 1));
+
+        assertThat(ranks.get(0)).isEqualTo(Rank.INITIAL);
+        assertThat(rank.length()).isLessThanOrEqualTo(Rank.WIDTH);
+    }
+
+    @Test
+    public void givenSpreadRanks_itShouldLeaveRoomToAppendAfterThem() {
+        // given a large spread list
+        List<String> ranks = Rank.spread(10_000);
+        String rank = ranks.get(ranks.size() - 1);
+
+        // when as many issues are appended after it
+        for (int i = 0; i < 10_000; i++) {
+            String next = Rank.after(rank);
+            assertThat(next).isGreaterThan(rank);
+            rank = next;
+        }
+
+        // then expect the appended ranks to have kept their width
+        assertThat(rank.length()).isLessThanOrEqualTo(Rank.WIDTH);
+    }
+
+    @Test
+    public void itShouldKeepRanksOrderedOnRandomMoves() {
+        // given a ranked list
+        List<String> ranks = new ArrayList<>(Rank.spread(50));
+        Random random = new Random(42);
+
+        // when random items are moved to random positions
+        for (int i = 0; i < 2_000; i++) {
+            ranks.remove(random.nextInt(ranks.size()));
+
+            int position = random.nextInt(ranks.size() + 1);
+            String lower = position > 0 ? ranks.get(position - 1) : null;
+            String upper = position < ranks.size() ? ranks.get(position) : null;
+
+            ranks.add(position, Rank.between(lower, upper));
+        }
+
+        // then expect the ranks to still be strictly increasing and without trailing zeros
+        for (int i = 1; i < ranks.size(); i++)
+            assertThat(ranks.get(i)).isGreaterThan(ranks.get(i - 1)).doesNotEndWith("0");
+    }
+
+    @Test
+    public void itShouldSpreadRanksEvenly() {
+        List<String> ranks = Rank.spread(1000);
+
+        assertThat(ranks).hasSize(1000).isSorted().doesNotHaveDuplicates();
+        assertThat(ranks).allMatch((rank) -> rank.length() <= Rank.WIDTH);
+        assertThat(Rank.spread(0)).isEmpty();
+    }
 }
@@ -0,0 +1,80 @@
+package com.habibInc.issueTracker.vote;
+
+import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.utils.validation.IdValidator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(VoteController.class)
+@WithMockUser
+public class VoteControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    VoteService voteService;
+
+    @MockBean
+    IssueService issueService;
+
+    @Test
+    public void itShouldGetIssueVotes() throws Exception {
+        when(voteService.getVotes(eq(1L), any())).thenReturn(new IssueVotesDto(1L, 5, false));
+
+        mockMvc.perform(get("/issues/1/votes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.issueId").value(1))
+                .andExpect(jsonPath("$.votes").value(5))
+                .andExpect(jsonPath("$.voted").value(false));
+    }
+
+    @Test
+    public void itShouldVoteForIssue() throws Exception {
+        when(voteService.vote(eq(1L), any())).thenReturn(new IssueVotesDto(1L, 6, true));
+
+        mockMvc.perform(post("/issues/1/votes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.votes").value(6))
+                .andExpect(jsonPath("$.voted").value(true));
+    }
+
+    @Test
+    public void itShouldRemoveIssueVote() throws Exception {
+        when(voteService.unvote(eq(1L), any())).thenReturn(new IssueVotesDto(1L, 4, false));
+
+        mockMvc.perform(delete("/issues/1/votes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.votes").value(4))
+                .andExpect(jsonPath("$.voted").value(false));
+    }
+
+    @Test
+    public void givenVote_whenIssueIdIsInvalid_itShouldReturnInvalidIdError() throws Exception {
+        mockMvc.perform(post("/issues/invalid_id/votes"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value(IdValidator.errorMessage));
+
+        verify(voteService, never()).vote(any(), any());
+    }
+
+    @Test
+    public void givenGetIssueVotes_whenIssueDoesNotExist_itShouldReturnIssueNotFoundError() throws Exception {
+        when(issueService.getIssueSnapshot(404L)).thenThrow(new ResourceNotFoundException("Issue not found"));
+
+        mockMvc.perform(get("/issues/404/votes"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage").value("Issue not found"));
+    }
+}
@@ -0,0 +1,170 @@
+package com.habibInc.issueTracker.vote;
+
+import com.habibInc.issueTracker.change.ChangeTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class VoteCounterTest {
+
+    IssueVoteRepository voteRepository;
+    TransactionTemplate transactionTemplate;
+    ChangeTracker changeTracker;
+    VoteCounter voteCounter;
+
+    @BeforeEach
+    public void init() {
+        voteRepository = mock(IssueVoteRepository.class);
+
+        // run the transaction callbacks right away
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer((invocation) -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+
+        changeTracker = mock(ChangeTracker.class);
+
+        voteCounter = new VoteCounter(voteRepository, transactionTemplate, changeTracker);
+    }
+
+    @Test
+    public void itShouldCountTheVotesUntilTheyAreFlushed() {
+        // when votes are added and removed
+        voteCounter.add(1L, 1);
+        voteCounter.add(1L, 1);
+        voteCounter.add(1L, -1);
+        voteCounter.add(2L, 1);
+
+        // then expect them to be pending, without being written
+        assertThat(voteCounter.getPendingVotes(1L)).isEqualTo(1);
+        assertThat(voteCounter.getPendingVotes(2L)).isEqualTo(1);
+        assertThat(voteCounter.getPendingVotes(3L)).isZero();
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    public void itShouldCountTheProjectsAndBoardsOfTheVotedIssuesAsChanged() {
+        // given votes for two issues of a project, one of them on a board
+        voteCounter.add(1L, 1);
+        voteCounter.add(2L, 1);
+
+        when(voteRepository.findProjectIdsByIssueIdIn(List.of(1L, 2L))).thenReturn(List.of(10L));
+        when(voteRepository.findBoardIdsByIssueIdIn(List.of(1L, 2L))).thenReturn(List.of(20L));
+
+        // when the votes are flushed
+        voteCounter.flush();
+
+        // then expect their project and board ETags to change
+        verify(changeTracker).projectChanged(10L);
+        verify(changeTracker).boardChanged(20L);
+    }
+
+    @Test
+    public void itShouldWriteTheVotesOfEachIssueOnce() {
+        // given votes for two issues
+        voteCounter.add(2L, 1);
+        voteCounter.add(1L, 1);
+        voteCounter.add(1L, 1);
+
+        // when the votes are flushed
+        assertThat(voteCounter.flush()).isTrue();
+
+        // then expect a single update per issue, and nothing pending anymore
+        verify(voteRepository).addVotes(1L, 2);
+        verify(voteRepository).addVotes(2L, 1);
+        verify(transactionTemplate, times(1)).execute(any());
+        assertThat(voteCounter.getPendingVotes(1L)).isZero();
+    }
+
+    @Test
+    public void itShouldNotWriteTheVotesThatCancelOut() {
+        // given a vote removed before the flush
+        voteCounter.add(1L, 1);
+        voteCounter.add(1L, -1);
+
+        // when the votes are flushed, then expect nothing to be written
+        assertThat(voteCounter.flush()).isTrue();
+        verify(voteRepository, never()).addVotes(anyLong(), anyInt());
+
+        // and when flushed again, expect the idle issue to have been dropped
+        voteCounter.flush();
+        assertThat(voteCounter.getPendingCount()).isZero();
+    }
+
+    @Test
+    public void itShouldWriteTheVotesInBatches() {
+        // given votes for more issues than a batch holds
+        for (long issueId = 1; issueId <= VoteCounter.BATCH_SIZE + 1; issueId++)
+            voteCounter.add(issueId, 1);
+
+        // when the votes are flushed, then expect one transaction per batch
+        assertThat(voteCounter.flush()).isTrue();
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(voteRepository, times(VoteCounter.BATCH_SIZE + 1)).addVotes(anyLong(), eq(1));
+    }
+
+    @Test
+    public void givenFlush_whenWriteFails_itShouldCountTheVotesAgain() {
+        // given a first write that fails
+        doThrow(new PersistenceException("Connection lost"))
+                .doAnswer((invocation) -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+
+        voteCounter.add(1L, 1);
+
+        // when the votes are flushed, then expect them to be pending again
+        assertThat(voteCounter.flush()).isFalse();
+        assertThat(voteCounter.getPendingVotes(1L)).isEqualTo(1);
+
+        // when a new vote is added and the votes are flushed again, then expect both to be written
+        voteCounter.add(1L, 1);
+        assertThat(voteCounter.flush()).isTrue();
+        verify(voteRepository).addVotes(1L, 2);
+    }
+
+    @Test
+    public void itShouldNotLoseVotesAddedDuringFlushes() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // given concurrent voters while the votes are flushed over and over
+        List<Future<?>> voters = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+            voters.add(executor.submit(() -> {
+                for (int vote = 0; vote < 10_000; vote++)
+                    voteCounter.add(1L, 1);
+            }));
+
+        List<Integer> written = new ArrayList<>();
+        doAnswer((invocation) -> {
+            written.add(invocation.getArgument(1));
+            return 1;
+        }).when(voteRepository).addVotes(eq(1L), anyInt());
+
+        while (!voters.stream().allMatch(Future::isDone))
+            voteCounter.flush();
+
+        for (Future<?> voter : voters)
+            voter.get();
+
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // when the remaining votes are flushed, then expect every vote to have been written once
+        voteCounter.flush();
+        assertThat(written.stream().mapToInt(Integer::intValue).sum()).isEqualTo(40_000);
+    }
+}
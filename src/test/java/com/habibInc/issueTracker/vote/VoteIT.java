@@ -0,0 +1,176 @@
+package com.habibInc.issueTracker.vote;
+
+import com.habibInc.issueTracker.issue.Issue;
+import com.habibInc.issueTracker.issue.IssueRepository;
+import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.project.Project;
+import com.habibInc.issueTracker.project.ProjectRepository;
+import com.habibInc.issueTracker.project.ProjectService;
+import com.habibInc.issueTracker.security.JwtUtil;
+import com.habibInc.issueTracker.user.User;
+import com.habibInc.issueTracker.user.UserRepository;
+import com.habibInc.issueTracker.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class VoteIT {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Autowired
+    IssueService issueService;
+
+    @Autowired
+    VoteCounter voteCounter;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    IssueRepository issueRepository;
+
+    @Autowired
+    IssueVoteRepository voteRepository;
+
+    @Autowired
+    JwtUtil jwtUtil;
+
+    User authenticatedUser;
+    HttpHeaders headers;
+    Project project;
+    Issue issue;
+
+    @BeforeEach
+    public void setup() {
+        // create a user to authenticate
+        authenticatedUser = new User();
+        authenticatedUser.setEmail("auth.user@email.com");
+        authenticatedUser.setPassword("auth_password");
+        authenticatedUser.setFullName("auth full name");
+        authenticatedUser.setUsername("auth username");
+
+        authenticatedUser = userService.createUser(authenticatedUser);
+
+        // set up the authorization header with the auth token
+        headers = new HttpHeaders();
+        headers.add(JwtUtil.HEADER, JwtUtil.TOKEN_PREFIX + jwtUtil.generateToken(authenticatedUser.getEmail()));
+
+        // create a project and an issue
+        project = new Project();
+        project.setName("Vote project");
+        project = projectService.createProject(project, authenticatedUser);
+
+        issue = issueService.createIssue(Issue.builder().summary("Summary").build(), authenticatedUser, project.getId());
+    }
+
+    private IssueVotesDto votes(HttpMethod method) {
+        ResponseEntity<IssueVotesDto> response = restTemplate.exchange("/issues/" + issue.getId() + "/votes",
+                method, new HttpEntity<>(headers), IssueVotesDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private String getIssueETag() {
+        return restTemplate.exchange("/issues/" + issue.getId(), HttpMethod.GET, new HttpEntity<>(headers), String.class)
+                .getHeaders().getETag();
+    }
+
+    @Test
+    public void itShouldCountEachUserVoteOnce() {
+        // when the user votes twice
+        votes(HttpMethod.POST);
+        IssueVotesDto votes = votes(HttpMethod.POST);
+
+        // then expect a single pending vote
+        assertThat(votes.getVotes()).isEqualTo(1);
+        assertThat(votes.isVoted()).isTrue();
+        assertThat(voteRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void itShouldWriteTheVotesToTheIssue() {
+        String eTag = getIssueETag();
+
+        // given a vote
+        votes(HttpMethod.POST);
+
+        // when the votes are flushed
+        assertThat(voteCounter.flush()).isTrue();
+
+        // then expect the vote to have been added to the issue, without changing its version
+        assertThat(issueRepository.findById(issue.getId()).get().getVotes()).isEqualTo(1);
+        assertThat(votes(HttpMethod.GET).getVotes()).isEqualTo(1);
+        assertThat(getIssueETag()).isEqualTo(eTag);
+
+        // when the vote is removed, then expect the pending removal to be merged with the written vote
+        IssueVotesDto votes = votes(HttpMethod.DELETE);
+        assertThat(votes.getVotes()).isZero();
+        assertThat(votes.isVoted()).isFalse();
+
+        voteCounter.flush();
+        assertThat(issueRepository.findById(issue.getId()).get().getVotes()).isZero();
+    }
+
+    @Test
+    public void givenIssueUpdate_itShouldNotOverwriteTheVotes() {
+        // given a written vote
+        votes(HttpMethod.POST);
+        voteCounter.flush();
+
+        // when the issue is updated with its latest version
+        Issue update = Issue.builder().id(issue.getId()).summary("Updated").version(issueRepository.findVersionById(issue.getId()).get()).build();
+        ResponseEntity<String> response = restTemplate.exchange("/issues/" + issue.getId(), HttpMethod.PUT,
+                new HttpEntity<>(update, headers), String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // then expect the votes to have been kept
+        assertThat(issueRepository.findById(issue.getId()).get().getVotes()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenVotesFlushed_itShouldKeepTheVersionOfTheEditorsValid() {
+        // given the version an editor has read
+        Long version = issueRepository.findVersionById(issue.getId()).get();
+
+        // given a vote written in between
+        votes(HttpMethod.POST);
+        voteCounter.flush();
+
+        // when the editor updates the issue with the version read
+        Issue update = Issue.builder().id(issue.getId()).summary("Updated").version(version).build();
+        ResponseEntity<String> response = restTemplate.exchange("/issues/" + issue.getId(), HttpMethod.PUT,
+                new HttpEntity<>(update, headers), String.class);
+
+        // then expect the update to go through, and the votes to be served apart from the issue
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).doesNotContain("\"votes\"");
+    }
+
+    @AfterEach
+    public void teardown() {
+        voteCounter.flush();
+        voteRepository.deleteAll();
+        issueRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+}
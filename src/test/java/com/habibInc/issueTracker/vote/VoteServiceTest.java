@@ -0,0 +1,136 @@
+package com.habibInc.issueTracker.vote;
+
+import com.habibInc.issueTracker.exceptionhandler.ForbiddenOperationException;
+import com.habibInc.issueTracker.exceptionhandler.ResourceNotFoundException;
+import com.habibInc.issueTracker.issue.IssueService;
+import com.habibInc.issueTracker.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class VoteServiceTest {
+
+    @InjectMocks
+    VoteService voteService;
+
+    @Mock
+    IssueVoteRepository voteRepository;
+
+    @Mock
+    VoteCounter voteCounter;
+
+    @Mock
+    IssueService issueService;
+
+    User authenticatedUser;
+
+    @BeforeEach
+    public void init() {
+        authenticatedUser = new User();
+        authenticatedUser.setId(7L);
+    }
+
+    @Test
+    public void itShouldVoteForIssue() {
+        when(voteRepository.existsById(new IssueVoteKey(1L, 7L))).thenReturn(false);
+        when(voteRepository.insertVote(eq(1L), eq(7L), any())).thenReturn(1);
+        when(voteRepository.findVotesByIssueId(1L)).thenReturn(Optional.of(3));
+        when(voteCounter.getPendingVotes(1L)).thenReturn(1L);
+
+        IssueVotesDto votes = voteService.vote(1L, authenticatedUser);
+
+        // expect the vote to be counted, and the pending votes added to the written ones
+        verify(voteCounter).add(1L, 1);
+        assertThat(votes.getVotes()).isEqualTo(4);
+        assertThat(votes.isVoted()).isTrue();
+    }
+
+    @Test
+    public void givenVote_whenUserHasAlreadyVoted_itShouldNotCountItAgain() {
+        when(voteRepository.existsById(new IssueVoteKey(1L, 7L))).thenReturn(true);
+        when(voteRepository.findVotesByIssueId(1L)).thenReturn(Optional.of(3));
+
+        IssueVotesDto votes = voteService.vote(1L, authenticatedUser);
+
+        verify(voteRepository, never()).insertVote(any(), any(), any());
+        verify(voteCounter, never()).add(anyLong(), anyLong());
+        assertThat(votes.getVotes()).isEqualTo(3);
+        assertThat(votes.isVoted()).isTrue();
+    }
+
+    @Test
+    public void givenVote_whenSameVoteIsMadeConcurrently_itShouldNotCountItAgain() {
+        when(voteRepository.existsById(new IssueVoteKey(1L, 7L))).thenReturn(false);
+        when(voteRepository.insertVote(eq(1L), eq(7L), any())).thenThrow(new DataIntegrityViolationException("Duplicate"));
+        when(voteRepository.findVotesByIssueId(1L)).thenReturn(Optional.of(3));
+
+        voteService.vote(1L, authenticatedUser);
+
+        verify(voteCounter, never()).add(anyLong(), anyLong());
+    }
+
+    @Test
+    public void givenVote_whenIssueDoesNotExist_itShouldReturnIssueNotFoundError() {
+        when(issueService.getIssueSnapshot(404L)).thenThrow(new ResourceNotFoundException("Issue not found"));
+
+        assertThrows(ResourceNotFoundException.class, () -> voteService.vote(404L, authenticatedUser));
+
+        verifyNoInteractions(voteRepository, voteCounter);
+    }
+
+    @Test
+    public void givenVote_whenUserIsNotAuthenticated_itShouldReturnForbiddenError() {
+        assertThrows(ForbiddenOperationException.class, () -> voteService.vote(1L, null));
+
+        verifyNoInteractions(voteRepository, voteCounter);
+    }
+
+    @Test
+    public void itShouldRemoveVote() {
+        when(voteRepository.deleteVote(1L, 7L)).thenReturn(1);
+        when(voteRepository.findVotesByIssueId(1L)).thenReturn(Optional.of(3));
+        when(voteCounter.getPendingVotes(1L)).thenReturn(-1L);
+
+        IssueVotesDto votes = voteService.unvote(1L, authenticatedUser);
+
+        verify(voteCounter).add(1L, -1);
+        assertThat(votes.getVotes()).isEqualTo(2);
+        assertThat(votes.isVoted()).isFalse();
+    }
+
+    @Test
+    public void givenUnvote_whenUserHasNotVoted_itShouldNotCountIt() {
+        when(voteRepository.deleteVote(1L, 7L)).thenReturn(0);
+        when(voteRepository.findVotesByIssueId(1L)).thenReturn(Optional.of(3));
+
+        voteService.unvote(1L, authenticatedUser);
+
+        verify(voteCounter, never()).add(anyLong(), anyLong());
+    }
+
+    @Test
+    public void itShouldGetVotes() {
+        when(voteRepository.existsById(new IssueVoteKey(1L, 7L))).thenReturn(true);
+        when(voteRepository.findVotesByIssueId(1L)).thenReturn(Optional.of(3));
+        when(voteCounter.getPendingVotes(1L)).thenReturn(2L);
+
+        IssueVotesDto votes = voteService.getVotes(1L, authenticatedUser);
+
+        assertThat(votes.getIssueId()).isEqualTo(1L);
+        assertThat(votes.getVotes()).isEqualTo(5);
+        assertThat(votes.isVoted()).isTrue();
+    }
+}